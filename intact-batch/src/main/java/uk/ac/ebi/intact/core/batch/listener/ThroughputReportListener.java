@@ -0,0 +1,44 @@
+package uk.ac.ebi.intact.core.batch.listener;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.batch.core.ExitStatus;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.StepExecutionListener;
+
+/**
+ * Reports the number of rows read, written and filtered by a step, and the rows read per second.
+ * On a partitioned step, the counts are the sum of all the partitions.
+ * <p/>
+ * The rate is also saved in the execution context of the step, as <code>rowsPerSecond</code>.
+ *
+ * @version $Id$
+ * @since 3.1.0
+ */
+public class ThroughputReportListener implements StepExecutionListener {
+
+    private static final Log log = LogFactory.getLog( ThroughputReportListener.class );
+
+    public static final String ROWS_PER_SECOND = "rowsPerSecond";
+
+    public ThroughputReportListener() {
+    }
+
+    public void beforeStep( StepExecution stepExecution ) {
+    }
+
+    public ExitStatus afterStep( StepExecution stepExecution ) {
+        final long elapsed = Math.max( 1, System.currentTimeMillis() - stepExecution.getStartTime().getTime() );
+        final double rowsPerSecond = stepExecution.getReadCount() * 1000d / elapsed;
+
+        stepExecution.getExecutionContext().putDouble( ROWS_PER_SECOND, rowsPerSecond );
+
+        if ( log.isInfoEnabled() ) {
+            log.info( stepExecution.getStepName() + ": " + stepExecution.getReadCount() + " rows read, " +
+                    stepExecution.getWriteCount() + " written, " + stepExecution.getFilterCount() + " unchanged in " +
+                    elapsed + "ms (" + String.format( "%.1f", rowsPerSecond ) + " rows/s)" );
+        }
+
+        return null;
+    }
+}
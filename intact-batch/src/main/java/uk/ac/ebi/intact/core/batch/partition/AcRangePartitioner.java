@@ -0,0 +1,92 @@
+package uk.ac.ebi.intact.core.batch.partition;
+
+import org.springframework.batch.core.partition.support.Partitioner;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.util.Assert;
+import uk.ac.ebi.intact.model.IntactObject;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Splits the rows of an IntAct object table in ranges of ACs of about the same size. Each partition gets
+ * a <code>minAc</code> (exclusive, absent for the first one) and a <code>maxAc</code> (inclusive, absent for the
+ * last one) in its execution context.
+ *
+ * @version $Id$
+ * @since 3.1.0
+ */
+public class AcRangePartitioner implements Partitioner, InitializingBean {
+
+    public static final String MIN_AC = "minAc";
+    public static final String MAX_AC = "maxAc";
+
+    private EntityManagerFactory entityManagerFactory;
+    private Class<? extends IntactObject> intactObjectClass;
+
+    public AcRangePartitioner() {
+    }
+
+    public void afterPropertiesSet() throws Exception {
+        Assert.notNull( entityManagerFactory, "An EntityManagerFactory is required" );
+        Assert.notNull( intactObjectClass, "The class of the partitioned objects is required" );
+    }
+
+    public Map<String, ExecutionContext> partition( int gridSize ) {
+        final Map<String, ExecutionContext> partitions = new HashMap<String, ExecutionContext>();
+        final EntityManager entityManager = entityManagerFactory.createEntityManager();
+
+        try {
+            final long count = entityManager.createQuery( "select count(o) from " + intactObjectClass.getName() + " o", Long.class )
+                    .getSingleResult();
+            final long size = Math.max( 1, ( count + gridSize - 1 ) / Math.max( 1, gridSize ) );
+
+            String minAc = null;
+            int partition = 0;
+
+            do {
+                ExecutionContext context = new ExecutionContext();
+                if ( minAc != null ) context.putString( MIN_AC, minAc );
+
+                // the last AC of the partition: one row per partition is read with an offset, not the whole table
+                final long lastIndex = ( partition + 1 ) * size - 1;
+                String maxAc = null;
+
+                if ( lastIndex < count - 1 ) {
+                    final List<String> acs = entityManager.createQuery( "select o.ac from " + intactObjectClass.getName() +
+                            " o order by o.ac", String.class )
+                            .setFirstResult( ( int ) lastIndex )
+                            .setMaxResults( 1 )
+                            .getResultList();
+
+                    if ( !acs.isEmpty() ) {
+                        maxAc = acs.get( 0 );
+                        context.putString( MAX_AC, maxAc );
+                    }
+                }
+
+                partitions.put( "partition" + partition, context );
+
+                minAc = maxAc;
+                partition++;
+            } while ( minAc != null );
+
+        } finally {
+            entityManager.close();
+        }
+
+        return partitions;
+    }
+
+    public void setEntityManagerFactory( EntityManagerFactory entityManagerFactory ) {
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    public void setIntactObjectClass( Class<? extends IntactObject> intactObjectClass ) {
+        this.intactObjectClass = intactObjectClass;
+    }
+}
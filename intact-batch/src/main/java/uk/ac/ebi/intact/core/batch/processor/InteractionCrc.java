@@ -0,0 +1,31 @@
+package uk.ac.ebi.intact.core.batch.processor;
+
+/**
+ * The CRC calculated for an interaction.
+ *
+ * @version $Id$
+ * @since 3.1.0
+ */
+public class InteractionCrc {
+
+    private final String ac;
+    private final String crc;
+
+    public InteractionCrc( String ac, String crc ) {
+        this.ac = ac;
+        this.crc = crc;
+    }
+
+    public String getAc() {
+        return ac;
+    }
+
+    public String getCrc() {
+        return crc;
+    }
+
+    @Override
+    public String toString() {
+        return ac + ": " + crc;
+    }
+}
@@ -0,0 +1,136 @@
+package uk.ac.ebi.intact.core.batch.processor;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.batch.item.ItemProcessor;
+import org.springframework.batch.item.ItemStreamException;
+import org.springframework.batch.item.ItemStreamSupport;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.util.Assert;
+import uk.ac.ebi.intact.model.InteractionImpl;
+import uk.ac.ebi.intact.model.util.CrcCalculator;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.FlushModeType;
+import java.util.List;
+
+/**
+ * Calculates the CRC of an interaction, given its AC. Only the interactions whose CRC has changed are passed
+ * to the writer.
+ * <p/>
+ * The interactions are loaded read-only, with their components and interactors, in an entity manager
+ * that is never flushed, so the calculation cannot modify the database. The collections read by the CRC
+ * (xrefs, annotations, features and CVs of the components) are then fetched with one query per collection,
+ * instead of one query per component or interactor. The entity manager and the cache of the
+ * CrcCalculator are cleared every <code>clearInterval</code> interactions.
+ *
+ * @version $Id$
+ * @since 3.1.0
+ */
+public class InteractionCrcProcessor extends ItemStreamSupport implements ItemProcessor<String, InteractionCrc>, InitializingBean {
+
+    private static final Log log = LogFactory.getLog( InteractionCrcProcessor.class );
+
+    private static final String READ_ONLY_HINT = "org.hibernate.readOnly";
+
+    /**
+     * Queries initializing the collections read by the CrcCalculator for all the objects of an interaction. The entities
+     * are already in the entity manager, so the queries only fill their collections.
+     */
+    private static final String[] COLLECTION_QUERIES = {
+            "select distinct i from InteractionImpl i left join fetch i.xrefs where i.ac = :ac",
+            "select distinct i from InteractionImpl i left join fetch i.annotations where i.ac = :ac",
+            "select distinct c from Component c left join fetch c.annotations where c.interaction.ac = :ac",
+            "select distinct c from Component c left join fetch c.experimentalRoles where c.interaction.ac = :ac",
+            "select distinct c from Component c left join fetch c.participantDetectionMethods where c.interaction.ac = :ac",
+            "select distinct c from Component c left join fetch c.experimentalPreparations where c.interaction.ac = :ac",
+            "select distinct c from Component c left join fetch c.features where c.interaction.ac = :ac",
+            "select distinct f from Feature f left join fetch f.ranges where f.component.interaction.ac = :ac",
+            "select distinct it from InteractorImpl it left join fetch it.xrefs " +
+                    "where it.ac in (select c.interactor.ac from Component c where c.interaction.ac = :ac)"
+    };
+
+    private EntityManagerFactory entityManagerFactory;
+    private int clearInterval = 500;
+
+    private EntityManager entityManager;
+    private final CrcCalculator crcCalculator = new CrcCalculator();
+    private int processedSinceClear;
+
+    public InteractionCrcProcessor() {
+    }
+
+    public void afterPropertiesSet() throws Exception {
+        Assert.notNull( entityManagerFactory, "An EntityManagerFactory is required" );
+    }
+
+    public InteractionCrc process( String ac ) throws Exception {
+        if ( entityManager == null ) {
+            entityManager = entityManagerFactory.createEntityManager();
+            entityManager.setFlushMode( FlushModeType.COMMIT );
+        }
+
+        if ( clearInterval > 0 && processedSinceClear >= clearInterval ) {
+            entityManager.clear();
+            crcCalculator.clearCache();
+            processedSinceClear = 0;
+        }
+
+        processedSinceClear++;
+
+        final List<InteractionImpl> interactions = entityManager.createQuery( "select distinct i from InteractionImpl i " +
+                "left join fetch i.components c " +
+                "left join fetch c.interactor " +
+                "where i.ac = :ac", InteractionImpl.class )
+                .setParameter( "ac", ac )
+                .setHint( READ_ONLY_HINT, true )
+                .getResultList();
+
+        if ( interactions.isEmpty() ) {
+            if ( log.isWarnEnabled() ) log.warn( "Interaction not found, probably deleted since it was read: " + ac );
+            return null;
+        }
+
+        final InteractionImpl interaction = interactions.get( 0 );
+
+        // the xrefs are read from this entity manager, otherwise XrefUtils queries them
+        // with the one of the IntactContext
+        for ( String collectionQuery : COLLECTION_QUERIES ) {
+            entityManager.createQuery( collectionQuery )
+                    .setParameter( "ac", ac )
+                    .setHint( READ_ONLY_HINT, true )
+                    .getResultList();
+        }
+
+        final String crc = crcCalculator.crc64( interaction );
+
+        if ( crc.equals( interaction.getCrc() ) ) {
+            return null;
+        }
+
+        if ( log.isDebugEnabled() ) log.debug( "CRC of interaction " + ac + " changed: " + interaction.getCrc() + " -> " + crc );
+
+        return new InteractionCrc( ac, crc );
+    }
+
+    @Override
+    public void close() throws ItemStreamException {
+        super.close();
+
+        if ( entityManager != null ) {
+            entityManager.close();
+            entityManager = null;
+        }
+        crcCalculator.clearCache();
+        processedSinceClear = 0;
+    }
+
+    public void setEntityManagerFactory( EntityManagerFactory entityManagerFactory ) {
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    public void setClearInterval( int clearInterval ) {
+        this.clearInterval = clearInterval;
+    }
+}
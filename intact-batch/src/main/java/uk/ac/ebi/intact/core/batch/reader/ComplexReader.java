@@ -15,12 +15,12 @@
  */
 package uk.ac.ebi.intact.core.batch.reader;
 
-import org.springframework.batch.item.database.JpaPagingItemReader;
+import uk.ac.ebi.intact.model.Interaction;
 
 /**
  * @author Marine Dumousseau (marine@ebi.ac.uk)
  */
-public class ComplexReader extends JpaPagingItemReader {
+public class ComplexReader extends KeysetPagingItemReader<Interaction> {
 
     public ComplexReader() {
         super();
@@ -28,14 +28,12 @@ public class ComplexReader extends JpaPagingItemReader {
 
     @Override
     public void afterPropertiesSet() throws Exception {
-        String query = "select i " +
+        setSelectClause("select i " +
                 "from InteractionImpl i " +
-                "left join i.annotations as annot " +
-                "where annot.cvTopic.shortLabel = 'curated-complex' " +
-                "or i.predictedComplex is true " +
-                "order by i.ac";
-
-        setQueryString(query);
+                "left join i.annotations as annot");
+        setWhereClause("annot.cvTopic.shortLabel = 'curated-complex' " +
+                "or i.predictedComplex is true");
+        setAcPath("i.ac");
 
         super.afterPropertiesSet();
     }
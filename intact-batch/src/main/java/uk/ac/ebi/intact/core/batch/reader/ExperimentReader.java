@@ -15,12 +15,12 @@
  */
 package uk.ac.ebi.intact.core.batch.reader;
 
-import org.springframework.batch.item.database.JpaPagingItemReader;
+import uk.ac.ebi.intact.model.Experiment;
 
 /**
  * @author Marine Dumousseau (marine@ebi.ac.uk)
  */
-public class ExperimentReader extends JpaPagingItemReader {
+public class ExperimentReader extends KeysetPagingItemReader<Experiment> {
 
     private boolean excludeInferredByCurators = false;
     private boolean onlyInferredByCurators = false;
@@ -31,21 +31,15 @@ public class ExperimentReader extends JpaPagingItemReader {
 
     @Override
     public void afterPropertiesSet() throws Exception {
-        String query = "select e from Experiment e ";
+        setSelectClause("select e from Experiment e");
+        setAcPath("e.ac");
 
         if (isExcludeInferredByCurators()) {
-            query = query + " where e.cvInteraction.shortLabel <> 'inferred by curator' " +
-                    "order by e.ac";
+            setWhereClause("e.cvInteraction.shortLabel <> 'inferred by curator'");
         }
         else if (isOnlyInferredByCurators()) {
-            query = query + " where e.cvInteraction.shortLabel = 'inferred by curator' " +
-                    "order by e.ac";
+            setWhereClause("e.cvInteraction.shortLabel = 'inferred by curator'");
         }
-        else {
-            query += " order by e.ac";
-        }
-
-        setQueryString(query);
 
         super.afterPropertiesSet();
     }
@@ -15,16 +15,14 @@
  */
 package uk.ac.ebi.intact.core.batch.reader;
 
-import org.springframework.batch.item.database.JpaPagingItemReader;
 import uk.ac.ebi.intact.model.IntactObject;
 
 /**
  * @author Bruno Aranda (baranda@ebi.ac.uk)
  * @version $Id$
  */
-public class IntactObjectPagingItemReader extends JpaPagingItemReader {
+public class IntactObjectPagingItemReader extends KeysetPagingItemReader<IntactObject> {
 
-    private String query;
     private Class<? extends IntactObject> intactObjectClass;
 
     public IntactObjectPagingItemReader() {
@@ -33,7 +31,7 @@ public class IntactObjectPagingItemReader extends JpaPagingItemReader {
 
     public void setIntactObjectClass(Class<? extends IntactObject> intactObjectClass) {
         this.intactObjectClass = intactObjectClass;
-        this.query = "select intactObj from " + intactObjectClass.getName()+" intactObj order by intactObj.ac";
-        setQueryString(query);
+        setSelectClause("select intactObj from " + intactObjectClass.getName()+" intactObj");
+        setAcPath("intactObj.ac");
     }
 }
@@ -0,0 +1,17 @@
+package uk.ac.ebi.intact.core.batch.reader;
+
+/**
+ * Reads the ACs of the interactions, in AC order, optionally limited to a range of ACs.
+ *
+ * @version $Id$
+ * @since 3.1.0
+ */
+public class InteractionAcReader extends KeysetPagingItemReader<String> {
+
+    public InteractionAcReader() {
+        super();
+        setSelectClause( "select i.ac from InteractionImpl i" );
+        setAcPath( "i.ac" );
+        setPageSize( 500 );
+    }
+}
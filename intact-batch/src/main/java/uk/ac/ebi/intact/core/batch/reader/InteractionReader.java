@@ -15,13 +15,13 @@
  */
 package uk.ac.ebi.intact.core.batch.reader;
 
-import org.springframework.batch.item.database.JpaPagingItemReader;
+import uk.ac.ebi.intact.model.Interaction;
 
 /**
  * @author Bruno Aranda (baranda@ebi.ac.uk)
  * @version $Id$
  */
-public class InteractionReader extends JpaPagingItemReader {
+public class InteractionReader extends KeysetPagingItemReader<Interaction> {
 
     private boolean excludeNegative = false;
 
@@ -32,9 +32,7 @@ public class InteractionReader extends JpaPagingItemReader {
 
     @Override
     public void afterPropertiesSet() throws Exception {
-        String query = "select i " +
-                "from InteractionImpl i " +
-                "where not exists " +
+        String where = "not exists " +
                 "(select i2 " +
                 "from InteractionImpl i2 " +
                 "left join i2.annotations as a1 " +
@@ -42,15 +40,13 @@ public class InteractionReader extends JpaPagingItemReader {
                 "and (a1.cvTopic.shortLabel = 'curated-complex' or i2.predictedComplex is true))";
 
         if (isExcludeNegative()) {
-            query = query + " and not exists " +
-                    "(select i3 from InteractionImpl i3 join i3.annotations as annot where i3.ac = i.ac and annot.cvTopic.shortLabel = 'negative') " +
-                    "order by i.ac";
-        }
-        else {
-            query += " order by i.ac";
+            where = where + " and not exists " +
+                    "(select i3 from InteractionImpl i3 join i3.annotations as annot where i3.ac = i.ac and annot.cvTopic.shortLabel = 'negative')";
         }
 
-        setQueryString(query);
+        setSelectClause("select i from InteractionImpl i");
+        setWhereClause(where);
+        setAcPath("i.ac");
 
         super.afterPropertiesSet();
     }
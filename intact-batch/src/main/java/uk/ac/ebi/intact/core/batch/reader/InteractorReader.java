@@ -15,13 +15,13 @@
  */
 package uk.ac.ebi.intact.core.batch.reader;
 
-import org.springframework.batch.item.database.JpaPagingItemReader;
+import uk.ac.ebi.intact.model.Interactor;
 
 /**
  * @author Bruno Aranda (baranda@ebi.ac.uk)
  * @version $Id$
  */
-public class InteractorReader extends JpaPagingItemReader {
+public class InteractorReader extends KeysetPagingItemReader<Interactor> {
 
     private boolean interacting = false;
 
@@ -31,16 +31,15 @@ public class InteractorReader extends JpaPagingItemReader {
 
     @Override
     public void afterPropertiesSet() throws Exception {
-        String query = "select i from InteractorImpl i where i.objClass <> 'uk.ac.ebi.intact.model.InteractionImpl'";
+        String where = "i.objClass <> 'uk.ac.ebi.intact.model.InteractionImpl'";
 
         if (isInteracting()) {
-            query = query + " and size(i.activeInstances) > 0 order by i.ac";
-        }
-        else {
-            query += " order by i.ac";
+            where = where + " and size(i.activeInstances) > 0";
         }
 
-        setQueryString(query);
+        setSelectClause("select i from InteractorImpl i");
+        setWhereClause(where);
+        setAcPath("i.ac");
 
         super.afterPropertiesSet();
     }
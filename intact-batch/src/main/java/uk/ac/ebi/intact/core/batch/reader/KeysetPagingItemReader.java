@@ -0,0 +1,309 @@
+package uk.ac.ebi.intact.core.batch.reader;
+
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.item.ItemStreamException;
+import org.springframework.batch.item.support.AbstractItemCountingItemStreamItemReader;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.util.Assert;
+import org.springframework.util.ClassUtils;
+import uk.ac.ebi.intact.model.IntactObject;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.EntityTransaction;
+import javax.persistence.Query;
+import java.io.Serializable;
+import java.util.*;
+
+/**
+ * Paging reader for IntAct objects that seeks to the next page using the last AC read
+ * (<code>where ac &gt; :lastAc order by ac</code>) instead of an offset. Reading a page costs the same at the end of
+ * a table as at the beginning.
+ * <p/>
+ * The query is given in parts: the select clause (e.g. <code>select e from Experiment e</code>), an optional where
+ * clause without the <code>where</code> keyword, and the path of the AC (e.g. <code>e.ac</code>). The order can
+ * be on another property first (e.g. <code>p.created</code>), in which case the subclass gives its value with
+ * <code>getSortValue</code>. The value must not be null: the position of the nulls in the order depends on the
+ * database, so the reading fails with an IllegalStateException when a null value is read.
+ * <p/>
+ * The last AC read (and sort value) are saved in the execution context; when the step is restarted, reading continues
+ * after them. The reading can also be limited to a range of ACs with <code>minAc</code> (exclusive) and
+ * <code>maxAc</code> (inclusive), to partition a table.
+ *
+ * @version $Id$
+ * @since 3.1.0
+ */
+public class KeysetPagingItemReader<T> extends AbstractItemCountingItemStreamItemReader<T> implements InitializingBean {
+
+    private static final String LAST_AC = "lastAc";
+    private static final String LAST_SORT_VALUE = "lastSortValue";
+
+    private EntityManagerFactory entityManagerFactory;
+    private int pageSize = 10;
+    private boolean transacted = true;
+
+    private String selectClause;
+    private String whereClause;
+    private String acPath;
+    private String sortPath;
+    private Map<String, Object> parameterValues;
+
+    private String minAc;
+    private String maxAc;
+
+    private EntityManager entityManager;
+    private String lastAc;
+    private Object lastSortValue;
+    private Iterator<T> page = Collections.<T>emptyList().iterator();
+    private boolean lastPage;
+
+    public KeysetPagingItemReader() {
+        setName( ClassUtils.getShortName( getClass() ) );
+    }
+
+    public void afterPropertiesSet() throws Exception {
+        Assert.notNull( entityManagerFactory, "An EntityManagerFactory is required" );
+        Assert.isTrue( pageSize > 0, "The page size must be greater than 0" );
+        Assert.hasText( selectClause, "The select clause is required" );
+        Assert.hasText( acPath, "The path of the AC is required" );
+    }
+
+    @Override
+    protected void doOpen() throws Exception {
+        page = Collections.<T>emptyList().iterator();
+        lastPage = false;
+
+        if ( sortPath != null && lastAc != null && lastSortValue == null ) {
+            throw new IllegalStateException( "No value of " + sortPath + " saved with the last AC read: " + lastAc );
+        }
+
+        entityManager = entityManagerFactory.createEntityManager();
+    }
+
+    @Override
+    public void open( ExecutionContext executionContext ) throws ItemStreamException {
+        lastAc = null;
+        lastSortValue = null;
+
+        if ( isSaveState() && executionContext.containsKey( getExecutionContextKey( LAST_AC ) ) ) {
+            lastAc = executionContext.getString( getExecutionContextKey( LAST_AC ) );
+            lastSortValue = executionContext.get( getExecutionContextKey( LAST_SORT_VALUE ) );
+        }
+
+        super.open( executionContext );
+    }
+
+    @Override
+    protected synchronized T doRead() throws Exception {
+        if ( !page.hasNext() ) {
+            if ( lastPage ) {
+                return null;
+            }
+            page = readPage().iterator();
+
+            if ( !page.hasNext() ) {
+                return null;
+            }
+        }
+
+        final T item = page.next();
+
+        lastAc = getAc( item );
+        if ( sortPath != null ) {
+            lastSortValue = getSortValue( item );
+
+            if ( lastSortValue == null ) {
+                throw new IllegalStateException( "Null value of " + sortPath + " for " + lastAc +
+                        ", the items cannot be ordered by it" );
+            }
+        }
+
+        return item;
+    }
+
+    @SuppressWarnings( "unchecked" )
+    private List<T> readPage() {
+        EntityTransaction tx = null;
+
+        if ( transacted ) {
+            tx = entityManager.getTransaction();
+            tx.begin();
+
+            entityManager.flush();
+        }
+
+        // the entities of the previous page are not needed anymore
+        entityManager.clear();
+
+        final Query query = entityManager.createQuery( createQueryString() );
+
+        if ( parameterValues != null ) {
+            for ( Map.Entry<String, Object> parameter : parameterValues.entrySet() ) {
+                query.setParameter( parameter.getKey(), parameter.getValue() );
+            }
+        }
+
+        if ( lastAc != null ) {
+            query.setParameter( "lastAc", lastAc );
+
+            if ( sortPath != null ) {
+                query.setParameter( "lastSortValue", lastSortValue );
+            }
+        }
+
+        if ( minAc != null ) {
+            query.setParameter( "minAc", minAc );
+        }
+
+        if ( maxAc != null ) {
+            query.setParameter( "maxAc", maxAc );
+        }
+
+        query.setMaxResults( pageSize );
+
+        final List<T> results = new ArrayList<T>( query.getResultList() );
+
+        if ( tx != null ) {
+            tx.commit();
+        }
+
+        lastPage = results.size() < pageSize;
+
+        return results;
+    }
+
+    protected String createQueryString() {
+        final List<String> conditions = new ArrayList<String>();
+
+        if ( whereClause != null ) {
+            conditions.add( "(" + whereClause + ")" );
+        }
+
+        if ( lastAc != null ) {
+            if ( sortPath != null ) {
+                conditions.add( "(" + sortPath + " > :lastSortValue or (" + sortPath + " = :lastSortValue and " +
+                        acPath + " > :lastAc))" );
+            } else {
+                conditions.add( acPath + " > :lastAc" );
+            }
+        }
+
+        // the range is kept when seeking on the sort value
+        if ( minAc != null ) {
+            conditions.add( acPath + " > :minAc" );
+        }
+
+        if ( maxAc != null ) {
+            conditions.add( acPath + " <= :maxAc" );
+        }
+
+        final StringBuilder query = new StringBuilder( selectClause );
+
+        for ( int i = 0; i < conditions.size(); i++ ) {
+            query.append( i == 0 ? " where " : " and " ).append( conditions.get( i ) );
+        }
+
+        query.append( " order by " );
+
+        if ( sortPath != null ) {
+            query.append( sortPath ).append( ", " );
+        }
+
+        query.append( acPath );
+
+        return query.toString();
+    }
+
+    /**
+     * The AC of an item read, by default the AC of the IntactObject or the item itself if it is a String.
+     */
+    protected String getAc( T item ) {
+        if ( item instanceof IntactObject ) {
+            return ( ( IntactObject ) item ).getAc();
+        }
+        return ( String ) item;
+    }
+
+    /**
+     * The value of the sort property of an item read. Needs to be overridden when a sort path is used.
+     */
+    protected Object getSortValue( T item ) {
+        throw new UnsupportedOperationException( "The sort value of the items is needed to order by " + sortPath );
+    }
+
+    @Override
+    public void update( ExecutionContext executionContext ) throws ItemStreamException {
+        super.update( executionContext );
+
+        if ( isSaveState() && lastAc != null ) {
+            executionContext.putString( getExecutionContextKey( LAST_AC ), lastAc );
+
+            if ( lastSortValue != null ) {
+                executionContext.put( getExecutionContextKey( LAST_SORT_VALUE ), ( Serializable ) lastSortValue );
+            }
+        }
+    }
+
+    @Override
+    protected void jumpToItem( int itemIndex ) throws Exception {
+        // nothing to skip, the reading continues after the last AC saved
+    }
+
+    @Override
+    protected void doClose() throws Exception {
+        if ( entityManager != null ) {
+            entityManager.close();
+            entityManager = null;
+        }
+        page = Collections.<T>emptyList().iterator();
+    }
+
+    public void setEntityManagerFactory( EntityManagerFactory entityManagerFactory ) {
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    public void setPageSize( int pageSize ) {
+        this.pageSize = pageSize;
+    }
+
+    /**
+     * @param transacted true (default) to read each page in a transaction of its own entity manager
+     */
+    public void setTransacted( boolean transacted ) {
+        this.transacted = transacted;
+    }
+
+    public void setSelectClause( String selectClause ) {
+        this.selectClause = selectClause;
+    }
+
+    public void setWhereClause( String whereClause ) {
+        this.whereClause = whereClause;
+    }
+
+    public void setAcPath( String acPath ) {
+        this.acPath = acPath;
+    }
+
+    public void setSortPath( String sortPath ) {
+        this.sortPath = sortPath;
+    }
+
+    public void setParameterValues( Map<String, Object> parameterValues ) {
+        this.parameterValues = parameterValues;
+    }
+
+    /**
+     * @param minAc the ACs read are greater than this one (exclusive); null to start from the first row
+     */
+    public void setMinAc( String minAc ) {
+        this.minAc = minAc;
+    }
+
+    /**
+     * @param maxAc the ACs read are lower or equal to this one (inclusive); null to read until the last row
+     */
+    public void setMaxAc( String maxAc ) {
+        this.maxAc = maxAc;
+    }
+}
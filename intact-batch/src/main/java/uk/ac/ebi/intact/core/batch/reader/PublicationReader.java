@@ -15,12 +15,12 @@
  */
 package uk.ac.ebi.intact.core.batch.reader;
 
-import org.springframework.batch.item.database.JpaPagingItemReader;
+import uk.ac.ebi.intact.model.Publication;
 
 /**
  * @author Marine Dumousseau (marine@ebi.ac.uk)
  */
-public class PublicationReader extends JpaPagingItemReader {
+public class PublicationReader extends KeysetPagingItemReader<Publication> {
 
     private boolean excludeIntactPaper = false;
     private boolean orderedByCreated = false;
@@ -31,24 +31,25 @@ public class PublicationReader extends JpaPagingItemReader {
 
     @Override
     public void afterPropertiesSet() throws Exception {
-        String query = "select p from Publication p ";
+        setSelectClause("select p from Publication p");
+        setAcPath("p.ac");
 
         if (isExcludeIntactPaper()) {
-            query = query + "where p.shortLabel <> '14681455' ";
+            setWhereClause("p.shortLabel <> '14681455'");
         }
 
         if(isOrderedByCreated()){
-            query += " order by p.created, p.ac";
+            setSortPath("p.created");
         }
-        else {
-            query += " order by p.ac";
-        }
-
-        setQueryString(query);
 
         super.afterPropertiesSet();
     }
 
+    @Override
+    protected Object getSortValue(Publication publication) {
+        return publication.getCreated();
+    }
+
     public boolean isExcludeIntactPaper() {
         return this.excludeIntactPaper;
     }
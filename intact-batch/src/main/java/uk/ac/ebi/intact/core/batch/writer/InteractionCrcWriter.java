@@ -0,0 +1,84 @@
+package uk.ac.ebi.intact.core.batch.writer;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.persister.entity.AbstractEntityPersister;
+import org.springframework.batch.item.ItemWriter;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.jpa.EntityManagerFactoryInfo;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionCallbackWithoutResult;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.Assert;
+import uk.ac.ebi.intact.core.batch.processor.InteractionCrc;
+import uk.ac.ebi.intact.model.InteractionImpl;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Writes the CRCs of the interactions with a batched JDBC update, in a transaction of the IntAct
+ * transaction manager.
+ * <p/>
+ * The IntAct transaction is committed before the chunk of the step, which is in the batch
+ * transaction manager; if the latter fails, the chunk is processed again on restart and the same CRCs are written.
+ *
+ * @version $Id$
+ * @since 3.1.0
+ */
+public class InteractionCrcWriter implements ItemWriter<InteractionCrc>, InitializingBean {
+
+    private EntityManagerFactory entityManagerFactory;
+    private PlatformTransactionManager transactionManager;
+
+    private String updateSql;
+    private JdbcTemplate jdbcTemplate;
+
+    public InteractionCrcWriter() {
+    }
+
+    public void afterPropertiesSet() throws Exception {
+        Assert.notNull( entityManagerFactory, "An EntityManagerFactory is required" );
+        Assert.notNull( transactionManager, "A transaction manager is required" );
+        Assert.isInstanceOf( EntityManagerFactoryInfo.class, entityManagerFactory, "Cannot get the DataSource of the EntityManagerFactory" );
+
+        jdbcTemplate = new JdbcTemplate( ( ( EntityManagerFactoryInfo ) entityManagerFactory ).getDataSource() );
+
+        // the table name includes the default schema
+        final AbstractEntityPersister persister = ( AbstractEntityPersister ) entityManagerFactory.unwrap( SessionFactory.class )
+                .getClassMetadata( InteractionImpl.class );
+
+        updateSql = "update " + persister.getTableName() +
+                " set " + persister.getPropertyColumnNames( "crc" )[0] + " = ?" +
+                " where " + persister.getIdentifierColumnNames()[0] + " = ?";
+    }
+
+    public void write( final List<? extends InteractionCrc> items ) throws Exception {
+        if ( items.isEmpty() ) {
+            return;
+        }
+
+        final List<Object[]> args = new ArrayList<Object[]>( items.size() );
+
+        for ( InteractionCrc item : items ) {
+            args.add( new Object[]{item.getCrc(), item.getAc()} );
+        }
+
+        new TransactionTemplate( transactionManager ).execute( new TransactionCallbackWithoutResult() {
+            @Override
+            protected void doInTransactionWithoutResult( TransactionStatus status ) {
+                jdbcTemplate.batchUpdate( updateSql, args );
+            }
+        } );
+    }
+
+    public void setEntityManagerFactory( EntityManagerFactory entityManagerFactory ) {
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    public void setTransactionManager( PlatformTransactionManager transactionManager ) {
+        this.transactionManager = transactionManager;
+    }
+}
@@ -0,0 +1,58 @@
+package uk.ac.ebi.intact.core.batch.writer;
+
+import org.springframework.batch.item.ItemWriter;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionCallbackWithoutResult;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.Assert;
+import uk.ac.ebi.intact.core.persistence.svc.InteractionSignatureService;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Updates the participant signatures of a chunk of interactions, given their ACs, in a transaction of the IntAct
+ * transaction manager.
+ * <p/>
+ * As with the InteractionCrcWriter, the IntAct transaction is committed before the chunk of the step; if the latter
+ * fails, the chunk is processed again on restart and the rows already up to date are left as they are.
+ *
+ * @version $Id$
+ * @since 3.1.0
+ */
+public class InteractionSignatureWriter implements ItemWriter<String>, InitializingBean {
+
+    private InteractionSignatureService interactionSignatureService;
+    private PlatformTransactionManager transactionManager;
+
+    public InteractionSignatureWriter() {
+    }
+
+    public void afterPropertiesSet() throws Exception {
+        Assert.notNull( interactionSignatureService, "An InteractionSignatureService is required" );
+        Assert.notNull( transactionManager, "A transaction manager is required" );
+    }
+
+    public void write( final List<? extends String> items ) throws Exception {
+        if ( items.isEmpty() ) {
+            return;
+        }
+
+        new TransactionTemplate( transactionManager ).execute( new TransactionCallbackWithoutResult() {
+            @Override
+            protected void doInTransactionWithoutResult( TransactionStatus status ) {
+                interactionSignatureService.updateSignatures( new ArrayList<String>( items ) );
+            }
+        } );
+    }
+
+    public void setInteractionSignatureService( InteractionSignatureService interactionSignatureService ) {
+        this.interactionSignatureService = interactionSignatureService;
+    }
+
+    public void setTransactionManager( PlatformTransactionManager transactionManager ) {
+        this.transactionManager = transactionManager;
+    }
+}
@@ -0,0 +1,174 @@
+package uk.ac.ebi.intact.core.batch;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.Job;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.JobParametersBuilder;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.launch.JobLauncher;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationContext;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import uk.ac.ebi.intact.core.batch.listener.ThroughputReportListener;
+import uk.ac.ebi.intact.core.batch.partition.AcRangePartitioner;
+import uk.ac.ebi.intact.core.batch.reader.InteractionAcReader;
+import uk.ac.ebi.intact.core.unit.IntactBasicTestCase;
+import uk.ac.ebi.intact.model.Experiment;
+import uk.ac.ebi.intact.model.Interaction;
+import uk.ac.ebi.intact.model.InteractionImpl;
+
+import javax.annotation.Resource;
+import java.util.*;
+
+/**
+ * CRC recalculation job tester.
+ *
+ * @version $Id$
+ */
+@Transactional(propagation = Propagation.NEVER)
+public class CrcRecalculationJobTest extends IntactBasicTestCase {
+
+    @Resource(name = "intactBatchJobLauncher")
+    private JobLauncher jobLauncher;
+
+    @Autowired
+    private ApplicationContext applicationContext;
+
+    @Test
+    @DirtiesContext
+    public void recalculateCrcs() throws Exception {
+        Experiment exp = getMockBuilder().createExperimentRandom(10);
+        getCorePersister().saveOrUpdate(exp);
+
+        Job job = (Job) applicationContext.getBean("interactionCrcRecalculationJob");
+
+        // the CRCs are the ones calculated by the model on the interactions loaded from the database
+        final Map<String, String> expectedCrcs = calculateCrcs();
+        Assert.assertEquals(10, expectedCrcs.size());
+
+        JobExecution jobExecution = jobLauncher.run(job, new JobParametersBuilder().addLong("run", 1L).toJobParameters());
+        Assert.assertEquals(BatchStatus.COMPLETED, jobExecution.getStatus());
+        Assert.assertEquals(expectedCrcs, getCrcs());
+
+        // one interaction keeps its CRC, the others get a wrong one
+        final String untouchedAc = expectedCrcs.keySet().iterator().next();
+
+        TransactionStatus transactionStatus = getDataContext().beginTransaction();
+        getEntityManager().createQuery("update InteractionImpl i set i.crc = 'WRONG' where i.ac <> :ac")
+                .setParameter("ac", untouchedAc)
+                .executeUpdate();
+        getDataContext().commitTransaction(transactionStatus);
+
+        Assert.assertTrue(getCrcs().containsValue("WRONG"));
+
+        jobExecution = jobLauncher.run(job, new JobParametersBuilder().addLong("run", 2L).toJobParameters());
+
+        Assert.assertEquals(BatchStatus.COMPLETED, jobExecution.getStatus());
+        Assert.assertEquals(expectedCrcs, getCrcs());
+
+        StepExecution stepExecution = findStepExecution(jobExecution, "interactionCrcRecalculationStep");
+        Assert.assertEquals(10, stepExecution.getReadCount());
+        Assert.assertEquals(9, stepExecution.getWriteCount());
+        Assert.assertEquals(1, stepExecution.getFilterCount());
+        Assert.assertTrue(stepExecution.getExecutionContext().containsKey(ThroughputReportListener.ROWS_PER_SECOND));
+        Assert.assertTrue(jobExecution.getStepExecutions().size() > 1);
+    }
+
+    @Test
+    @DirtiesContext
+    public void partitionsAndRestart() throws Exception {
+        Experiment exp = getMockBuilder().createExperimentRandom(10);
+        getCorePersister().saveOrUpdate(exp);
+
+        final List<String> acs = new ArrayList<String>(getCrcs().keySet());
+
+        AcRangePartitioner partitioner = (AcRangePartitioner) applicationContext.getBean("interactionAcRangePartitioner");
+        final Map<String, ExecutionContext> partitions = partitioner.partition(3);
+
+        Assert.assertEquals(3, partitions.size());
+
+        List<String> read = new ArrayList<String>();
+
+        for (ExecutionContext context : new TreeMap<String, ExecutionContext>(partitions).values()) {
+            read.addAll(readAcs(context.getString(AcRangePartitioner.MIN_AC, null), context.getString(AcRangePartitioner.MAX_AC, null),
+                                new ExecutionContext()));
+        }
+
+        Assert.assertEquals(acs, read);
+
+        // restarting after the fourth interaction
+        ExecutionContext executionContext = new ExecutionContext();
+        readAcs(null, acs.get(3), executionContext);
+
+        Assert.assertEquals(acs.subList(4, 10), readAcs(null, null, executionContext));
+    }
+
+    private List<String> readAcs(String minAc, String maxAc, ExecutionContext executionContext) throws Exception {
+        InteractionAcReader reader = new InteractionAcReader();
+        reader.setEntityManagerFactory(getEntityManager().getEntityManagerFactory());
+        reader.setPageSize(3);
+        reader.setMinAc(minAc);
+        reader.setMaxAc(maxAc);
+        reader.afterPropertiesSet();
+
+        List<String> acs = new ArrayList<String>();
+
+        reader.open(executionContext);
+        try {
+            String ac;
+            while ((ac = reader.read()) != null) {
+                acs.add(ac);
+            }
+            reader.update(executionContext);
+        } finally {
+            reader.close();
+        }
+
+        return acs;
+    }
+
+    private Map<String, String> getCrcs() {
+        Map<String, String> crcs = new TreeMap<String, String>();
+
+        TransactionStatus transactionStatus = getDataContext().beginTransaction();
+
+        for (Interaction interaction : getDaoFactory().getInteractionDao().getAll()) {
+            crcs.put(interaction.getAc(), ((InteractionImpl) interaction).getCrc());
+        }
+
+        getDataContext().commitTransaction(transactionStatus);
+
+        return crcs;
+    }
+
+    private Map<String, String> calculateCrcs() {
+        Map<String, String> crcs = new TreeMap<String, String>();
+
+        TransactionStatus transactionStatus = getDataContext().beginTransaction();
+
+        for (Interaction interaction : getDaoFactory().getInteractionDao().getAll()) {
+            ((InteractionImpl) interaction).calculateCrc();
+            crcs.put(interaction.getAc(), ((InteractionImpl) interaction).getCrc());
+        }
+
+        // the interactions are left as they are in the database
+        getDataContext().rollbackTransaction(transactionStatus);
+
+        return crcs;
+    }
+
+    private StepExecution findStepExecution(JobExecution jobExecution, String stepName) {
+        for (StepExecution stepExecution : jobExecution.getStepExecutions()) {
+            if (stepName.equals(stepExecution.getStepName())) {
+                return stepExecution;
+            }
+        }
+        throw new IllegalStateException("No execution of step " + stepName);
+    }
+}
@@ -0,0 +1,76 @@
+package uk.ac.ebi.intact.core.batch;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.Job;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.JobParametersBuilder;
+import org.springframework.batch.core.launch.JobLauncher;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationContext;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import uk.ac.ebi.intact.core.unit.IntactBasicTestCase;
+import uk.ac.ebi.intact.model.Experiment;
+import uk.ac.ebi.intact.model.meta.InteractionSignature;
+
+import javax.annotation.Resource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Interaction signature rebuild job tester.
+ *
+ * @version $Id$
+ */
+@Transactional(propagation = Propagation.NEVER)
+public class InteractionSignatureRebuildJobTest extends IntactBasicTestCase {
+
+    @Resource(name = "intactBatchJobLauncher")
+    private JobLauncher jobLauncher;
+
+    @Autowired
+    private ApplicationContext applicationContext;
+
+    @Test
+    @DirtiesContext
+    public void rebuildSignatures() throws Exception {
+        Experiment exp = getMockBuilder().createExperimentRandom(10);
+        getCorePersister().saveOrUpdate(exp);
+
+        final List<String> expectedSignatures = getSignatures();
+        Assert.assertEquals(20, expectedSignatures.size());
+
+        TransactionStatus transactionStatus = getDataContext().beginTransaction();
+        getEntityManager().createQuery("delete from InteractionSignature").executeUpdate();
+        getEntityManager().persist(new InteractionSignature("UNK-0", "P12345", 2));
+        getDataContext().commitTransaction(transactionStatus);
+
+        Assert.assertEquals(1, getSignatures().size());
+
+        Job job = (Job) applicationContext.getBean("interactionSignatureRebuildJob");
+        JobExecution jobExecution = jobLauncher.run(job, new JobParametersBuilder().addLong("run", 1L).toJobParameters());
+
+        Assert.assertEquals(BatchStatus.COMPLETED, jobExecution.getStatus());
+        Assert.assertEquals(expectedSignatures, getSignatures());
+    }
+
+    private List<String> getSignatures() {
+        TransactionStatus transactionStatus = getDataContext().beginTransaction();
+
+        final List<String> signatures = new ArrayList<String>();
+
+        for (InteractionSignature signature : getEntityManager().createQuery(
+                "select s from InteractionSignature s order by s.interactionAc, s.identityId", InteractionSignature.class)
+                .getResultList()) {
+            signatures.add(signature.toString());
+        }
+
+        getDataContext().commitTransaction(transactionStatus);
+
+        return signatures;
+    }
+}
@@ -21,18 +21,24 @@ import org.junit.Test;
 import org.springframework.batch.core.Job;
 import org.springframework.batch.core.JobParameters;
 import org.springframework.batch.core.launch.JobLauncher;
+import org.springframework.batch.item.ExecutionContext;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.ApplicationContext;
 import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import uk.ac.ebi.intact.core.batch.reader.KeysetPagingItemReader;
+import uk.ac.ebi.intact.core.batch.reader.PublicationReader;
 import uk.ac.ebi.intact.core.unit.IntactBasicTestCase;
 import uk.ac.ebi.intact.model.CvTopic;
 import uk.ac.ebi.intact.model.Experiment;
 import uk.ac.ebi.intact.model.Interaction;
 import uk.ac.ebi.intact.model.Protein;
+import uk.ac.ebi.intact.model.Publication;
 
 import javax.annotation.Resource;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * @author Bruno Aranda (baranda@ebi.ac.uk)
@@ -144,4 +150,74 @@ public class ReaderTest extends IntactBasicTestCase {
         Assert.assertEquals(2, counter.getCount());
     }
 
+    @Test
+    @DirtiesContext
+    public void readPublications_orderedByCreated_restart() throws Exception {
+        for (int i=0; i<5; i++) {
+            getCorePersister().saveOrUpdate(getMockBuilder().createPublicationRandom());
+        }
+
+        List<String> acs = new ArrayList<String>();
+        for (Publication publication : readPublications(new ExecutionContext(), -1)) {
+            acs.add(publication.getAc());
+        }
+        Assert.assertEquals(5, acs.size());
+
+        ExecutionContext executionContext = new ExecutionContext();
+        Assert.assertEquals(3, readPublications(executionContext, 3).size());
+
+        // the restarted reader seeks after the last publication read
+        List<Publication> remaining = readPublications(executionContext, -1);
+        Assert.assertEquals(2, remaining.size());
+        Assert.assertEquals(acs.get(3), remaining.get(0).getAc());
+        Assert.assertEquals(acs.get(4), remaining.get(1).getAc());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    @DirtiesContext
+    public void readPublications_nullSortValue() throws Exception {
+        getCorePersister().saveOrUpdate(getMockBuilder().createPublicationRandom());
+
+        KeysetPagingItemReader<Publication> reader = new KeysetPagingItemReader<Publication>() {
+            @Override
+            protected Object getSortValue(Publication publication) {
+                return null;
+            }
+        };
+        reader.setEntityManagerFactory(getEntityManager().getEntityManagerFactory());
+        reader.setSelectClause("select p from Publication p");
+        reader.setAcPath("p.ac");
+        reader.setSortPath("p.created");
+        reader.afterPropertiesSet();
+
+        reader.open(new ExecutionContext());
+        try {
+            reader.read();
+        } finally {
+            reader.close();
+        }
+    }
+
+    private List<Publication> readPublications(ExecutionContext executionContext, int max) throws Exception {
+        PublicationReader reader = new PublicationReader();
+        reader.setEntityManagerFactory(getEntityManager().getEntityManagerFactory());
+        reader.setPageSize(2);
+        reader.setOrderedByCreated(true);
+        reader.afterPropertiesSet();
+
+        List<Publication> publications = new ArrayList<Publication>();
+
+        reader.open(executionContext);
+        try {
+            Publication publication;
+            while ((max < 0 || publications.size() < max) && (publication = reader.read()) != null) {
+                publications.add(publication);
+            }
+            reader.update(executionContext);
+        } finally {
+            reader.close();
+        }
+
+        return publications;
+    }
 }
@@ -46,10 +46,90 @@ public class IntactConfiguration {
     @PersistentProperty
     private boolean skipSchemaCheck;
 
+    /**
+     * Number of ACs reserved with each call to the AC sequence. With a value of 1, the sequence
+     * is invoked for every new object; with a greater value, the sequence must be incremented by
+     * the same number, which is checked at startup.
+     */
+    @PersistentProperty
+    private int acAllocationSize;
+
+    /**
+     * Number of objects sent to the database in each JDBC batch when the CorePersister
+     * commits in bulk mode.
+     */
+    @PersistentProperty
+    private int persisterBatchSize;
+
+    /**
+     * Number of objects persisted by the CorePersister in bulk mode before the session is cleared,
+     * at the end of the commit that reaches it. A value of 0 means the session is never cleared.
+     */
+    @PersistentProperty
+    private int persisterClearInterval;
+
+    /**
+     * Number of rows fetched from the database at a time when the DAOs scroll or stream the results
+     * of a query.
+     */
+    @PersistentProperty
+    private int scrollFetchSize;
+
+    /**
+     * If true, the CorePersister does not reload the objects after saving them: their ACs are taken from the
+     * objects synchronized with the persistence context, without searching them again in the database.
+     */
+    @PersistentProperty
+    private boolean skipPersisterReload;
+
+    /**
+     * If true, InteractionDao.getByInteractorsPrimaryId() searches the interactions in the participant signatures
+     * maintained by the CorePersister. The signatures of the existing interactions have to be built first with
+     * the interactionSignatureRebuildJob.
+     */
+    @PersistentProperty
+    private boolean interactionSignatureLookup;
+
+    /**
+     * If true, the partner methods of InteractorDao and ProteinDao read the partners from the PartnerGraph kept in
+     * memory. The graph only contains the committed interactions, so the changes of the current transaction are
+     * not seen.
+     */
+    @PersistentProperty
+    private boolean partnerGraphLookup;
+
+    /**
+     * Number of seconds between two checks of the CVs by the CvObjectRegistry, which is reloaded if they have been
+     * changed by another process. The registry is also checked when a term is not found. A value of 0 checks the
+     * CVs before every lookup, a negative value disables the checks.
+     */
+    @PersistentProperty
+    private int cvRegistryCheckInterval;
+
+    /**
+     * Enables the second-level cache for the reference entities (CVs, institutions, biosources, roles and
+     * applications). It is read when the EntityManagerFactory is created, so it has to be set in the
+     * definition of the configuration bean and is not persisted with the other properties.
+     */
+    private boolean secondLevelCacheEnabled;
+
+    /**
+     * Number of lazy collections (xrefs, aliases, annotations, components, features, ranges...) and proxies of the
+     * same type loaded together when one of them is accessed. Like secondLevelCacheEnabled, it is read when the
+     * EntityManagerFactory is created and is not persisted. 1 disables the batch fetching.
+     */
+    private int batchFetchSize;
+
     public IntactConfiguration() {
         // TODO make acPrefix mandatory
         acPrefix = "UNK";
         localCvPrefix = "IA";
+        acAllocationSize = 1;
+        persisterBatchSize = 50;
+        persisterClearInterval = 0;
+        scrollFetchSize = 500;
+        cvRegistryCheckInterval = 60;
+        batchFetchSize = 16;
     }
 
     public String getAcPrefix() {
@@ -100,6 +180,101 @@ public class IntactConfiguration {
         this.skipSchemaCheck = skipSchemaCheck;
     }
 
+    public int getAcAllocationSize() {
+        return acAllocationSize;
+    }
+
+    public void setAcAllocationSize(int acAllocationSize) {
+        if (acAllocationSize < 1) {
+            throw new IllegalArgumentException("The AC allocation size must be at least 1: "+acAllocationSize);
+        }
+        this.acAllocationSize = acAllocationSize;
+    }
+
+    public int getPersisterBatchSize() {
+        return persisterBatchSize;
+    }
+
+    public void setPersisterBatchSize(int persisterBatchSize) {
+        if (persisterBatchSize < 1) {
+            throw new IllegalArgumentException("The persister batch size must be at least 1: "+persisterBatchSize);
+        }
+        this.persisterBatchSize = persisterBatchSize;
+    }
+
+    public int getPersisterClearInterval() {
+        return persisterClearInterval;
+    }
+
+    public void setPersisterClearInterval(int persisterClearInterval) {
+        if (persisterClearInterval < 0) {
+            throw new IllegalArgumentException("The persister clear interval cannot be negative: "+persisterClearInterval);
+        }
+        this.persisterClearInterval = persisterClearInterval;
+    }
+
+    public int getScrollFetchSize() {
+        return scrollFetchSize;
+    }
+
+    public void setScrollFetchSize(int scrollFetchSize) {
+        if (scrollFetchSize < 1) {
+            throw new IllegalArgumentException("The scroll fetch size must be at least 1: "+scrollFetchSize);
+        }
+        this.scrollFetchSize = scrollFetchSize;
+    }
+
+    public boolean isSkipPersisterReload() {
+        return skipPersisterReload;
+    }
+
+    public void setSkipPersisterReload(boolean skipPersisterReload) {
+        this.skipPersisterReload = skipPersisterReload;
+    }
+
+    public boolean isInteractionSignatureLookup() {
+        return interactionSignatureLookup;
+    }
+
+    public void setInteractionSignatureLookup(boolean interactionSignatureLookup) {
+        this.interactionSignatureLookup = interactionSignatureLookup;
+    }
+
+    public boolean isPartnerGraphLookup() {
+        return partnerGraphLookup;
+    }
+
+    public void setPartnerGraphLookup(boolean partnerGraphLookup) {
+        this.partnerGraphLookup = partnerGraphLookup;
+    }
+
+    public int getCvRegistryCheckInterval() {
+        return cvRegistryCheckInterval;
+    }
+
+    public void setCvRegistryCheckInterval(int cvRegistryCheckInterval) {
+        this.cvRegistryCheckInterval = cvRegistryCheckInterval;
+    }
+
+    public boolean isSecondLevelCacheEnabled() {
+        return secondLevelCacheEnabled;
+    }
+
+    public void setSecondLevelCacheEnabled(boolean secondLevelCacheEnabled) {
+        this.secondLevelCacheEnabled = secondLevelCacheEnabled;
+    }
+
+    public int getBatchFetchSize() {
+        return batchFetchSize;
+    }
+
+    public void setBatchFetchSize(int batchFetchSize) {
+        if (batchFetchSize < 1) {
+            throw new IllegalArgumentException("The batch fetch size must be at least 1: "+batchFetchSize);
+        }
+        this.batchFetchSize = batchFetchSize;
+    }
+
     @Override
     public String toString() {
         final StringBuilder sb = new StringBuilder( 256 );
@@ -110,6 +285,16 @@ public class IntactConfiguration {
         sb.append( ", autoUpdateExperimentLabel=" ).append( autoUpdateExperimentLabel );
         sb.append( ", autoUpdateInteractionLabel=" ).append( autoUpdateInteractionLabel );
         sb.append( ", skipSchemaCheck=" ).append( skipSchemaCheck );
+        sb.append( ", acAllocationSize=" ).append( acAllocationSize );
+        sb.append( ", persisterBatchSize=" ).append( persisterBatchSize );
+        sb.append( ", persisterClearInterval=" ).append( persisterClearInterval );
+        sb.append( ", scrollFetchSize=" ).append( scrollFetchSize );
+        sb.append( ", skipPersisterReload=" ).append( skipPersisterReload );
+        sb.append( ", interactionSignatureLookup=" ).append( interactionSignatureLookup );
+        sb.append( ", partnerGraphLookup=" ).append( partnerGraphLookup );
+        sb.append( ", cvRegistryCheckInterval=" ).append( cvRegistryCheckInterval );
+        sb.append( ", secondLevelCacheEnabled=" ).append( secondLevelCacheEnabled );
+        sb.append( ", batchFetchSize=" ).append( batchFetchSize );
         sb.append( '}' );
         return sb.toString();
     }
@@ -0,0 +1,89 @@
+package uk.ac.ebi.intact.core.config.hibernate;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.BeanFactoryAware;
+import org.springframework.beans.factory.ListableBeanFactory;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.orm.jpa.AbstractEntityManagerFactoryBean;
+import org.springframework.stereotype.Component;
+import uk.ac.ebi.intact.core.config.IntactConfiguration;
+
+import java.util.Map;
+
+/**
+ * Sets the default batch fetch size of the EntityManagerFactories to the value of
+ * IntactConfiguration.getBatchFetchSize().
+ * <p/>
+ * With batch fetching, accessing a lazy collection (e.g. the xrefs of a protein) also loads the same collection
+ * of the other objects in the session, up to the batch size, with a single query. Iterating over a list of
+ * proteins and reading their xrefs then needs one query per batch instead of one per protein. The same applies
+ * to the lazy many-to-one proxies.
+ *
+ * @version $Id$
+ * @since 3.1.0
+ */
+@Component
+public class BatchFetchConfigurer implements BeanPostProcessor, BeanFactoryAware {
+
+    private static final Log log = LogFactory.getLog( BatchFetchConfigurer.class );
+
+    private ListableBeanFactory beanFactory;
+
+    public BatchFetchConfigurer() {
+    }
+
+    @Override
+    public void setBeanFactory( BeanFactory beanFactory ) throws BeansException {
+        if ( beanFactory instanceof ListableBeanFactory ) {
+            this.beanFactory = ( ListableBeanFactory ) beanFactory;
+        }
+    }
+
+    @Override
+    public Object postProcessBeforeInitialization( Object bean, String beanName ) throws BeansException {
+        if ( bean instanceof AbstractEntityManagerFactoryBean ) {
+            configure( ( ( AbstractEntityManagerFactoryBean ) bean ).getJpaPropertyMap(), getBatchFetchSize() );
+        }
+        return bean;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization( Object bean, String beanName ) throws BeansException {
+        return bean;
+    }
+
+    /**
+     * Adds the default batch fetch size to the properties, unless it has been set explicitly.
+     *
+     * @param jpaProperties  the properties used to create the EntityManagerFactory
+     * @param batchFetchSize the batch size, 1 to disable the batch fetching
+     */
+    public static void configure( Map<String, Object> jpaProperties, int batchFetchSize ) {
+        if ( jpaProperties.containsKey( "hibernate.default_batch_fetch_size" ) ) {
+            return;
+        }
+
+        if ( batchFetchSize > 1 ) {
+            if ( log.isInfoEnabled() ) log.info( "Using a batch fetch size of " + batchFetchSize );
+
+            jpaProperties.put( "hibernate.default_batch_fetch_size", String.valueOf( batchFetchSize ) );
+        }
+    }
+
+    private int getBatchFetchSize() {
+        if ( beanFactory == null ) {
+            return 1;
+        }
+
+        int batchFetchSize = 1;
+
+        for ( IntactConfiguration configuration : beanFactory.getBeansOfType( IntactConfiguration.class ).values() ) {
+            batchFetchSize = Math.max( batchFetchSize, configuration.getBatchFetchSize() );
+        }
+
+        return batchFetchSize;
+    }
+}
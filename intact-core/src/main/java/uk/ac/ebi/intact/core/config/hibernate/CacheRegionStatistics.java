@@ -0,0 +1,104 @@
+package uk.ac.ebi.intact.core.config.hibernate;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.SecondLevelCacheStatistics;
+import org.hibernate.stat.Statistics;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Hits, misses and puts of a region of the second-level cache.
+ *
+ * @version $Id$
+ * @since 3.1.0
+ */
+public class CacheRegionStatistics {
+
+    private String regionName;
+    private long hitCount;
+    private long missCount;
+    private long putCount;
+    private long elementCount;
+
+    public CacheRegionStatistics( String regionName, long hitCount, long missCount, long putCount, long elementCount ) {
+        this.regionName = regionName;
+        this.hitCount = hitCount;
+        this.missCount = missCount;
+        this.putCount = putCount;
+        this.elementCount = elementCount;
+    }
+
+    /**
+     * Collects the statistics of all the second-level cache regions of an EntityManagerFactory, sorted by region name.
+     * The list is empty if the cache or the statistics are disabled.
+     */
+    public static List<CacheRegionStatistics> collect( EntityManagerFactory entityManagerFactory ) {
+        final Statistics statistics = entityManagerFactory.unwrap( SessionFactory.class ).getStatistics();
+        final List<CacheRegionStatistics> regionStatistics = new ArrayList<CacheRegionStatistics>();
+
+        if ( !statistics.isStatisticsEnabled() ) {
+            return regionStatistics;
+        }
+
+        final String[] regionNames = statistics.getSecondLevelCacheRegionNames();
+        Arrays.sort( regionNames );
+
+        for ( String regionName : regionNames ) {
+            regionStatistics.add( get( statistics, regionName ) );
+        }
+
+        return regionStatistics;
+    }
+
+    /**
+     * Gets the statistics of a region of the second-level cache.
+     */
+    public static CacheRegionStatistics get( EntityManagerFactory entityManagerFactory, String regionName ) {
+        return get( entityManagerFactory.unwrap( SessionFactory.class ).getStatistics(), regionName );
+    }
+
+    private static CacheRegionStatistics get( Statistics statistics, String regionName ) {
+        final SecondLevelCacheStatistics cacheStatistics = statistics.getSecondLevelCacheStatistics( regionName );
+
+        if ( cacheStatistics == null ) {
+            return new CacheRegionStatistics( regionName, 0, 0, 0, 0 );
+        }
+
+        return new CacheRegionStatistics( regionName, cacheStatistics.getHitCount(), cacheStatistics.getMissCount(),
+                cacheStatistics.getPutCount(), cacheStatistics.getElementCountInMemory() );
+    }
+
+    public String getRegionName() {
+        return regionName;
+    }
+
+    public long getHitCount() {
+        return hitCount;
+    }
+
+    public long getMissCount() {
+        return missCount;
+    }
+
+    public long getPutCount() {
+        return putCount;
+    }
+
+    public long getElementCount() {
+        return elementCount;
+    }
+
+    public double getHitRatio() {
+        final long lookups = hitCount + missCount;
+        return lookups == 0 ? 0 : ( double ) hitCount / lookups;
+    }
+
+    @Override
+    public String toString() {
+        return regionName + ": hits=" + hitCount + ", misses=" + missCount + ", puts=" + putCount +
+                ", elements=" + elementCount;
+    }
+}
@@ -0,0 +1,94 @@
+package uk.ac.ebi.intact.core.config.hibernate;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.BeanFactoryAware;
+import org.springframework.beans.factory.ListableBeanFactory;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.orm.jpa.AbstractEntityManagerFactoryBean;
+import org.springframework.stereotype.Component;
+import uk.ac.ebi.intact.core.config.IntactConfiguration;
+
+import java.util.Map;
+
+/**
+ * Configures the Hibernate second-level cache of the EntityManagerFactories, depending on the value
+ * of IntactConfiguration.isSecondLevelCacheEnabled().
+ * <p/>
+ * When enabled, the reference entities annotated with @Cache (CVs, institutions, biosources, roles and applications,
+ * with their xrefs and aliases) are cached in a local EhCache, configured in
+ * /META-INF/intact-ehcache.xml, which declares a region for each of them and for their cached collections.
+ * <p/>
+ * The statistics are not changed: the hits and misses of each region can be checked with CacheRegionStatistics
+ * when hibernate.generate_statistics is set in the JPA properties.
+ *
+ * @version $Id$
+ * @since 3.1.0
+ */
+@Component
+public class SecondLevelCacheConfigurer implements BeanPostProcessor, BeanFactoryAware {
+
+    private static final Log log = LogFactory.getLog( SecondLevelCacheConfigurer.class );
+
+    public static final String EHCACHE_CONFIGURATION = "/META-INF/intact-ehcache.xml";
+
+    private ListableBeanFactory beanFactory;
+
+    public SecondLevelCacheConfigurer() {
+    }
+
+    @Override
+    public void setBeanFactory( BeanFactory beanFactory ) throws BeansException {
+        if ( beanFactory instanceof ListableBeanFactory ) {
+            this.beanFactory = ( ListableBeanFactory ) beanFactory;
+        }
+    }
+
+    @Override
+    public Object postProcessBeforeInitialization( Object bean, String beanName ) throws BeansException {
+        if ( bean instanceof AbstractEntityManagerFactoryBean ) {
+            configure( ( ( AbstractEntityManagerFactoryBean ) bean ).getJpaPropertyMap(), isSecondLevelCacheEnabled() );
+        }
+        return bean;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization( Object bean, String beanName ) throws BeansException {
+        return bean;
+    }
+
+    /**
+     * Adds the properties that enable or disable the second-level cache.
+     *
+     * @param jpaProperties the properties used to create the EntityManagerFactory
+     * @param enabled       true to enable the cache
+     */
+    public static void configure( Map<String, Object> jpaProperties, boolean enabled ) {
+        if ( enabled ) {
+            if ( log.isInfoEnabled() ) log.info( "Enabling the second-level cache" );
+
+            jpaProperties.put( "hibernate.cache.use_second_level_cache", "true" );
+            jpaProperties.put( "hibernate.cache.use_query_cache", "false" );
+            jpaProperties.put( "hibernate.cache.region.factory_class", "org.hibernate.cache.ehcache.EhCacheRegionFactory" );
+            jpaProperties.put( "net.sf.ehcache.configurationResourceName", EHCACHE_CONFIGURATION );
+        } else {
+            jpaProperties.put( "hibernate.cache.use_second_level_cache", "false" );
+        }
+    }
+
+    private boolean isSecondLevelCacheEnabled() {
+        if ( beanFactory == null ) {
+            return false;
+        }
+
+        for ( IntactConfiguration configuration : beanFactory.getBeansOfType( IntactConfiguration.class ).values() ) {
+            if ( configuration.isSecondLevelCacheEnabled() ) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+}
@@ -19,6 +19,7 @@ import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import uk.ac.ebi.intact.core.IntactException;
 import uk.ac.ebi.intact.core.config.CvPrimer;
+import uk.ac.ebi.intact.core.context.CvObjectRegistry;
 import uk.ac.ebi.intact.core.context.IntactContext;
 import uk.ac.ebi.intact.model.*;
 import uk.ac.ebi.intact.model.util.CvObjectBuilder;
@@ -170,8 +171,20 @@ public class SmallCvPrimer implements CvPrimer {
         //CvContext cvContext = IntactContext.getCurrentInstance().getCvContext();
         CvObjectDao dao = IntactContext.getCurrentInstance().getDataContext().getDaoFactory().getCvObjectDao(clazz);
 
+        // look up the term in the registry first, by MI and then by shortlabel
+        CvObjectRegistry registry = IntactContext.getCurrentInstance().getCvObjectRegistry();
+        CvObjectRegistry.CvTerm term = registry.getByIdentifier(clazz, mi);
+
+        if (term == null) {
+            term = registry.getByShortLabel(clazz, shortlabel);
+        }
+
+        if (term != null) {
+            cv = dao.getByAc(term.getAc());
+        }
+
         // if an MI is available, search using it
-        if (mi != null) {
+        if (cv == null && mi != null) {
             log.debug("Looking up term by mi: " + mi);
             cv = dao.getByPsiMiRef(mi);
         }
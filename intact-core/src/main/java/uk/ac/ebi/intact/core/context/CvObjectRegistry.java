@@ -0,0 +1,724 @@
+package uk.ac.ebi.intact.core.context;
+
+import com.google.common.collect.Iterables;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import uk.ac.ebi.intact.model.CvDatabase;
+import uk.ac.ebi.intact.model.CvObject;
+import uk.ac.ebi.intact.model.CvXrefQualifier;
+import uk.ac.ebi.intact.model.meta.DbInfo;
+
+import javax.persistence.EntityManager;
+import java.io.Serializable;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+/**
+ * Read-mostly, in-memory registry of the controlled vocabularies stored in the database.
+ * <p/>
+ * It keeps a lightweight description of each term (AC, class, identifier, short label, PSI-MI identity and
+ * parents), which can be resolved in constant time by AC, by identifier and by short label. The registry is
+ * loaded at startup by the IntactInitializer and reloaded lazily after being invalidated, which happens every time
+ * the date of the last CV update is saved. The terms saved by the CorePersister or deleted by the CoreDeleter are
+ * refreshed once their transaction is committed, by reading those terms only.
+ * <p/>
+ * The CVs changed by other processes (e.g. the CV update job) are detected by comparing the version of the CVs read
+ * with the snapshot (the date of the last CV update, the number of terms and the date of the last term updated) with
+ * the one in the database, every <code>cvRegistryCheckInterval</code> seconds and when a term is not found. The
+ * registry is loaded again if they differ.
+ * <p/>
+ * Until then, the registry is stale for the transaction that changed them (see {@link #isStale()}), and callers
+ * must query the database instead, as they do when a term is not found.
+ * <p/>
+ * The transitive closure of the DAG is computed once per load or refresh, as one bitset of ancestors and one bitset of
+ * descendants per term, so checking if a term descends from another one does not walk the parents or children.
+ *
+ * @version $Id$
+ * @since 3.1.0
+ */
+@Component
+public class CvObjectRegistry implements Serializable {
+
+    private static final Log log = LogFactory.getLog( CvObjectRegistry.class );
+
+    /**
+     * Above this number of terms, refreshing the registry is as costly as loading it again.
+     */
+    private static final int MAX_REFRESH_SIZE = 500;
+
+    @Autowired
+    private DataContext dataContext;
+
+    private final AtomicReference<Snapshot> snapshot = new AtomicReference<Snapshot>();
+
+    /**
+     * Time of the last comparison of the version of the snapshot with the one in the database, in milliseconds.
+     */
+    private final AtomicLong lastVersionCheck = new AtomicLong();
+
+    public CvObjectRegistry() {
+    }
+
+    /**
+     * Loads the registry from the database, in a new transaction.
+     */
+    public synchronized void load() {
+        final TransactionStatus transactionStatus = dataContext.beginTransaction();
+
+        final Snapshot loaded;
+
+        try {
+            loaded = Snapshot.load( dataContext.getDaoFactory().getEntityManager(), readVersion() );
+        } finally {
+            dataContext.commitTransaction( transactionStatus );
+        }
+
+        snapshot.set( loaded );
+        lastVersionCheck.set( System.currentTimeMillis() );
+
+        if ( log.isInfoEnabled() ) log.info( "Loaded " + loaded.termsByAc.size() + " CV terms in the registry" );
+    }
+
+    /**
+     * Invalidates the registry, which will be loaded again the next time it is used. If a transaction is active,
+     * the registry is invalidated again when the transaction completes, so the changes done in that transaction
+     * are visible.
+     */
+    public void invalidate() {
+        snapshot.set( null );
+
+        if ( TransactionSynchronizationManager.isSynchronizationActive() ) {
+            markStale();
+
+            TransactionSynchronizationManager.registerSynchronization( new TransactionSynchronizationAdapter() {
+                @Override
+                public void afterCompletion( int status ) {
+                    snapshot.set( null );
+                }
+            } );
+        }
+    }
+
+    /**
+     * Refreshes the given terms once the current transaction is committed, or immediately if there is no
+     * transaction. Until then, the registry is stale for the current transaction.
+     *
+     * @param acs the ACs of the terms created, updated or deleted
+     */
+    public void refreshAfterCommit( final Collection<String> acs ) {
+        if ( acs.isEmpty() ) return;
+
+        if ( TransactionSynchronizationManager.isSynchronizationActive() ) {
+            markStale();
+
+            final Set<String> acsToRefresh = new HashSet<String>( acs );
+
+            TransactionSynchronizationManager.registerSynchronization( new TransactionSynchronizationAdapter() {
+                @Override
+                public void afterCommit() {
+                    refresh( acsToRefresh );
+                }
+            } );
+        } else {
+            refresh( acs );
+        }
+    }
+
+    /**
+     * Reads the given terms again from the database, in a new transaction, with their xrefs and the links to their
+     * parents and children. The closure of the DAG is then computed again in memory. The terms not found anymore
+     * are removed from the registry. Nothing is done if the registry is not loaded, as it will be loaded
+     * completely the next time it is used.
+     *
+     * @param acs the ACs of the terms to refresh
+     */
+    public synchronized void refresh( Collection<String> acs ) {
+        final Snapshot current = snapshot.get();
+
+        if ( current == null ) return;
+
+        if ( acs.size() > MAX_REFRESH_SIZE ) {
+            load();
+            return;
+        }
+
+        final TransactionStatus transactionStatus = dataContext.beginTransaction();
+        final Snapshot refreshed;
+
+        try {
+            refreshed = current.refresh( acs, dataContext.getDaoFactory().getEntityManager(), readVersion() );
+        } finally {
+            dataContext.commitTransaction( transactionStatus );
+        }
+
+        // the registry may have been invalidated in the meantime
+        if ( snapshot.compareAndSet( current, refreshed ) && log.isDebugEnabled() ) {
+            log.debug( "Refreshed " + acs.size() + " CV terms in the registry" );
+        }
+    }
+
+    public boolean isLoaded() {
+        return snapshot.get() != null;
+    }
+
+    /**
+     * Checks if CV terms have been saved or deleted in the current transaction. The registry only knows about
+     * them once they are committed, so the database must be queried instead while this is true.
+     *
+     * @return true if the current transaction has changed CV terms
+     */
+    public boolean isStale() {
+        return TransactionSynchronizationManager.hasResource( this );
+    }
+
+    private void markStale() {
+        if ( TransactionSynchronizationManager.hasResource( this ) ) return;
+
+        TransactionSynchronizationManager.bindResource( this, Boolean.TRUE );
+        TransactionSynchronizationManager.registerSynchronization( new TransactionSynchronizationAdapter() {
+            @Override
+            public void afterCompletion( int status ) {
+                TransactionSynchronizationManager.unbindResourceIfPossible( CvObjectRegistry.this );
+            }
+        } );
+    }
+
+    public int size() {
+        return getSnapshot().termsByAc.size();
+    }
+
+    public CvTerm getByAc( String ac ) {
+        return lookup( s -> s.termsByAc.get( ac ) );
+    }
+
+    /**
+     * Gets a term of any class by identifier. The identifier can be the term identifier or the primary id
+     * of one of its identity or secondary-ac xrefs.
+     */
+    public CvTerm getByIdentifier( String identifier ) {
+        return getByIdentifier( CvObject.class, identifier );
+    }
+
+    /**
+     * Gets a term of the given class (or a subclass) by identifier. The identifier can be the term identifier
+     * or the primary id of one of its identity or secondary-ac xrefs.
+     */
+    public CvTerm getByIdentifier( Class<? extends CvObject> cvClass, String identifier ) {
+        if ( identifier == null ) return null;
+
+        return lookup( s -> {
+            final Map<String, CvTerm> terms = s.termsByIdentifier.get( cvClass );
+            return terms == null ? null : terms.get( identifier );
+        } );
+    }
+
+    /**
+     * Gets a term of the given class (or a subclass) by short label, ignoring the case.
+     */
+    public CvTerm getByShortLabel( Class<? extends CvObject> cvClass, String shortLabel ) {
+        if ( shortLabel == null ) return null;
+
+        return lookup( s -> {
+            final Map<String, CvTerm> terms = s.termsByShortLabel.get( cvClass );
+            return terms == null ? null : terms.get( shortLabel.toLowerCase() );
+        } );
+    }
+
+    /**
+     * Checks if a term, or one of its ancestors, has the given identifier.
+     *
+     * @param ac         the AC of the term
+     * @param identifier the identifier to look for
+     * @return true if the term or one of its ancestors has the identifier
+     */
+    public boolean isChildOf( String ac, String identifier ) {
+        final Snapshot snapshot = getSnapshot();
+        final CvTerm term = snapshot.termsByAc.get( ac );
+
+        if ( term == null ) {
+            return false;
+        }
+
+        if ( identifier.equals( term.getIdentifier() ) ) {
+            return true;
+        }
+
+        final BitSet ancestors = snapshot.ancestors[term.index];
+
+        for ( int i = ancestors.nextSetBit( 0 ); i >= 0; i = ancestors.nextSetBit( i + 1 ) ) {
+            if ( identifier.equals( snapshot.termsByIndex[i].getIdentifier() ) ) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Checks if a term is a descendant of another term, in constant time.
+     *
+     * @param ac         the AC of the term
+     * @param ancestorAc the AC of the potential ancestor
+     * @return true if the term is a direct or indirect child of the ancestor, false if it is the same term or if
+     *         one of the terms is not in the registry
+     */
+    public boolean isDescendantOf( String ac, String ancestorAc ) {
+        final Snapshot snapshot = getSnapshot();
+        final CvTerm term = snapshot.termsByAc.get( ac );
+        final CvTerm ancestor = snapshot.termsByAc.get( ancestorAc );
+
+        return term != null && ancestor != null && snapshot.ancestors[term.index].get( ancestor.index );
+    }
+
+    /**
+     * Gets the ACs of all the direct and indirect children of a term, not including the term itself.
+     *
+     * @param ac the AC of the term
+     * @return the ACs of the descendants, empty if the term is not in the registry
+     */
+    public Set<String> getDescendantAcs( String ac ) {
+        final Snapshot snapshot = getSnapshot();
+        final CvTerm term = snapshot.termsByAc.get( ac );
+
+        return term == null ? Collections.<String>emptySet() : snapshot.toAcs( snapshot.descendants[term.index] );
+    }
+
+    /**
+     * Gets the ACs of all the direct and indirect parents of a term, not including the term itself.
+     *
+     * @param ac the AC of the term
+     * @return the ACs of the ancestors, empty if the term is not in the registry
+     */
+    public Set<String> getAncestorAcs( String ac ) {
+        final Snapshot snapshot = getSnapshot();
+        final CvTerm term = snapshot.termsByAc.get( ac );
+
+        return term == null ? Collections.<String>emptySet() : snapshot.toAcs( snapshot.ancestors[term.index] );
+    }
+
+    /**
+     * Gets the ACs of the direct children of a term.
+     */
+    public List<String> getChildAcs( String ac ) {
+        return Collections.unmodifiableList( getSnapshot().getChildAcs( ac ) );
+    }
+
+    /**
+     * Collects the PSI-MI identities of a term and all its descendants. As when traversing the children of a
+     * CvDagObject, a term with several parents is collected once per path.
+     *
+     * @param ac           the AC of the root term
+     * @param collectedMIs the collection where the PSI-MI identities are added
+     */
+    public void collectChildrenMIs( String ac, Collection<String> collectedMIs ) {
+        final Snapshot snapshot = getSnapshot();
+        final CvTerm term = snapshot.termsByAc.get( ac );
+
+        if ( term == null ) return;
+
+        if ( term.getPsiMiIdentity() != null ) {
+            collectedMIs.add( term.getPsiMiIdentity() );
+        }
+
+        for ( String childAc : snapshot.getChildAcs( ac ) ) {
+            collectChildrenMIs( childAc, collectedMIs );
+        }
+    }
+
+    /**
+     * Looks a term up, and again if it is not found but the CVs have been changed in the database. The registry is
+     * not checked while it is stale, as the changes of the current transaction are not committed.
+     */
+    private CvTerm lookup( Function<Snapshot, CvTerm> lookup ) {
+        final Snapshot current = getSnapshot();
+        final CvTerm term = lookup.apply( current );
+
+        if ( term != null || getCheckInterval() < 0 || isStale() ) {
+            return term;
+        }
+
+        final Snapshot checked = checkVersion( current );
+        return checked == current ? null : lookup.apply( checked );
+    }
+
+    private Snapshot getSnapshot() {
+        Snapshot current = snapshot.get();
+
+        if ( current == null ) {
+            synchronized ( this ) {
+                if ( snapshot.get() == null ) {
+                    load();
+                }
+                current = snapshot.get();
+            }
+        } else {
+            final int checkInterval = getCheckInterval();
+
+            if ( checkInterval >= 0 && System.currentTimeMillis() - lastVersionCheck.get() >= checkInterval * 1000L && !isStale() ) {
+                current = checkVersion( current );
+            }
+        }
+
+        return current;
+    }
+
+    /**
+     * Compares the version of a snapshot with the one in the database, and loads the registry again if they differ.
+     *
+     * @return the snapshot to use
+     */
+    private Snapshot checkVersion( Snapshot current ) {
+        lastVersionCheck.set( System.currentTimeMillis() );
+
+        final TransactionStatus transactionStatus = dataContext.beginTransaction();
+        final List<Object> version;
+
+        try {
+            version = readVersion();
+        } finally {
+            dataContext.commitTransaction( transactionStatus );
+        }
+
+        if ( version.equals( current.version ) ) {
+            return current;
+        }
+
+        if ( log.isInfoEnabled() ) log.info( "The CVs have been changed in the database, loading the registry again" );
+
+        synchronized ( this ) {
+            if ( snapshot.get() == current ) {
+                load();
+            }
+        }
+
+        final Snapshot loaded = snapshot.get();
+        return loaded != null ? loaded : getSnapshot();
+    }
+
+    /**
+     * Reads the version of the CVs in the current transaction: the date of the last CV update, the number of terms
+     * and the date of the last term updated.
+     */
+    private List<Object> readVersion() {
+        final DbInfo lastCvUpdate = dataContext.getDaoFactory().getDbInfoDao().get( DbInfo.LAST_CV_UPDATE_PSIMI );
+        final Object[] terms = ( Object[] ) dataContext.getDaoFactory().getEntityManager()
+                .createQuery( "select count(cv), max(cv.updated) from CvObject cv" ).getSingleResult();
+
+        return Arrays.asList( lastCvUpdate == null ? null : lastCvUpdate.getValue(), terms[0], terms[1] );
+    }
+
+    private static int getCheckInterval() {
+        return IntactContext.currentInstanceExists() ?
+               IntactContext.getCurrentInstance().getConfig().getCvRegistryCheckInterval() : -1;
+    }
+
+    /**
+     * Description of a term stored in the registry.
+     */
+    public static final class CvTerm implements Serializable {
+
+        private final String ac;
+        private final Class<? extends CvObject> cvClass;
+        private final String identifier;
+        private final String shortLabel;
+        private String psiMiIdentity;
+        private final Set<String> parentAcs;
+        private final int index;
+
+        private CvTerm( int index, String ac, Class<? extends CvObject> cvClass, String identifier, String shortLabel ) {
+            this.index = index;
+            this.ac = ac;
+            this.cvClass = cvClass;
+            this.identifier = identifier;
+            this.shortLabel = shortLabel;
+            this.parentAcs = new HashSet<String>( 2 );
+        }
+
+        public String getAc() {
+            return ac;
+        }
+
+        public Class<? extends CvObject> getCvClass() {
+            return cvClass;
+        }
+
+        public String getIdentifier() {
+            return identifier;
+        }
+
+        public String getShortLabel() {
+            return shortLabel;
+        }
+
+        public String getPsiMiIdentity() {
+            return psiMiIdentity;
+        }
+
+        public Set<String> getParentAcs() {
+            return Collections.unmodifiableSet( parentAcs );
+        }
+
+        @Override
+        public String toString() {
+            return cvClass.getSimpleName() + "{ac=" + ac + ", identifier=" + identifier + ", shortLabel=" + shortLabel + "}";
+        }
+    }
+
+    /**
+     * Immutable state of the registry once loaded.
+     */
+    private static class Snapshot {
+
+        private static final String TERMS_QUERY = "select cv.ac, cv.objClass, cv.identifier, cv.shortLabel from CvObject cv";
+
+        private static final String XREFS_QUERY = "select cv.ac, xref.primaryId, qualifier.identifier, qualifier.shortLabel, db.identifier " +
+                "from CvObject cv join cv.xrefs as xref left join xref.cvXrefQualifier as qualifier " +
+                "left join xref.cvDatabase as db";
+
+        private static final String PARENTS_QUERY = "select child.ac, parent.ac from CvDagObject child join child.parents as parent";
+
+        /**
+         * Rows read from the database, kept so some terms can be refreshed without reading the others again.
+         */
+        private final Map<String, Object[]> termRows;
+        private final Map<String, List<Object[]>> xrefRowsByAc;
+        private final List<Object[]> parentRows;
+
+        /**
+         * Version of the CVs in the database when the rows were read.
+         */
+        private final List<Object> version;
+
+        private final Map<String, CvTerm> termsByAc = new HashMap<String, CvTerm>();
+        private final Map<Class, Map<String, CvTerm>> termsByIdentifier = new HashMap<Class, Map<String, CvTerm>>();
+        private final Map<Class, Map<String, CvTerm>> termsByShortLabel = new HashMap<Class, Map<String, CvTerm>>();
+        private final Map<String, List<String>> childAcsByAc = new HashMap<String, List<String>>();
+        private final CvTerm[] termsByIndex;
+        private final BitSet[] ancestors;
+        private final BitSet[] descendants;
+
+        private static Snapshot load( EntityManager entityManager, List<Object> version ) {
+            final Map<String, Object[]> termRows = new LinkedHashMap<String, Object[]>();
+            final Map<String, List<Object[]>> xrefRowsByAc = new HashMap<String, List<Object[]>>();
+
+            addTermRows( termRows, entityManager.createQuery( TERMS_QUERY ).getResultList() );
+            addXrefRows( xrefRowsByAc, entityManager.createQuery( XREFS_QUERY ).getResultList() );
+
+            return new Snapshot( termRows, xrefRowsByAc, entityManager.createQuery( PARENTS_QUERY ).getResultList(), version );
+        }
+
+        /**
+         * Creates a new snapshot where the rows of the given terms, and the links to their parents and children,
+         * are read again.
+         */
+        private Snapshot refresh( Collection<String> acs, EntityManager entityManager, List<Object> version ) {
+            final Set<String> acSet = new HashSet<String>( acs );
+
+            final Map<String, Object[]> newTermRows = new LinkedHashMap<String, Object[]>( termRows );
+            newTermRows.keySet().removeAll( acSet );
+            addTermRows( newTermRows, entityManager.createQuery( TERMS_QUERY + " where cv.ac in (:acs)" )
+                    .setParameter( "acs", acSet ).getResultList() );
+
+            final Map<String, List<Object[]>> newXrefRowsByAc = new HashMap<String, List<Object[]>>( xrefRowsByAc );
+            newXrefRowsByAc.keySet().removeAll( acSet );
+            addXrefRows( newXrefRowsByAc, entityManager.createQuery( XREFS_QUERY + " where cv.ac in (:acs)" )
+                    .setParameter( "acs", acSet ).getResultList() );
+
+            final List<Object[]> newParentRows = new ArrayList<Object[]>( parentRows.size() );
+
+            for ( Object[] row : parentRows ) {
+                if ( !acSet.contains( row[0] ) && !acSet.contains( row[1] ) ) {
+                    newParentRows.add( row );
+                }
+            }
+            newParentRows.addAll( entityManager.createQuery( PARENTS_QUERY + " where child.ac in (:acs) or parent.ac in (:acs)" )
+                    .setParameter( "acs", acSet ).getResultList() );
+
+            return new Snapshot( newTermRows, newXrefRowsByAc, newParentRows, version );
+        }
+
+        private static void addTermRows( Map<String, Object[]> termRows, List<Object[]> rows ) {
+            for ( Object[] row : rows ) {
+                termRows.put( ( String ) row[0], row );
+            }
+        }
+
+        private static void addXrefRows( Map<String, List<Object[]>> xrefRowsByAc, List<Object[]> rows ) {
+            for ( Object[] row : rows ) {
+                List<Object[]> xrefRows = xrefRowsByAc.get( ( String ) row[0] );
+
+                if ( xrefRows == null ) {
+                    xrefRows = new ArrayList<Object[]>( 2 );
+                    xrefRowsByAc.put( ( String ) row[0], xrefRows );
+                }
+                xrefRows.add( row );
+            }
+        }
+
+        private Snapshot( Map<String, Object[]> termRows, Map<String, List<Object[]>> xrefRowsByAc, List<Object[]> parentRows,
+                          List<Object> version ) {
+            this.termRows = termRows;
+            this.xrefRowsByAc = xrefRowsByAc;
+            this.parentRows = parentRows;
+            this.version = version;
+
+            for ( Object[] row : termRows.values() ) {
+                final Class<? extends CvObject> cvClass = toCvClass( ( String ) row[1] );
+
+                if ( cvClass == null ) continue;
+
+                final CvTerm term = new CvTerm( termsByAc.size(), ( String ) row[0], cvClass, ( String ) row[2], ( String ) row[3] );
+                termsByAc.put( term.getAc(), term );
+
+                index( termsByIdentifier, cvClass, term.getIdentifier(), term );
+
+                if ( term.getShortLabel() != null ) {
+                    index( termsByShortLabel, cvClass, term.getShortLabel().toLowerCase(), term );
+                }
+            }
+
+            for ( Object[] row : Iterables.concat( xrefRowsByAc.values() ) ) {
+                final CvTerm term = termsByAc.get( ( String ) row[0] );
+                final String primaryId = ( String ) row[1];
+                final String qualifierId = ( String ) row[2];
+                final String qualifierLabel = ( String ) row[3];
+
+                if ( term == null || primaryId == null ) continue;
+
+                final boolean identity = CvXrefQualifier.IDENTITY_MI_REF.equals( qualifierId ) ||
+                        ( qualifierId == null && CvXrefQualifier.IDENTITY.equals( qualifierLabel ) );
+                final boolean secondary = CvXrefQualifier.SECONDARY_AC_MI_REF.equals( qualifierId ) ||
+                        ( qualifierId == null && CvXrefQualifier.SECONDARY_AC.equals( qualifierLabel ) );
+
+                if ( identity || secondary ) {
+                    index( termsByIdentifier, term.getCvClass(), primaryId, term );
+                }
+
+                if ( identity && CvDatabase.PSI_MI_MI_REF.equals( row[4] ) ) {
+                    term.psiMiIdentity = primaryId;
+                }
+            }
+
+            for ( Object[] row : parentRows ) {
+                final CvTerm term = termsByAc.get( ( String ) row[0] );
+
+                if ( term == null ) continue;
+
+                term.parentAcs.add( ( String ) row[1] );
+
+                List<String> childAcs = childAcsByAc.get( ( String ) row[1] );
+                if ( childAcs == null ) {
+                    childAcs = new ArrayList<String>();
+                    childAcsByAc.put( ( String ) row[1], childAcs );
+                }
+                childAcs.add( term.getAc() );
+            }
+
+            termsByIndex = new CvTerm[termsByAc.size()];
+            for ( CvTerm term : termsByAc.values() ) {
+                termsByIndex[term.index] = term;
+            }
+
+            ancestors = new BitSet[termsByIndex.length];
+            descendants = new BitSet[termsByIndex.length];
+
+            for ( int i = 0; i < termsByIndex.length; i++ ) {
+                descendants[i] = new BitSet();
+            }
+
+            for ( int i = 0; i < termsByIndex.length; i++ ) {
+                final BitSet termAncestors = computeAncestors( i, new BitSet() );
+
+                for ( int j = termAncestors.nextSetBit( 0 ); j >= 0; j = termAncestors.nextSetBit( j + 1 ) ) {
+                    descendants[j].set( i );
+                }
+            }
+        }
+
+        private List<String> getChildAcs( String ac ) {
+            final List<String> childAcs = childAcsByAc.get( ac );
+            return childAcs == null ? Collections.<String>emptyList() : childAcs;
+        }
+
+        /**
+         * Computes the ancestors of a term from the ones of its parents, each term being computed once. A cycle
+         * in the DAG is broken at the term found twice in the path.
+         */
+        private BitSet computeAncestors( int index, BitSet path ) {
+            if ( ancestors[index] != null ) {
+                return ancestors[index];
+            }
+
+            path.set( index );
+
+            final BitSet termAncestors = new BitSet();
+
+            for ( String parentAc : termsByIndex[index].parentAcs ) {
+                final CvTerm parent = termsByAc.get( parentAc );
+
+                if ( parent == null ) continue;
+
+                if ( path.get( parent.index ) ) {
+                    log.warn( "Ignoring cycle in the CV DAG: " + termsByIndex[index] + " is an ancestor of its parent " + parent );
+                    continue;
+                }
+
+                termAncestors.set( parent.index );
+                termAncestors.or( computeAncestors( parent.index, path ) );
+            }
+
+            path.clear( index );
+            termAncestors.clear( index );
+
+            ancestors[index] = termAncestors;
+            return termAncestors;
+        }
+
+        private Set<String> toAcs( BitSet indexes ) {
+            final Set<String> acs = new HashSet<String>( indexes.cardinality() * 2 );
+
+            for ( int i = indexes.nextSetBit( 0 ); i >= 0; i = indexes.nextSetBit( i + 1 ) ) {
+                acs.add( termsByIndex[i].getAc() );
+            }
+
+            return Collections.unmodifiableSet( acs );
+        }
+
+        /**
+         * Indexes the term under its class and all its superclasses, up to CvObject, so a lookup by any
+         * class in the hierarchy is a single map access. The first term indexed for a key is kept.
+         */
+        private static void index( Map<Class, Map<String, CvTerm>> index, Class<?> cvClass, String key, CvTerm term ) {
+            if ( key == null ) return;
+
+            for ( Class<?> clazz = cvClass; clazz != null && CvObject.class.isAssignableFrom( clazz ); clazz = clazz.getSuperclass() ) {
+                Map<String, CvTerm> terms = index.get( clazz );
+
+                if ( terms == null ) {
+                    terms = new HashMap<String, CvTerm>();
+                    index.put( clazz, terms );
+                }
+
+                if ( !terms.containsKey( key ) ) {
+                    terms.put( key, term );
+                }
+            }
+        }
+
+        private static Class<? extends CvObject> toCvClass( String className ) {
+            try {
+                return Class.forName( className ).asSubclass( CvObject.class );
+            } catch ( Exception e ) {
+                log.warn( "Ignoring CV term of unknown class: " + className );
+                return null;
+            }
+        }
+    }
+}
@@ -15,6 +15,7 @@ import uk.ac.ebi.intact.core.config.ConfigurationHandler;
 import uk.ac.ebi.intact.core.config.IntactConfiguration;
 import uk.ac.ebi.intact.core.lifecycle.LifecycleManager;
 import uk.ac.ebi.intact.core.persistence.dao.DaoFactory;
+import uk.ac.ebi.intact.core.persistence.svc.ShortLabelAllocator;
 import uk.ac.ebi.intact.core.persister.CoreDeleter;
 import uk.ac.ebi.intact.core.persister.CorePersister;
 import uk.ac.ebi.intact.core.persister.PersisterHelper;
@@ -59,6 +60,12 @@ public class IntactContext implements DisposableBean, Serializable {
     @Autowired
     private LifecycleManager lifecycleManager;
 
+    @Autowired
+    private CvObjectRegistry cvObjectRegistry;
+
+    @Autowired
+    private PartnerGraph partnerGraph;
+
     @Resource(name = "defaultApp")
     private Application application;
 
@@ -222,6 +229,24 @@ public class IntactContext implements DisposableBean, Serializable {
         return lifecycleManager;
     }
 
+    /**
+     * Gets the registry of the CVs stored in the database.
+     *
+     * @since 3.1.0
+     */
+    public CvObjectRegistry getCvObjectRegistry() {
+        return cvObjectRegistry;
+    }
+
+    /**
+     * Gets the in-memory graph of the interactors and their partners.
+     *
+     * @since 3.1.0
+     */
+    public PartnerGraph getPartnerGraph() {
+        return partnerGraph;
+    }
+
     /**
      * Closes this instance of {@code IntactContext} and finalizes the data access, by closing the EntityManagerFactories
      * for all the registered DataConfigs. Other fields are set to null, as well as the current instance.     *
@@ -263,6 +288,13 @@ public class IntactContext implements DisposableBean, Serializable {
         return (CoreDeleter) IntactContext.getCurrentInstance().getSpringContext().getBean("coreDeleter");
     }
 
+    /**
+     * @since 3.1.0
+     */
+    public ShortLabelAllocator getShortLabelAllocator() {
+        return getSpringContext().getBean(ShortLabelAllocator.class);
+    }
+
     public void bindToApplication(Application application) {
         Application app = getConfigurationHandler().loadConfiguration(application);
         setApplication(app);
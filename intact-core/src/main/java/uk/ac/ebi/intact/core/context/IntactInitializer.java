@@ -18,6 +18,9 @@ package uk.ac.ebi.intact.core.context;
 import org.apache.commons.beanutils.PropertyUtils;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
+import org.hibernate.HibernateException;
+import org.hibernate.Session;
+import org.hibernate.jdbc.Work;
 import org.springframework.beans.BeansException;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.ApplicationContext;
@@ -40,6 +43,8 @@ import uk.ac.ebi.intact.model.user.User;
 import uk.ac.ebi.intact.model.util.CvObjectUtils;
 
 import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
 import java.util.List;
 import java.util.Map;
 
@@ -77,6 +82,9 @@ public class IntactInitializer implements ApplicationContextAware{
     @Autowired
     private ApplicationContext applicationContext;
 
+    @Autowired
+    private CvObjectRegistry cvObjectRegistry;
+
     private boolean autoPersist = true;
 
     private static final Log log = LogFactory.getLog(IntactInitializer.class);
@@ -119,6 +127,8 @@ public class IntactInitializer implements ApplicationContextAware{
         if (!configuration.isSkipSchemaCheck()) {
             checkSchemaCompatibility();
         }
+
+        checkAcSequence();
         
         persistInstitution(defaultInstitution, true);
 
@@ -136,6 +146,9 @@ public class IntactInitializer implements ApplicationContextAware{
             // default user creation
             createUsersIfNecessary();
         }
+
+        // load the CVs, so they can be looked up without querying the database
+        cvObjectRegistry.load();
     }
 
     private String printDataSource( DataSource ds ) {
@@ -223,6 +236,35 @@ public class IntactInitializer implements ApplicationContextAware{
         }
     }
 
+    /**
+     * Refuses to start if the ACs are pooled and the AC sequence is not incremented by the allocation size,
+     * as the blocks reserved would overlap. The method is called from init(), so the transaction is started here.
+     */
+    public void checkAcSequence() {
+        final int allocationSize = configuration.getAcAllocationSize();
+
+        if (allocationSize > 1) {
+            final DataContext dataContext = intactContext.getDataContext();
+            final TransactionStatus transactionStatus = dataContext.beginTransaction();
+
+            try {
+                daoFactory.getEntityManager().unwrap(Session.class).doWork(new Work() {
+                    public void execute(Connection connection) throws SQLException {
+                        IntactIdGenerator.checkSequenceIncrement(connection, allocationSize);
+                    }
+                });
+
+                dataContext.commitTransaction(transactionStatus);
+            } catch (HibernateException e) {
+                throw new IntactInitializationError("The AC sequence cannot be used with the AC allocation size " + allocationSize, e);
+            } finally {
+                if (!transactionStatus.isCompleted()) {
+                    dataContext.rollbackTransaction(transactionStatus);
+                }
+            }
+        }
+    }
+
     @Transactional(propagation = Propagation.REQUIRES_NEW)
      public void persistBasicCvObjects() {
 
@@ -0,0 +1,666 @@
+package uk.ac.ebi.intact.core.context;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.Session;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.Serializable;
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory graph of the interactors and the interactions they take part in, answering the same questions as
+ * InteractorDao.getPartnersWithInteractionAcsByInteractorAc() and ProteinDao.getPartnersCountingInteractionsByProteinAc()
+ * without querying the database.
+ * <p/>
+ * The interactors and the interactions are numbered, and the graph is kept as two sets of int arrays: the sorted,
+ * distinct interactors of each interaction, and the sorted interactions of each interactor. As in the DAOs, an
+ * interactor is a partner of itself in an interaction if one of its components there has a stoichiometry of 2.
+ * <p/>
+ * The graph is loaded lazily with one scan of the components. The CorePersister and the CoreDeleter refresh the
+ * interactions they save or delete once their transaction is committed. The DAOs answer their partner methods from
+ * the graph when IntactConfiguration.isPartnerGraphLookup() is true.
+ *
+ * @version $Id$
+ * @since 3.1.0
+ */
+@Component
+public class PartnerGraph implements Serializable {
+
+    private static final Log log = LogFactory.getLog( PartnerGraph.class );
+
+    private static final String COMPONENT_QUERY =
+            "select c.interaction.ac, c.interactor.ac, c.stoichiometry from Component c";
+
+    /**
+     * Maximum number of ACs passed to a single query when refreshing interactions.
+     */
+    private static final int CHUNK_SIZE = 500;
+
+    private static final int[] EMPTY = new int[0];
+
+    @Autowired
+    private DataContext dataContext;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private boolean loaded;
+
+    private final Map<String, Integer> interactorIndexes = new HashMap<String, Integer>();
+    private final List<String> interactorAcs = new ArrayList<String>();
+
+    private final Map<String, Integer> interactionIndexes = new HashMap<String, Integer>();
+    private final List<String> interactionAcs = new ArrayList<String>();
+
+    /**
+     * Sorted interactor indexes of each interaction, empty if the interaction has no components anymore.
+     */
+    private int[][] participants = new int[0][];
+
+    /**
+     * Sorted indexes of the interactors of each interaction with a component with a stoichiometry of 2,
+     * null if there is none.
+     */
+    private int[][] selfParticipants = new int[0][];
+
+    /**
+     * Sorted interaction indexes of each interactor.
+     */
+    private int[][] interactions = new int[0][];
+
+    public PartnerGraph() {
+    }
+
+    /**
+     * Loads the graph from the database, in a new transaction, streaming the components ordered by interaction.
+     */
+    public void load() {
+        lock.writeLock().lock();
+
+        try {
+            clear();
+
+            final TransactionStatus transactionStatus = dataContext.beginTransaction();
+
+            try {
+                final org.hibernate.Query query = getSession().createQuery( COMPONENT_QUERY + " order by c.interaction.ac" );
+                query.setReadOnly( true );
+                query.setFetchSize( IntactContext.getCurrentInstance().getConfig().getScrollFetchSize() );
+
+                final ScrollableResults results = query.scroll( ScrollMode.FORWARD_ONLY );
+
+                try {
+                    readComponents( results );
+                } finally {
+                    results.close();
+                }
+            } finally {
+                dataContext.commitTransaction( transactionStatus );
+            }
+
+            participants = Arrays.copyOf( participants, interactionAcs.size() );
+            selfParticipants = Arrays.copyOf( selfParticipants, interactionAcs.size() );
+
+            // the interactions are numbered in order, so the arrays of the interactors are sorted
+            final int[] degrees = new int[interactorAcs.size()];
+
+            for ( int[] interactors : participants ) {
+                for ( int interactor : interactors ) {
+                    degrees[interactor]++;
+                }
+            }
+
+            interactions = new int[interactorAcs.size()][];
+
+            for ( int i = 0; i < interactions.length; i++ ) {
+                interactions[i] = new int[degrees[i]];
+                degrees[i] = 0;
+            }
+
+            for ( int interaction = 0; interaction < participants.length; interaction++ ) {
+                for ( int interactor : participants[interaction] ) {
+                    interactions[interactor][degrees[interactor]++] = interaction;
+                }
+            }
+
+            loaded = true;
+
+            if ( log.isInfoEnabled() ) log.info( "Loaded the partner graph: " + interactorAcs.size() + " interactors, " +
+                                                 interactionAcs.size() + " interactions" );
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Invalidates the graph, which will be loaded again the next time it is used. If a transaction is active,
+     * the graph is invalidated again when the transaction completes, so the changes done in that transaction
+     * are visible.
+     */
+    public void invalidate() {
+        doInvalidate();
+
+        if ( TransactionSynchronizationManager.isSynchronizationActive() ) {
+            TransactionSynchronizationManager.registerSynchronization( new TransactionSynchronizationAdapter() {
+                @Override
+                public void afterCompletion( int status ) {
+                    doInvalidate();
+                }
+            } );
+        }
+    }
+
+    private void doInvalidate() {
+        lock.writeLock().lock();
+
+        try {
+            clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean isLoaded() {
+        lock.readLock().lock();
+
+        try {
+            return loaded;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Reads again the components of some interactions, once the current transaction is committed, or immediately
+     * if there is no transaction. Nothing is done if the graph is not loaded.
+     *
+     * @param interactionAcs the ACs of the interactions created, updated or deleted
+     */
+    public void refreshAfterCommit( final Collection<String> interactionAcs ) {
+        if ( !isLoaded() ) {
+            return;
+        }
+
+        if ( TransactionSynchronizationManager.isSynchronizationActive() ) {
+            final List<String> acs = new ArrayList<String>( interactionAcs );
+
+            TransactionSynchronizationManager.registerSynchronization( new TransactionSynchronizationAdapter() {
+                @Override
+                public void afterCommit() {
+                    refresh( acs );
+                }
+            } );
+        } else {
+            refresh( interactionAcs );
+        }
+    }
+
+    /**
+     * Reads again the components of some interactions, in a new transaction, and updates the graph.
+     * Nothing is done if the graph is not loaded.
+     * <p/>
+     * The components are read while holding the write lock, so that two refreshes of the same interactions,
+     * e.g. after two transactions committed one after the other, are applied in the order of their reads.
+     *
+     * @param interactionAcs the ACs of the interactions created, updated or deleted
+     */
+    public void refresh( Collection<String> interactionAcs ) {
+        final List<String> acs = new ArrayList<String>( new TreeSet<String>( interactionAcs ) );
+
+        lock.writeLock().lock();
+
+        try {
+            if ( !loaded ) {
+                return;
+            }
+
+            final List<Object[]> rows = selectComponents( acs );
+
+            // the interactions without components anymore are removed
+            for ( String ac : acs ) {
+                final Integer interaction = interactionIndexes.get( ac );
+
+                if ( interaction != null ) {
+                    unlink( interaction );
+                }
+            }
+
+            int from = 0;
+
+            while ( from < rows.size() ) {
+                final String interactionAc = ( String ) rows.get( from )[0];
+                int to = from;
+
+                while ( to < rows.size() && interactionAc.equals( rows.get( to )[0] ) ) {
+                    to++;
+                }
+
+                link( interactionIndex( interactionAc ), rows.subList( from, to ) );
+                from = to;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        if ( log.isDebugEnabled() ) log.debug( "Refreshed " + acs.size() + " interactions in the partner graph" );
+    }
+
+    /**
+     * Gets the partners of an interactor, with the number of interactions shared with each of them.
+     *
+     * @param interactorAc the AC of the interactor
+     * @return the number of interactions by partner AC, empty if the interactor is unknown
+     */
+    public Map<String, Integer> countInteractionsByPartner( String interactorAc ) {
+        final Map<String, Integer> counts = new HashMap<String, Integer>();
+
+        readLock();
+
+        try {
+            final Integer interactor = interactorIndexes.get( interactorAc );
+
+            if ( interactor != null ) {
+                final int[] partners = collectPartners( interactor );
+                int from = 0;
+
+                // each partner occurs once by shared interaction
+                for ( int i = 1; i <= partners.length; i++ ) {
+                    if ( i == partners.length || partners[i] != partners[from] ) {
+                        counts.put( interactorAcs.get( partners[from] ), i - from );
+                        from = i;
+                    }
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        return counts;
+    }
+
+    /**
+     * Gets the partners of an interactor, with the ACs of the interactions shared with each of them.
+     *
+     * @param interactorAc the AC of the interactor
+     * @return the interaction ACs by partner AC, empty if the interactor is unknown
+     */
+    public Map<String, List<String>> getPartnersWithInteractionAcs( String interactorAc ) {
+        final Map<String, List<String>> partnersWithInteractionAcs = new HashMap<String, List<String>>();
+
+        readLock();
+
+        try {
+            final Integer interactor = interactorIndexes.get( interactorAc );
+
+            if ( interactor == null ) {
+                return partnersWithInteractionAcs;
+            }
+
+            for ( int interaction : interactions[interactor] ) {
+                final boolean self = contains( selfParticipants[interaction], interactor );
+
+                for ( int partner : participants[interaction] ) {
+                    if ( partner != interactor || self ) {
+                        final String partnerAc = interactorAcs.get( partner );
+                        List<String> acs = partnersWithInteractionAcs.get( partnerAc );
+
+                        if ( acs == null ) {
+                            acs = new ArrayList<String>();
+                            partnersWithInteractionAcs.put( partnerAc, acs );
+                        }
+                        acs.add( interactionAcs.get( interaction ) );
+                    }
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        return partnersWithInteractionAcs;
+    }
+
+    /**
+     * Gets the ACs of the partners of an interactor.
+     *
+     * @param interactorAc the AC of the interactor
+     * @return the partner ACs, sorted, empty if the interactor is unknown
+     */
+    public List<String> getPartnerAcs( String interactorAc ) {
+        final List<String> partnerAcs = new ArrayList<String>();
+
+        readLock();
+
+        try {
+            final Integer interactor = interactorIndexes.get( interactorAc );
+
+            if ( interactor != null ) {
+                final int[] partners = collectPartners( interactor );
+
+                for ( int i = 0; i < partners.length; i++ ) {
+                    if ( i == 0 || partners[i] != partners[i - 1] ) {
+                        partnerAcs.add( interactorAcs.get( partners[i] ) );
+                    }
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        Collections.sort( partnerAcs );
+
+        return partnerAcs;
+    }
+
+    public int countPartners( String interactorAc ) {
+        readLock();
+
+        try {
+            final Integer interactor = interactorIndexes.get( interactorAc );
+            return interactor == null ? 0 : countDistinct( collectPartners( interactor ) );
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Gets the interactions in which an interactor is a partner of another one.
+     *
+     * @param interactorAc the AC of the interactor
+     * @param partnerAc    the AC of the partner, which can be the same as interactorAc for the self interactions
+     * @return the ACs of the interactions, empty if none
+     */
+    public List<String> getSharedInteractionAcs( String interactorAc, String partnerAc ) {
+        final List<String> acs = new ArrayList<String>();
+
+        readLock();
+
+        try {
+            final Integer interactor = interactorIndexes.get( interactorAc );
+            final Integer partner = interactorIndexes.get( partnerAc );
+
+            if ( interactor == null || partner == null ) {
+                return acs;
+            }
+
+            final int[] interactionsA = interactions[interactor];
+            final int[] interactionsB = interactions[partner];
+            int a = 0;
+            int b = 0;
+
+            while ( a < interactionsA.length && b < interactionsB.length ) {
+                if ( interactionsA[a] < interactionsB[b] ) {
+                    a++;
+                } else if ( interactionsA[a] > interactionsB[b] ) {
+                    b++;
+                } else {
+                    final int interaction = interactionsA[a];
+
+                    if ( !interactor.equals( partner ) || contains( selfParticipants[interaction], interactor ) ) {
+                        acs.add( interactionAcs.get( interaction ) );
+                    }
+                    a++;
+                    b++;
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        return acs;
+    }
+
+    /**
+     * Collects the partners of an interactor from the participants of its interactions. The array is sized by the
+     * participants of these interactions only, not by the whole graph, and a partner occurs in it once by
+     * interaction shared with the interactor.
+     *
+     * @return the sorted indexes of the partners, with a partner repeated for each shared interaction
+     */
+    private int[] collectPartners( int interactor ) {
+        int size = 0;
+
+        for ( int interaction : interactions[interactor] ) {
+            size += participants[interaction].length;
+        }
+
+        final int[] partners = new int[size];
+        int count = 0;
+
+        for ( int interaction : interactions[interactor] ) {
+            final boolean self = contains( selfParticipants[interaction], interactor );
+
+            for ( int partner : participants[interaction] ) {
+                if ( partner != interactor || self ) {
+                    partners[count++] = partner;
+                }
+            }
+        }
+
+        Arrays.sort( partners, 0, count );
+
+        return count == size ? partners : Arrays.copyOf( partners, count );
+    }
+
+    /**
+     * Takes the read lock, loading the graph first if needed.
+     */
+    private void readLock() {
+        lock.readLock().lock();
+
+        if ( !loaded ) {
+            lock.readLock().unlock();
+
+            lock.writeLock().lock();
+            try {
+                if ( !loaded ) {
+                    load();
+                }
+                lock.readLock().lock();
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    private List<Object[]> selectComponents( List<String> acs ) {
+        final List<Object[]> rows = new ArrayList<Object[]>();
+
+        final TransactionStatus transactionStatus = dataContext.beginTransaction();
+
+        try {
+            for ( int from = 0; from < acs.size(); from += CHUNK_SIZE ) {
+                rows.addAll( getSession().createQuery( COMPONENT_QUERY + " where c.interaction.ac in (:acs) order by c.interaction.ac" )
+                                     .setParameterList( "acs", acs.subList( from, Math.min( from + CHUNK_SIZE, acs.size() ) ) )
+                                     .setReadOnly( true )
+                                     .list() );
+            }
+        } finally {
+            dataContext.commitTransaction( transactionStatus );
+        }
+
+        return rows;
+    }
+
+    private void readComponents( ScrollableResults results ) {
+        final List<Object[]> rows = new ArrayList<Object[]>();
+        String interactionAc = null;
+
+        while ( results.next() ) {
+            final Object[] row = results.get();
+
+            if ( !row[0].equals( interactionAc ) ) {
+                if ( interactionAc != null ) {
+                    link( interactionIndex( interactionAc ), rows );
+                    rows.clear();
+                }
+                interactionAc = ( String ) row[0];
+            }
+            rows.add( new Object[]{row[0], row[1], row[2]} );
+        }
+
+        if ( interactionAc != null ) {
+            link( interactionIndex( interactionAc ), rows );
+        }
+    }
+
+    /**
+     * Sets the participants of an interaction from its components, and adds the interaction to its interactors if
+     * the graph is loaded. The interaction must not be linked to its interactors yet.
+     */
+    private void link( int interaction, List<Object[]> components ) {
+        final int[] interactors = new int[components.size()];
+        int[] selfInteractors = EMPTY;
+
+        for ( int i = 0; i < interactors.length; i++ ) {
+            final Object[] component = components.get( i );
+            interactors[i] = interactorIndex( ( String ) component[1] );
+
+            if ( component[2] != null && ( ( Number ) component[2] ).floatValue() == 2f ) {
+                selfInteractors = insert( selfInteractors, interactors[i] );
+            }
+        }
+
+        participants[interaction] = distinct( interactors );
+        selfParticipants[interaction] = selfInteractors.length == 0 ? null : selfInteractors;
+
+        if ( loaded ) {
+            for ( int interactor : participants[interaction] ) {
+                interactions[interactor] = insert( interactions[interactor], interaction );
+            }
+        }
+    }
+
+    /**
+     * Removes an interaction from its interactors. Its index is kept, so it can be linked again.
+     */
+    private void unlink( int interaction ) {
+        for ( int interactor : participants[interaction] ) {
+            interactions[interactor] = remove( interactions[interactor], interaction );
+        }
+
+        participants[interaction] = EMPTY;
+        selfParticipants[interaction] = null;
+    }
+
+    private int interactionIndex( String ac ) {
+        Integer index = interactionIndexes.get( ac );
+
+        if ( index == null ) {
+            index = interactionAcs.size();
+            interactionIndexes.put( ac, index );
+            interactionAcs.add( ac );
+
+            if ( index == participants.length ) {
+                participants = Arrays.copyOf( participants, Math.max( 16, index * 2 ) );
+                selfParticipants = Arrays.copyOf( selfParticipants, participants.length );
+            }
+            participants[index] = EMPTY;
+        }
+
+        return index;
+    }
+
+    private int interactorIndex( String ac ) {
+        Integer index = interactorIndexes.get( ac );
+
+        if ( index == null ) {
+            index = interactorAcs.size();
+            interactorIndexes.put( ac, index );
+            interactorAcs.add( ac );
+
+            if ( loaded ) {
+                if ( index == interactions.length ) {
+                    interactions = Arrays.copyOf( interactions, Math.max( 16, index * 2 ) );
+                }
+                interactions[index] = EMPTY;
+            }
+        }
+
+        return index;
+    }
+
+    private void clear() {
+        loaded = false;
+        interactorIndexes.clear();
+        interactorAcs.clear();
+        interactionIndexes.clear();
+        interactionAcs.clear();
+        participants = new int[0][];
+        selfParticipants = new int[0][];
+        interactions = new int[0][];
+    }
+
+    private Session getSession() {
+        return dataContext.getDaoFactory().getEntityManager().unwrap( Session.class );
+    }
+
+    private static boolean contains( int[] sorted, int value ) {
+        return sorted != null && Arrays.binarySearch( sorted, value ) >= 0;
+    }
+
+    private static int countDistinct( int[] sorted ) {
+        int count = 0;
+
+        for ( int i = 0; i < sorted.length; i++ ) {
+            if ( i == 0 || sorted[i] != sorted[i - 1] ) {
+                count++;
+            }
+        }
+
+        return count;
+    }
+
+    private static int[] distinct( int[] values ) {
+        final int[] sorted = values.clone();
+        Arrays.sort( sorted );
+
+        int count = 0;
+
+        for ( int i = 0; i < sorted.length; i++ ) {
+            if ( i == 0 || sorted[i] != sorted[i - 1] ) {
+                sorted[count++] = sorted[i];
+            }
+        }
+
+        return count == sorted.length ? sorted : Arrays.copyOf( sorted, count );
+    }
+
+    private static int[] insert( int[] sorted, int value ) {
+        int position = Arrays.binarySearch( sorted, value );
+
+        if ( position >= 0 ) {
+            return sorted;
+        }
+
+        position = -position - 1;
+
+        final int[] inserted = new int[sorted.length + 1];
+        System.arraycopy( sorted, 0, inserted, 0, position );
+        inserted[position] = value;
+        System.arraycopy( sorted, position, inserted, position + 1, sorted.length - position );
+
+        return inserted;
+    }
+
+    private static int[] remove( int[] sorted, int value ) {
+        final int position = Arrays.binarySearch( sorted, value );
+
+        if ( position < 0 ) {
+            return sorted;
+        }
+
+        final int[] removed = new int[sorted.length - 1];
+        System.arraycopy( sorted, 0, removed, 0, position );
+        System.arraycopy( sorted, position + 1, removed, position, sorted.length - position - 1 );
+
+        return removed;
+    }
+}
@@ -11,6 +11,7 @@ import uk.ac.ebi.intact.model.*;
 import java.util.Collection;
 import java.util.Iterator;
 import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * @author Bruno Aranda (baranda@ebi.ac.uk)
@@ -38,6 +39,21 @@ public interface AnnotatedObjectDao<T extends AnnotatedObject> extends IntactObj
 
     Iterator<T> getByShortLabelLikeIterator(String value, boolean ignoreCase);
 
+    /**
+     * Iterates with a forward-only cursor over the objects with a short label, evicting each object from
+     * the session when the next one is requested.
+     *
+     * @since 3.1.0
+     */
+    CloseableIterator<T> scrollByShortLabelLike(String value, boolean ignoreCase);
+
+    /**
+     * Stream of the objects with a short label, backed by scrollByShortLabelLike().
+     *
+     * @since 3.1.0
+     */
+    Stream<T> streamByShortLabelLike(String value, boolean ignoreCase);
+
     T getByXref(String primaryId);
 
     /**
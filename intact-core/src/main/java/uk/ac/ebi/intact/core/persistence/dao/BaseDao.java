@@ -12,6 +12,7 @@ import java.sql.SQLException;
 import java.util.Collection;
 import java.util.Iterator;
 import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * Base DAO, which any DAO has to implement
@@ -35,6 +36,43 @@ public interface BaseDao<T> {
 
     Iterator<T> getAllIterator();
 
+    /**
+     * Iterates over all the objects with a forward-only cursor, fetching the number of rows set in
+     * IntactConfiguration.getScrollFetchSize() at a time. Each object is evicted from the session when the
+     * next one is requested. Has to be called in a transaction, and the iterator closed if not read until the end.
+     *
+     * @return an iterator over all the objects
+     * @since 3.1.0
+     */
+    CloseableIterator<T> scroll();
+
+    /**
+     * Iterates over all the objects with a forward-only cursor, evicting each object from the session when
+     * the next one is requested.
+     *
+     * @param fetchSize the number of rows fetched from the database at a time
+     * @return an iterator over all the objects
+     * @since 3.1.0
+     */
+    CloseableIterator<T> scroll(int fetchSize);
+
+    /**
+     * Stream of all the objects, backed by scroll(). The stream has to be closed if not consumed until the end.
+     *
+     * @return the objects
+     * @since 3.1.0
+     */
+    Stream<T> stream();
+
+    /**
+     * Stream of all the objects, backed by scroll(int).
+     *
+     * @param fetchSize the number of rows fetched from the database at a time
+     * @return the objects
+     * @since 3.1.0
+     */
+    Stream<T> stream(int fetchSize);
+
     List<T> getAll(int firstResult, int maxResults);
 
     /**
@@ -0,0 +1,19 @@
+package uk.ac.ebi.intact.core.persistence.dao;
+
+import java.io.Closeable;
+import java.util.Iterator;
+
+/**
+ * Iterator over the results of a query that keeps a database cursor open. It has to be closed once
+ * it is not used anymore, which is done automatically when the last result has been read.
+ *
+ * @version $Id$
+ * @since 3.1.0
+ */
+public interface CloseableIterator<T> extends Iterator<T>, Closeable {
+
+    /**
+     * Closes the cursor. Does nothing if it is already closed.
+     */
+    void close();
+}
@@ -27,6 +27,16 @@ public interface ExperimentDao extends AnnotatedObjectDao<Experiment> {
 
     Iterator<Interaction> getInteractionsForExperimentWithAcIterator( String ac );
 
+    /**
+     * Iterates with a forward-only cursor over the interactions of an experiment, evicting each
+     * interaction from the session when the next one is requested. Has to be called in a transaction.
+     *
+     * @param ac the AC of the experiment
+     * @return the interactions
+     * @since 3.1.0
+     */
+    CloseableIterator<Interaction> scrollInteractionsForExperimentWithAc( String ac );
+
     List<Interaction> getInteractionsForExperimentWithAcExcluding( String ac, String[] excludedAcs, int firstResult, int maxResults );
 
     List<Interaction> getInteractionsForExperimentWithAcExcludingLike( String ac, String[] excludedAcsLike, int firstResult, int maxResults );
@@ -0,0 +1,36 @@
+package uk.ac.ebi.intact.core.persistence.dao;
+
+/**
+ * Names of the fetch profiles that can be used to load a page of interactions with
+ * InteractionDao.getAllWithFetchProfile() and InteractionDao.getByExperimentAcWithFetchProfile().
+ * <p/>
+ * A fetch profile loads the associations needed by a given use case with a fixed number of queries,
+ * whatever the size of the page, instead of one lazy load per object. The reference objects (CVs and biosources)
+ * that are not part of the profile are only loaded once per session, or come from the second-level cache.
+ *
+ * @version $Id$
+ * @since 3.1.0
+ */
+public final class FetchProfiles {
+
+    /**
+     * Everything under the interactions: components with their interactors, features and ranges, and the xrefs,
+     * aliases, annotations, confidences and parameters of all of them, as well as the experiments.
+     */
+    public static final String INTERACTION_FULL = "interaction-full";
+
+    /**
+     * What is needed by the CrcCalculator: components, interactors with their identity xrefs and sequences,
+     * features, ranges, experiments and annotations.
+     */
+    public static final String INTERACTION_CRC = "interaction-crc";
+
+    /**
+     * The experiments of the interactions with their publication and its xrefs, and the components with their
+     * interactors, enough to show a summary of the interactions of a publication.
+     */
+    public static final String PUBLICATION_SUMMARY = "publication-summary";
+
+    private FetchProfiles() {
+    }
+}
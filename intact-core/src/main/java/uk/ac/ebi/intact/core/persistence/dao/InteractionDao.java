@@ -47,6 +47,9 @@ public interface InteractionDao extends InteractorDao<InteractionImpl> {
      * contain only one component (exactComponents has to be true - otherwise the method would return all the interactions
      * where that primaryID is found). In the case where an interaction contains two or more components with the same interactor,
      * you should pass to the method as many -repeated- primaryID as components contain the interaction.
+     * <p/>
+     * If IntactConfiguration.isInteractionSignatureLookup() is true, the search is done with
+     * getByInteractorsIdentity(), and only the identity xrefs of the interactors are considered.
      * @param exactComponents true, if the number of components must match the number of primaryIDs
      * @param primaryIds the number of primaryIDs to search
      * @return the interactions for those primaryIDs
@@ -55,6 +58,20 @@ public interface InteractionDao extends InteractorDao<InteractionImpl> {
      */
     List<Interaction> getByInteractorsPrimaryId(boolean exactComponents, String... primaryIds);
 
+    /**
+     * Retrieves the interactions containing interactors with the provided identity ids, with a single query on
+     * the participant signatures of the interactions (see InteractionSignatureService), whatever the number of ids.
+     * As with getByInteractorsPrimaryId(), an exact search only returns the interactions with as many components
+     * as ids passed, so an id is repeated for each component of the same interactor.
+     *
+     * @param exactComponents true, if the number of components must match the number of identity ids
+     * @param identityIds     the primary ids of identity xrefs of the interactors
+     * @return the interactions for those identity ids
+     *
+     * @since 3.1.0
+     */
+    List<Interaction> getByInteractorsIdentity(boolean exactComponents, String... identityIds);
+
     /**
      * Gets an interaction by its CRC.
      * @param crc The Crc to use
@@ -85,5 +102,31 @@ public interface InteractionDao extends InteractorDao<InteractionImpl> {
      */
     List<Interaction> getByExperimentAc( String experimentAc, int firstResult, int maxResult );
 
+    /**
+     * Fetches a page of interactions, ordered by AC, with the associations of a fetch profile already loaded.
+     *
+     * @param fetchProfile the name of the fetch profile, one of the constants of FetchProfiles
+     * @param firstResult the first result
+     * @param maxResults the maximum size of the page to be read
+     * @return a non null list of interactions
+     * @throws IllegalArgumentException if the fetch profile is not known
+     * @since 3.1.0
+     */
+    List<InteractionImpl> getAllWithFetchProfile( String fetchProfile, int firstResult, int maxResults );
+
+    /**
+     * Fetches a page of the interactions of an experiment, ordered by creation date, with the associations of
+     * a fetch profile already loaded.
+     *
+     * @param experimentAc the experiment of which we want the interactions.
+     * @param fetchProfile the name of the fetch profile, one of the constants of FetchProfiles
+     * @param firstResult the first result
+     * @param maxResults the maximum size of the page to be read
+     * @return a non null list of interactions
+     * @throws IllegalArgumentException if the fetch profile is not known
+     * @since 3.1.0
+     */
+    List<InteractionImpl> getByExperimentAcWithFetchProfile( String experimentAc, String fetchProfile, int firstResult, int maxResults );
+
     int countAll( boolean includeNegative );
 }
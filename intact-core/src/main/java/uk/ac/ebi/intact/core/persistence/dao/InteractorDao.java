@@ -47,7 +47,8 @@ public interface InteractorDao<T extends InteractorImpl> extends AnnotatedObject
     List<Interactor> getInteractors(Integer firstResult, Integer maxResults);
 
     /**
-     * Counts the partners of the provided interactor AC
+     * Counts the partners of the provided interactor AC.
+     * If IntactConfiguration.isPartnerGraphLookup() is true, they are counted in the PartnerGraph.
      * @param ac The AC to search
      * @return The number of parntners for the interactor AC
      *
@@ -56,7 +57,8 @@ public interface InteractorDao<T extends InteractorImpl> extends AnnotatedObject
     Integer countPartnersByAc( String ac );
 
     /**
-     * Get the partners and the interaction ACs for the passes interactor AC
+     * Get the partners and the interaction ACs for the passes interactor AC.
+     * If IntactConfiguration.isPartnerGraphLookup() is true, they are read from the PartnerGraph.
      * @param ac The AC to look parntners for
      * @return A Map containing the partner AC as key and a list of interaction ACs as value
      *
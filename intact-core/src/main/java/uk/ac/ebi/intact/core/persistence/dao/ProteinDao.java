@@ -103,4 +103,13 @@ public interface ProteinDao extends PolymerDao<ProteinImpl> {
      * @since 1.8.1
      */
     List<String> getAllUniprotAcs();
+
+    /**
+     * Iterates with a forward-only cursor over the uniprot ACs involved in interactions.
+     * Has to be called in a transaction.
+     *
+     * @return the uniprot ACs
+     * @since 3.1.0
+     */
+    CloseableIterator<String> scrollAllUniprotAcs();
 }
@@ -13,13 +13,13 @@ import org.hibernate.criterion.Order;
 import org.hibernate.criterion.Projections;
 import org.hibernate.criterion.Property;
 import org.hibernate.criterion.Restrictions;
-import org.hibernate.ejb.HibernateQuery;
 import org.springframework.retry.annotation.Backoff;
 import org.springframework.retry.annotation.Retryable;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import uk.ac.ebi.intact.core.context.IntactSession;
 import uk.ac.ebi.intact.core.persistence.dao.AnnotatedObjectDao;
+import uk.ac.ebi.intact.core.persistence.dao.CloseableIterator;
 import uk.ac.ebi.intact.model.*;
 import uk.ac.ebi.intact.model.util.CvObjectUtils;
 
@@ -31,6 +31,7 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * TODO comment this
@@ -134,17 +135,32 @@ public abstract class AnnotatedObjectDaoImpl<T extends AnnotatedObject> extends
             backoff = @Backoff(delayExpression = "${retry.maxDelay}", multiplierExpression = "${retry.multiplier}"))
     @Transactional(propagation = Propagation.MANDATORY)
     public Iterator<T> getByShortLabelLikeIterator(String value, boolean ignoreCase) {
-        Query query;
+        // the objects are not evicted, as the callers may keep them
+        return scroll(createShortLabelQuery(value, ignoreCase), getScrollFetchSize(), false);
+    }
+
+    @Transactional(readOnly = true, propagation = Propagation.MANDATORY)
+    public CloseableIterator<T> scrollByShortLabelLike(String value, boolean ignoreCase) {
+        return scroll(createShortLabelQuery(value, ignoreCase), getScrollFetchSize(), true);
+    }
+
+    @Transactional(readOnly = true, propagation = Propagation.MANDATORY)
+    public Stream<T> streamByShortLabelLike(String value, boolean ignoreCase) {
+        return toStream(scrollByShortLabelLike(value, ignoreCase));
+    }
+
+    private org.hibernate.Query createShortLabelQuery(String value, boolean ignoreCase) {
+        org.hibernate.Query query;
 
         if (ignoreCase) {
-            query = getEntityManager().createQuery("from " + getEntityClass().getSimpleName() + " where lower(shortlabel) = lower(cast(:label as text))");
+            query = getSession().createQuery("from " + getEntityClass().getSimpleName() + " where lower(shortlabel) = lower(cast(:label as text))");
         } else {
-            query = getEntityManager().createQuery("from " + getEntityClass().getSimpleName() + " where shortlabel = :label");
+            query = getSession().createQuery("from " + getEntityClass().getSimpleName() + " where shortlabel = :label");
         }
 
         query.setParameter("label", value);
 
-        return ((HibernateQuery) query).getHibernateQuery().iterate();
+        return query;
     }
 
     @Retryable(
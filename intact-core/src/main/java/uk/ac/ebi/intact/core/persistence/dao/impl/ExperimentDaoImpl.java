@@ -12,8 +12,10 @@ import org.hibernate.criterion.Restrictions;
 import org.springframework.retry.annotation.Backoff;
 import org.springframework.retry.annotation.Retryable;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import uk.ac.ebi.intact.core.context.IntactSession;
+import uk.ac.ebi.intact.core.persistence.dao.CloseableIterator;
 import uk.ac.ebi.intact.core.persistence.dao.DaoUtils;
 import uk.ac.ebi.intact.core.persistence.dao.ExperimentDao;
 import uk.ac.ebi.intact.model.Experiment;
@@ -77,9 +79,19 @@ public class ExperimentDaoImpl extends AnnotatedObjectDaoImpl<Experiment> implem
             maxAttemptsExpression = "${retry.maxAttempts}",
             backoff = @Backoff(delayExpression = "${retry.maxDelay}", multiplierExpression = "${retry.multiplier}"))
     public Iterator<Interaction> getInteractionsForExperimentWithAcIterator( String ac ) {
-        Query query = getSession().createQuery("from InteractionImpl as interaction left join interaction.experiments as exp where exp.ac = :ac");
+        // the interactions are not evicted, as the callers may keep them
+        return scroll( createInteractionsForExperimentQuery( ac ), getScrollFetchSize(), false );
+    }
+
+    @Transactional(readOnly = true, propagation = Propagation.MANDATORY)
+    public CloseableIterator<Interaction> scrollInteractionsForExperimentWithAc( String ac ) {
+        return scroll( createInteractionsForExperimentQuery( ac ), getScrollFetchSize(), true );
+    }
+
+    private Query createInteractionsForExperimentQuery( String ac ) {
+        Query query = getSession().createQuery("select interaction from InteractionImpl as interaction join interaction.experiments as exp where exp.ac = :ac");
         query.setParameter("ac", ac);
-        return query.iterate();
+        return query;
     }
 
     @Retryable(
@@ -9,6 +9,7 @@ import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.hibernate.Criteria;
 import org.hibernate.ReplicationMode;
+import org.hibernate.ScrollMode;
 import org.hibernate.Session;
 import org.hibernate.criterion.*;
 import org.hibernate.engine.spi.SessionImplementor;
@@ -18,17 +19,19 @@ import org.springframework.retry.annotation.Retryable;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import uk.ac.ebi.intact.core.IntactException;
+import uk.ac.ebi.intact.core.context.IntactContext;
 import uk.ac.ebi.intact.core.context.IntactSession;
 import uk.ac.ebi.intact.core.persistence.dao.BaseDao;
+import uk.ac.ebi.intact.core.persistence.dao.CloseableIterator;
 import uk.ac.ebi.intact.model.IntactObject;
 import uk.ac.ebi.intact.model.NotAnEntityException;
 
 import javax.persistence.*;
 import java.sql.Connection;
 import java.sql.SQLException;
-import java.util.Collection;
-import java.util.Iterator;
-import java.util.List;
+import java.util.*;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * TODO comment this
@@ -42,6 +45,8 @@ public abstract class HibernateBaseDaoImpl<T> implements BaseDao<T> {
 
     public static final Log log = LogFactory.getLog(HibernateBaseDaoImpl.class);
 
+    private static final int DEFAULT_SCROLL_FETCH_SIZE = 500;
+
     private Class<T> entityClass;
     private IntactSession intactSession;
 
@@ -128,7 +133,69 @@ public abstract class HibernateBaseDaoImpl<T> implements BaseDao<T> {
             maxAttemptsExpression = "${retry.maxAttempts}",
             backoff = @Backoff(delayExpression = "${retry.maxDelay}", multiplierExpression = "${retry.multiplier}"))
     public Iterator<T> getAllIterator() {
-        return getSession().createQuery("from " + getEntityClass().getSimpleName()).iterate();
+        // the objects are not evicted, as the callers may keep them
+        return scroll(getSession().createQuery("from " + getEntityClass().getSimpleName()), getScrollFetchSize(), false);
+    }
+
+    @Transactional(readOnly = true, propagation = Propagation.MANDATORY)
+    public CloseableIterator<T> scroll() {
+        return scroll(getScrollFetchSize());
+    }
+
+    @Transactional(readOnly = true, propagation = Propagation.MANDATORY)
+    public CloseableIterator<T> scroll(int fetchSize) {
+        return scroll(getSession().createQuery("select o from " + getEntityClass().getName() + " o"), fetchSize, true);
+    }
+
+    @Transactional(readOnly = true, propagation = Propagation.MANDATORY)
+    public Stream<T> stream() {
+        return toStream(scroll(getScrollFetchSize()));
+    }
+
+    @Transactional(readOnly = true, propagation = Propagation.MANDATORY)
+    public Stream<T> stream(int fetchSize) {
+        return toStream(scroll(fetchSize));
+    }
+
+    /**
+     * Runs a query with a forward-only cursor.
+     *
+     * @param query     the query to run
+     * @param fetchSize the number of rows fetched at a time
+     * @param evict     true to evict each object returned from the session when the next one is requested;
+     *                  the objects are then loaded read-only
+     * @return an iterator over the results
+     * @since 3.1.0
+     */
+    protected <X> CloseableIterator<X> scroll(org.hibernate.Query query, int fetchSize, boolean evict) {
+        if (fetchSize < 1) {
+            throw new IllegalArgumentException("The fetch size must be at least 1: "+fetchSize);
+        }
+
+        query.setFetchSize(fetchSize);
+
+        if (evict) {
+            query.setReadOnly(true);
+        }
+
+        return new ScrollableResultsIterator<X>(query.scroll(ScrollMode.FORWARD_ONLY), getSession(), evict);
+    }
+
+    /**
+     * Creates a sequential stream from an iterator, which is closed with the stream.
+     *
+     * @since 3.1.0
+     */
+    protected static <X> Stream<X> toStream(final CloseableIterator<X> iterator) {
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED), false)
+                .onClose(iterator::close);
+    }
+
+    protected int getScrollFetchSize() {
+        if (IntactContext.currentInstanceExists()) {
+            return IntactContext.getCurrentInstance().getConfig().getScrollFetchSize();
+        }
+        return DEFAULT_SCROLL_FETCH_SIZE;
     }
 
     @Transactional(readOnly = true)
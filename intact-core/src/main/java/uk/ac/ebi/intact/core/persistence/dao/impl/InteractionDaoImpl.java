@@ -16,7 +16,9 @@ import org.springframework.retry.annotation.Retryable;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 import uk.ac.ebi.intact.core.IntactException;
+import uk.ac.ebi.intact.core.context.IntactContext;
 import uk.ac.ebi.intact.core.context.IntactSession;
+import uk.ac.ebi.intact.core.persistence.dao.FetchProfiles;
 import uk.ac.ebi.intact.core.persistence.dao.InteractionDao;
 import uk.ac.ebi.intact.model.*;
 import uk.ac.ebi.intact.model.util.InteractionUtils;
@@ -42,6 +44,144 @@ public class InteractionDaoImpl extends InteractorDaoImpl<InteractionImpl> imple
 
     private static final Log log = LogFactory.getLog( InteractionDaoImpl.class );
 
+    /**
+     * Maximum number of ACs passed at once to the queries of the fetch profiles.
+     */
+    private static final int FETCH_PROFILE_BATCH_SIZE = 500;
+
+    // Statements of the fetch profiles. All of them take the ACs of the interactions of the page as parameter.
+    // The entities are loaded first, with their many-to-one associations, and then the collections pointing
+    // to them are initialized, one per statement to avoid the cartesian product of the bags.
+
+    private static final String COMPONENT_ACS = "select c.ac from Component c where c.interaction.ac in (:acs)";
+    private static final String INTERACTOR_ACS = "select c.interactor.ac from Component c where c.interaction.ac in (:acs)";
+    private static final String FEATURE_ACS = "select f.ac from Feature f where f.component.interaction.ac in (:acs)";
+    private static final String EXPERIMENT_ACS = "select e.ac from InteractionImpl i join i.experiments e where i.ac in (:acs)";
+
+    private static final String LOAD_COMPONENTS =
+            "select c from Component c join fetch c.interactor it left join fetch it.cvInteractorType " +
+            "left join fetch it.bioSource left join fetch c.cvBiologicalRole left join fetch c.expressedIn " +
+            "where c.interaction.ac in (:acs)";
+    private static final String LOAD_FEATURES =
+            "select f from Feature f left join fetch f.cvFeatureType left join fetch f.cvFeatureIdentification " +
+            "where f.ac in (" + FEATURE_ACS + ")";
+    private static final String LOAD_RANGES =
+            "select r from Range r left join fetch r.fromCvFuzzyType left join fetch r.toCvFuzzyType " +
+            "where r.feature.ac in (" + FEATURE_ACS + ")";
+    private static final String LOAD_EXPERIMENTS =
+            "select e from Experiment e left join fetch e.cvIdentification left join fetch e.cvInteraction " +
+            "left join fetch e.bioSource left join fetch e.publication p left join fetch p.status " +
+            "where e.ac in (" + EXPERIMENT_ACS + ")";
+
+    private static final String INTERACTION_COMPONENTS =
+            "select i from InteractionImpl i left join fetch i.components where i.ac in (:acs)";
+    private static final String INTERACTION_EXPERIMENTS =
+            "select i from InteractionImpl i left join fetch i.experiments where i.ac in (:acs)";
+    private static final String INTERACTION_ANNOTATIONS =
+            "select i from InteractionImpl i left join fetch i.annotations a left join fetch a.cvTopic " +
+            "where i.ac in (:acs)";
+    private static final String INTERACTION_XREFS =
+            "select i from InteractionImpl i left join fetch i.xrefs x left join fetch x.cvDatabase " +
+            "left join fetch x.cvXrefQualifier where i.ac in (:acs)";
+    private static final String INTERACTION_ALIASES =
+            "select i from InteractionImpl i left join fetch i.aliases a left join fetch a.cvAliasType " +
+            "where i.ac in (:acs)";
+    private static final String INTERACTION_CONFIDENCES =
+            "select i from InteractionImpl i left join fetch i.confidences c left join fetch c.cvConfidenceType " +
+            "where i.ac in (:acs)";
+    private static final String INTERACTION_PARAMETERS =
+            "select i from InteractionImpl i left join fetch i.parameters p left join fetch p.cvParameterType " +
+            "left join fetch p.cvParameterUnit where i.ac in (:acs)";
+
+    private static final String COMPONENT_FEATURES =
+            "select c from Component c left join fetch c.features where c.ac in (" + COMPONENT_ACS + ")";
+    private static final String COMPONENT_EXPERIMENTAL_ROLES =
+            "select c from Component c left join fetch c.experimentalRoles where c.ac in (" + COMPONENT_ACS + ")";
+    private static final String COMPONENT_DETECTION_METHODS =
+            "select c from Component c left join fetch c.participantDetectionMethods " +
+            "where c.ac in (" + COMPONENT_ACS + ")";
+    private static final String COMPONENT_PREPARATIONS =
+            "select c from Component c left join fetch c.experimentalPreparations " +
+            "where c.ac in (" + COMPONENT_ACS + ")";
+    private static final String COMPONENT_ANNOTATIONS =
+            "select c from Component c left join fetch c.annotations a left join fetch a.cvTopic " +
+            "where c.ac in (" + COMPONENT_ACS + ")";
+    private static final String COMPONENT_XREFS =
+            "select c from Component c left join fetch c.xrefs x left join fetch x.cvDatabase " +
+            "left join fetch x.cvXrefQualifier where c.ac in (" + COMPONENT_ACS + ")";
+    private static final String COMPONENT_ALIASES =
+            "select c from Component c left join fetch c.aliases a left join fetch a.cvAliasType " +
+            "where c.ac in (" + COMPONENT_ACS + ")";
+    private static final String COMPONENT_CONFIDENCES =
+            "select c from Component c left join fetch c.confidences cf left join fetch cf.cvConfidenceType " +
+            "where c.ac in (" + COMPONENT_ACS + ")";
+    private static final String COMPONENT_PARAMETERS =
+            "select c from Component c left join fetch c.parameters p left join fetch p.cvParameterType " +
+            "left join fetch p.cvParameterUnit where c.ac in (" + COMPONENT_ACS + ")";
+
+    private static final String INTERACTOR_XREFS =
+            "select it from InteractorImpl it left join fetch it.xrefs x left join fetch x.cvDatabase " +
+            "left join fetch x.cvXrefQualifier where it.ac in (" + INTERACTOR_ACS + ")";
+    private static final String INTERACTOR_ALIASES =
+            "select it from InteractorImpl it left join fetch it.aliases a left join fetch a.cvAliasType " +
+            "where it.ac in (" + INTERACTOR_ACS + ")";
+    private static final String INTERACTOR_ANNOTATIONS =
+            "select it from InteractorImpl it left join fetch it.annotations a left join fetch a.cvTopic " +
+            "where it.ac in (" + INTERACTOR_ACS + ")";
+    private static final String POLYMER_SEQUENCES =
+            "select p from PolymerImpl p left join fetch p.sequenceChunks where p.ac in (" + INTERACTOR_ACS + ")";
+
+    private static final String FEATURE_RANGES =
+            "select f from Feature f left join fetch f.ranges where f.ac in (" + FEATURE_ACS + ")";
+    private static final String FEATURE_XREFS =
+            "select f from Feature f left join fetch f.xrefs x left join fetch x.cvDatabase " +
+            "left join fetch x.cvXrefQualifier where f.ac in (" + FEATURE_ACS + ")";
+    private static final String FEATURE_ALIASES =
+            "select f from Feature f left join fetch f.aliases a left join fetch a.cvAliasType " +
+            "where f.ac in (" + FEATURE_ACS + ")";
+    private static final String FEATURE_ANNOTATIONS =
+            "select f from Feature f left join fetch f.annotations a left join fetch a.cvTopic " +
+            "where f.ac in (" + FEATURE_ACS + ")";
+
+    private static final String EXPERIMENT_ANNOTATIONS =
+            "select e from Experiment e left join fetch e.annotations a left join fetch a.cvTopic " +
+            "where e.ac in (" + EXPERIMENT_ACS + ")";
+    private static final String EXPERIMENT_XREFS =
+            "select e from Experiment e left join fetch e.xrefs x left join fetch x.cvDatabase " +
+            "left join fetch x.cvXrefQualifier where e.ac in (" + EXPERIMENT_ACS + ")";
+    private static final String PUBLICATION_XREFS =
+            "select p from Publication p left join fetch p.xrefs x left join fetch x.cvDatabase " +
+            "left join fetch x.cvXrefQualifier " +
+            "where p.ac in (select e.publication.ac from InteractionImpl i join i.experiments e where i.ac in (:acs))";
+
+    private static final Map<String, List<String>> FETCH_PROFILES = new HashMap<String, List<String>>();
+
+    static {
+        FETCH_PROFILES.put( FetchProfiles.INTERACTION_CRC, Arrays.asList(
+                LOAD_COMPONENTS, LOAD_FEATURES, LOAD_RANGES, LOAD_EXPERIMENTS,
+                INTERACTION_COMPONENTS, INTERACTION_EXPERIMENTS, INTERACTION_ANNOTATIONS, INTERACTION_XREFS,
+                COMPONENT_FEATURES, COMPONENT_EXPERIMENTAL_ROLES, COMPONENT_DETECTION_METHODS, COMPONENT_PREPARATIONS,
+                COMPONENT_ANNOTATIONS,
+                INTERACTOR_XREFS, POLYMER_SEQUENCES,
+                FEATURE_RANGES,
+                EXPERIMENT_ANNOTATIONS ) );
+
+        FETCH_PROFILES.put( FetchProfiles.INTERACTION_FULL, Arrays.asList(
+                LOAD_COMPONENTS, LOAD_FEATURES, LOAD_RANGES, LOAD_EXPERIMENTS,
+                INTERACTION_COMPONENTS, INTERACTION_EXPERIMENTS, INTERACTION_ANNOTATIONS, INTERACTION_XREFS,
+                INTERACTION_ALIASES, INTERACTION_CONFIDENCES, INTERACTION_PARAMETERS,
+                COMPONENT_FEATURES, COMPONENT_EXPERIMENTAL_ROLES, COMPONENT_DETECTION_METHODS, COMPONENT_PREPARATIONS,
+                COMPONENT_ANNOTATIONS, COMPONENT_XREFS, COMPONENT_ALIASES, COMPONENT_CONFIDENCES, COMPONENT_PARAMETERS,
+                INTERACTOR_XREFS, INTERACTOR_ALIASES, INTERACTOR_ANNOTATIONS, POLYMER_SEQUENCES,
+                FEATURE_RANGES, FEATURE_XREFS, FEATURE_ALIASES, FEATURE_ANNOTATIONS,
+                EXPERIMENT_ANNOTATIONS, EXPERIMENT_XREFS ) );
+
+        FETCH_PROFILES.put( FetchProfiles.PUBLICATION_SUMMARY, Arrays.asList(
+                LOAD_COMPONENTS, LOAD_EXPERIMENTS,
+                INTERACTION_COMPONENTS, INTERACTION_EXPERIMENTS,
+                EXPERIMENT_XREFS, PUBLICATION_XREFS ) );
+    }
+
     public InteractionDaoImpl(  ) {
         super( InteractionImpl.class, null );
     }
@@ -231,6 +371,10 @@ public class InteractionDaoImpl extends InteractorDaoImpl<InteractionImpl> imple
             maxAttemptsExpression = "${retry.maxAttempts}",
             backoff = @Backoff(delayExpression = "${retry.maxDelay}", multiplierExpression = "${retry.multiplier}"))
     public List<Interaction> getByInteractorsPrimaryId(boolean exactComponents, String... primaryIds) {
+        if (IntactContext.currentInstanceExists() && IntactContext.getCurrentInstance().getConfig().isInteractionSignatureLookup()) {
+            return getByInteractorsIdentity(exactComponents, primaryIds);
+        }
+
         if (primaryIds.length > 5) {
             if (exactComponents) {
                 return getByInteractorsPrimaryIdExactComponents(primaryIds);
@@ -272,6 +416,34 @@ public class InteractionDaoImpl extends InteractorDaoImpl<InteractionImpl> imple
         return query.getResultList();
     }
 
+    /**
+     * @inheritDoc
+     */
+    @Retryable(
+            include = PersistenceException.class,
+            maxAttemptsExpression = "${retry.maxAttempts}",
+            backoff = @Backoff(delayExpression = "${retry.maxDelay}", multiplierExpression = "${retry.multiplier}"))
+    public List<Interaction> getByInteractorsIdentity(boolean exactComponents, String... identityIds) {
+        if (identityIds.length == 0) {
+            return new ArrayList<Interaction>();
+        }
+
+        final Set<String> distinctIds = new HashSet<String>(Arrays.asList(identityIds));
+
+        Query query = getEntityManager().createQuery("select i from InteractionImpl i where i.ac in (" +
+                "select s.interactionAc from InteractionSignature s where s.identityId in (:identityIds) " +
+                (exactComponents ? "and s.componentCount = :componentCount " : "") +
+                "group by s.interactionAc having count(s.identityId) = :idCount)");
+        query.setParameter("identityIds", distinctIds);
+        query.setParameter("idCount", (long) distinctIds.size());
+
+        if (exactComponents) {
+            query.setParameter("componentCount", identityIds.length);
+        }
+
+        return query.getResultList();
+    }
+
     protected List<Interaction> getByInteractorsPrimaryIdExactComponents(String... primaryIds) {
         List<Interaction> results = new ArrayList<Interaction>();
 
@@ -409,4 +581,84 @@ public class InteractionDaoImpl extends InteractorDaoImpl<InteractionImpl> imple
 
         return countAll();
     }
+
+    /**
+     * @InheritDoc
+     */
+    @Retryable(
+            include = PersistenceException.class,
+            maxAttemptsExpression = "${retry.maxAttempts}",
+            backoff = @Backoff(delayExpression = "${retry.maxDelay}", multiplierExpression = "${retry.multiplier}"))
+    public List<InteractionImpl> getAllWithFetchProfile( String fetchProfile, int firstResult, int maxResults ) {
+        final List<String> statements = getFetchProfileStatements( fetchProfile );
+
+        Query query = getEntityManager().createQuery("select i " +
+                                                     "from InteractionImpl i left join fetch i.cvInteractionType " +
+                                                     "left join fetch i.cvInteractorType " +
+                                                     "order by i.ac");
+        query.setFirstResult(firstResult);
+        query.setMaxResults(maxResults);
+
+        return applyFetchProfile( statements, query.getResultList() );
+    }
+
+    /**
+     * @InheritDoc
+     */
+    @Retryable(
+            include = PersistenceException.class,
+            maxAttemptsExpression = "${retry.maxAttempts}",
+            backoff = @Backoff(delayExpression = "${retry.maxDelay}", multiplierExpression = "${retry.multiplier}"))
+    public List<InteractionImpl> getByExperimentAcWithFetchProfile( String experimentAc, String fetchProfile, int firstResult, int maxResults ) {
+        final List<String> statements = getFetchProfileStatements( fetchProfile );
+
+        Query query = getEntityManager().createQuery("select i " +
+                                                     "from InteractionImpl i join i.experiments e " +
+                                                     "left join fetch i.cvInteractionType " +
+                                                     "left join fetch i.cvInteractorType " +
+                                                     "where e.ac = :experimentAc " +
+                                                     "order by i.created, i.ac");
+        query.setParameter("experimentAc", experimentAc);
+        query.setFirstResult(firstResult);
+        query.setMaxResults(maxResults);
+
+        return applyFetchProfile( statements, query.getResultList() );
+    }
+
+    private List<String> getFetchProfileStatements( String fetchProfile ) {
+        final List<String> statements = FETCH_PROFILES.get( fetchProfile );
+
+        if ( statements == null ) {
+            throw new IllegalArgumentException( "Unknown fetch profile: " + fetchProfile +
+                                                ". Possible values: " + FETCH_PROFILES.keySet() );
+        }
+
+        return statements;
+    }
+
+    /**
+     * Runs the statements of a fetch profile for the given interactions, which get their associations
+     * initialized in the persistence context.
+     */
+    private List<InteractionImpl> applyFetchProfile( List<String> statements, List<InteractionImpl> interactions ) {
+        final List<String> acs = new ArrayList<String>( interactions.size() );
+
+        for ( InteractionImpl interaction : interactions ) {
+            acs.add( interaction.getAc() );
+        }
+
+        for ( int from = 0; from < acs.size(); from += FETCH_PROFILE_BATCH_SIZE ) {
+            final List<String> batch = acs.subList( from, Math.min( from + FETCH_PROFILE_BATCH_SIZE, acs.size() ) );
+
+            for ( String statement : statements ) {
+                if ( log.isTraceEnabled() ) log.trace( "Fetching: " + statement );
+
+                getEntityManager().createQuery( statement )
+                        .setParameter( "acs", batch )
+                        .getResultList();
+            }
+        }
+
+        return interactions;
+    }
 }
@@ -17,8 +17,10 @@ import org.springframework.retry.annotation.Backoff;
 import org.springframework.retry.annotation.Retryable;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
+import uk.ac.ebi.intact.core.context.CvObjectRegistry;
 import uk.ac.ebi.intact.core.context.IntactContext;
 import uk.ac.ebi.intact.core.context.IntactSession;
+import uk.ac.ebi.intact.core.context.PartnerGraph;
 import uk.ac.ebi.intact.core.persistence.dao.CvObjectDao;
 import uk.ac.ebi.intact.core.persistence.dao.InteractorDao;
 import uk.ac.ebi.intact.model.*;
@@ -222,6 +224,12 @@ public class InteractorDaoImpl<T extends InteractorImpl> extends AnnotatedObject
             maxAttemptsExpression = "${retry.maxAttempts}",
             backoff = @Backoff(delayExpression = "${retry.maxDelay}", multiplierExpression = "${retry.multiplier}"))
     public Integer countPartnersByAc( String ac ) {
+        final PartnerGraph partnerGraph = getPartnerGraphForLookup();
+
+        if ( partnerGraph != null && ac != null ) {
+            return partnerGraph.countPartners( ac );
+        }
+
         final Long count = (Long) partnersByAcCriteria(ac)
                 .setProjection(Projections.countDistinct("prot.ac")).uniqueResult();
         return count.intValue();
@@ -255,6 +263,12 @@ public class InteractorDaoImpl<T extends InteractorImpl> extends AnnotatedObject
             maxAttemptsExpression = "${retry.maxAttempts}",
             backoff = @Backoff(delayExpression = "${retry.maxDelay}", multiplierExpression = "${retry.multiplier}"))
     public Map<String, List<String>> getPartnersWithInteractionAcsByInteractorAc( String ac ) {
+        final PartnerGraph partnerGraph = getPartnerGraphForLookup();
+
+        if ( partnerGraph != null && ac != null ) {
+            return partnerGraph.getPartnersWithInteractionAcs( ac );
+        }
+
         Criteria crit = partnersByAcCriteria( ac )
                 .setProjection( Projections.projectionList()
                         .add( Projections.distinct( Projections.property( "prot.ac" ) ) )
@@ -264,6 +278,17 @@ public class InteractorDaoImpl<T extends InteractorImpl> extends AnnotatedObject
         return getPartnersWithInteractionAcs(crit);
     }
 
+    /**
+     * @return the partner graph if the partnerGraphLookup configuration property is set, null otherwise
+     * @since 3.1.0
+     */
+    protected PartnerGraph getPartnerGraphForLookup() {
+        if ( IntactContext.currentInstanceExists() && IntactContext.getCurrentInstance().getConfig().isPartnerGraphLookup() ) {
+            return IntactContext.getCurrentInstance().getPartnerGraph();
+        }
+        return null;
+    }
+
     protected Map<String, List<String>> getPartnersWithInteractionAcs(Criteria crit) {
         Map<String, List<String>> results = new HashMap<String, List<String>>();
 
@@ -309,6 +334,23 @@ public class InteractorDaoImpl<T extends InteractorImpl> extends AnnotatedObject
         cvIdentifiers.add(cvIdentifer);
 
         if (includeChildren) {
+            // the type and its descendants are known by the registry without loading the children, unless
+            // CVs have been changed in the current transaction
+            final CvObjectRegistry registry = IntactContext.getCurrentInstance().getCvObjectRegistry();
+            final CvObjectRegistry.CvTerm term = registry.isStale() ? null :
+                                                 registry.getByIdentifier(CvInteractorType.class, cvIdentifer);
+
+            if (term != null) {
+                Set<String> cvAcs = new HashSet<String>(registry.getDescendantAcs(term.getAc()));
+                cvAcs.add(term.getAc());
+
+                Query query = getEntityManager().createQuery((isCount? "select count(*) " : "") +
+                                                             "from " + getEntityClass().getName() + " i where " +
+                                                             "i.cvInteractorType.ac in (:interactorTypeAcs)");
+                query.setParameter("interactorTypeAcs", cvAcs);
+                return query;
+            }
+
             CvObjectDao<CvInteractorType> cvObjectDao = IntactContext.getCurrentInstance().getDaoFactory()
                     .getCvObjectDao(CvInteractorType.class);
             CvDagObject cvInteractorType = cvObjectDao.getByPsiMiRef(cvIdentifer);
@@ -15,9 +15,12 @@ import org.hibernate.criterion.Restrictions;
 import org.springframework.retry.annotation.Backoff;
 import org.springframework.retry.annotation.Retryable;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import uk.ac.ebi.intact.core.IntactException;
 import uk.ac.ebi.intact.core.context.IntactSession;
+import uk.ac.ebi.intact.core.context.PartnerGraph;
+import uk.ac.ebi.intact.core.persistence.dao.CloseableIterator;
 import uk.ac.ebi.intact.core.persistence.dao.ProteinDao;
 import uk.ac.ebi.intact.model.*;
 
@@ -114,6 +117,12 @@ public class ProteinDaoImpl extends PolymerDaoImpl<ProteinImpl> implements Prote
             throw new NullPointerException( "proteinAc" );
         }
 
+        final PartnerGraph partnerGraph = getPartnerGraphForLookup();
+
+        if ( partnerGraph != null ) {
+            return partnerGraph.countInteractionsByPartner( proteinAc );
+        }
+
         Criteria crit = getSession().createCriteria( ProteinImpl.class )
                 .add( Restrictions.idEq( proteinAc ) )
                 .createAlias( "activeInstances", "comp" )
@@ -144,6 +153,12 @@ public class ProteinDaoImpl extends PolymerDaoImpl<ProteinImpl> implements Prote
             maxAttemptsExpression = "${retry.maxAttempts}",
             backoff = @Backoff(delayExpression = "${retry.maxDelay}", multiplierExpression = "${retry.multiplier}"))
     public Integer countPartnersByProteinAc( String proteinAc ) {
+        final PartnerGraph partnerGraph = getPartnerGraphForLookup();
+
+        if ( partnerGraph != null && proteinAc != null ) {
+            return partnerGraph.countPartners( proteinAc );
+        }
+
         final Long count = (Long) partnersByAcCriteria(proteinAc)
                 .setProjection(Projections.countDistinct("prot.ac")).uniqueResult();
         return count.intValue();
@@ -232,6 +247,12 @@ public class ProteinDaoImpl extends PolymerDaoImpl<ProteinImpl> implements Prote
             maxAttemptsExpression = "${retry.maxAttempts}",
             backoff = @Backoff(delayExpression = "${retry.maxDelay}", multiplierExpression = "${retry.multiplier}"))
     public Map<String, List<String>> getPartnersWithInteractionAcsByProteinAc( String proteinAc ) {
+        final PartnerGraph partnerGraph = getPartnerGraphForLookup();
+
+        if ( partnerGraph != null && proteinAc != null ) {
+            return partnerGraph.getPartnersWithInteractionAcs( proteinAc );
+        }
+
         Criteria crit = partnersByAcCriteria( proteinAc )
                 .setProjection( Projections.projectionList()
                         .add( Projections.distinct( Projections.property( "prot.ac" ) ) )
@@ -379,14 +400,31 @@ public class ProteinDaoImpl extends PolymerDaoImpl<ProteinImpl> implements Prote
             maxAttemptsExpression = "${retry.maxAttempts}",
             backoff = @Backoff(delayExpression = "${retry.maxDelay}", multiplierExpression = "${retry.multiplier}"))
     public List<String> getAllUniprotAcs() {
-        Query query = getEntityManager().createQuery("select distinct(xref.primaryId) from InteractorXref xref " +
+        List<String> uniprotAcs = new ArrayList<String>();
+
+        // the ACs are read with a cursor, without keeping a second copy of the result set
+        CloseableIterator<String> iterator = scrollAllUniprotAcs();
+        try {
+            while (iterator.hasNext()) {
+                uniprotAcs.add(iterator.next());
+            }
+        } finally {
+            iterator.close();
+        }
+
+        return uniprotAcs;
+    }
+
+    @Transactional(readOnly = true, propagation = Propagation.MANDATORY)
+    public CloseableIterator<String> scrollAllUniprotAcs() {
+        org.hibernate.Query query = getSession().createQuery("select distinct(xref.primaryId) from InteractorXref xref " +
                 "where xref.cvXrefQualifier.identifier = :qualifierMi " +
                 "and xref.cvDatabase.identifier = :uniprotMi " +
                 "and size(xref.parent.activeInstances) > 0");
         query.setParameter("qualifierMi", CvXrefQualifier.IDENTITY_MI_REF);
         query.setParameter("uniprotMi", CvDatabase.UNIPROT_MI_REF);
 
-        return query.getResultList();
+        return scroll(query, getScrollFetchSize(), false);
     }
 
     /**
@@ -0,0 +1,84 @@
+package uk.ac.ebi.intact.core.persistence.dao.impl;
+
+import org.hibernate.ScrollableResults;
+import org.hibernate.Session;
+import uk.ac.ebi.intact.core.persistence.dao.CloseableIterator;
+import uk.ac.ebi.intact.model.IntactObject;
+
+import java.util.NoSuchElementException;
+
+/**
+ * Iterates over forward-only ScrollableResults, one row at a time.
+ * <p/>
+ * When eviction is enabled, an IntAct object returned is evicted from the session as soon as the next one is requested,
+ * so the session does not grow with the number of rows read. It can still be used (and its lazy
+ * associations loaded) until then.
+ *
+ * @version $Id$
+ * @since 3.1.0
+ */
+public class ScrollableResultsIterator<T> implements CloseableIterator<T> {
+
+    private final ScrollableResults results;
+    private final Session session;
+    private final boolean evict;
+
+    private T current;
+    private Boolean hasNext;
+    private boolean closed;
+
+    public ScrollableResultsIterator(ScrollableResults results, Session session, boolean evict) {
+        this.results = results;
+        this.session = session;
+        this.evict = evict;
+    }
+
+    public boolean hasNext() {
+        if (closed) {
+            return false;
+        }
+
+        if (hasNext == null) {
+            evictCurrent();
+
+            hasNext = results.next();
+
+            if (!hasNext) {
+                close();
+            }
+        }
+
+        return hasNext;
+    }
+
+    @SuppressWarnings("unchecked")
+    public T next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+
+        hasNext = null;
+        current = (T) results.get(0);
+
+        return current;
+    }
+
+    public void remove() {
+        throw new UnsupportedOperationException();
+    }
+
+    public void close() {
+        if (!closed) {
+            evictCurrent();
+            results.close();
+            closed = true;
+        }
+    }
+
+    private void evictCurrent() {
+        if (evict && current instanceof IntactObject && session.isOpen() && session.contains(current)) {
+            session.evict(current);
+        }
+        current = null;
+    }
+}
@@ -0,0 +1,41 @@
+package uk.ac.ebi.intact.core.persistence.svc;
+
+import java.util.Collection;
+
+/**
+ * Maintains the participant signatures of the interactions, i.e. the identities of their interactors in the
+ * ia_interaction_signature table, used by InteractionDao.getByInteractorsIdentity().
+ * <p/>
+ * The CorePersister updates the signatures of the interactions it saves, and of the interactions in which the
+ * interactors it saves take part, as their identity xrefs may have changed. The signatures of the existing data, or
+ * of interactions changed by other means (e.g. a SQL update), are rebuilt with updateSignatures() and
+ * removeOrphanSignatures(), which is what the interactionSignatureRebuildJob of intact-batch does.
+ *
+ * @version $Id$
+ * @since 3.1.0
+ */
+public interface InteractionSignatureService {
+
+    /**
+     * Computes again the signatures of some interactions from their components and the identity xrefs of their
+     * interactors, in the current transaction. Only the rows that changed are written.
+     *
+     * @param interactionAcs the ACs of the interactions
+     */
+    void updateSignatures( Collection<String> interactionAcs );
+
+    /**
+     * Computes again the signatures of the interactions in which some interactors take part, e.g. after their
+     * identity xrefs have changed, in the current transaction.
+     *
+     * @param interactorAcs the ACs of the interactors
+     */
+    void updateInteractorSignatures( Collection<String> interactorAcs );
+
+    /**
+     * Removes the signatures of the interactions that do not exist anymore.
+     *
+     * @return the number of rows removed
+     */
+    int removeOrphanSignatures();
+}
@@ -0,0 +1,91 @@
+package uk.ac.ebi.intact.core.persistence.svc;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Result of a bulk range validation: the number of ranges checked and the bad ranges, sorted by interactor and
+ * range AC.
+ *
+ * @version $Id$
+ * @since 3.1.0
+ */
+public class RangeValidationReport implements Serializable {
+
+    private int interactorCount;
+    private int rangeCount;
+    private final List<BadRange> badRanges = new ArrayList<BadRange>();
+
+    public RangeValidationReport() {
+    }
+
+    /**
+     * Counts a group of ranges checked for one interactor, with the bad ones found in it.
+     */
+    public synchronized void add( int rangesChecked, Collection<BadRange> badRangesFound ) {
+        interactorCount++;
+        rangeCount += rangesChecked;
+        badRanges.addAll( badRangesFound );
+    }
+
+    public synchronized int getInteractorCount() {
+        return interactorCount;
+    }
+
+    public synchronized int getRangeCount() {
+        return rangeCount;
+    }
+
+    public synchronized List<BadRange> getBadRanges() {
+        final List<BadRange> sorted = new ArrayList<BadRange>( badRanges );
+        Collections.sort( sorted );
+        return sorted;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return "RangeValidationReport{interactors=" + interactorCount + ", ranges=" + rangeCount +
+               ", badRanges=" + badRanges.size() + "}";
+    }
+
+    /**
+     * A range that does not fit the sequence of its interactor, or whose status is not consistent.
+     */
+    public static class BadRange implements Serializable, Comparable<BadRange> {
+
+        private final String rangeAc;
+        private final String interactorAc;
+        private final String message;
+
+        public BadRange( String rangeAc, String interactorAc, String message ) {
+            this.rangeAc = rangeAc;
+            this.interactorAc = interactorAc;
+            this.message = message;
+        }
+
+        public String getRangeAc() {
+            return rangeAc;
+        }
+
+        public String getInteractorAc() {
+            return interactorAc;
+        }
+
+        public String getMessage() {
+            return message;
+        }
+
+        public int compareTo( BadRange other ) {
+            final int result = interactorAc.compareTo( other.interactorAc );
+            return result != 0 ? result : rangeAc.compareTo( other.rangeAc );
+        }
+
+        @Override
+        public String toString() {
+            return rangeAc + " (" + interactorAc + "): " + message;
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package uk.ac.ebi.intact.core.persistence.svc;
+
+import java.util.Collection;
+
+/**
+ * Validates the feature ranges of the database in bulk, with the same rules as FeatureUtils.getBadRangeInfo().
+ * The ranges are read with projection queries and checked against the sequence of their interactor, without
+ * loading any Range, Feature, Component or Interactor.
+ *
+ * @version $Id$
+ * @since 3.1.0
+ */
+public interface RangeValidationService {
+
+    /**
+     * Validates all the ranges of the database.
+     *
+     * @return the bad ranges found
+     */
+    RangeValidationReport validateAllRanges();
+
+    /**
+     * Validates the ranges of the features of some interactors, e.g. after their sequence has been updated.
+     *
+     * @param interactorAcs the ACs of the interactors
+     * @return the bad ranges found
+     */
+    RangeValidationReport validateRanges( Collection<String> interactorAcs );
+}
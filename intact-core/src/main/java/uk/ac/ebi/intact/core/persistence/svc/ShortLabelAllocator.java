@@ -0,0 +1,62 @@
+package uk.ac.ebi.intact.core.persistence.svc;
+
+/**
+ * Allocates the numeric suffixes of the interaction and experiment short labels during a load. Suffixes are
+ * reserved in blocks per label prefix in the ia_shortlabel_suffix table, and the current block of each prefix is
+ * kept in memory until the end of the load, so the existing labels are only read when a prefix is seen for the
+ * first time instead of for every new object.
+ * <p/>
+ * Outside of a load, a single suffix is reserved for each label, so two writers never get the same label either.
+ *
+ * @version $Id$
+ * @since 3.1.0
+ */
+public interface ShortLabelAllocator {
+
+    enum LabelType {
+        /**
+         * bait-prey-n, where the first label of a prefix has no suffix.
+         */
+        INTERACTION,
+
+        /**
+         * author-yyyy-n, where the first label of a prefix has the suffix 1.
+         */
+        EXPERIMENT
+    }
+
+    /**
+     * Starts a load: the next labels are allocated from reserved blocks of suffixes. The suffixes reserved but
+     * not used by the end of the load are lost, which leaves gaps in the numbering.
+     *
+     * @param blockSize the number of suffixes reserved at a time for a prefix
+     */
+    void beginLoad( int blockSize );
+
+    /**
+     * Ends the load and forgets the reserved blocks.
+     */
+    void endLoad();
+
+    boolean isLoadActive();
+
+    /**
+     * Gets the next label for a prefix, from the block reserved for that prefix during the current load. If no
+     * load is active, a single suffix is reserved.
+     *
+     * @param type   the type of label
+     * @param prefix the label without suffix
+     * @return the complete label
+     */
+    String nextShortLabel( LabelType type, String prefix );
+
+    /**
+     * Reserves consecutive suffixes for a prefix, in a new transaction committed before returning.
+     *
+     * @param type   the type of label
+     * @param prefix the label without suffix
+     * @param count  the number of suffixes to reserve
+     * @return the first suffix reserved
+     */
+    int reserveSuffixes( LabelType type, String prefix, int count );
+}
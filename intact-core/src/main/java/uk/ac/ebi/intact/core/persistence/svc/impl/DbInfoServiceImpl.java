@@ -75,7 +75,8 @@ public class DbInfoServiceImpl implements DbInfoService {
     }//end method
 
     /**
-     * Saves the last date the during which Cv update was undertaken
+     * Saves the last date the during which Cv update was undertaken. The CvObjectRegistry is invalidated, so the
+     * updated CVs are loaded the next time it is used.
      *
      * @param date      goes to the value field, usually the date the proteinupdate was undertaken
      * @param namespace combines with the key to form last_cv_update[PSI-MI]
@@ -117,6 +118,8 @@ public class DbInfoServiceImpl implements DbInfoService {
 
 
         }//end else
+
+        IntactContext.getCurrentInstance().getCvObjectRegistry().invalidate();
     }
 
     public Date getLastProteinUpdate() throws DbInfoServiceException {
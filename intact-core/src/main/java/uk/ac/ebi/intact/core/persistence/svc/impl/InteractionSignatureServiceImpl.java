@@ -0,0 +1,139 @@
+package uk.ac.ebi.intact.core.persistence.svc.impl;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import uk.ac.ebi.intact.core.persistence.svc.InteractionSignatureService;
+import uk.ac.ebi.intact.model.CvXrefQualifier;
+import uk.ac.ebi.intact.model.meta.InteractionSignature;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.util.*;
+
+/**
+ * Reads the component counts and the identity ids of the interactors of a chunk of interactions with two scalar
+ * queries, and compares them with the signature rows stored for these interactions.
+ *
+ * @version $Id$
+ * @since 3.1.0
+ */
+@Component
+public class InteractionSignatureServiceImpl implements InteractionSignatureService {
+
+    private static final Log log = LogFactory.getLog( InteractionSignatureServiceImpl.class );
+
+    /**
+     * Maximum number of ACs passed to a single query.
+     */
+    private static final int CHUNK_SIZE = 500;
+
+    @PersistenceContext( unitName = "intact-core-default" )
+    private EntityManager entityManager;
+
+    public InteractionSignatureServiceImpl() {
+    }
+
+    @Override
+    @Transactional
+    public void updateSignatures( Collection<String> interactionAcs ) {
+        if ( interactionAcs == null ) {
+            throw new IllegalArgumentException( "The interaction ACs must not be null" );
+        }
+
+        final List<String> acs = new ArrayList<String>( new TreeSet<String>( interactionAcs ) );
+
+        for ( int from = 0; from < acs.size(); from += CHUNK_SIZE ) {
+            updateChunk( acs.subList( from, Math.min( from + CHUNK_SIZE, acs.size() ) ) );
+        }
+    }
+
+    @Override
+    @Transactional
+    public void updateInteractorSignatures( Collection<String> interactorAcs ) {
+        if ( interactorAcs == null ) {
+            throw new IllegalArgumentException( "The interactor ACs must not be null" );
+        }
+
+        final List<String> acs = new ArrayList<String>( new TreeSet<String>( interactorAcs ) );
+        final Set<String> interactionAcs = new HashSet<String>();
+
+        for ( int from = 0; from < acs.size(); from += CHUNK_SIZE ) {
+            interactionAcs.addAll( entityManager.createQuery(
+                    "select distinct c.interaction.ac from Component c where c.interactor.ac in (:acs)", String.class )
+                    .setParameter( "acs", acs.subList( from, Math.min( from + CHUNK_SIZE, acs.size() ) ) )
+                    .getResultList() );
+        }
+
+        updateSignatures( interactionAcs );
+    }
+
+    private void updateChunk( List<String> acs ) {
+        final List<Object[]> componentCounts = entityManager.createQuery(
+                "select c.interaction.ac, count(c) from Component c " +
+                "where c.interaction.ac in (:acs) group by c.interaction.ac" )
+                .setParameter( "acs", acs )
+                .getResultList();
+
+        final Map<String, Integer> componentCountByInteraction = new HashMap<String, Integer>();
+
+        for ( Object[] componentCount : componentCounts ) {
+            componentCountByInteraction.put( ( String ) componentCount[0], ( ( Number ) componentCount[1] ).intValue() );
+        }
+
+        final List<Object[]> identities = entityManager.createQuery(
+                "select distinct c.interaction.ac, x.primaryId from Component c " +
+                "join c.interactor.xrefs x join x.cvXrefQualifier q " +
+                "where q.identifier = :identity and c.interaction.ac in (:acs)" )
+                .setParameter( "identity", CvXrefQualifier.IDENTITY_MI_REF )
+                .setParameter( "acs", acs )
+                .getResultList();
+
+        final Map<InteractionSignature.Key, Integer> expected = new HashMap<InteractionSignature.Key, Integer>();
+
+        for ( Object[] identity : identities ) {
+            expected.put( new InteractionSignature.Key( ( String ) identity[0], ( String ) identity[1] ),
+                          componentCountByInteraction.get( identity[0] ) );
+        }
+
+        final List<InteractionSignature> signatures = entityManager.createQuery(
+                "select s from InteractionSignature s where s.interactionAc in (:acs)", InteractionSignature.class )
+                .setParameter( "acs", acs )
+                .getResultList();
+
+        int removed = 0;
+
+        for ( InteractionSignature signature : signatures ) {
+            final Integer componentCount = expected.remove(
+                    new InteractionSignature.Key( signature.getInteractionAc(), signature.getIdentityId() ) );
+
+            if ( componentCount == null ) {
+                entityManager.remove( signature );
+                removed++;
+            } else if ( componentCount != signature.getComponentCount() ) {
+                signature.setComponentCount( componentCount );
+            }
+        }
+
+        for ( Map.Entry<InteractionSignature.Key, Integer> entry : expected.entrySet() ) {
+            entityManager.persist( new InteractionSignature( entry.getKey().getInteractionAc(),
+                                                             entry.getKey().getIdentityId(), entry.getValue() ) );
+        }
+
+        if ( log.isDebugEnabled() ) log.debug( "Updated the signatures of " + acs.size() + " interactions: " +
+                                               expected.size() + " rows added, " + removed + " removed" );
+    }
+
+    @Override
+    @Transactional
+    public int removeOrphanSignatures() {
+        final int removed = entityManager.createQuery(
+                "delete from InteractionSignature s where s.interactionAc not in (select i.ac from InteractionImpl i)" )
+                .executeUpdate();
+
+        if ( log.isInfoEnabled() ) log.info( "Removed " + removed + " signature rows of deleted interactions" );
+
+        return removed;
+    }
+}
@@ -0,0 +1,239 @@
+package uk.ac.ebi.intact.core.persistence.svc.impl;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.Session;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import uk.ac.ebi.intact.core.context.IntactContext;
+import uk.ac.ebi.intact.core.persistence.svc.RangeValidationReport;
+import uk.ac.ebi.intact.core.persistence.svc.RangeValidationService;
+import uk.ac.ebi.intact.model.ChunkedSequence;
+import uk.ac.ebi.intact.model.CvFuzzyType;
+import uk.ac.ebi.intact.model.util.FeatureUtils;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.util.*;
+
+/**
+ * Streams the positions, status and interactor AC of the ranges, ordered by interactor, with a scalar query. The
+ * ranges are grouped by interactor, the sequences of a batch of interactors are read from the sequence chunks with
+ * one query, then the interactors of the batch are checked in parallel.
+ * <p/>
+ * The fuzzy types are read once and shared, as detached CvFuzzyType instances with their identifier and short
+ * label only.
+ *
+ * @version $Id$
+ * @since 3.1.0
+ */
+@Component
+public class RangeValidationServiceImpl implements RangeValidationService {
+
+    private static final Log log = LogFactory.getLog( RangeValidationServiceImpl.class );
+
+    private static final int INTERACTORS_PER_BATCH = 500;
+
+    private static final String RANGE_QUERY =
+            "select r.ac, r.fromIntervalStart, r.fromIntervalEnd, r.toIntervalStart, r.toIntervalEnd, " +
+            "fromType.ac, toType.ac, c.interactor.ac " +
+            "from Range r join r.feature f join f.component c " +
+            "left join r.fromCvFuzzyType fromType left join r.toCvFuzzyType toType";
+
+    @PersistenceContext( unitName = "intact-core-default" )
+    private EntityManager entityManager;
+
+    public RangeValidationServiceImpl() {
+    }
+
+    @Override
+    @Transactional( readOnly = true )
+    public RangeValidationReport validateAllRanges() {
+        final RangeValidationReport report = new RangeValidationReport();
+
+        validate( getSession().createQuery( RANGE_QUERY + " order by c.interactor.ac" ), loadFuzzyTypes(), report );
+
+        if ( log.isInfoEnabled() ) log.info( "Validated all the ranges: " + report );
+
+        return report;
+    }
+
+    @Override
+    @Transactional( readOnly = true )
+    public RangeValidationReport validateRanges( Collection<String> interactorAcs ) {
+        if ( interactorAcs == null ) {
+            throw new IllegalArgumentException( "The interactor ACs must not be null" );
+        }
+
+        final RangeValidationReport report = new RangeValidationReport();
+        final Map<String, CvFuzzyType> fuzzyTypes = loadFuzzyTypes();
+        final List<String> acs = new ArrayList<String>( new TreeSet<String>( interactorAcs ) );
+
+        for ( int from = 0; from < acs.size(); from += INTERACTORS_PER_BATCH ) {
+            final org.hibernate.Query query = getSession().createQuery(
+                    RANGE_QUERY + " where c.interactor.ac in (:interactorAcs) order by c.interactor.ac" );
+            query.setParameterList( "interactorAcs", acs.subList( from, Math.min( from + INTERACTORS_PER_BATCH, acs.size() ) ) );
+
+            validate( query, fuzzyTypes, report );
+        }
+
+        return report;
+    }
+
+    private void validate( org.hibernate.Query query, Map<String, CvFuzzyType> fuzzyTypes, RangeValidationReport report ) {
+        query.setReadOnly( true );
+        query.setFetchSize( IntactContext.getCurrentInstance().getConfig().getScrollFetchSize() );
+
+        final ScrollableResults results = query.scroll( ScrollMode.FORWARD_ONLY );
+
+        try {
+            final List<InteractorRanges> batch = new ArrayList<InteractorRanges>( INTERACTORS_PER_BATCH );
+            InteractorRanges current = null;
+
+            while ( results.next() ) {
+                final Object[] row = results.get();
+                final String interactorAc = ( String ) row[7];
+
+                if ( current == null || !current.interactorAc.equals( interactorAc ) ) {
+                    if ( batch.size() == INTERACTORS_PER_BATCH ) {
+                        validateBatch( batch, report );
+                        batch.clear();
+                    }
+
+                    current = new InteractorRanges( interactorAc );
+                    batch.add( current );
+                }
+
+                current.ranges.add( new RangePositions( ( String ) row[0],
+                                                        fuzzyTypes.get( row[5] ), fuzzyTypes.get( row[6] ),
+                                                        toInt( row[1] ), toInt( row[2] ), toInt( row[3] ), toInt( row[4] ) ) );
+            }
+
+            if ( !batch.isEmpty() ) {
+                validateBatch( batch, report );
+            }
+        } finally {
+            results.close();
+        }
+    }
+
+    private void validateBatch( List<InteractorRanges> batch, final RangeValidationReport report ) {
+        final Map<String, ChunkedSequence> sequences = loadSequences( batch );
+
+        batch.parallelStream().forEach( interactorRanges -> {
+            final CharSequence sequence = sequences.get( interactorRanges.interactorAc );
+            final List<RangeValidationReport.BadRange> badRanges = new ArrayList<RangeValidationReport.BadRange>();
+
+            for ( RangePositions range : interactorRanges.ranges ) {
+                final String message = FeatureUtils.getBadRangeInfo( range.startStatus, range.endStatus,
+                                                                     range.fromIntervalStart, range.fromIntervalEnd,
+                                                                     range.toIntervalStart, range.toIntervalEnd, sequence );
+                if ( message != null ) {
+                    badRanges.add( new RangeValidationReport.BadRange( range.ac, interactorRanges.interactorAc, message ) );
+                }
+            }
+
+            report.add( interactorRanges.ranges.size(), badRanges );
+        } );
+    }
+
+    /**
+     * Reads the sequence chunks of the interactors of a batch, in order. Interactors without sequence are absent
+     * from the map.
+     */
+    private Map<String, ChunkedSequence> loadSequences( List<InteractorRanges> batch ) {
+        final List<String> interactorAcs = new ArrayList<String>( batch.size() );
+
+        for ( InteractorRanges interactorRanges : batch ) {
+            interactorAcs.add( interactorRanges.interactorAc );
+        }
+
+        final List<Object[]> chunks = getSession().createQuery(
+                "select sc.parentAc, sc.sequenceChunk from SequenceChunk sc " +
+                "where sc.parentAc in (:interactorAcs) order by sc.parentAc, sc.sequenceIndex" )
+                .setParameterList( "interactorAcs", interactorAcs )
+                .setReadOnly( true )
+                .list();
+
+        final Map<String, ChunkedSequence> sequences = new HashMap<String, ChunkedSequence>();
+        String parentAc = null;
+        List<String> parentChunks = null;
+
+        for ( Object[] chunk : chunks ) {
+            if ( !chunk[0].equals( parentAc ) ) {
+                if ( parentAc != null ) {
+                    sequences.put( parentAc, new ChunkedSequence( parentChunks ) );
+                }
+                parentAc = ( String ) chunk[0];
+                parentChunks = new ArrayList<String>();
+            }
+            parentChunks.add( ( String ) chunk[1] );
+        }
+
+        if ( parentAc != null ) {
+            sequences.put( parentAc, new ChunkedSequence( parentChunks ) );
+        }
+
+        return sequences;
+    }
+
+    private Map<String, CvFuzzyType> loadFuzzyTypes() {
+        final List<Object[]> rows = getSession().createQuery(
+                "select cv.ac, cv.identifier, cv.shortLabel from CvFuzzyType cv" ).list();
+
+        final Map<String, CvFuzzyType> fuzzyTypes = new HashMap<String, CvFuzzyType>();
+
+        for ( Object[] row : rows ) {
+            final CvFuzzyType fuzzyType = new CvFuzzyType();
+            fuzzyType.setAc( ( String ) row[0] );
+            fuzzyType.setIdentifier( ( String ) row[1] );
+            fuzzyType.setShortLabel( ( String ) row[2] );
+
+            fuzzyTypes.put( fuzzyType.getAc(), fuzzyType );
+        }
+
+        return fuzzyTypes;
+    }
+
+    private static int toInt( Object value ) {
+        return value == null ? 0 : ( ( Number ) value ).intValue();
+    }
+
+    private Session getSession() {
+        return entityManager.unwrap( Session.class );
+    }
+
+    private static class InteractorRanges {
+
+        private final String interactorAc;
+        private final List<RangePositions> ranges = new ArrayList<RangePositions>();
+
+        private InteractorRanges( String interactorAc ) {
+            this.interactorAc = interactorAc;
+        }
+    }
+
+    private static class RangePositions {
+
+        private final String ac;
+        private final CvFuzzyType startStatus;
+        private final CvFuzzyType endStatus;
+        private final int fromIntervalStart;
+        private final int fromIntervalEnd;
+        private final int toIntervalStart;
+        private final int toIntervalEnd;
+
+        private RangePositions( String ac, CvFuzzyType startStatus, CvFuzzyType endStatus,
+                                int fromIntervalStart, int fromIntervalEnd, int toIntervalStart, int toIntervalEnd ) {
+            this.ac = ac;
+            this.startStatus = startStatus;
+            this.endStatus = endStatus;
+            this.fromIntervalStart = fromIntervalStart;
+            this.fromIntervalEnd = fromIntervalEnd;
+            this.toIntervalStart = toIntervalStart;
+            this.toIntervalEnd = toIntervalEnd;
+        }
+    }
+}
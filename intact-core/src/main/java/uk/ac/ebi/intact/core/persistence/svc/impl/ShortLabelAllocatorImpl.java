@@ -0,0 +1,230 @@
+package uk.ac.ebi.intact.core.persistence.svc.impl;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionStatus;
+import uk.ac.ebi.intact.core.context.DataContext;
+import uk.ac.ebi.intact.core.persistence.dao.DaoFactory;
+import uk.ac.ebi.intact.core.persistence.svc.ShortLabelAllocator;
+import uk.ac.ebi.intact.model.Experiment;
+import uk.ac.ebi.intact.model.InteractionImpl;
+import uk.ac.ebi.intact.model.meta.ShortLabelSuffix;
+import uk.ac.ebi.intact.model.util.InteractionShortLabelGenerator;
+
+import javax.persistence.EntityManager;
+import javax.persistence.LockModeType;
+import java.util.*;
+
+/**
+ * Reserves the suffixes with a row of ia_shortlabel_suffix per prefix, locked for update in its own transaction.
+ * When the row of a prefix is created, its maximum suffix is initialized from the existing labels. The labels of
+ * a new block are then checked with one lookup by short label, in case they have been created by a writer not
+ * using the allocator; the existing labels are only read again if one of them already exists.
+ *
+ * @version $Id$
+ * @since 3.1.0
+ */
+@Component
+public class ShortLabelAllocatorImpl implements ShortLabelAllocator {
+
+    private static final Log log = LogFactory.getLog( ShortLabelAllocatorImpl.class );
+
+    /**
+     * Two writers may create the row of a new prefix at the same time, in which case one of them fails and
+     * tries again.
+     */
+    private static final int MAX_ATTEMPTS = 3;
+
+    @Autowired
+    private DataContext dataContext;
+
+    private final Map<String, Block> blocks = new HashMap<String, Block>();
+
+    private int blockSize;
+
+    public ShortLabelAllocatorImpl() {
+    }
+
+    @Override
+    public synchronized void beginLoad( int blockSize ) {
+        if ( blockSize < 1 ) {
+            throw new IllegalArgumentException( "The block size must be at least 1: " + blockSize );
+        }
+
+        this.blockSize = blockSize;
+        this.blocks.clear();
+    }
+
+    @Override
+    public synchronized void endLoad() {
+        this.blockSize = 0;
+        this.blocks.clear();
+    }
+
+    @Override
+    public synchronized boolean isLoadActive() {
+        return blockSize > 0;
+    }
+
+    @Override
+    public synchronized String nextShortLabel( LabelType type, String prefix ) {
+        if ( !isLoadActive() ) {
+            return toLabel( type, prefix, reserveSuffixes( type, prefix, 1 ) );
+        }
+
+        final String key = toKey( type, prefix );
+        Block block = blocks.get( key );
+
+        if ( block == null || block.next > block.last ) {
+            final int first = reserveSuffixes( type, prefix, blockSize );
+            block = new Block( first, first + blockSize - 1 );
+            blocks.put( key, block );
+        }
+
+        return toLabel( type, prefix, block.next++ );
+    }
+
+    @Override
+    public int reserveSuffixes( LabelType type, String prefix, int count ) {
+        if ( count < 1 ) {
+            throw new IllegalArgumentException( "At least one suffix must be reserved: " + count );
+        }
+
+        RuntimeException lastException = null;
+
+        for ( int attempt = 1; attempt <= MAX_ATTEMPTS; attempt++ ) {
+            try {
+                return reserveSuffixesInNewTransaction( type, prefix, count );
+            } catch ( RuntimeException e ) {
+                if ( log.isWarnEnabled() ) log.warn( "Attempt " + attempt + " to reserve suffixes for " + type + " " + prefix + " failed", e );
+                lastException = e;
+            }
+        }
+
+        throw lastException;
+    }
+
+    private int reserveSuffixesInNewTransaction( LabelType type, String prefix, int count ) {
+        final TransactionStatus transactionStatus = dataContext.beginTransaction();
+
+        try {
+            final EntityManager entityManager = dataContext.getDaoFactory().getEntityManager();
+            final String key = toKey( type, prefix );
+
+            ShortLabelSuffix suffix = entityManager.find( ShortLabelSuffix.class, key, LockModeType.PESSIMISTIC_WRITE );
+            int maxSuffix;
+
+            if ( suffix == null ) {
+                maxSuffix = findMaxSuffix( type, prefix );
+                suffix = new ShortLabelSuffix( key, maxSuffix );
+                entityManager.persist( suffix );
+            } else {
+                maxSuffix = suffix.getMaxSuffix();
+
+                if ( anyLabelExists( type, prefix, maxSuffix + 1, count ) ) {
+                    maxSuffix = Math.max( maxSuffix, findMaxSuffix( type, prefix ) );
+                }
+            }
+
+            suffix.setMaxSuffix( maxSuffix + count );
+
+            dataContext.commitTransaction( transactionStatus );
+
+            if ( log.isDebugEnabled() ) log.debug( "Reserved " + count + " suffixes for " + key + " from " + ( maxSuffix + 1 ) );
+
+            return maxSuffix + 1;
+
+        } finally {
+            if ( !transactionStatus.isCompleted() ) {
+                dataContext.rollbackTransaction( transactionStatus );
+            }
+        }
+    }
+
+    /**
+     * Reads all the labels with the prefix to find the highest suffix, as the label synchronization does.
+     */
+    private int findMaxSuffix( LabelType type, String prefix ) {
+        final DaoFactory daoFactory = dataContext.getDaoFactory();
+        int maxSuffix = type == LabelType.INTERACTION ? -1 : 0;
+
+        final List<String> labels = type == LabelType.INTERACTION ?
+                                    daoFactory.getInteractionDao().getShortLabelsLike( prefix + "%" ) :
+                                    daoFactory.getExperimentDao().getShortLabelsLike( prefix + "%" );
+
+        for ( String label : labels ) {
+            final Integer suffix = parseSuffix( type, prefix, label );
+
+            if ( suffix != null ) {
+                maxSuffix = Math.max( maxSuffix, suffix );
+            }
+        }
+
+        return maxSuffix;
+    }
+
+    private boolean anyLabelExists( LabelType type, String prefix, int firstSuffix, int count ) {
+        final List<String> labels = new ArrayList<String>( count );
+
+        for ( int suffix = firstSuffix; suffix < firstSuffix + count; suffix++ ) {
+            labels.add( toLabel( type, prefix, suffix ) );
+        }
+
+        final String entityName = type == LabelType.INTERACTION ? InteractionImpl.class.getName() : Experiment.class.getName();
+
+        final Long existing = ( Long ) dataContext.getDaoFactory().getEntityManager()
+                .createQuery( "select count(o) from " + entityName + " o where o.shortLabel in (:labels)" )
+                .setParameter( "labels", labels )
+                .getSingleResult();
+
+        return existing > 0;
+    }
+
+    /**
+     * @return the suffix of a label with the prefix, 0 for an interaction label without suffix, or null if the
+     *         label has another prefix
+     */
+    private static Integer parseSuffix( LabelType type, String prefix, String label ) {
+        if ( type == LabelType.INTERACTION ) {
+            if ( !prefix.equals( InteractionShortLabelGenerator.removeSuffix( label ) ) ) {
+                return null;
+            }
+
+            final Integer suffix = InteractionShortLabelGenerator.getSuffix( label );
+            return suffix == null ? 0 : suffix;
+        }
+
+        final String strSuffix = label.substring( Math.min( prefix.length() + 1, label.length() ) );
+
+        if ( !label.startsWith( prefix + "-" ) || !strSuffix.matches( "\\d+" ) ) {
+            return null;
+        }
+
+        return Integer.valueOf( strSuffix );
+    }
+
+    private static String toLabel( LabelType type, String prefix, int suffix ) {
+        if ( type == LabelType.INTERACTION ) {
+            return InteractionShortLabelGenerator.setSuffix( prefix, suffix == 0 ? null : suffix );
+        }
+
+        return prefix + "-" + suffix;
+    }
+
+    private static String toKey( LabelType type, String prefix ) {
+        return type.name().toLowerCase() + ":" + prefix;
+    }
+
+    private static class Block {
+
+        private int next;
+        private final int last;
+
+        private Block( int next, int last ) {
+            this.next = next;
+            this.last = last;
+        }
+    }
+}
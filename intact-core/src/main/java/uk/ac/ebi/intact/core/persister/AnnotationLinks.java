@@ -0,0 +1,86 @@
+package uk.ac.ebi.intact.core.persister;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.metadata.CollectionMetadata;
+import org.hibernate.persister.collection.AbstractCollectionPersister;
+import uk.ac.ebi.intact.model.Annotation;
+
+import javax.persistence.EntityManager;
+import javax.persistence.Query;
+import java.util.*;
+
+/**
+ * Finds the links to the annotations in the join tables of all the annotated objects. An annotation may be shared
+ * by several objects, so it can only be deleted once it is not linked from any of these tables.
+ *
+ * @version $Id$
+ * @since 3.1.0
+ */
+final class AnnotationLinks {
+
+    private AnnotationLinks() {
+    }
+
+    /**
+     * Selects the annotations still linked to an annotated object, in any of the annotation join tables.
+     *
+     * @param entityManager the entity manager
+     * @param annotationAcs the ACs of the annotations to check
+     * @param ownerPersister the join table of the modified objects, or null
+     * @param ownerAcs the ACs of the modified objects, whose links in <code>ownerPersister</code> are ignored
+     * @return the ACs of the annotations linked to other objects
+     */
+    static Set<String> selectLinkedAnnotationAcs(EntityManager entityManager, Collection<String> annotationAcs,
+                                                 AbstractCollectionPersister ownerPersister, Collection<String> ownerAcs) {
+        final Set<String> linkedAcs = new HashSet<String>();
+
+        if (annotationAcs.isEmpty()) {
+            return linkedAcs;
+        }
+
+        final Set<String> joinTables = new HashSet<String>();
+
+        for (AbstractCollectionPersister persister : getAllAnnotationsPersisters(entityManager)) {
+            final String table = persister.getTableName();
+            final String keyColumn = persister.getKeyColumnNames()[0];
+            final String elementColumn = persister.getElementColumnNames()[0];
+
+            // the subclasses of an annotated object share the join table of their parent
+            if (!joinTables.add(table + "." + keyColumn)) {
+                continue;
+            }
+
+            final boolean ownerTable = ownerPersister != null && table.equals(ownerPersister.getTableName()) &&
+                                       keyColumn.equals(ownerPersister.getKeyColumnNames()[0]);
+
+            final Query query = entityManager.createNativeQuery("select distinct " + elementColumn + " from " + table +
+                                                                " where " + elementColumn + " in (:annotationAcs)" +
+                                                                (ownerTable ? " and " + keyColumn + " not in (:acs)" : ""))
+                    .setParameter("annotationAcs", annotationAcs);
+
+            if (ownerTable) {
+                query.setParameter("acs", ownerAcs);
+            }
+
+            for (Object ac : query.getResultList()) {
+                linkedAcs.add((String) ac);
+            }
+        }
+
+        return linkedAcs;
+    }
+
+    private static List<AbstractCollectionPersister> getAllAnnotationsPersisters(EntityManager entityManager) {
+        final List<AbstractCollectionPersister> persisters = new ArrayList<AbstractCollectionPersister>();
+        final SessionFactory sessionFactory = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class);
+
+        for (CollectionMetadata metadata : sessionFactory.getAllCollectionMetadata().values()) {
+            if (metadata instanceof AbstractCollectionPersister && ((AbstractCollectionPersister) metadata).isManyToMany() &&
+                Annotation.class.equals(metadata.getElementType().getReturnedClass())) {
+                persisters.add((AbstractCollectionPersister) metadata);
+            }
+        }
+
+        return persisters;
+    }
+}
@@ -0,0 +1,28 @@
+package uk.ac.ebi.intact.core.persister;
+
+import uk.ac.ebi.intact.model.AnnotatedObject;
+
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Finder that can resolve the ACs of many objects at once, using a few set-based queries
+ * per type instead of one query (or more) per object.
+ *
+ * @version $Id$
+ * @since 3.1.0
+ */
+public interface BatchFinder extends Finder {
+
+    /**
+     * Finds the ACs for a collection of annotated objects.
+     * <p/>
+     * The returned map is identity-based. An object present in the map with a null value has been
+     * resolved and does not exist in the database. Objects that cannot be resolved in bulk are not
+     * present in the map, and should be resolved individually with {@link #findAc(AnnotatedObject)}.
+     *
+     * @param annotatedObjects the objects we are searching an AC for.
+     * @return a map with the ACs found, by object.
+     */
+    Map<AnnotatedObject, String> findAcs( Collection<? extends AnnotatedObject> annotatedObjects );
+}
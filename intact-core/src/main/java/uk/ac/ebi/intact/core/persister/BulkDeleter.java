@@ -0,0 +1,406 @@
+package uk.ac.ebi.intact.core.persister;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.engine.spi.CascadingActions;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.persister.collection.AbstractCollectionPersister;
+import org.hibernate.persister.entity.AbstractEntityPersister;
+import org.hibernate.type.CollectionType;
+import org.hibernate.type.Type;
+import uk.ac.ebi.intact.core.persistence.util.CgLibUtil;
+import uk.ac.ebi.intact.model.*;
+import uk.ac.ebi.intact.model.meta.InteractionSignature;
+
+import javax.persistence.EntityManager;
+import javax.persistence.Query;
+import java.util.*;
+
+/**
+ * Deletes publications, experiments, interactions, components, features, ranges, interactors, biosources and CVs
+ * together with everything that depends on them, using set-based statements.
+ * <p/>
+ * The dependent objects are found level by level with one query per chunk of ACs: the experiments of the publications,
+ * the interactions that only belong to those experiments, their components, features and ranges. The interactors
+ * and interactions to delete must not be used by any component that is kept. The rows are then deleted bottom-up:
+ * for each level, first the rows of the collections (join tables, xrefs, aliases, annotations, confidences,
+ * parameters...), found with the Hibernate metadata, and then the objects themselves. The annotations shared with
+ * objects that are kept are only unlinked. The biosources and CVs are deleted
+ * last, and are expected to be unused: other references to them are only checked by the database constraints.
+ *
+ * @version $Id$
+ * @since 3.1.0
+ */
+class BulkDeleter {
+
+    private static final Log log = LogFactory.getLog( BulkDeleter.class );
+
+    /**
+     * Maximum number of ACs passed to a single statement.
+     */
+    private static final int CHUNK_SIZE = 500;
+
+    /**
+     * Classes deleted level by level. The collections of these classes are not deleted with their owner.
+     */
+    private static final List<Class<?>> LEVEL_CLASSES = Arrays.<Class<?>>asList(
+            Range.class, Feature.class, Component.class, InteractionImpl.class, Experiment.class, Publication.class );
+
+    private final EntityManager entityManager;
+    private final SessionFactoryImplementor sessionFactory;
+    private final DeletionReport report;
+
+    private final Set<String> publicationAcs = new HashSet<String>();
+    private final Set<String> experimentAcs = new HashSet<String>();
+    private final Set<String> interactionAcs = new HashSet<String>();
+    private final Set<String> componentAcs = new HashSet<String>();
+    private final Set<String> featureAcs = new HashSet<String>();
+    private final Set<String> rangeAcs = new HashSet<String>();
+    private final Set<String> componentInteractionAcs = new HashSet<String>();
+    private final Map<Class<?>, Set<String>> interactorAcs = new HashMap<Class<?>, Set<String>>();
+    private final Map<Class<?>, Set<String>> bioSourceAndCvAcs = new HashMap<Class<?>, Set<String>>();
+
+    BulkDeleter( EntityManager entityManager, boolean dryRun ) {
+        this.entityManager = entityManager;
+        this.sessionFactory = ( SessionFactoryImplementor ) entityManager.getEntityManagerFactory().unwrap( SessionFactory.class );
+        this.report = new DeletionReport( dryRun );
+    }
+
+    void add( IntactObject intactObject ) {
+        if ( intactObject.getAc() != null ) {
+            add( CgLibUtil.removeCglibEnhanced( intactObject.getClass() ), Collections.singleton( intactObject.getAc() ) );
+        }
+    }
+
+    void add( Class<?> intactClass, Collection<String> acs ) {
+        if ( Publication.class.isAssignableFrom( intactClass ) ) {
+            publicationAcs.addAll( acs );
+        } else if ( Experiment.class.isAssignableFrom( intactClass ) ) {
+            experimentAcs.addAll( acs );
+        } else if ( Interaction.class.isAssignableFrom( intactClass ) ) {
+            interactionAcs.addAll( acs );
+        } else if ( Component.class.isAssignableFrom( intactClass ) ) {
+            componentAcs.addAll( acs );
+        } else if ( Feature.class.isAssignableFrom( intactClass ) ) {
+            featureAcs.addAll( acs );
+        } else if ( Range.class.isAssignableFrom( intactClass ) ) {
+            rangeAcs.addAll( acs );
+        } else if ( Interactor.class.isAssignableFrom( intactClass ) ) {
+            add( interactorAcs, intactClass, acs );
+        } else if ( BioSource.class.isAssignableFrom( intactClass ) || CvObject.class.isAssignableFrom( intactClass ) ) {
+            add( bioSourceAndCvAcs, intactClass, acs );
+        } else {
+            throw new IllegalArgumentException( "Bulk deletion not supported for: " + intactClass.getName() );
+        }
+    }
+
+    private static void add( Map<Class<?>, Set<String>> acsByClass, Class<?> intactClass, Collection<String> acs ) {
+        if ( !acsByClass.containsKey( intactClass ) ) {
+            acsByClass.put( intactClass, new HashSet<String>() );
+        }
+        acsByClass.get( intactClass ).addAll( acs );
+    }
+
+    /**
+     * @return the ACs of the interactions of the components deleted, directly or with their interactions, so
+     *         including the interactions deleted. Only meaningful once the dependents have been collected by delete().
+     */
+    Set<String> getComponentInteractionAcs() {
+        return componentInteractionAcs;
+    }
+
+    /**
+     * @return the ACs of the CVs deleted
+     */
+    Set<String> getCvObjectAcs() {
+        final Set<String> cvObjectAcs = new HashSet<String>();
+
+        for ( Map.Entry<Class<?>, Set<String>> entry : bioSourceAndCvAcs.entrySet() ) {
+            if ( CvObject.class.isAssignableFrom( entry.getKey() ) ) {
+                cvObjectAcs.addAll( entry.getValue() );
+            }
+        }
+        return cvObjectAcs;
+    }
+
+    void addPublication( String publicationAc ) {
+        publicationAcs.add( publicationAc );
+    }
+
+    DeletionReport delete() {
+        entityManager.flush();
+
+        collectDependents();
+        checkInteractorsNotUsed();
+
+        if ( log.isDebugEnabled() ) {
+            log.debug( ( report.isDryRun() ? "Dry run, would delete " : "Deleting " ) + publicationAcs.size() + " publications, " +
+                       experimentAcs.size() + " experiments, " + interactionAcs.size() + " interactions, " +
+                       componentAcs.size() + " components, " + featureAcs.size() + " features and " + rangeAcs.size() + " ranges" );
+        }
+
+        deleteEntities( Range.class, rangeAcs );
+        deleteEntities( Feature.class, featureAcs );
+        deleteEntities( Component.class, componentAcs );
+        deleteEntities( InteractionImpl.class, interactionAcs );
+        deleteInteractionSignatures();
+
+        for ( Map.Entry<Class<?>, Set<String>> entry : interactorAcs.entrySet() ) {
+            deleteEntities( entry.getKey(), entry.getValue() );
+        }
+
+        deleteEntities( Experiment.class, experimentAcs );
+        deleteEntities( Publication.class, publicationAcs );
+
+        for ( Map.Entry<Class<?>, Set<String>> entry : bioSourceAndCvAcs.entrySet() ) {
+            deleteEntities( entry.getKey(), entry.getValue() );
+        }
+
+        entityManager.clear();
+
+        return report;
+    }
+
+    private void collectDependents() {
+        experimentAcs.addAll( selectAcs( "select e.ac from Experiment e where e.publication.ac in (:acs)", publicationAcs ) );
+
+        // the interactions are deleted only if all their experiments are deleted
+        final Map<String, Set<String>> experimentsByInteraction = new HashMap<String, Set<String>>();
+
+        for ( List<String> chunk : chunks( experimentAcs ) ) {
+            final List<Object[]> interactionAndExperiments = entityManager.createQuery(
+                    "select i.ac, e.ac from InteractionImpl i join i.experiments e " +
+                    "where i.ac in (select i2.ac from InteractionImpl i2 join i2.experiments e2 where e2.ac in (:acs))" )
+                    .setParameter( "acs", chunk )
+                    .getResultList();
+
+            for ( Object[] interactionAndExperiment : interactionAndExperiments ) {
+                final String interactionAc = ( String ) interactionAndExperiment[0];
+
+                if ( !experimentsByInteraction.containsKey( interactionAc ) ) {
+                    experimentsByInteraction.put( interactionAc, new HashSet<String>() );
+                }
+                experimentsByInteraction.get( interactionAc ).add( ( String ) interactionAndExperiment[1] );
+            }
+        }
+
+        for ( Map.Entry<String, Set<String>> entry : experimentsByInteraction.entrySet() ) {
+            if ( experimentAcs.containsAll( entry.getValue() ) ) {
+                interactionAcs.add( entry.getKey() );
+            }
+        }
+
+        componentAcs.addAll( selectAcs( "select c.ac from Component c where c.interaction.ac in (:acs)", interactionAcs ) );
+        componentInteractionAcs.addAll( selectAcs( "select distinct c.interaction.ac from Component c where c.ac in (:acs)", componentAcs ) );
+        featureAcs.addAll( selectAcs( "select f.ac from Feature f where f.component.ac in (:acs)", componentAcs ) );
+        rangeAcs.addAll( selectAcs( "select r.ac from Range r where r.feature.ac in (:acs)", featureAcs ) );
+    }
+
+    /**
+     * Checks that the interactors and interactions to delete are not used by components that are kept.
+     */
+    private void checkInteractorsNotUsed() {
+        final Set<String> acs = new HashSet<String>( interactionAcs );
+
+        for ( Set<String> interactorAcsOfClass : interactorAcs.values() ) {
+            acs.addAll( interactorAcsOfClass );
+        }
+
+        for ( List<String> chunk : chunks( acs ) ) {
+            final List<Object[]> componentAndInteractors = entityManager.createQuery(
+                    "select c.ac, c.interactor.ac from Component c where c.interactor.ac in (:acs)" )
+                    .setParameter( "acs", chunk )
+                    .getResultList();
+
+            for ( Object[] componentAndInteractor : componentAndInteractors ) {
+                if ( !componentAcs.contains( componentAndInteractor[0] ) ) {
+                    throw new IntactObjectDeleteException( "The interactor " + componentAndInteractor[1] + " cannot be deleted " +
+                                                           "because it is still used in the participant " + componentAndInteractor[0] + "." );
+                }
+            }
+        }
+    }
+
+    private void deleteEntities( Class<?> entityClass, Set<String> acs ) {
+        if ( acs.isEmpty() ) {
+            return;
+        }
+
+        final AbstractEntityPersister persister = ( AbstractEntityPersister ) sessionFactory.getEntityPersister( entityClass.getName() );
+        final String[] propertyNames = persister.getPropertyNames();
+        final Type[] propertyTypes = persister.getPropertyTypes();
+
+        for ( List<String> chunk : chunks( acs ) ) {
+            clearReferences( entityClass, chunk );
+
+            final Set<String> annotationAcs = new HashSet<String>();
+            AbstractCollectionPersister annotationsPersister = null;
+
+            for ( int i = 0; i < propertyNames.length; i++ ) {
+                if ( !propertyTypes[i].isCollectionType() ) {
+                    continue;
+                }
+
+                final AbstractCollectionPersister collectionPersister = ( AbstractCollectionPersister )
+                        sessionFactory.getCollectionPersister( ( ( CollectionType ) propertyTypes[i] ).getRole() );
+
+                if ( collectionPersister.isManyToMany() ) {
+                    if ( "annotations".equals( propertyNames[i] ) ) {
+                        annotationsPersister = collectionPersister;
+                        annotationAcs.addAll( selectAcs( "select a.ac from " + entityClass.getName() + " o join o.annotations a " +
+                                                         "where o.ac in (:acs)", chunk ) );
+                    }
+
+                    deleteRows( collectionPersister.getTableName(), collectionPersister.getKeyColumnNames()[0], chunk );
+
+                } else if ( isDeletedWithOwner( collectionPersister, persister.getPropertyCascadeStyles()[i].doCascade( CascadingActions.DELETE ) ) ) {
+                    deleteRows( collectionPersister.getTableName(), collectionPersister.getKeyColumnNames()[0], chunk );
+                }
+            }
+
+            report.add( persister.getTableName(), execute( "from " + entityClass.getName() + " o where o.ac in (:acs)", chunk ) );
+
+            deleteUnlinkedAnnotations( annotationAcs, annotationsPersister, chunk );
+        }
+    }
+
+    /**
+     * Deletes the annotations of the objects deleted, unless they are shared with other objects. The links of the
+     * objects deleted are ignored, as they are only counted in a dry run.
+     */
+    private void deleteUnlinkedAnnotations( Set<String> annotationAcs, AbstractCollectionPersister annotationsPersister,
+                                            List<String> ownerAcs ) {
+        for ( List<String> annotationChunk : chunks( annotationAcs ) ) {
+            final Set<String> unlinkedAcs = new HashSet<String>( annotationChunk );
+            unlinkedAcs.removeAll( AnnotationLinks.selectLinkedAnnotationAcs( entityManager, annotationChunk,
+                                                                              annotationsPersister, ownerAcs ) );
+
+            if ( !unlinkedAcs.isEmpty() ) {
+                report.add( tableOf( Annotation.class ), execute( "from Annotation a where a.ac in (:acs)", unlinkedAcs ) );
+            }
+        }
+    }
+
+    /**
+     * The children of a one-to-many collection are deleted with their owner if the collection is cascaded and
+     * they are leaves of the graph, e.g. xrefs, aliases, confidences or parameters.
+     */
+    private boolean isDeletedWithOwner( AbstractCollectionPersister collectionPersister, boolean cascadeDelete ) {
+        if ( !collectionPersister.isOneToMany() || !cascadeDelete ) {
+            return false;
+        }
+
+        final Class<?> elementClass = collectionPersister.getElementType().getReturnedClass();
+
+        for ( Class<?> levelClass : LEVEL_CLASSES ) {
+            if ( levelClass.isAssignableFrom( elementClass ) ) {
+                return false;
+            }
+        }
+
+        final AbstractEntityPersister elementPersister = ( AbstractEntityPersister ) collectionPersister.getElementPersister();
+
+        for ( Type type : elementPersister.getPropertyTypes() ) {
+            if ( type.isCollectionType() ) {
+                throw new IllegalStateException( "Cannot delete " + collectionPersister.getRole() + " with its owner, as " +
+                                                 elementPersister.getEntityName() + " has collections too" );
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Sets to null the optional references to the objects to delete, from objects that are kept.
+     */
+    private void clearReferences( Class<?> entityClass, List<String> acs ) {
+        if ( report.isDryRun() ) {
+            return;
+        }
+
+        if ( Feature.class.equals( entityClass ) ) {
+            clearReference( Feature.class, "boundDomain", acs );
+        } else if ( Experiment.class.equals( entityClass ) ) {
+            clearReference( Experiment.class, "relatedExperiment", acs );
+            clearReference( InteractionParameter.class, "experiment", acs );
+            clearReference( ComponentParameter.class, "experiment", acs );
+        }
+    }
+
+    private void clearReference( Class<?> entityClass, String property, List<String> acs ) {
+        final AbstractEntityPersister persister = ( AbstractEntityPersister ) sessionFactory.getEntityPersister( entityClass.getName() );
+        final String column = persister.getPropertyColumnNames( property )[0];
+
+        entityManager.createNativeQuery( "update " + persister.getTableName() + " set " + column + " = null where " + column + " in (:acs)" )
+                .setParameter( "acs", acs )
+                .executeUpdate();
+    }
+
+    private void deleteRows( String table, String keyColumn, Collection<String> acs ) {
+        final String where = " from " + table + " where " + keyColumn + " in (:acs)";
+
+        if ( report.isDryRun() ) {
+            final Number count = ( Number ) entityManager.createNativeQuery( "select count(*)" + where )
+                    .setParameter( "acs", acs )
+                    .getSingleResult();
+            report.add( table, count.longValue() );
+        } else {
+            report.add( table, entityManager.createNativeQuery( "delete" + where )
+                    .setParameter( "acs", acs )
+                    .executeUpdate() );
+        }
+    }
+
+    /**
+     * Deletes the participant signatures of the interactions deleted, which are not mapped as a collection.
+     */
+    private void deleteInteractionSignatures() {
+        for ( List<String> chunk : chunks( interactionAcs ) ) {
+            report.add( tableOf( InteractionSignature.class ),
+                        execute( "from InteractionSignature s where s.interactionAc in (:acs)", chunk ) );
+        }
+    }
+
+    /**
+     * Runs a bulk delete, or counts the objects in dry-run mode.
+     */
+    private long execute( String fromClause, Collection<String> acs ) {
+        if ( report.isDryRun() ) {
+            return ( Long ) entityManager.createQuery( "select count(*) " + fromClause )
+                    .setParameter( "acs", acs )
+                    .getSingleResult();
+        }
+
+        return entityManager.createQuery( "delete " + fromClause )
+                .setParameter( "acs", acs )
+                .executeUpdate();
+    }
+
+    private String tableOf( Class<?> entityClass ) {
+        return ( ( AbstractEntityPersister ) sessionFactory.getEntityPersister( entityClass.getName() ) ).getTableName();
+    }
+
+    private List<String> selectAcs( String hql, Collection<String> acs ) {
+        final List<String> selectedAcs = new ArrayList<String>();
+
+        for ( List<String> chunk : chunks( acs ) ) {
+            final Query query = entityManager.createQuery( hql );
+            query.setParameter( "acs", chunk );
+            selectedAcs.addAll( query.getResultList() );
+        }
+
+        return selectedAcs;
+    }
+
+    private static List<List<String>> chunks( Collection<String> acs ) {
+        final List<String> acList = new ArrayList<String>( acs );
+        final List<List<String>> chunks = new ArrayList<List<String>>();
+
+        for ( int from = 0; from < acList.size(); from += CHUNK_SIZE ) {
+            chunks.add( acList.subList( from, Math.min( from + CHUNK_SIZE, acList.size() ) ) );
+        }
+
+        return chunks;
+    }
+}
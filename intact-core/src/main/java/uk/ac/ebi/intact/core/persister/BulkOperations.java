@@ -17,14 +17,64 @@ package uk.ac.ebi.intact.core.persister;
 
 import uk.ac.ebi.intact.model.AnnotatedObject;
 import uk.ac.ebi.intact.model.Annotation;
+import uk.ac.ebi.intact.model.CvDatabase;
+import uk.ac.ebi.intact.model.CvTopic;
+import uk.ac.ebi.intact.model.Xref;
 
 import java.io.Serializable;
 
 /**
+ * Set-based updates of the annotations and xrefs of many annotated objects. The objects are not loaded:
+ * each operation runs a few statements for each chunk of ACs. The persistence context is flushed before
+ * and cleared after each operation.
+ *
  * @author Bruno Aranda (baranda@ebi.ac.uk)
  * @version $Id$
  */
 public interface BulkOperations extends Serializable {
 
     String[] addAnnotation(Annotation annotation, String[] acs, Class<? extends AnnotatedObject> aoClass, boolean replaceIfTopicMatch);
+
+    /**
+     * Replaces the text of the annotations with the given topic. Nothing is changed if the topic does not exist.
+     * @param topic the topic of the annotations to update
+     * @param annotationText the new text
+     * @param acs array of ACs to modify
+     * @param aoClass type of class of the ACs
+     * @return the accessions that had at least one annotation with the topic
+     * @since 3.1.0
+     */
+    String[] replaceAnnotationText(CvTopic topic, String annotationText, String[] acs, Class<? extends AnnotatedObject> aoClass);
+
+    /**
+     * Removes the annotations with the given topic. Nothing is removed if the topic does not exist.
+     * @param topic the topic of the annotations to remove
+     * @param acs array of ACs to modify
+     * @param aoClass type of class of the ACs
+     * @return the accessions that had at least one annotation with the topic
+     * @since 3.1.0
+     */
+    String[] removeAnnotations(CvTopic topic, String[] acs, Class<? extends AnnotatedObject> aoClass);
+
+    /**
+     * Adds a copy of the xref to all the passed annotated object ACs. The CVs of the xref have to exist.
+     * @param xref the xref to copy to the annotated objects
+     * @param acs array of ACs to modify
+     * @param aoClass type of class of the ACs
+     * @return the accessions that have been modified
+     * @since 3.1.0
+     */
+    String[] addXref(Xref xref, String[] acs, Class<? extends AnnotatedObject> aoClass);
+
+    /**
+     * Removes the xrefs to a database, optionally with a given primary id. Nothing is removed if the database
+     * does not exist.
+     * @param database the database of the xrefs to remove
+     * @param primaryId the primary id of the xrefs to remove, or null to remove all the xrefs to the database
+     * @param acs array of ACs to modify
+     * @param aoClass type of class of the ACs
+     * @return the accessions that had at least one matching xref
+     * @since 3.1.0
+     */
+    String[] removeXrefs(CvDatabase database, String primaryId, String[] acs, Class<? extends AnnotatedObject> aoClass);
 }
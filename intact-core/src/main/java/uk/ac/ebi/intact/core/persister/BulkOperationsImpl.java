@@ -15,22 +15,40 @@
  */
 package uk.ac.ebi.intact.core.persister;
 
-import org.apache.commons.beanutils.BeanUtils;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.jdbc.Work;
+import org.hibernate.persister.collection.AbstractCollectionPersister;
+import org.hibernate.type.CollectionType;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
-import uk.ac.ebi.intact.core.IntactException;
-import uk.ac.ebi.intact.model.AnnotatedObject;
-import uk.ac.ebi.intact.model.Annotation;
-import uk.ac.ebi.intact.model.CvObject;
-import uk.ac.ebi.intact.model.IntactObject;
+import uk.ac.ebi.intact.core.persistence.util.CgLibUtil;
+import uk.ac.ebi.intact.model.*;
+import uk.ac.ebi.intact.model.event.AuditableEventListener;
+import uk.ac.ebi.intact.model.util.AnnotatedObjectUtils;
+import uk.ac.ebi.intact.model.util.XrefUtils;
 
 import javax.persistence.EntityManager;
 import javax.persistence.PersistenceContext;
-import java.util.ArrayList;
-import java.util.Collection;
+import javax.persistence.Query;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.*;
 
 /**
  * Utilities to do bulk operations on the database.
+ * <p/>
+ * The ACs are processed in chunks, which are passed to the queries as lists of parameters. The annotated objects
+ * are never loaded: the existing ACs and the annotations or xrefs to change are selected with one query per chunk,
+ * and changed with bulk updates and deletes. The new annotations and xrefs are inserted in JDBC batches, together
+ * with the rows of the annotation join tables.
+ * <p/>
+ * The CVs passed are looked up in the database and never created: the additions fail when they do not exist, and the
+ * replacements and removals do nothing. An annotation can be shared by several annotated objects, so the ones also
+ * used by other objects than the modified ones are never updated or deleted: their text is replaced in a new copy,
+ * and removing them only removes the links.
  *
  * @author Bruno Aranda (baranda@ebi.ac.uk)
  * @version $Id$
@@ -38,6 +56,11 @@ import java.util.Collection;
 @Component
 public class BulkOperationsImpl implements BulkOperations {
 
+    /**
+     * Maximum number of ACs passed to a single statement.
+     */
+    private static final int CHUNK_SIZE = 500;
+
     @PersistenceContext(unitName = "intact-core-default")
     private EntityManager entityManager;
 
@@ -47,69 +70,409 @@ public class BulkOperationsImpl implements BulkOperations {
      * @param annotation the annotation to copy to the annotated objects
      * @param acs array of ACs to modify
      * @param aoClass type of class of the ACs
+     * @param replaceIfTopicMatch if true, the text of the existing annotations with the same topic is replaced instead
      * @return the accessions that have been modified
      */
     @Override
     @Transactional
     public String[] addAnnotation(Annotation annotation, String[] acs, Class<? extends AnnotatedObject> aoClass, boolean replaceIfTopicMatch) {
-        Collection<String> updatedAcs = new ArrayList<String>(acs.length);
+        final CvTopic topic = getExistingCvObject(annotation.getCvTopic());
+        final Collection<String> updatedAcs = new ArrayList<String>(acs.length);
 
-        for (String ac : acs) {
-            Annotation clonedAnnotation = clone(annotation);
+        entityManager.flush();
 
-            AnnotatedObject ao = entityManager.find(aoClass, ac);
+        for (List<String> chunk : chunks(acs)) {
+            final Set<String> existingAcs = selectExistingAcs(aoClass, chunk);
+            final Set<String> acsWithTopic = new HashSet<String>();
 
-            if (ao != null) {
-                updatedAcs.add(ac);
+            if (replaceIfTopicMatch) {
+                final List<Object[]> annotationsWithTopic = selectAnnotationsWithTopic(aoClass, chunk, topic);
 
-                if (!replaceIfTopicMatch) {
-                    ao.addAnnotation(clonedAnnotation);
-                    entityManager.persist(clonedAnnotation);
-                } else {
-                    boolean found = false;
+                updateAnnotationText(aoClass, chunk, topic, annotationsWithTopic, annotation.getAnnotationText());
 
-                    for (Annotation annot : ao.getAnnotations()) {
-                        if (areSameCvObject(annot.getCvTopic(), clonedAnnotation.getCvTopic())) {
-                            annot.setAnnotationText(clonedAnnotation.getAnnotationText());
-                            found = true;
-                        }
-                    }
+                for (Object[] ownerAndAnnotation : annotationsWithTopic) {
+                    acsWithTopic.add((String) ownerAndAnnotation[0]);
+                }
+            }
+
+            final List<String> newAnnotationAcs = new ArrayList<String>(chunk.size());
+
+            for (String ac : chunk) {
+                if (existingAcs.contains(ac)) {
+                    updatedAcs.add(ac);
 
-                    if (found) {
-                        entityManager.merge(ao);
-                    } else {
-                        ao.addAnnotation(clonedAnnotation);
-                        entityManager.persist(clonedAnnotation);
+                    if (!acsWithTopic.contains(ac)) {
+                        newAnnotationAcs.add(ac);
                     }
                 }
+            }
+
+            insertAnnotations(aoClass, newAnnotationAcs, topic, annotation.getAnnotationText());
+        }
+
+        entityManager.clear();
+
+        return updatedAcs.toArray(new String[updatedAcs.size()]);
+    }
+
+    @Override
+    @Transactional
+    public String[] replaceAnnotationText(CvTopic topic, String annotationText, String[] acs, Class<? extends AnnotatedObject> aoClass) {
+        final CvTopic persistentTopic = findPersistentCvObject(topic);
+        final Set<String> updatedAcs = new LinkedHashSet<String>();
+
+        if (persistentTopic == null) {
+            return new String[0];
+        }
+
+        entityManager.flush();
+
+        for (List<String> chunk : chunks(acs)) {
+            final List<Object[]> annotationsWithTopic = selectAnnotationsWithTopic(aoClass, chunk, persistentTopic);
+
+            updateAnnotationText(aoClass, chunk, persistentTopic, annotationsWithTopic, annotationText);
+
+            for (Object[] ownerAndAnnotation : annotationsWithTopic) {
+                updatedAcs.add((String) ownerAndAnnotation[0]);
+            }
+        }
+
+        entityManager.clear();
+
+        return updatedAcs.toArray(new String[updatedAcs.size()]);
+    }
+
+    @Override
+    @Transactional
+    public String[] removeAnnotations(CvTopic topic, String[] acs, Class<? extends AnnotatedObject> aoClass) {
+        final CvTopic persistentTopic = findPersistentCvObject(topic);
+        final AbstractCollectionPersister annotationsPersister = getAnnotationsPersister(aoClass);
+        final Set<String> updatedAcs = new LinkedHashSet<String>();
+
+        if (persistentTopic == null) {
+            return new String[0];
+        }
+
+        entityManager.flush();
+
+        for (List<String> chunk : chunks(acs)) {
+            final List<Object[]> annotationsWithTopic = selectAnnotationsWithTopic(aoClass, chunk, persistentTopic);
+
+            if (annotationsWithTopic.isEmpty()) {
+                continue;
+            }
+
+            final Set<String> annotationAcs = new HashSet<String>(annotationsWithTopic.size());
+
+            for (Object[] ownerAndAnnotation : annotationsWithTopic) {
+                updatedAcs.add((String) ownerAndAnnotation[0]);
+                annotationAcs.add((String) ownerAndAnnotation[1]);
+            }
+
+            entityManager.createNativeQuery("delete from " + annotationsPersister.getTableName() +
+                                            " where " + annotationsPersister.getKeyColumnNames()[0] + " in (:acs)" +
+                                            " and " + annotationsPersister.getElementColumnNames()[0] + " in (:annotationAcs)")
+                    .setParameter("acs", chunk)
+                    .setParameter("annotationAcs", annotationAcs)
+                    .executeUpdate();
+
+            // the annotations still linked to other objects are kept
+            annotationAcs.removeAll(AnnotationLinks.selectLinkedAnnotationAcs(entityManager, annotationAcs, null, null));
+
+            if (!annotationAcs.isEmpty()) {
+                entityManager.createQuery("delete from Annotation a where a.ac in (:annotationAcs)")
+                        .setParameter("annotationAcs", annotationAcs)
+                        .executeUpdate();
+            }
+        }
+
+        evictCollectionRegion(annotationsPersister);
+        entityManager.clear();
+
+        return updatedAcs.toArray(new String[updatedAcs.size()]);
+    }
+
+    @Override
+    @Transactional
+    public String[] addXref(Xref xref, String[] acs, Class<? extends AnnotatedObject> aoClass) {
+        final CvDatabase database = getExistingCvObject(xref.getCvDatabase());
+        final CvXrefQualifier qualifier = getExistingCvObject(xref.getCvXrefQualifier());
+        final Collection<String> updatedAcs = new ArrayList<String>(acs.length);
+
+        entityManager.flush();
+
+        for (List<String> chunk : chunks(acs)) {
+            final Set<String> existingAcs = selectExistingAcs(aoClass, chunk);
+
+            for (String ac : chunk) {
+                if (existingAcs.contains(ac)) {
+                    final Xref newXref = XrefUtils.newXrefInstanceFor(aoClass);
+                    newXref.setCvDatabase(database);
+                    newXref.setCvXrefQualifier(qualifier);
+                    newXref.setPrimaryId(xref.getPrimaryId());
+                    newXref.setSecondaryId(xref.getSecondaryId());
+                    newXref.setDbRelease(xref.getDbRelease());
+                    newXref.setParent(entityManager.getReference(aoClass, ac));
+
+                    entityManager.persist(newXref);
+                    updatedAcs.add(ac);
+                }
+            }
+
+            entityManager.flush();
+            entityManager.clear();
+        }
+
+        return updatedAcs.toArray(new String[updatedAcs.size()]);
+    }
+
+    @Override
+    @Transactional
+    public String[] removeXrefs(CvDatabase database, String primaryId, String[] acs, Class<? extends AnnotatedObject> aoClass) {
+        final Class<? extends Xref> xrefClass = AnnotatedObjectUtils.getXrefClassType(aoClass);
+        final CvDatabase persistentDatabase = findPersistentCvObject(database);
+        final Set<String> updatedAcs = new LinkedHashSet<String>();
+
+        if (persistentDatabase == null) {
+            return new String[0];
+        }
+
+        final String where = " where x.parentAc in (:acs) and x.cvDatabase = :database" +
+                             (primaryId != null ? " and x.primaryId = :primaryId" : "");
+
+        entityManager.flush();
+
+        for (List<String> chunk : chunks(acs)) {
+            final Query select = entityManager.createQuery("select distinct x.parentAc from " + xrefClass.getName() + " x" + where);
+            final Query delete = entityManager.createQuery("delete from " + xrefClass.getName() + " x" + where);
+
+            for (Query query : Arrays.asList(select, delete)) {
+                query.setParameter("acs", chunk);
+                query.setParameter("database", persistentDatabase);
+
+                if (primaryId != null) {
+                    query.setParameter("primaryId", primaryId);
+                }
+            }
 
+            final List<String> acsWithXref = select.getResultList();
 
+            if (!acsWithXref.isEmpty()) {
+                updatedAcs.addAll(acsWithXref);
+                delete.executeUpdate();
             }
         }
 
+        entityManager.clear();
+
         return updatedAcs.toArray(new String[updatedAcs.size()]);
+    }
+
+    private Set<String> selectExistingAcs(Class<? extends AnnotatedObject> aoClass, List<String> acs) {
+        final List<String> existingAcs = entityManager.createQuery("select o.ac from " + aoClass.getName() + " o where o.ac in (:acs)")
+                .setParameter("acs", acs)
+                .getResultList();
+
+        return new HashSet<String>(existingAcs);
+    }
+
+    /**
+     * @return pairs of annotated object AC and annotation AC
+     */
+    private List<Object[]> selectAnnotationsWithTopic(Class<? extends AnnotatedObject> aoClass, List<String> acs, CvTopic topic) {
+        return entityManager.createQuery("select o.ac, a.ac from " + aoClass.getName() + " o join o.annotations a " +
+                                         "where o.ac in (:acs) and a.cvTopic = :topic")
+                .setParameter("acs", acs)
+                .setParameter("topic", topic)
+                .getResultList();
+    }
+
+    private void updateAnnotationText(Class<? extends AnnotatedObject> aoClass, List<String> acs, CvTopic topic,
+                                      List<Object[]> annotationsWithTopic, String annotationText) {
+        if (annotationsWithTopic.isEmpty()) {
+            return;
+        }
+
+        final AbstractCollectionPersister annotationsPersister = getAnnotationsPersister(aoClass);
+        final Set<String> annotationAcs = new HashSet<String>(annotationsWithTopic.size());
+
+        for (Object[] ownerAndAnnotation : annotationsWithTopic) {
+            annotationAcs.add((String) ownerAndAnnotation[1]);
+        }
+
+        // the annotations also linked to other objects are replaced by a copy with the new text
+        final Set<String> sharedAnnotationAcs = AnnotationLinks.selectLinkedAnnotationAcs(entityManager, annotationAcs, annotationsPersister, acs);
+        annotationAcs.removeAll(sharedAnnotationAcs);
+
+        if (!sharedAnnotationAcs.isEmpty()) {
+            final String relink = "update " + annotationsPersister.getTableName() +
+                                  " set " + annotationsPersister.getElementColumnNames()[0] + " = :newAnnotationAc" +
+                                  " where " + annotationsPersister.getKeyColumnNames()[0] + " = :ac" +
+                                  " and " + annotationsPersister.getElementColumnNames()[0] + " = :annotationAc";
+
+            final Map<Object[], Annotation> copies = new LinkedHashMap<Object[], Annotation>();
+
+            for (Object[] ownerAndAnnotation : annotationsWithTopic) {
+                if (sharedAnnotationAcs.contains(ownerAndAnnotation[1])) {
+                    final Annotation copy = new Annotation(topic, annotationText);
+                    entityManager.persist(copy);
+                    copies.put(ownerAndAnnotation, copy);
+                }
+            }
+
+            entityManager.flush();
+
+            for (Map.Entry<Object[], Annotation> copy : copies.entrySet()) {
+                entityManager.createNativeQuery(relink)
+                        .setParameter("newAnnotationAc", copy.getValue().getAc())
+                        .setParameter("ac", copy.getKey()[0])
+                        .setParameter("annotationAc", copy.getKey()[1])
+                        .executeUpdate();
+            }
+
+            evictCollectionRegion(annotationsPersister);
+        }
+
+        if (annotationAcs.isEmpty()) {
+            return;
+        }
+
+        // the bulk update bypasses the listeners, so the audit fields are taken from a throwaway annotation
+        final Annotation audit = new Annotation();
+        new AuditableEventListener().prePersist(audit);
+
+        entityManager.createQuery("update Annotation a set a.annotationText = :annotationText, " +
+                                  "a.updated = :updated, a.updator = :updator where a.ac in (:annotationAcs)")
+                .setParameter("annotationText", annotationText)
+                .setParameter("updated", audit.getUpdated())
+                .setParameter("updator", audit.getUpdator())
+                .setParameter("annotationAcs", annotationAcs)
+                .executeUpdate();
+    }
+
+    private void insertAnnotations(Class<? extends AnnotatedObject> aoClass, final List<String> acs, CvTopic topic, String annotationText) {
+        if (acs.isEmpty()) {
+            return;
+        }
+
+        final List<String> annotationAcs = new ArrayList<String>(acs.size());
+
+        for (int i = 0; i < acs.size(); i++) {
+            final Annotation annotation = new Annotation(topic, annotationText);
+            entityManager.persist(annotation);
+            annotationAcs.add(annotation.getAc());
+        }
+
+        entityManager.flush();
+
+        final AbstractCollectionPersister annotationsPersister = getAnnotationsPersister(aoClass);
+        final String insert = "insert into " + annotationsPersister.getTableName() +
+                              " (" + annotationsPersister.getKeyColumnNames()[0] + ", " +
+                              annotationsPersister.getElementColumnNames()[0] + ") values (?, ?)";
+
+        entityManager.unwrap(Session.class).doWork(new Work() {
+            @Override
+            public void execute(Connection connection) throws SQLException {
+                final PreparedStatement statement = connection.prepareStatement(insert);
+
+                try {
+                    for (int i = 0; i < acs.size(); i++) {
+                        statement.setString(1, acs.get(i));
+                        statement.setString(2, annotationAcs.get(i));
+                        statement.addBatch();
+                    }
 
+                    statement.executeBatch();
+                } finally {
+                    statement.close();
+                }
+            }
+        });
+
+        evictCollectionRegion(annotationsPersister);
+        entityManager.clear();
     }
 
+    private AbstractCollectionPersister getAnnotationsPersister(Class<? extends AnnotatedObject> aoClass) {
+        final SessionFactoryImplementor sessionFactory = (SessionFactoryImplementor) getSessionFactory();
+        final CollectionType annotationsType = (CollectionType) sessionFactory.getClassMetadata(aoClass).getPropertyType("annotations");
 
-    private boolean areSameCvObject(CvObject cv1, CvObject cv2) {
-        if (cv1.getIdentifier() != null && cv2.getIdentifier() != null) {
-            return cv1.equals(cv2);
+        return (AbstractCollectionPersister) sessionFactory.getCollectionPersister(annotationsType.getRole());
+    }
+
+    /**
+     * The join tables are changed with SQL, so the annotations cached in the second-level cache have to be evicted.
+     */
+    private void evictCollectionRegion(AbstractCollectionPersister persister) {
+        if (persister.hasCache()) {
+            getSessionFactory().getCache().evictCollectionRegion(persister.getRole());
         }
+    }
 
-        return cv1.getShortLabel().equals(cv2.getShortLabel());
+    private SessionFactory getSessionFactory() {
+        return entityManager.getEntityManagerFactory().unwrap(SessionFactory.class);
     }
 
-    private <T extends IntactObject> T clone(T intactObject) {
-        T clone = null;
-        try {
-            clone = (T) BeanUtils.cloneBean(intactObject);
-            clone.setAc(null);
-        } catch (Exception e) {
-            throw new IntactException("Problem creating intact object clone: "+intactObject, e);
+    /**
+     * Gets the persistent version of a CV, which has to exist in the database.
+     *
+     * @throws IllegalArgumentException if the CV is not found
+     */
+    private <C extends CvObject> C getExistingCvObject(C cvObject) {
+        final C persistentCvObject = findPersistentCvObject(cvObject);
+
+        if (cvObject != null && persistentCvObject == null) {
+            throw new IllegalArgumentException("CV not found in the database: " + cvObject.getShortLabel() +
+                                               " (" + cvObject.getIdentifier() + ")");
+        }
+
+        return persistentCvObject;
+    }
+
+    /**
+     * Gets the persistent version of a CV, found by AC, identifier or short label.
+     *
+     * @return the persistent CV, or null if it does not exist
+     */
+    private <C extends CvObject> C findPersistentCvObject(C cvObject) {
+        if (cvObject == null) {
+            return null;
+        }
+
+        final Class<C> cvClass = (Class<C>) CgLibUtil.removeCglibEnhanced(cvObject.getClass());
+
+        if (cvObject.getAc() != null) {
+            final C persistentCvObject = entityManager.find(cvClass, cvObject.getAc());
+
+            if (persistentCvObject != null) {
+                return persistentCvObject;
+            }
+        }
+
+        final Query query;
+
+        if (cvObject.getIdentifier() != null) {
+            query = entityManager.createQuery("select cv from " + cvClass.getName() + " cv where cv.identifier = :identifier")
+                    .setParameter("identifier", cvObject.getIdentifier());
+        } else {
+            query = entityManager.createQuery("select cv from " + cvClass.getName() + " cv where cv.shortLabel = :shortLabel")
+                    .setParameter("shortLabel", cvObject.getShortLabel());
+        }
+
+        final List<C> cvObjects = query.setMaxResults(1).getResultList();
+
+        return cvObjects.isEmpty() ? null : cvObjects.get(0);
+    }
+
+    private static List<List<String>> chunks(String[] acs) {
+        final List<String> distinctAcs = new ArrayList<String>(new LinkedHashSet<String>(Arrays.asList(acs)));
+        final List<List<String>> chunks = new ArrayList<List<String>>();
+
+        for (int from = 0; from < distinctAcs.size(); from += CHUNK_SIZE) {
+            chunks.add(distinctAcs.subList(from, Math.min(from + CHUNK_SIZE, distinctAcs.size())));
         }
 
-        return clone;
+        return chunks;
     }
 
 }
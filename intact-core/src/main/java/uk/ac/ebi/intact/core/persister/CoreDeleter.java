@@ -2,6 +2,8 @@ package uk.ac.ebi.intact.core.persister;
 
 import uk.ac.ebi.intact.model.IntactObject;
 
+import java.util.Collection;
+
 /**
  * @author Bruno Aranda (baranda@ebi.ac.uk)
  * @version $Id$
@@ -9,4 +11,41 @@ import uk.ac.ebi.intact.model.IntactObject;
 public interface CoreDeleter {
 
     void delete(IntactObject intactObject);
+
+    /**
+     * Deletes the objects and everything depending on them in a single transaction, using set-based statements
+     * instead of loading and removing each object. Experiments delete their interactions, unless the interactions
+     * also belong to experiments that are kept, in which case they are only unlinked. Interactions delete their
+     * components, components their features and features their ranges.
+     * Supports publications, experiments, interactions, components, features, ranges, interactors, biosources and CVs.
+     * The biosources and CVs must not be used anymore.
+     *
+     * @param intactObjects the objects to delete
+     * @param dryRun if true, nothing is deleted and the report contains the number of rows that would be deleted
+     * @return the number of rows deleted from each table
+     * @throws IntactObjectDeleteException if an interactor is still used by a participant that is not deleted
+     */
+    DeletionReport deleteAll(Collection<? extends IntactObject> intactObjects, boolean dryRun);
+
+    /**
+     * Deletes the objects with the given ACs and everything depending on them, without loading them.
+     *
+     * @param intactClass the mapped class of the objects, e.g. ProteinImpl or CvTopic
+     * @param acs the ACs of the objects to delete
+     * @param dryRun if true, nothing is deleted and the report contains the number of rows that would be deleted
+     * @return the number of rows deleted from each table
+     * @see #deleteAll(java.util.Collection, boolean)
+     * @since 3.1.0
+     */
+    DeletionReport deleteAll(Class<? extends IntactObject> intactClass, Collection<String> acs, boolean dryRun);
+
+    /**
+     * Deletes a publication with its experiments, interactions, components, features and ranges.
+     *
+     * @param publicationAc the AC of the publication
+     * @param dryRun if true, nothing is deleted and the report contains the number of rows that would be deleted
+     * @return the number of rows deleted from each table
+     * @see #deleteAll(java.util.Collection, boolean)
+     */
+    DeletionReport deletePublicationCascade(String publicationAc, boolean dryRun);
 }
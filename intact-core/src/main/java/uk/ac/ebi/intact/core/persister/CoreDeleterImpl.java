@@ -5,13 +5,20 @@ import org.apache.commons.logging.LogFactory;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import uk.ac.ebi.intact.core.context.IntactContext;
+import uk.ac.ebi.intact.core.persistence.svc.InteractionSignatureService;
 import uk.ac.ebi.intact.core.util.DebugUtil;
 import uk.ac.ebi.intact.model.AnnotatedObject;
 import uk.ac.ebi.intact.model.BioSource;
+import uk.ac.ebi.intact.model.Component;
+import uk.ac.ebi.intact.model.CvObject;
 import uk.ac.ebi.intact.model.IntactObject;
+import uk.ac.ebi.intact.model.Interaction;
 import uk.ac.ebi.intact.model.Interactor;
 import uk.ac.ebi.intact.model.util.AnnotatedObjectUtils;
 
+import java.util.Collection;
+import java.util.Collections;
+
 /**
  * @author Bruno Aranda (baranda@ebi.ac.uk)
  * @version $Id$
@@ -38,6 +45,9 @@ public class CoreDeleterImpl implements CoreDeleter {
                 log.debug("Deleting: " + DebugUtil.intactObjectToString(intactObject, false));
             }
 
+             // the component is removed from its interaction below
+             final String interactionAc = getInteractionAc(intactObject);
+
              IntactObject ioToRemove = intactObject;
              AnnotatedObject parent = AnnotatedObjectUtils.findParent(intactObject);
 
@@ -61,7 +71,79 @@ public class CoreDeleterImpl implements CoreDeleter {
              if (ioToRemove != null){
                  intactContext.getDaoFactory().getEntityManager().remove(ioToRemove);
              }
+
+             if (intactObject instanceof CvObject) {
+                 intactContext.getCvObjectRegistry().refreshAfterCommit(Collections.singleton(intactObject.getAc()));
+             } else if (interactionAc != null) {
+                 intactContext.getDaoFactory().getEntityManager().flush();
+                 getInteractionSignatureService().updateSignatures(Collections.singleton(interactionAc));
+                 intactContext.getPartnerGraph().refreshAfterCommit(Collections.singleton(interactionAc));
+             }
+        }
+    }
+
+    @Override
+    @Transactional
+    public DeletionReport deleteAll(Collection<? extends IntactObject> intactObjects, boolean dryRun) {
+        BulkDeleter bulkDeleter = new BulkDeleter(intactContext.getDaoFactory().getEntityManager(), dryRun);
+
+        for (IntactObject intactObject : intactObjects) {
+            bulkDeleter.add(intactObject);
+        }
+
+        return delete(bulkDeleter);
+    }
+
+    @Override
+    @Transactional
+    public DeletionReport deleteAll(Class<? extends IntactObject> intactClass, Collection<String> acs, boolean dryRun) {
+        BulkDeleter bulkDeleter = new BulkDeleter(intactContext.getDaoFactory().getEntityManager(), dryRun);
+        bulkDeleter.add(intactClass, acs);
+
+        return delete(bulkDeleter);
+    }
+
+    @Override
+    @Transactional
+    public DeletionReport deletePublicationCascade(String publicationAc, boolean dryRun) {
+        BulkDeleter bulkDeleter = new BulkDeleter(intactContext.getDaoFactory().getEntityManager(), dryRun);
+        bulkDeleter.addPublication(publicationAc);
+
+        return delete(bulkDeleter);
+    }
+
+    private DeletionReport delete(BulkDeleter bulkDeleter) {
+        DeletionReport report = bulkDeleter.delete();
+
+        if (!report.isDryRun()) {
+            intactContext.getCvObjectRegistry().refreshAfterCommit(bulkDeleter.getCvObjectAcs());
+        }
+
+        if (!bulkDeleter.getComponentInteractionAcs().isEmpty() && !report.isDryRun()) {
+            // the signatures of the interactions deleted are already removed, this updates those of the
+            // interactions that lost components
+            getInteractionSignatureService().updateSignatures(bulkDeleter.getComponentInteractionAcs());
+            intactContext.getPartnerGraph().refreshAfterCommit(bulkDeleter.getComponentInteractionAcs());
         }
+
+        return report;
+    }
+
+    /**
+     * @return the AC of the interaction deleted, or of the interaction of the component deleted, null otherwise
+     */
+    private String getInteractionAc(IntactObject intactObject) {
+        if (intactObject instanceof Interaction) {
+            return intactObject.getAc();
+        } else if (intactObject instanceof Component) {
+            Component component = (Component) intactObject;
+            return component.getInteraction() != null ? component.getInteraction().getAc() : component.getInteractionAc();
+        }
+        return null;
+    }
+
+    private InteractionSignatureService getInteractionSignatureService() {
+        return intactContext.getSpringContext().getBean(InteractionSignatureService.class);
     }
 
     /**
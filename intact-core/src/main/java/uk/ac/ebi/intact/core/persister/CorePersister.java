@@ -21,6 +21,15 @@ public interface CorePersister {
 
     PersisterStatistics saveOrUpdateInNewTransaction(AnnotatedObject... annotatedObjects ) throws PersisterException;
 
+    /**
+     * Saves or updates the objects without reloading them afterwards, whatever the reload setting of the persister.
+     * The objects get the ACs of the objects they have been synchronized with, but their state is not refreshed
+     * from the database.
+     *
+     * @since 3.1.0
+     */
+    PersisterStatistics saveOrUpdateWithoutReload( AnnotatedObject... annotatedObjects ) throws PersisterException;
+
     PersisterStatistics getStatistics();
 
     boolean isUpdateWithoutAcEnabled();
@@ -31,6 +40,22 @@ public interface CorePersister {
 
     void setStatisticsEnabled(boolean statisticsEnabled);
 
+    boolean isBulkCommitEnabled();
+
+    void setBulkCommitEnabled(boolean bulkCommitEnabled);
+
+    /**
+     * @since 3.1.0
+     */
+    boolean isReloadEnabled();
+
+    /**
+     * @param reloadEnabled false to skip the reload of the objects after saving them. Defaults to the opposite of
+     * IntactConfiguration.isSkipPersisterReload()
+     * @since 3.1.0
+     */
+    void setReloadEnabled(boolean reloadEnabled);
+
     public <T extends AnnotatedObject> T synchronize( T ao );
 
     void commit();
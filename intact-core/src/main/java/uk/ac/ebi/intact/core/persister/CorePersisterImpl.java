@@ -15,26 +15,33 @@
  */
 package uk.ac.ebi.intact.core.persister;
 
+import com.google.common.collect.Iterables;
 import com.google.common.collect.Maps;
-import org.apache.commons.beanutils.BeanUtils;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.hibernate.LazyInitializationException;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
 import org.hibernate.TransientObjectException;
 import org.hibernate.engine.spi.EntityEntry;
 import org.hibernate.engine.spi.Status;
 import org.hibernate.internal.SessionImpl;
 import org.hibernate.jpa.HibernateEntityManager;
+import org.hibernate.stat.Statistics;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import uk.ac.ebi.intact.core.annotations.IntactFlushMode;
+import uk.ac.ebi.intact.core.config.IntactConfiguration;
+import uk.ac.ebi.intact.core.context.CvObjectRegistry;
 import uk.ac.ebi.intact.core.context.DataContext;
 import uk.ac.ebi.intact.core.context.IntactContext;
+import uk.ac.ebi.intact.core.context.PartnerGraph;
 import uk.ac.ebi.intact.core.persistence.dao.AnnotatedObjectDao;
 import uk.ac.ebi.intact.core.persistence.dao.BaseDao;
 import uk.ac.ebi.intact.core.persistence.dao.DaoFactory;
 import uk.ac.ebi.intact.core.persistence.dao.user.PreferenceDao;
 import uk.ac.ebi.intact.core.persistence.dao.user.UserDao;
+import uk.ac.ebi.intact.core.persistence.svc.InteractionSignatureService;
 import uk.ac.ebi.intact.core.persister.stats.PersisterStatistics;
 import uk.ac.ebi.intact.core.util.DebugUtil;
 import uk.ac.ebi.intact.model.*;
@@ -64,9 +71,18 @@ public class CorePersisterImpl implements CorePersister {
     private Map<Key, AnnotatedObject> annotatedObjectsToMerge;
     private Map<Key, IntactObject> synched;
 
+    /**
+     * ACs resolved in bulk before synchronization, when the finder is a BatchFinder.
+     */
+    private Map<AnnotatedObject, String> prefetchedAcs;
+
     private KeyBuilder keyBuilder;
     private EntityStateCopier entityStateCopier;
 
+    private InteractionSignatureService interactionSignatureService;
+    private PartnerGraph partnerGraph;
+    private CvObjectRegistry cvObjectRegistry;
+
 
     /**
      * When true, if an annotated object that do not have an AC has an equivalent
@@ -80,6 +96,23 @@ public class CorePersisterImpl implements CorePersister {
      */
     private boolean statisticsEnabled = true;
 
+    /**
+     * If true, the objects to persist are grouped by type and sent to the database in JDBC batches,
+     * flushing and clearing the session at the interval defined in the IntactConfiguration.
+     */
+    private boolean bulkCommitEnabled;
+
+    /**
+     * Objects persisted in bulk mode since the session was last cleared.
+     */
+    private int persistedSinceClear;
+
+    /**
+     * If false, the objects saved are not reloaded after the commit: they only get the AC of the object they have
+     * been synchronized with.
+     */
+    private boolean reloadEnabled;
+
     private PersisterStatistics statistics;
 
     public CorePersisterImpl() {
@@ -90,13 +123,19 @@ public class CorePersisterImpl implements CorePersister {
     public CorePersisterImpl(IntactContext intactContext, Finder finder) {
         this.dataContext = intactContext.getDataContext();
         this.finder = finder;
+        this.interactionSignatureService = intactContext.getSpringContext().getBean( InteractionSignatureService.class );
+        this.partnerGraph = intactContext.getPartnerGraph();
+        this.cvObjectRegistry = intactContext.getCvObjectRegistry();
 
         annotatedObjectsToPersist = Maps.newHashMap();
         annotatedObjectsToMerge = Maps.newHashMap();
         synched = Maps.newHashMap();
+        prefetchedAcs = new IdentityHashMap<AnnotatedObject, String>();
 
         keyBuilder = new KeyBuilder();
-        entityStateCopier = new DefaultEntityStateCopier();
+        entityStateCopier = new MethodHandleEntityStateCopier();
+
+        reloadEnabled = !intactContext.getConfig().isSkipPersisterReload();
 
         statistics = new PersisterStatistics();
     }
@@ -131,17 +170,31 @@ public class CorePersisterImpl implements CorePersister {
     @Transactional
     @IntactFlushMode(FlushModeType.COMMIT)
     public PersisterStatistics saveOrUpdate( AnnotatedObject... annotatedObjects ) throws PersisterException {
-        for (AnnotatedObject ao : annotatedObjects) {
-            if (log.isDebugEnabled()) log.debug("Saving: "+DebugUtil.annotatedObjectToString(ao, false));
-            synchronize(ao);
+        return saveOrUpdate( reloadEnabled, annotatedObjects );
+    }
+
+    @Transactional
+    @IntactFlushMode(FlushModeType.COMMIT)
+    public PersisterStatistics saveOrUpdateWithoutReload( AnnotatedObject... annotatedObjects ) throws PersisterException {
+        return saveOrUpdate( false, annotatedObjects );
+    }
+
+    private PersisterStatistics saveOrUpdate( boolean reload, AnnotatedObject... annotatedObjects ) throws PersisterException {
+        prefetchAcs( annotatedObjects );
+
+        final AnnotatedObject[] synchronizedObjects = new AnnotatedObject[annotatedObjects.length];
+
+        for (int i = 0; i < annotatedObjects.length; i++) {
+            if (log.isDebugEnabled()) log.debug("Saving: "+DebugUtil.annotatedObjectToString(annotatedObjects[i], false));
+            synchronizedObjects[i] = synchronize(annotatedObjects[i]);
         }
 
         commit();
 
         // we reload the annotated objects by its AC
         // note: if an object does not have one, it is probably a duplicate
-        for ( AnnotatedObject ao : annotatedObjects ) {
-            reload( ao );
+        for (int i = 0; i < annotatedObjects.length; i++) {
+            reload( annotatedObjects[i], synchronizedObjects[i], reload );
         }
 
         if (log.isDebugEnabled()) log.debug(statistics);
@@ -156,31 +209,36 @@ public class CorePersisterImpl implements CorePersister {
         dataContext.getDaoFactory().getEntityManager().setFlushMode(FlushModeType.COMMIT);
         //dataContext.getDaoFactory().getDataConfig().setAutoFlush(false);
 
+        final AnnotatedObject synchronizedAo;
+
         try {
-            synchronize( ao );
+            prefetchAcs( ao );
+            synchronizedAo = synchronize( ao );
             commit();
         } finally {
             dataContext.getDaoFactory().getEntityManager().setFlushMode(FlushModeType.AUTO);
         }
 
-        reload( ao );
+        reload( ao, synchronizedAo, reloadEnabled );
 
         return statistics;
     }
 
+    @Transactional
+    @IntactFlushMode(FlushModeType.COMMIT)
     public PersisterStatistics saveOrUpdate( IntactEntry... intactEntries ) throws PersisterException {
-        for ( IntactEntry intactEntry : intactEntries ) {
-            // Very important to not rely on the collection of interaction of the intactEntry. The core persister is updating the list of interactions
-            // of an experiment so if the collection of interactions of this intactEntry is the collection of interactions of the experiment, we can have
-            // concurrent modification. Indeed, this problem didn't exist when setting the list of experiments in the core persister instead of clear and addAll.
-            Collection<Interaction> interactionsToSave = new ArrayList<Interaction>(intactEntry.getInteractions());
+        // Very important to not rely on the collection of interaction of the intactEntry. The core persister is updating the list of interactions
+        // of an experiment so if the collection of interactions of this intactEntry is the collection of interactions of the experiment, we can have
+        // concurrent modification. Indeed, this problem didn't exist when setting the list of experiments in the core persister instead of clear and addAll.
+        Collection<Interaction> interactionsToSave = new ArrayList<Interaction>();
 
-            for ( Interaction interaction : interactionsToSave ) {
-                saveOrUpdate( interaction );
-            }
+        for ( IntactEntry intactEntry : intactEntries ) {
+            interactionsToSave.addAll( intactEntry.getInteractions() );
         }
 
-        return statistics;
+        // the interactions of all the entries are synchronized together, so the finder queries are run in bulk,
+        // and committed with a single flush
+        return saveOrUpdate( reloadEnabled, interactionsToSave.toArray( new AnnotatedObject[interactionsToSave.size()] ) );
     }
 
     @Transactional
@@ -246,6 +304,35 @@ public class CorePersisterImpl implements CorePersister {
         return saveOrUpdate(annotatedObjects);
     }
 
+    /**
+     * Registers objects that are already synchronized with the database, so they are used as they are when
+     * found while synchronizing, without being searched, reloaded or traversed. They must have an AC.
+     * The registration only lasts until the next commit.
+     *
+     * @param annotatedObjects the synchronized objects
+     * @since 3.1.0
+     */
+    public void addSynchronized( Collection<? extends AnnotatedObject> annotatedObjects ) {
+        for ( AnnotatedObject ao : annotatedObjects ) {
+            if ( ao.getAc() == null ) {
+                throw new IllegalArgumentException( "Only objects with AC can be registered as synchronized: " + ao );
+            }
+            synched.put( keyBuilder.keyFor( ao ), ao );
+        }
+    }
+
+    /**
+     * Registers synchronized objects under their AC and under the keys calculated before they were persisted,
+     * so the equivalent instances without AC found while synchronizing are replaced by them too.
+     *
+     * @param annotatedObjects the synchronized objects, by the key calculated before they got an AC
+     * @since 3.1.0
+     */
+    void addSynchronized( Map<Key, ? extends AnnotatedObject> annotatedObjects ) {
+        addSynchronized( annotatedObjects.values() );
+        synched.putAll( annotatedObjects );
+    }
+
     public <T extends AnnotatedObject> T synchronize( T ao ) {
 
         if ( ao == null ) {
@@ -295,7 +382,7 @@ public class CorePersisterImpl implements CorePersister {
         if ( ao.getAc() == null || ao.getAc().length() == 0) {
 
             // the object is new
-            final String ac = finder.findAc( ao );
+            final String ac = findAc( ao );
 
             if ( ac == null ) {
 
@@ -455,6 +542,77 @@ public class CorePersisterImpl implements CorePersister {
         return ao;
     }
 
+    /**
+     * Finds the AC of a new object, using the ACs resolved in bulk if available.
+     */
+    private String findAc( AnnotatedObject ao ) {
+        if ( prefetchedAcs.containsKey( ao ) ) {
+            return prefetchedAcs.get( ao );
+        }
+        return finder.findAc( ao );
+    }
+
+    /**
+     * If the finder supports it, resolves at once the ACs of all the new interactions, interactors and
+     * biosources found in the graphs of the annotated objects to save.
+     */
+    private void prefetchAcs( AnnotatedObject... annotatedObjects ) {
+        if ( !( finder instanceof BatchFinder ) ) {
+            return;
+        }
+
+        Set<AnnotatedObject> newObjects = Collections.newSetFromMap( new IdentityHashMap<AnnotatedObject, Boolean>() );
+
+        for ( AnnotatedObject ao : annotatedObjects ) {
+            collectNewObjects( ao, newObjects );
+        }
+
+        if ( !newObjects.isEmpty() ) {
+            prefetchedAcs.putAll( ( ( BatchFinder ) finder ).findAcs( newObjects ) );
+        }
+    }
+
+    private void collectNewObjects( AnnotatedObject ao, Set<AnnotatedObject> newObjects ) {
+        if ( ao == null || !IntactCore.isInitialized( ao ) ) {
+            return;
+        }
+
+        if ( ao instanceof Publication ) {
+            if ( IntactCore.isInitialized( ( ( Publication ) ao ).getExperiments() ) ) {
+                for ( Experiment experiment : ( ( Publication ) ao ).getExperiments() ) {
+                    collectNewObjects( experiment, newObjects );
+                }
+            }
+        } else if ( ao instanceof Experiment ) {
+            collectNewObjects( ( ( Experiment ) ao ).getBioSource(), newObjects );
+
+            if ( IntactCore.isInitialized( ( ( Experiment ) ao ).getInteractions() ) ) {
+                for ( Interaction interaction : ( ( Experiment ) ao ).getInteractions() ) {
+                    collectNewObjects( interaction, newObjects );
+                }
+            }
+        } else if ( ao instanceof Interaction ) {
+            if ( ao.getAc() == null && !newObjects.add( ao ) ) {
+                return;
+            }
+
+            if ( IntactCore.isInitialized( ( ( Interaction ) ao ).getComponents() ) ) {
+                for ( Component component : ( ( Interaction ) ao ).getComponents() ) {
+                    collectNewObjects( component.getInteractor(), newObjects );
+                    collectNewObjects( component.getExpressedIn(), newObjects );
+                }
+            }
+        } else if ( ao instanceof Interactor ) {
+            if ( ao.getAc() == null && newObjects.add( ao ) ) {
+                collectNewObjects( ( ( Interactor ) ao ).getBioSource(), newObjects );
+            }
+        } else if ( ao instanceof BioSource ) {
+            if ( ao.getAc() == null ) {
+                newObjects.add( ao );
+            }
+        }
+    }
+
     private <T extends AnnotatedObject> void initializeCollectionsIfNecessary(T ao, T managedObject) {
         if (IntactCore.isInitialized(ao.getXrefs()))
             IntactCore.initialize(managedObject.getXrefs());
@@ -583,6 +741,34 @@ public class CorePersisterImpl implements CorePersister {
         }
     }
 
+    /**
+     * Reloads an object after the commit or, if the reload is disabled, only gives it the AC of the object it has
+     * been synchronized with (itself, the managed object it has been merged into or an equivalent object
+     * synchronized before), saving the finder and DAO round-trips.
+     */
+    private void reload( AnnotatedObject ao, AnnotatedObject synchronizedAo, boolean reload ) {
+        if ( ao == null ) return;
+
+        if ( reload ) {
+            reload( ao );
+            return;
+        }
+
+        final boolean withoutAc = ao.getAc() == null;
+
+        if ( withoutAc && synchronizedAo != null ) {
+            ao.setAc( synchronizedAo.getAc() );
+        }
+
+        if ( ao.getAc() == null ) {
+            // should not happen once committed, but the AC can still be searched
+            reload( ao );
+            return;
+        }
+
+        if ( statisticsEnabled ) statistics.addSkippedReload( withoutAc );
+    }
+
     /**
      * The reload method has the mission to syncronize the state of the passed annotated object
      * with the database. It is similar to the EntityManager.refresh() method but it can also
@@ -621,8 +807,10 @@ public class CorePersisterImpl implements CorePersister {
         // copy the state from the managed object to the ao
         if (dbObject != null) {
             try {
-                BeanUtils.copyProperties(ao, dbObject);
-            } catch (Exception e) {
+                PropertyAccessors.copyProperties(dbObject, ao);
+            } catch (Error e) {
+                throw e;
+            } catch (Throwable e) {
                 throw new PersisterException("Problem refreshing state for object: "+ao, e);
             }
         }
@@ -640,29 +828,24 @@ public class CorePersisterImpl implements CorePersister {
             log.trace( "Committing..." );
         }
 
+        // the JDBC batch size is restored once the commit has been flushed
+        final Session session = daoFactory.getEntityManager().unwrap( Session.class );
+        final Integer jdbcBatchSize = session.getJdbcBatchSize();
+
         // Order the collection of objects to persist: institution, cvs, others
         List<IntactObject> thingsToPersist = new ArrayList<IntactObject>( annotatedObjectsToPersist.values() );
         Collections.sort( thingsToPersist, new PersistenceOrderComparator() );
 
-        for ( IntactObject ao : thingsToPersist ) {
-            if ( log.isDebugEnabled() ) {
-                log.debug( "\tAbout to persist " + DebugUtil.intactObjectToString(ao, true) +" - Key: "+ getKeyForValue( annotatedObjectsToPersist, ao ));
-            }
-
-            // this may happen if there is a cascade on this object from the parent
-            // exception: features are persisted by cascade from the component, so they can be ignored
-            if ( log.isWarnEnabled() && ao.getAc() != null && !(ao instanceof Feature) ) {
-                log.warn( "Object to persist should NOT have an AC: " + DebugUtil.intactObjectToString(ao, true) );
-            } else {
-
-                try {
-                    daoFactory.getBaseDao().persist( ao );
-                } catch (Exception e) {
-                    throw new PersisterException("Problem persisting: "+ao, e);
-                }
-
-                if (ao instanceof AnnotatedObject) {
-                    if (statisticsEnabled) statistics.addPersisted((AnnotatedObject) ao);
+        if ( bulkCommitEnabled ) {
+            persistInBatches( daoFactory, thingsToPersist );
+        } else {
+            for ( IntactObject ao : thingsToPersist ) {
+                // this may happen if there is a cascade on this object from the parent
+                // exception: features are persisted by cascade from the component, so they can be ignored
+                if ( log.isWarnEnabled() && ao.getAc() != null && !(ao instanceof Feature) ) {
+                    log.warn( "Object to persist should NOT have an AC: " + DebugUtil.intactObjectToString(ao, true) );
+                } else {
+                    persist( daoFactory, ao );
                 }
             }
         }
@@ -726,12 +909,191 @@ public class CorePersisterImpl implements CorePersister {
             }
             throw new PersisterException( sb.toString(), t );
         } finally {
+            session.setJdbcBatchSize( jdbcBatchSize );
+
             annotatedObjectsToMerge.clear();
             annotatedObjectsToPersist.clear();
             synched.clear();
+            prefetchedAcs.clear();
+            keyBuilder.clear();
+        }
+
+        final Set<String> interactionAcs = getInteractionAcs( thingsToPersist, thingsToMerge );
+
+        if ( !interactionAcs.isEmpty() ) {
+            interactionSignatureService.updateSignatures( interactionAcs );
+            partnerGraph.refreshAfterCommit( interactionAcs );
+        }
+
+        final Set<String> interactorAcs = getInteractorAcs( thingsToPersist, thingsToMerge );
+
+        if ( !interactorAcs.isEmpty() ) {
+            interactionSignatureService.updateInteractorSignatures( interactorAcs );
+        }
+
+        cvObjectRegistry.refreshAfterCommit( getCvObjectAcs( thingsToPersist, thingsToMerge ) );
+
+        if ( bulkCommitEnabled ) {
+            clearIfNeeded( daoFactory );
         }
     }
 
+    /**
+     * Clears the session once <code>persisterClearInterval</code> objects have been persisted in bulk mode.
+     * This is only done at the end of a commit, when everything has been persisted, merged and flushed.
+     */
+    private void clearIfNeeded( DaoFactory daoFactory ) {
+        final int clearInterval = IntactContext.getCurrentInstance().getConfig().getPersisterClearInterval();
+
+        if ( clearInterval > 0 && persistedSinceClear >= clearInterval ) {
+            if ( log.isDebugEnabled() ) {
+                log.debug( "Clearing the entity manager after " + persistedSinceClear + " objects persisted" );
+            }
+
+            daoFactory.getEntityManager().clear();
+            persistedSinceClear = 0;
+        }
+    }
+
+    /**
+     * Gets the ACs of the CVs saved.
+     */
+    private Set<String> getCvObjectAcs( List<IntactObject> persisted, List<AnnotatedObject> merged ) {
+        final Set<String> cvObjectAcs = new HashSet<String>();
+
+        for ( IntactObject io : Iterables.concat( persisted, merged ) ) {
+            if ( io instanceof CvObject && io.getAc() != null ) {
+                cvObjectAcs.add( io.getAc() );
+            }
+        }
+
+        return cvObjectAcs;
+    }
+
+    /**
+     * Gets the ACs of the interactions saved, or whose components have been saved.
+     */
+    private Set<String> getInteractionAcs( List<IntactObject> persisted, List<AnnotatedObject> merged ) {
+        final Set<String> interactionAcs = new HashSet<String>();
+
+        for ( IntactObject io : Iterables.concat( persisted, merged ) ) {
+            if ( io instanceof Interaction ) {
+                interactionAcs.add( io.getAc() );
+            } else if ( io instanceof Component && ( ( Component ) io ).getInteraction() != null ) {
+                interactionAcs.add( ( ( Component ) io ).getInteraction().getAc() );
+            }
+        }
+
+        interactionAcs.remove( null );
+
+        return interactionAcs;
+    }
+
+    /**
+     * Gets the ACs of the interactors, other than interactions, saved or whose xrefs have been saved.
+     */
+    private Set<String> getInteractorAcs( List<IntactObject> persisted, List<AnnotatedObject> merged ) {
+        final Set<String> interactorAcs = new HashSet<String>();
+
+        for ( IntactObject io : Iterables.concat( persisted, merged ) ) {
+            if ( io instanceof Interactor && !( io instanceof Interaction ) ) {
+                interactorAcs.add( io.getAc() );
+            } else if ( io instanceof InteractorXref && ( ( InteractorXref ) io ).getParent() != null ) {
+                interactorAcs.add( ( ( InteractorXref ) io ).getParent().getAc() );
+            }
+        }
+
+        interactorAcs.remove( null );
+
+        return interactorAcs;
+    }
+
+    /**
+     * Persists the objects grouped by persistence priority, in the order given, so Hibernate can send the inserts
+     * of each group in JDBC batches. The objects of a group (e.g. a new CvDatabase and a new CvXrefQualifier used
+     * by its xrefs) may reference each other, so a group is only flushed once all its objects are persisted. The
+     * session is flushed at the end of each group, but not cleared, as the objects persisted may still be merged
+     * or reached by cascade later in the commit.
+     */
+    private void persistInBatches( DaoFactory daoFactory, List<IntactObject> thingsToPersist ) {
+        final IntactConfiguration config = IntactContext.getCurrentInstance().getConfig();
+
+        daoFactory.getEntityManager().unwrap( Session.class ).setJdbcBatchSize( config.getPersisterBatchSize() );
+
+        // group by priority, keeping the persistence order between the groups
+        final PersistenceOrderComparator persistenceOrderComparator = new PersistenceOrderComparator();
+        Map<Class, List<IntactObject>> objectsByType = new LinkedHashMap<Class, List<IntactObject>>();
+
+        for ( IntactObject ao : thingsToPersist ) {
+            final Class priorityClass = persistenceOrderComparator.getPriorityClass( ao.getClass() );
+            List<IntactObject> objectsOfType = objectsByType.get( priorityClass );
+
+            if ( objectsOfType == null ) {
+                objectsOfType = new ArrayList<IntactObject>();
+                objectsByType.put( priorityClass, objectsOfType );
+            }
+            objectsOfType.add( ao );
+        }
+
+        final Statistics hibernateStatistics = daoFactory.getEntityManager().getEntityManagerFactory()
+                .unwrap( SessionFactory.class ).getStatistics();
+
+        for ( Map.Entry<Class, List<IntactObject>> entry : objectsByType.entrySet() ) {
+            for ( IntactObject ao : entry.getValue() ) {
+                // objects with AC have been persisted by cascade from their parent
+                if ( ao.getAc() != null ) {
+                    if ( log.isWarnEnabled() && !( ao instanceof Feature ) ) {
+                        log.warn( "Object to persist should NOT have an AC: " + DebugUtil.intactObjectToString( ao, true ) );
+                    }
+                    continue;
+                }
+
+                persist( daoFactory, ao );
+                persistedSinceClear++;
+            }
+
+            final long statementsBefore = hibernateStatistics.getPrepareStatementCount();
+
+            flush( daoFactory );
+
+            // with JDBC batching, a statement is prepared for each batch sent, including the rows inserted
+            // by cascade. The statements can only be counted if the Hibernate statistics are enabled
+            if ( statisticsEnabled && hibernateStatistics.isStatisticsEnabled() ) {
+                statistics.addBatches( entry.getKey(), ( int ) ( hibernateStatistics.getPrepareStatementCount() - statementsBefore ) );
+            }
+        }
+    }
+
+    private void persist( DaoFactory daoFactory, IntactObject ao ) {
+        if ( log.isDebugEnabled() ) {
+            log.debug( "\tAbout to persist " + DebugUtil.intactObjectToString(ao, true) +" - Key: "+ getKeyForValue( annotatedObjectsToPersist, ao ));
+        }
+
+        try {
+            daoFactory.getBaseDao().persist( ao );
+        } catch (Exception e) {
+            throw new PersisterException("Problem persisting: "+ao, e);
+        }
+
+        if (ao instanceof AnnotatedObject) {
+            if (statisticsEnabled) statistics.addPersisted((AnnotatedObject) ao);
+        }
+    }
+
+    private void flush( DaoFactory daoFactory ) {
+        if ( log.isDebugEnabled() ) {
+            log.debug( "Flushing the entity manager" );
+        }
+
+        try {
+            daoFactory.getEntityManager().flush();
+        } catch ( Exception e ) {
+            throw new PersisterException( "Problem flushing the entity manager", e );
+        }
+
+        if ( statisticsEnabled ) statistics.addFlush();
+    }
+
     private Object getKeyForValue( Map map, Object value ) {
         for ( Object x : map.entrySet() ) {
             Map.Entry entry = ( Map.Entry ) x;
@@ -1321,4 +1683,20 @@ public class CorePersisterImpl implements CorePersister {
     public void setStatisticsEnabled(boolean statisticsEnabled) {
         this.statisticsEnabled = statisticsEnabled;
     }
+
+    public boolean isReloadEnabled() {
+        return reloadEnabled;
+    }
+
+    public void setReloadEnabled(boolean reloadEnabled) {
+        this.reloadEnabled = reloadEnabled;
+    }
+
+    public boolean isBulkCommitEnabled() {
+        return bulkCommitEnabled;
+    }
+
+    public void setBulkCommitEnabled(boolean bulkCommitEnabled) {
+        this.bulkCommitEnabled = bulkCommitEnabled;
+    }
 }
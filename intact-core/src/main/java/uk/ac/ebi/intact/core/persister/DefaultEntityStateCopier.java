@@ -402,8 +402,8 @@ public class DefaultEntityStateCopier implements EntityStateCopier {
 
     protected boolean copyProperty(Object source, String propertyName, Object target) {
         try {
-            Object sourceProperty = PropertyUtils.getProperty(source, propertyName);
-            Object targetProperty = PropertyUtils.getProperty(target, propertyName);
+            Object sourceProperty = getProperty(source, propertyName);
+            Object targetProperty = getProperty(target, propertyName);
 
             if (sourceProperty == null && targetProperty == null) {
                 return false;
@@ -423,8 +423,7 @@ public class DefaultEntityStateCopier implements EntityStateCopier {
                                                 " ["+source+"] to "+target.getClass().getSimpleName()+" ["+target+"]");
 
             // copy the value
-            PropertyDescriptor propertyDescriptor = new PropertyDescriptor(propertyName, target.getClass());
-            propertyDescriptor.getWriteMethod().invoke(target, sourceProperty);
+            setProperty(target, propertyName, sourceProperty);
 
             copiedProperty = true;
 
@@ -440,4 +439,23 @@ public class DefaultEntityStateCopier implements EntityStateCopier {
 
         return true;
     }
+
+    /**
+     * Reads a property of an object.
+     *
+     * @since 3.1.0
+     */
+    protected Object getProperty(Object bean, String propertyName) throws Throwable {
+        return PropertyUtils.getProperty(bean, propertyName);
+    }
+
+    /**
+     * Writes a property of an object.
+     *
+     * @since 3.1.0
+     */
+    protected void setProperty(Object bean, String propertyName, Object value) throws Throwable {
+        PropertyDescriptor propertyDescriptor = new PropertyDescriptor(propertyName, bean.getClass());
+        propertyDescriptor.getWriteMethod().invoke(bean, value);
+    }
 }
@@ -0,0 +1,74 @@
+package uk.ac.ebi.intact.core.persister;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Number of rows deleted by CoreDeleter.deleteAll(), or that would be deleted in dry-run mode, for each table.
+ * The tables are listed in the order they are deleted from. In dry-run mode, the rows of a join table mapped
+ * on both sides (e.g. ia_int2exp) may be counted twice.
+ *
+ * @version $Id$
+ * @since 3.1.0
+ */
+public class DeletionReport {
+
+    private final boolean dryRun;
+
+    private final Map<String, Long> rowCounts = new LinkedHashMap<String, Long>();
+
+    public DeletionReport( boolean dryRun ) {
+        this.dryRun = dryRun;
+    }
+
+    void add( String table, long rowCount ) {
+        if ( rowCount == 0 ) {
+            return;
+        }
+
+        final Long previousCount = rowCounts.get( table );
+        rowCounts.put( table, previousCount == null ? rowCount : previousCount + rowCount );
+    }
+
+    void addAll( DeletionReport report ) {
+        for ( Map.Entry<String, Long> entry : report.rowCounts.entrySet() ) {
+            add( entry.getKey(), entry.getValue() );
+        }
+    }
+
+    public boolean isDryRun() {
+        return dryRun;
+    }
+
+    /**
+     * @return the number of rows for each table, only with the tables that have rows
+     */
+    public Map<String, Long> getRowCounts() {
+        return Collections.unmodifiableMap( rowCounts );
+    }
+
+    /**
+     * @param table the name of a table, e.g. ia_component
+     * @return the number of rows of the table
+     */
+    public long getRowCount( String table ) {
+        final Long rowCount = rowCounts.get( table );
+        return rowCount == null ? 0 : rowCount;
+    }
+
+    public long getTotalRowCount() {
+        long total = 0;
+
+        for ( Long rowCount : rowCounts.values() ) {
+            total += rowCount;
+        }
+
+        return total;
+    }
+
+    @Override
+    public String toString() {
+        return "DeletionReport{dryRun=" + dryRun + ", rowCounts=" + rowCounts + '}';
+    }
+}
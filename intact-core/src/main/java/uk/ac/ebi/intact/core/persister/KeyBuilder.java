@@ -15,13 +15,14 @@
  */
 package uk.ac.ebi.intact.core.persister;
 
-import org.apache.commons.collections.map.LRUMap;
+import com.google.common.collect.MapMaker;
 import uk.ac.ebi.intact.core.persistence.util.CgLibUtil;
 import uk.ac.ebi.intact.model.*;
 import uk.ac.ebi.intact.model.util.CrcCalculator;
 import uk.ac.ebi.intact.model.util.XrefUtils;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentMap;
 
 
 /**
@@ -34,18 +35,32 @@ import java.util.*;
  */
 public class KeyBuilder {
 
-    private Map<String, Key> keyCache = new LRUMap(10000);
+    /**
+     * Keys already calculated for the objects without AC. The objects are compared by identity and weakly
+     * referenced, so the entries are gone once the objects are not used anymore.
+     */
+    private final ConcurrentMap<AnnotatedObject, Key> keyCache = new MapMaker().weakKeys().makeMap();
+
+    /**
+     * Calculators reused during a persister run, so the uniqueness strings of the interactors and CVs
+     * are only calculated once.
+     */
+    private final CrcCalculator crcCalculator = new CrcCalculator();
+    private final ExperimentKeyCalculator experimentKeyCalculator = new ExperimentKeyCalculator();
+    private final FeatureKeyCalculator featureKeyCalculator = new FeatureKeyCalculator();
 
     public Key keyFor(AnnotatedObject ao) {
-        Key key;
+        if (ao.getAc() != null) {
+            return new Key(ao.getAc());
+        }
 
-        String cacheKey = ao.getClass().getSimpleName() + ":" + System.identityHashCode(ao);
+        Key key = keyCache.get(ao);
 
-        if (ao.getAc() != null) {
-            key = new Key(ao.getAc());
-        } else if (keyCache.containsKey(cacheKey)) {
-            return keyCache.get(cacheKey);
-        } else if (ao instanceof Institution) {
+        if (key != null) {
+            return key;
+        }
+
+        if (ao instanceof Institution) {
             key = keyForInstitution((Institution) ao);
         } else if (ao instanceof Publication) {
             key = keyForPublication((Publication) ao);
@@ -67,11 +82,24 @@ public class KeyBuilder {
             throw new IllegalArgumentException("KeyBuilder doesn't build key for: " + ao.getClass().getName());
         }
 
-        keyCache.put(cacheKey, key);
+        keyCache.put(ao, key);
 
         return key;
     }
 
+    /**
+     * Forgets the keys calculated so far. As the objects may be modified after being persisted,
+     * the keys are only kept for the duration of a persister run.
+     *
+     * @since 3.1.0
+     */
+    public void clear() {
+        keyCache.clear();
+        crcCalculator.clearCache();
+        experimentKeyCalculator.clearCache();
+        featureKeyCalculator.clearCache();
+    }
+
     protected Key keyForInstitution(Institution institution) {
         final Collection<InstitutionXref> institutionXrefs = XrefUtils.getIdentityXrefs(institution);
 
@@ -92,18 +120,18 @@ public class KeyBuilder {
 
     protected Key keyForExperiment(Experiment experiment) {
 
-        return new Key(new ExperimentKeyCalculator().calculateExperimentKey(experiment));
+        return new Key(experimentKeyCalculator.calculateExperimentKey(experiment));
     }
 
     protected Key keyForInteraction(Interaction interaction) {
-        final Key key = new Key(new CrcCalculator().crc64(interaction));
+        final Key key = new Key(crcCalculator.crc64(interaction));
 
         // pre-calculate the keys for the components here and put them in a map
         int n = 0;
 
         for (Component component : interaction.getComponents()) {
             Key compKey = new Key(key.getUniqueString() + ":" + component.getShortLabel() + "[" + n + "]");
-            keyCache.put(Component.class.getSimpleName() + ":" + System.identityHashCode(component), compKey);
+            keyCache.put(component, compKey);
             n++;
         }
 
@@ -141,29 +169,38 @@ public class KeyBuilder {
     }
 
     protected Key keyForComponent(Component component) {
-        final String cacheKey = Component.class.getSimpleName() + ":" + System.identityHashCode(component);
+        Key compKey = keyCache.get(component);
 
-        Key interactionKey = null;
+        if (compKey != null) {
+            return compKey;
+        }
 
-        if (!keyCache.containsKey(cacheKey)) {
-            if (component.getInteraction() == null) {
-                throw new IllegalArgumentException("Cannot generate a key for a component without interaction: " + component);
-            }
+        final Interaction interaction = component.getInteraction();
 
-            interactionKey = keyForInteraction(component.getInteraction());
+        if (interaction == null) {
+            throw new IllegalArgumentException("Cannot generate a key for a component without interaction: " + component);
         }
 
-        if (keyCache.containsKey(cacheKey)) {
-            return keyCache.get(cacheKey);
-        }
+        // the key of the interaction pre-calculates the keys of its components, so the (expensive) interaction
+        // key is only calculated once, even if the interaction has an AC
+        Key interactionKey = keyCache.get(interaction);
 
-        if (interactionKey != null) {
-            Key compKey = new Key(interactionKey.getUniqueString() + ":" + component.getShortLabel() + "[" + component.hashCode() + "]");
-            keyCache.put(cacheKey, compKey);
-            return compKey;
+        if (interactionKey == null) {
+            interactionKey = keyForInteraction(interaction);
+            keyCache.put(interaction, interactionKey);
+
+            compKey = keyCache.get(component);
+
+            if (compKey != null) {
+                return compKey;
+            }
         }
 
-        throw new IllegalStateException("This component should already have already a key, generated when the interaction key is generated: " + component);
+        // the component was added to the interaction after its key was calculated
+        compKey = new Key(interactionKey.getUniqueString() + ":" + component.getShortLabel() + "[" + component.hashCode() + "]");
+        keyCache.put(component, compKey);
+
+        return compKey;
     }
 
     protected Key keyForFeature(Feature feature) {
@@ -174,7 +211,7 @@ public class KeyBuilder {
         }
 
         Key componentKey = keyFor(feature.getComponent());
-        return new Key(new FeatureKeyCalculator().calculateFeatureKey(feature) + "___" + componentKey.getUniqueString());
+        return new Key(featureKeyCalculator.calculateFeatureKey(feature) + "___" + componentKey.getUniqueString());
 
 //        return new Key( keyForAnnotatedObject( feature ).getUniqueString() + "___" + componentKey.getUniqueString() );
     }
@@ -0,0 +1,21 @@
+package uk.ac.ebi.intact.core.persister;
+
+/**
+ * Entity state copier with the same copy semantics and change detection as DefaultEntityStateCopier, which reads
+ * and writes the properties with method handles created once per class instead of commons-beanutils.
+ *
+ * @version $Id$
+ * @since 3.1.0
+ */
+public class MethodHandleEntityStateCopier extends DefaultEntityStateCopier {
+
+    @Override
+    protected Object getProperty( Object bean, String propertyName ) throws Throwable {
+        return PropertyAccessors.getProperty( bean, propertyName );
+    }
+
+    @Override
+    protected void setProperty( Object bean, String propertyName, Object value ) throws Throwable {
+        PropertyAccessors.setProperty( bean, propertyName, value );
+    }
+}
@@ -0,0 +1,323 @@
+package uk.ac.ebi.intact.core.persister;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.transaction.TransactionStatus;
+import uk.ac.ebi.intact.core.context.DataContext;
+import uk.ac.ebi.intact.core.context.IntactContext;
+import uk.ac.ebi.intact.core.persister.stats.PersisterStatistics;
+import uk.ac.ebi.intact.model.*;
+import uk.ac.ebi.intact.model.visitor.BaseIntactVisitor;
+import uk.ac.ebi.intact.model.visitor.DefaultTraverser;
+
+import javax.persistence.FlushModeType;
+import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Persists the interactions of IntactEntries in parallel.
+ * <p/>
+ * The objects shared between interactions (institutions, CVs, biosources, publications, experiments and the
+ * interactors found in more than one partition) are persisted first, in a single transaction. The interactions are
+ * then split in partitions, and each partition is persisted by a worker with its own CorePersister, transaction
+ * and EntityManager. The shared objects are registered as already synchronized in the workers, with the keys of
+ * the KeyBuilder, so neither they nor the equivalent instances found in the partitions are searched or created
+ * again.
+ * <p/>
+ * Each partition is committed independently, so a failure only rolls back the partitions that failed.
+ *
+ * @version $Id$
+ * @since 3.1.0
+ */
+public class ParallelEntryPersister {
+
+    private static final Log log = LogFactory.getLog( ParallelEntryPersister.class );
+
+    private IntactContext intactContext;
+
+    private int threads;
+    private int partitionSize;
+
+    public ParallelEntryPersister( IntactContext intactContext ) {
+        this( intactContext, Runtime.getRuntime().availableProcessors(), 100 );
+    }
+
+    public ParallelEntryPersister( IntactContext intactContext, int threads, int partitionSize ) {
+        if ( threads < 1 ) {
+            throw new IllegalArgumentException( "At least one thread is needed: " + threads );
+        }
+        if ( partitionSize < 1 ) {
+            throw new IllegalArgumentException( "The partition size must be at least 1: " + partitionSize );
+        }
+        this.intactContext = intactContext;
+        this.threads = threads;
+        this.partitionSize = partitionSize;
+    }
+
+    public PersisterStatistics saveOrUpdate( IntactEntry... intactEntries ) throws PersisterException {
+        List<Interaction> interactions = new ArrayList<Interaction>();
+
+        for ( IntactEntry intactEntry : intactEntries ) {
+            interactions.addAll( intactEntry.getInteractions() );
+        }
+
+        return saveOrUpdate( interactions );
+    }
+
+    public PersisterStatistics saveOrUpdate( List<? extends Interaction> interactions ) throws PersisterException {
+        final List<List<Interaction>> partitions = partition( interactions );
+
+        final SharedObjectsCollector collector = new SharedObjectsCollector( partitions );
+
+        // the links from the shared objects to the interactions are removed until the end, so they
+        // are not traversed when the shared objects are synchronized
+        final Map<Experiment, Collection<Interaction>> experimentInteractions = new IdentityHashMap<Experiment, Collection<Interaction>>();
+        final Map<InteractorImpl, Collection<Component>> interactorInstances = new IdentityHashMap<InteractorImpl, Collection<Component>>();
+
+        for ( Experiment experiment : collector.getExperiments() ) {
+            experimentInteractions.put( experiment, new ArrayList<Interaction>( experiment.getInteractions() ) );
+            experiment.setInteractions( new ArrayList<Interaction>() );
+        }
+        for ( Interactor interactor : collector.getInteractors() ) {
+            if ( interactor instanceof InteractorImpl ) {
+                interactorInstances.put( ( InteractorImpl ) interactor, new ArrayList<Component>( interactor.getActiveInstances() ) );
+                ( ( InteractorImpl ) interactor ).setActiveInstances( new ArrayList<Component>() );
+            }
+        }
+
+        final PersisterStatistics statistics = new PersisterStatistics();
+
+        try {
+            // the keys are calculated before the shared objects are persisted, so the workers can
+            // replace the equivalent instances they find by the shared objects
+            final Map<Key, AnnotatedObject> sharedObjects = collector.getSharedObjects();
+
+            if ( log.isInfoEnabled() ) {
+                log.info( "Persisting " + sharedObjects.size() + " shared objects, before " + interactions.size() +
+                        " interactions in " + partitions.size() + " partitions using " + threads + " threads" );
+            }
+
+            statistics.merge( persistPartition( new ArrayList<AnnotatedObject>( sharedObjects.values() ),
+                    Collections.<Key, AnnotatedObject>emptyMap(), true ) );
+
+            // the shared objects found as duplicates of others do not get an AC, and will be found by the workers
+            final Map<Key, AnnotatedObject> synchronizedObjects = new HashMap<Key, AnnotatedObject>( sharedObjects.size() );
+
+            for ( Map.Entry<Key, AnnotatedObject> entry : sharedObjects.entrySet() ) {
+                if ( entry.getValue().getAc() != null ) {
+                    synchronizedObjects.put( entry.getKey(), entry.getValue() );
+                }
+            }
+
+            persistPartitions( partitions, synchronizedObjects, statistics );
+
+        } finally {
+            for ( Map.Entry<Experiment, Collection<Interaction>> entry : experimentInteractions.entrySet() ) {
+                entry.getKey().setInteractions( entry.getValue() );
+            }
+            for ( Map.Entry<InteractorImpl, Collection<Component>> entry : interactorInstances.entrySet() ) {
+                entry.getKey().setActiveInstances( entry.getValue() );
+            }
+        }
+
+        return statistics;
+    }
+
+    private void persistPartitions( List<List<Interaction>> partitions, final Map<Key, AnnotatedObject> synchronizedObjects,
+                                    PersisterStatistics statistics ) {
+        final ExecutorService executorService = Executors.newFixedThreadPool( threads );
+
+        try {
+            List<Future<PersisterStatistics>> futures = new ArrayList<Future<PersisterStatistics>>( partitions.size() );
+
+            for ( final List<Interaction> partition : partitions ) {
+                futures.add( executorService.submit( () -> persistPartition( partition, synchronizedObjects, false ) ) );
+            }
+
+            Throwable firstFailure = null;
+            int failures = 0;
+
+            for ( Future<PersisterStatistics> future : futures ) {
+                try {
+                    statistics.merge( future.get() );
+                } catch ( ExecutionException e ) {
+                    log.error( "Problem persisting a partition of interactions", e.getCause() );
+
+                    if ( firstFailure == null ) firstFailure = e.getCause();
+                    failures++;
+                } catch ( InterruptedException e ) {
+                    Thread.currentThread().interrupt();
+                    throw new PersisterException( "Interrupted while persisting the interactions", e );
+                }
+            }
+
+            if ( firstFailure != null ) {
+                throw new PersisterException( failures + " of " + partitions.size() +
+                        " partitions could not be persisted", firstFailure );
+            }
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    /**
+     * Persists the objects in a new transaction of the current thread, which is bound to its own EntityManager.
+     * If the objects are going to be shared with other threads, their collections of xrefs, aliases and annotations
+     * are initialized before the transaction ends.
+     */
+    private PersisterStatistics persistPartition( List<? extends AnnotatedObject> annotatedObjects,
+                                                  Map<Key, AnnotatedObject> synchronizedObjects,
+                                                  boolean shared ) {
+        final DataContext dataContext = intactContext.getDataContext();
+        final TransactionStatus transactionStatus = dataContext.beginTransaction();
+
+        try {
+            dataContext.getDaoFactory().getEntityManager().setFlushMode( FlushModeType.COMMIT );
+
+            final CorePersisterImpl corePersister = new CorePersisterImpl( intactContext,
+                    ( Finder ) intactContext.getSpringContext().getBean( "finder" ) );
+            corePersister.addSynchronized( synchronizedObjects );
+
+            final PersisterStatistics statistics = corePersister.saveOrUpdate(
+                    annotatedObjects.toArray( new AnnotatedObject[annotatedObjects.size()] ) );
+
+            if ( shared ) {
+                for ( AnnotatedObject ao : annotatedObjects ) {
+                    IntactCore.initializeAnnotatedObject( ao );
+                }
+            }
+
+            dataContext.commitTransaction( transactionStatus );
+
+            return statistics;
+        } catch ( Exception e ) {
+            if ( !transactionStatus.isCompleted() ) {
+                dataContext.rollbackTransaction( transactionStatus );
+            }
+            throw new PersisterException( "Problem persisting " + annotatedObjects.size() + " objects", e );
+        }
+    }
+
+    private List<List<Interaction>> partition( List<? extends Interaction> interactions ) {
+        List<List<Interaction>> partitions = new ArrayList<List<Interaction>>( interactions.size() / partitionSize + 1 );
+
+        for ( int i = 0; i < interactions.size(); i += partitionSize ) {
+            partitions.add( new ArrayList<Interaction>( interactions.subList( i, Math.min( i + partitionSize, interactions.size() ) ) ) );
+        }
+
+        return partitions;
+    }
+
+    public int getThreads() {
+        return threads;
+    }
+
+    public int getPartitionSize() {
+        return partitionSize;
+    }
+
+    /**
+     * Collects the objects that can be referenced from more than one partition. The objects are compared with
+     * the keys of the KeyBuilder, as the persister does, so equivalent instances (e.g. the same protein parsed
+     * twice) are only collected once, and the first instance found represents the others.
+     */
+    private static class SharedObjectsCollector extends BaseIntactVisitor {
+
+        private final KeyBuilder keyBuilder = new KeyBuilder();
+
+        private Map<Key, Institution> institutions = new LinkedHashMap<Key, Institution>();
+        private Map<Key, CvObject> cvObjects = new LinkedHashMap<Key, CvObject>();
+        private Map<Key, BioSource> bioSources = new LinkedHashMap<Key, BioSource>();
+        private Map<Key, Publication> publications = new LinkedHashMap<Key, Publication>();
+        private Map<Key, Experiment> experiments = new LinkedHashMap<Key, Experiment>();
+        private Map<Key, Interactor> interactors = new LinkedHashMap<Key, Interactor>();
+
+        private SharedObjectsCollector( List<List<Interaction>> partitions ) {
+            final DefaultTraverser traverser = new DefaultTraverser();
+            final Map<Key, Interactor> firstInteractors = new HashMap<Key, Interactor>();
+            final Map<Key, List<Interaction>> interactorPartitions = new HashMap<Key, List<Interaction>>();
+
+            for ( List<Interaction> partition : partitions ) {
+                for ( Interaction interaction : partition ) {
+                    traverser.traverse( interaction, this );
+
+                    for ( Component component : interaction.getComponents() ) {
+                        final Interactor interactor = component.getInteractor();
+
+                        if ( interactor == null || interactor instanceof Interaction ) {
+                            continue;
+                        }
+
+                        final Key key = keyBuilder.keyFor( interactor );
+                        final List<Interaction> firstPartition = interactorPartitions.get( key );
+
+                        if ( firstPartition == null ) {
+                            interactorPartitions.put( key, partition );
+                            firstInteractors.put( key, interactor );
+                        } else if ( firstPartition != partition && !interactors.containsKey( key ) ) {
+                            interactors.put( key, firstInteractors.get( key ) );
+                        }
+                    }
+                }
+            }
+        }
+
+        private <T extends AnnotatedObject> void add( Map<Key, T> objects, T annotatedObject ) {
+            final Key key = keyBuilder.keyFor( annotatedObject );
+
+            if ( !objects.containsKey( key ) ) {
+                objects.put( key, annotatedObject );
+            }
+        }
+
+        @Override
+        public void visitInstitution( Institution institution ) {
+            add( institutions, institution );
+        }
+
+        @Override
+        public void visitCvObject( CvObject cvObject ) {
+            add( cvObjects, cvObject );
+        }
+
+        @Override
+        public void visitBioSource( BioSource bioSource ) {
+            add( bioSources, bioSource );
+        }
+
+        @Override
+        public void visitPublication( Publication publication ) {
+            add( publications, publication );
+        }
+
+        @Override
+        public void visitExperiment( Experiment experiment ) {
+            add( experiments, experiment );
+        }
+
+        public Collection<Experiment> getExperiments() {
+            return experiments.values();
+        }
+
+        public Collection<Interactor> getInteractors() {
+            return interactors.values();
+        }
+
+        /**
+         * @return the shared objects by key, in the order they have to be persisted
+         */
+        public Map<Key, AnnotatedObject> getSharedObjects() {
+            Map<Key, AnnotatedObject> sharedObjects = new LinkedHashMap<Key, AnnotatedObject>();
+            sharedObjects.putAll( institutions );
+            sharedObjects.putAll( cvObjects );
+            sharedObjects.putAll( bioSources );
+            sharedObjects.putAll( publications );
+            sharedObjects.putAll( experiments );
+            sharedObjects.putAll( interactors );
+            return sharedObjects;
+        }
+    }
+}
@@ -66,4 +66,21 @@ public class PersistenceOrderComparator implements Comparator<IntactObject> {
         return 0;
     }
 
+    /**
+     * Gets the class whose priority applies to a class, e.g. CvObject for CvTopic. The objects of the classes
+     * sharing a priority class can be persisted in any order.
+     *
+     * @return the class, or IntactObject if the class has the lowest priority
+     * @since 3.1.0
+     */
+    protected Class<? extends IntactObject> getPriorityClass(Class<? extends IntactObject> clazz) {
+        for (Class<? extends IntactObject> aoClass : annotatedObjectPriorities.keySet()) {
+             if (aoClass.isAssignableFrom(clazz)) {
+                 return aoClass;
+             }
+        }
+
+        return IntactObject.class;
+    }
+
 }
\ No newline at end of file
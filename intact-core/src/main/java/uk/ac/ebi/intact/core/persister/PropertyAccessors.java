@@ -0,0 +1,166 @@
+package uk.ac.ebi.intact.core.persister;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import java.beans.BeanInfo;
+import java.beans.IntrospectionException;
+import java.beans.Introspector;
+import java.beans.PropertyDescriptor;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Reads and writes the properties of the beans with method handles, created once per class, instead of looking
+ * up the accessors by reflection on each call as commons-beanutils does.
+ *
+ * @version $Id$
+ * @since 3.1.0
+ */
+final class PropertyAccessors {
+
+    private static final Log log = LogFactory.getLog( PropertyAccessors.class );
+
+    private static final MethodType GETTER_TYPE = MethodType.methodType( Object.class, Object.class );
+    private static final MethodType SETTER_TYPE = MethodType.methodType( void.class, Object.class, Object.class );
+
+    private static final ClassValue<Map<String, PropertyAccessor>> ACCESSORS = new ClassValue<Map<String, PropertyAccessor>>() {
+        @Override
+        protected Map<String, PropertyAccessor> computeValue( Class<?> beanClass ) {
+            return createAccessors( beanClass );
+        }
+    };
+
+    private PropertyAccessors() {
+    }
+
+    /**
+     * @return the value of the property
+     * @throws IllegalArgumentException if the property is not readable
+     */
+    static Object getProperty( Object bean, String propertyName ) throws Throwable {
+        final PropertyAccessor accessor = getAccessor( bean.getClass(), propertyName );
+
+        if ( accessor.getter == null ) {
+            throw new IllegalArgumentException( "Property '" + propertyName + "' of " + bean.getClass().getName() + " is not readable" );
+        }
+
+        return accessor.getter.invokeExact( bean );
+    }
+
+    /**
+     * @throws IllegalArgumentException if the property is not writable
+     */
+    static void setProperty( Object bean, String propertyName, Object value ) throws Throwable {
+        final PropertyAccessor accessor = getAccessor( bean.getClass(), propertyName );
+
+        if ( accessor.setter == null ) {
+            throw new IllegalArgumentException( "Property '" + propertyName + "' of " + bean.getClass().getName() + " is not writable" );
+        }
+
+        accessor.setter.invokeExact( bean, value );
+    }
+
+    /**
+     * Copies the values of the properties readable in the source and writable in the target, like
+     * BeanUtils.copyProperties(target, source) but without any type conversion: the values that cannot be
+     * assigned to the property of the target are not copied, and a warning is logged for each of them.
+     */
+    static void copyProperties( Object source, Object target ) throws Throwable {
+        final Map<String, PropertyAccessor> targetAccessors = ACCESSORS.get( target.getClass() );
+
+        for ( PropertyAccessor sourceAccessor : ACCESSORS.get( source.getClass() ).values() ) {
+            final PropertyAccessor targetAccessor = targetAccessors.get( sourceAccessor.name );
+
+            if ( sourceAccessor.getter == null || targetAccessor == null || targetAccessor.setter == null ) {
+                continue;
+            }
+
+            final Object value = sourceAccessor.getter.invokeExact( source );
+
+            if ( value == null ? !targetAccessor.type.isPrimitive() : targetAccessor.boxedType.isInstance( value ) ) {
+                targetAccessor.setter.invokeExact( target, value );
+            } else if ( log.isWarnEnabled() ) {
+                log.warn( "Property '" + sourceAccessor.name + "' not copied from " + source.getClass().getName() +
+                          " to " + target.getClass().getName() + ": " + ( value == null ? "null" : value.getClass().getName() ) +
+                          " cannot be assigned to " + targetAccessor.type.getName() );
+            }
+        }
+    }
+
+    private static PropertyAccessor getAccessor( Class<?> beanClass, String propertyName ) {
+        final PropertyAccessor accessor = ACCESSORS.get( beanClass ).get( propertyName );
+
+        if ( accessor == null ) {
+            throw new IllegalArgumentException( "Unknown property '" + propertyName + "' of " + beanClass.getName() );
+        }
+
+        return accessor;
+    }
+
+    private static Map<String, PropertyAccessor> createAccessors( Class<?> beanClass ) {
+        final BeanInfo beanInfo;
+
+        try {
+            beanInfo = Introspector.getBeanInfo( beanClass );
+        } catch ( IntrospectionException e ) {
+            throw new IllegalArgumentException( "Cannot introspect " + beanClass.getName(), e );
+        }
+
+        final Map<String, PropertyAccessor> accessors = new LinkedHashMap<String, PropertyAccessor>();
+
+        for ( PropertyDescriptor descriptor : beanInfo.getPropertyDescriptors() ) {
+            if ( descriptor.getPropertyType() == null ) {
+                // indexed property only
+                continue;
+            }
+
+            final MethodHandle getter = descriptor.getReadMethod() == null ? null :
+                    unreflect( descriptor.getReadMethod() ).asType( GETTER_TYPE );
+            final MethodHandle setter = descriptor.getWriteMethod() == null ? null :
+                    unreflect( descriptor.getWriteMethod() ).asType( SETTER_TYPE );
+
+            accessors.put( descriptor.getName(), new PropertyAccessor( descriptor.getName(), descriptor.getPropertyType(), getter, setter ) );
+        }
+
+        return Collections.unmodifiableMap( accessors );
+    }
+
+    /**
+     * Public methods declared in a class that is not public (e.g. a package-private superclass) are made
+     * accessible first.
+     */
+    private static MethodHandle unreflect( Method method ) {
+        try {
+            if ( !Modifier.isPublic( method.getDeclaringClass().getModifiers() ) ) {
+                method.setAccessible( true );
+            }
+            return MethodHandles.publicLookup().unreflect( method );
+        } catch ( IllegalAccessException e ) {
+            throw new IllegalArgumentException( "Cannot access " + method, e );
+        }
+    }
+
+    private static class PropertyAccessor {
+
+        private final String name;
+        private final Class<?> type;
+        private final Class<?> boxedType;
+        private final MethodHandle getter;
+        private final MethodHandle setter;
+
+        private PropertyAccessor( String name, Class<?> type, MethodHandle getter, MethodHandle setter ) {
+            this.name = name;
+            this.type = type;
+            this.boxedType = type.isPrimitive() ? MethodType.methodType( type ).wrap().returnType() : type;
+            this.getter = getter;
+            this.setter = setter;
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package uk.ac.ebi.intact.core.persister;
+
+import uk.ac.ebi.intact.model.IntactObject;
+
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Counts the references to interactors, biosources and CVs for the whole database at once, to find and delete
+ * the ones that are not used anymore.
+ *
+ * @version $Id$
+ * @since 3.1.0
+ */
+public interface ReferenceIndex {
+
+    /**
+     * Counts the references to the objects of a class, from the other objects of the database. The xrefs, aliases
+     * and other objects owned by an object do not count as references to it.
+     *
+     * @param intactClass the mapped class of the objects, e.g. ProteinImpl, BioSource or CvTopic
+     * @return the number of references for each AC, only with the ACs that have references
+     */
+    Map<String, Long> countReferences(Class<? extends IntactObject> intactClass);
+
+    /**
+     * Gets the ACs of the objects of a class that have no references. The stream uses an open cursor and must be
+     * consumed and closed within the transaction.
+     *
+     * @param intactClass the mapped class of the objects, e.g. ProteinImpl, BioSource or CvTopic
+     * @return the ACs of the objects without references, sorted
+     */
+    Stream<String> streamOrphanAcs(Class<? extends IntactObject> intactClass);
+
+    /**
+     * Deletes the objects of a class that have no references, in chunks deleted by CoreDeleter.deleteAll().
+     *
+     * @param intactClass the mapped class of the objects, e.g. ProteinImpl, BioSource or CvTopic
+     * @param chunkSize the number of objects deleted at a time
+     * @param dryRun if true, nothing is deleted and the report contains the number of rows that would be deleted
+     * @return the number of rows deleted from each table
+     */
+    DeletionReport deleteOrphans(Class<? extends IntactObject> intactClass, int chunkSize, boolean dryRun);
+}
@@ -0,0 +1,291 @@
+package uk.ac.ebi.intact.core.persister;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.hibernate.ScrollMode;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.engine.spi.CascadingActions;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.metadata.ClassMetadata;
+import org.hibernate.persister.collection.AbstractCollectionPersister;
+import org.hibernate.persister.entity.AbstractEntityPersister;
+import org.hibernate.type.CollectionType;
+import org.hibernate.type.Type;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import uk.ac.ebi.intact.core.context.IntactContext;
+import uk.ac.ebi.intact.core.persistence.dao.CloseableIterator;
+import uk.ac.ebi.intact.core.persistence.dao.impl.ScrollableResultsIterator;
+import uk.ac.ebi.intact.model.IntactObject;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.Query;
+import java.util.*;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Finds the references with the Hibernate metadata: the many-to-one properties and many-to-many collections of all
+ * the entities whose type is compatible with the class of the objects. The references are then counted with one
+ * GROUP BY query per property, instead of one count query per object. The objects without references are selected
+ * with one NOT EXISTS condition per property, so the referenced ACs are never loaded.
+ * <p/>
+ * The many-to-one properties mapping a collection owned by the objects (e.g. the parent of the xrefs and aliases)
+ * are ignored. Only the collections declared by the class or its superclasses are owned by all the objects: the
+ * components of an interaction still reference it when the orphan interactors are searched.
+ *
+ * @version $Id$
+ * @since 3.1.0
+ */
+@Component
+public class ReferenceIndexImpl implements ReferenceIndex {
+
+    private static final Log log = LogFactory.getLog( ReferenceIndexImpl.class );
+
+    @PersistenceContext(unitName = "intact-core-default")
+    private EntityManager entityManager;
+
+    @Autowired
+    private CoreDeleter coreDeleter;
+
+    @Override
+    @Transactional(readOnly = true)
+    public Map<String, Long> countReferences( Class<? extends IntactObject> intactClass ) {
+        final String acsOfClass = "(select t.ac from " + intactClass.getName() + " t)";
+
+        final Map<String, Long> referenceCounts = new HashMap<String, Long>();
+
+        for ( Reference reference : getReferences( intactClass ) ) {
+            final String hql;
+
+            if ( reference.collection ) {
+                hql = "select e.ac, count(o) from " + reference.entityName + " o join o." + reference.propertyName + " e " +
+                      "where e.ac in " + acsOfClass + " group by e.ac";
+            } else {
+                hql = "select o." + reference.propertyName + ".ac, count(o) from " + reference.entityName + " o " +
+                      "where o." + reference.propertyName + ".ac in " + acsOfClass + " group by o." + reference.propertyName + ".ac";
+            }
+
+            if ( log.isDebugEnabled() ) {
+                log.debug( "Counting references to " + intactClass.getSimpleName() + " from " +
+                           reference.entityName + "." + reference.propertyName );
+            }
+
+            final List<Object[]> acAndCounts = entityManager.createQuery( hql ).getResultList();
+
+            for ( Object[] acAndCount : acAndCounts ) {
+                final String ac = ( String ) acAndCount[0];
+                final Long previousCount = referenceCounts.get( ac );
+                final long count = ( ( Number ) acAndCount[1] ).longValue();
+
+                referenceCounts.put( ac, previousCount == null ? count : previousCount + count );
+            }
+        }
+
+        return referenceCounts;
+    }
+
+    @Override
+    @Transactional(readOnly = true, propagation = Propagation.MANDATORY)
+    public Stream<String> streamOrphanAcs( Class<? extends IntactObject> intactClass ) {
+        final Session session = entityManager.unwrap( Session.class );
+        final org.hibernate.Query query = session.createQuery( createOrphanQuery( intactClass, getReferences( intactClass ), false ) );
+        query.setFetchSize( IntactContext.getCurrentInstance().getConfig().getScrollFetchSize() );
+
+        final CloseableIterator<String> acs = new ScrollableResultsIterator<String>( query.scroll( ScrollMode.FORWARD_ONLY ), session, false );
+
+        return StreamSupport.stream( Spliterators.spliteratorUnknownSize( acs, Spliterator.ORDERED ), false )
+                .onClose( acs::close );
+    }
+
+    @Override
+    @Transactional
+    public DeletionReport deleteOrphans( Class<? extends IntactObject> intactClass, int chunkSize, boolean dryRun ) {
+        if ( chunkSize < 1 ) {
+            throw new IllegalArgumentException( "The chunk size must be at least 1: " + chunkSize );
+        }
+
+        final List<Reference> references = getReferences( intactClass );
+        final DeletionReport report = new DeletionReport( dryRun );
+
+        // each chunk is read after the last AC of the previous one, so only one chunk of ACs is kept at a time
+        String lastAc = null;
+        int orphanCount = 0;
+        List<String> chunk;
+
+        do {
+            final Query query = entityManager.createQuery( createOrphanQuery( intactClass, references, lastAc != null ) )
+                    .setMaxResults( chunkSize );
+
+            if ( lastAc != null ) {
+                query.setParameter( "lastAc", lastAc );
+            }
+
+            chunk = query.getResultList();
+
+            if ( !chunk.isEmpty() ) {
+                report.addAll( coreDeleter.deleteAll( intactClass, chunk, dryRun ) );
+
+                lastAc = chunk.get( chunk.size() - 1 );
+                orphanCount += chunk.size();
+            }
+        } while ( chunk.size() == chunkSize );
+
+        if ( log.isInfoEnabled() ) {
+            log.info( ( dryRun ? "Dry run, " : "" ) + "Deleted " + orphanCount + " orphan objects of type " + intactClass.getSimpleName() );
+        }
+
+        return report;
+    }
+
+    /**
+     * Selects the ACs of the objects without references, sorted, with a NOT EXISTS condition per reference.
+     */
+    private static String createOrphanQuery( Class<? extends IntactObject> intactClass, List<Reference> references, boolean afterLastAc ) {
+        final List<String> conditions = new ArrayList<String>();
+
+        for ( Reference reference : references ) {
+            if ( reference.collection ) {
+                conditions.add( "not exists (select o from " + reference.entityName + " o join o." + reference.propertyName +
+                                " e where e.ac = t.ac)" );
+            } else {
+                conditions.add( "not exists (select o from " + reference.entityName + " o where o." + reference.propertyName +
+                                ".ac = t.ac)" );
+            }
+        }
+
+        if ( afterLastAc ) {
+            conditions.add( "t.ac > :lastAc" );
+        }
+
+        final StringBuilder hql = new StringBuilder( "select t.ac from " ).append( intactClass.getName() ).append( " t" );
+
+        for ( int i = 0; i < conditions.size(); i++ ) {
+            hql.append( i == 0 ? " where " : " and " ).append( conditions.get( i ) );
+        }
+
+        return hql.append( " order by t.ac" ).toString();
+    }
+
+    /**
+     * Finds the many-to-one properties and many-to-many collections that can reference the objects of a class.
+     */
+    private List<Reference> getReferences( Class<? extends IntactObject> intactClass ) {
+        final SessionFactoryImplementor sessionFactory = getSessionFactory();
+        final Set<String> ownedColumns = getOwnedColumns( sessionFactory, intactClass );
+
+        final List<Reference> references = new ArrayList<Reference>();
+
+        for ( ClassMetadata classMetadata : sessionFactory.getAllClassMetadata().values() ) {
+            final AbstractEntityPersister persister = ( AbstractEntityPersister ) classMetadata;
+            final String[] propertyNames = persister.getPropertyNames();
+            final Type[] propertyTypes = persister.getPropertyTypes();
+
+            for ( int i = 0; i < propertyNames.length; i++ ) {
+                if ( isInherited( sessionFactory, persister, propertyNames[i] ) ) {
+                    continue;
+                }
+
+                if ( propertyTypes[i].isEntityType() && isRelated( propertyTypes[i].getReturnedClass(), intactClass ) ) {
+                    final String column = persister.getPropertyTableName( propertyNames[i] ) + "." +
+                                          persister.getPropertyColumnNames( propertyNames[i] )[0];
+
+                    if ( !ownedColumns.contains( column.toLowerCase() ) ) {
+                        references.add( new Reference( persister.getEntityName(), propertyNames[i], false ) );
+                    }
+
+                } else if ( propertyTypes[i].isCollectionType() ) {
+                    final AbstractCollectionPersister collectionPersister = getCollectionPersister( sessionFactory, propertyTypes[i] );
+
+                    if ( collectionPersister.isManyToMany() && !collectionPersister.isInverse() &&
+                         isRelated( collectionPersister.getElementType().getReturnedClass(), intactClass ) ) {
+                        references.add( new Reference( persister.getEntityName(), propertyNames[i], true ) );
+                    }
+                }
+            }
+        }
+
+        return references;
+    }
+
+    /**
+     * Gets the key columns of the one-to-many collections deleted with the objects, as table.column in lower case.
+     * The collections of the subclasses are not included, as they are only owned by some of the objects.
+     */
+    private Set<String> getOwnedColumns( SessionFactoryImplementor sessionFactory, Class<?> intactClass ) {
+        final Set<String> ownedColumns = new HashSet<String>();
+
+        for ( ClassMetadata classMetadata : sessionFactory.getAllClassMetadata().values() ) {
+            if ( !classMetadata.getMappedClass().isAssignableFrom( intactClass ) ) {
+                continue;
+            }
+
+            final AbstractEntityPersister persister = ( AbstractEntityPersister ) classMetadata;
+            final Type[] propertyTypes = persister.getPropertyTypes();
+
+            for ( int i = 0; i < propertyTypes.length; i++ ) {
+                if ( !propertyTypes[i].isCollectionType() ||
+                     !persister.getPropertyCascadeStyles()[i].doCascade( CascadingActions.DELETE ) ) {
+                    continue;
+                }
+
+                final AbstractCollectionPersister collectionPersister = getCollectionPersister( sessionFactory, propertyTypes[i] );
+
+                if ( collectionPersister.isOneToMany() ) {
+                    ownedColumns.add( ( collectionPersister.getTableName() + "." + collectionPersister.getKeyColumnNames()[0] ).toLowerCase() );
+                }
+            }
+        }
+
+        return ownedColumns;
+    }
+
+    /**
+     * A property is only counted for the entity declaring it, not for its subclasses.
+     */
+    private static boolean isInherited( SessionFactoryImplementor sessionFactory, AbstractEntityPersister persister, String propertyName ) {
+        final String superclass = persister.getEntityMetamodel().getSuperclass();
+
+        if ( superclass == null ) {
+            return false;
+        }
+
+        return Arrays.asList( sessionFactory.getEntityPersister( superclass ).getPropertyNames() ).contains( propertyName );
+    }
+
+    /**
+     * A reference may point to a superclass (e.g. Interactor for ProteinImpl) or to a subclass (e.g. CvTopic for
+     * CvObject) of the class.
+     */
+    private static boolean isRelated( Class<?> referencedClass, Class<?> intactClass ) {
+        return referencedClass.isAssignableFrom( intactClass ) || intactClass.isAssignableFrom( referencedClass );
+    }
+
+    private static AbstractCollectionPersister getCollectionPersister( SessionFactoryImplementor sessionFactory, Type collectionType ) {
+        return ( AbstractCollectionPersister ) sessionFactory.getCollectionPersister( ( ( CollectionType ) collectionType ).getRole() );
+    }
+
+    private SessionFactoryImplementor getSessionFactory() {
+        return ( SessionFactoryImplementor ) entityManager.getEntityManagerFactory().unwrap( SessionFactory.class );
+    }
+
+    /**
+     * A property of an entity referencing the objects: a many-to-one property or a many-to-many collection.
+     */
+    private static class Reference {
+
+        private final String entityName;
+        private final String propertyName;
+        private final boolean collection;
+
+        private Reference( String entityName, String propertyName, boolean collection ) {
+            this.entityName = entityName;
+            this.propertyName = propertyName;
+            this.collection = collection;
+        }
+    }
+}
@@ -21,11 +21,12 @@ import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.springframework.transaction.annotation.Transactional;
 import uk.ac.ebi.intact.core.config.IntactConfiguration;
+import uk.ac.ebi.intact.core.context.CvObjectRegistry;
 import uk.ac.ebi.intact.core.context.IntactContext;
 import uk.ac.ebi.intact.core.persistence.dao.DaoFactory;
 import uk.ac.ebi.intact.core.persistence.dao.InteractorDao;
 import uk.ac.ebi.intact.core.persistence.util.CgLibUtil;
-import uk.ac.ebi.intact.core.persister.Finder;
+import uk.ac.ebi.intact.core.persister.BatchFinder;
 import uk.ac.ebi.intact.core.persister.FinderException;
 import uk.ac.ebi.intact.model.*;
 import uk.ac.ebi.intact.model.user.Role;
@@ -45,7 +46,12 @@ import java.util.*;
  * @version $Id$
  * @since 1.8.0
  */
-public class DefaultFinder implements Finder {
+public class DefaultFinder implements BatchFinder {
+
+    /**
+     * Maximum number of parameters used in a single "in (...)" clause.
+     */
+    protected static final int MAX_IN_PARAMETERS = 500;
 
     private IntactConfiguration config;
 
@@ -137,6 +143,240 @@ public class DefaultFinder implements Finder {
         return ac;
     }
 
+    @Transactional
+    public Map<AnnotatedObject, String> findAcs( Collection<? extends AnnotatedObject> annotatedObjects ) {
+        Map<AnnotatedObject, String> acs = new IdentityHashMap<AnnotatedObject, String>();
+
+        List<Interaction> interactions = new ArrayList<Interaction>();
+        List<InteractorImpl> interactors = new ArrayList<InteractorImpl>();
+        List<BioSource> bioSources = new ArrayList<BioSource>();
+
+        for ( AnnotatedObject ao : annotatedObjects ) {
+            if ( ao.getAc() != null ) {
+                acs.put( ao, ao.getAc() );
+            } else if ( ao instanceof Interaction ) {
+                interactions.add( ( Interaction ) ao );
+            } else if ( ao instanceof InteractorImpl ) {
+                interactors.add( ( InteractorImpl ) ao );
+            } else if ( ao instanceof BioSource ) {
+                bioSources.add( ( BioSource ) ao );
+            }
+        }
+
+        try {
+            acs.putAll( findAcsForInteractions( interactions ) );
+            acs.putAll( findAcsForInteractors( interactors ) );
+            acs.putAll( findAcsForBioSources( bioSources ) );
+        } catch (Throwable t) {
+            throw new FinderException("Unable to find ACs for a batch of "+annotatedObjects.size()+" objects", t);
+        }
+
+        return acs;
+    }
+
+    /**
+     * Finds the ACs for a collection of interactions, querying all their CRCs at once.
+     *
+     * @param interactions the interactions we are searching an AC for.
+     * @return the ACs by interaction; a null value if it does not exist.
+     */
+    protected Map<Interaction, String> findAcsForInteractions( Collection<Interaction> interactions ) {
+        Map<Interaction, String> acs = new IdentityHashMap<Interaction, String>();
+
+        if ( interactions.isEmpty() ) {
+            return acs;
+        }
+
+        CrcCalculator crcCalculator = new CrcCalculator();
+
+        Map<Interaction, String> crcs = new IdentityHashMap<Interaction, String>();
+        for ( Interaction interaction : interactions ) {
+            crcs.put( interaction, crcCalculator.crc64( interaction ) );
+        }
+
+        Map<String, String> acsByCrc = new HashMap<String, String>();
+
+        for ( List<String> crcChunk : chunk( new HashSet<String>( crcs.values() ) ) ) {
+            Query query = getEntityManager().createQuery( "select i.crc, i.ac from InteractionImpl i where i.crc in (:crcs)" );
+            query.setParameter( "crcs", crcChunk );
+
+            for ( Object[] row : ( List<Object[]> ) query.getResultList() ) {
+                String crc = ( String ) row[0];
+
+                if ( acsByCrc.containsKey( crc ) ) {
+                    log.error("More than one interaction found using the CRC ("+crc+"). Returning the first one");
+                } else {
+                    acsByCrc.put( crc, ( String ) row[1] );
+                }
+            }
+        }
+
+        for ( Map.Entry<Interaction, String> entry : crcs.entrySet() ) {
+            acs.put( entry.getKey(), acsByCrc.get( entry.getValue() ) );
+        }
+
+        return acs;
+    }
+
+    /**
+     * Finds the ACs for a collection of interactors, fetching all the candidates sharing an identity xref
+     * with one query per interactor type. Interactors without identity xrefs, or with identities pointing to
+     * this database, are not resolved here.
+     *
+     * @param interactors the interactors we are searching an AC for.
+     * @return the ACs by interactor; a null value if it does not exist.
+     */
+    protected Map<InteractorImpl, String> findAcsForInteractors( Collection<InteractorImpl> interactors ) {
+        Map<InteractorImpl, String> acs = new IdentityHashMap<InteractorImpl, String>();
+
+        if ( interactors.isEmpty() ) {
+            return acs;
+        }
+
+        final XrefCvFilter identityFilter = createIdentityXrefFilter();
+
+        // the first identity of each interactor, grouped by type
+        Map<Class, Map<InteractorImpl, String>> primaryIdsByClass = new HashMap<Class, Map<InteractorImpl, String>>();
+
+        for ( InteractorImpl interactor : interactors ) {
+            if ( hasIdentityPointingToOwnAc( interactor ) ) {
+                continue;
+            }
+
+            List<InteractorXref> identities = AnnotatedObjectUtils.searchXrefs( interactor, identityFilter );
+
+            if ( identities.isEmpty() ) {
+                continue;
+            }
+
+            Class interactorClass = CgLibUtil.removeCglibEnhanced( interactor.getClass() );
+
+            if ( !primaryIdsByClass.containsKey( interactorClass ) ) {
+                primaryIdsByClass.put( interactorClass, new IdentityHashMap<InteractorImpl, String>() );
+            }
+            primaryIdsByClass.get( interactorClass ).put( interactor, identities.iterator().next().getPrimaryId() );
+        }
+
+        for ( Map.Entry<Class, Map<InteractorImpl, String>> entry : primaryIdsByClass.entrySet() ) {
+            Map<String, List<Interactor>> candidatesByPrimaryId = new HashMap<String, List<Interactor>>();
+
+            for ( List<String> primaryIdChunk : chunk( new HashSet<String>( entry.getValue().values() ) ) ) {
+                Query query = getEntityManager().createQuery( "select xref.primaryId, i from " + entry.getKey().getName() + " i " +
+                        "join i.xrefs as xref " +
+                        "where xref.primaryId in (:primaryIds)" );
+                query.setParameter( "primaryIds", primaryIdChunk );
+
+                for ( Object[] row : ( List<Object[]> ) query.getResultList() ) {
+                    String primaryId = ( String ) row[0];
+
+                    if ( !candidatesByPrimaryId.containsKey( primaryId ) ) {
+                        candidatesByPrimaryId.put( primaryId, new ArrayList<Interactor>() );
+                    }
+                    candidatesByPrimaryId.get( primaryId ).add( ( Interactor ) row[1] );
+                }
+            }
+
+            for ( Map.Entry<InteractorImpl, String> primaryIdEntry : entry.getValue().entrySet() ) {
+                List<Interactor> candidates = candidatesByPrimaryId.get( primaryIdEntry.getValue() );
+
+                if ( candidates == null ) {
+                    acs.put( primaryIdEntry.getKey(), null );
+                } else {
+                    acs.put( primaryIdEntry.getKey(), findAcInInteractorCandidates( primaryIdEntry.getKey(), candidates ) );
+                }
+            }
+        }
+
+        return acs;
+    }
+
+    /**
+     * Finds the ACs for a collection of biosources, querying all their taxIds at once.
+     *
+     * @param bioSources the biosources we are searching an AC for.
+     * @return the ACs by biosource; a null value if it does not exist.
+     */
+    protected Map<BioSource, String> findAcsForBioSources( Collection<BioSource> bioSources ) {
+        Map<BioSource, String> acs = new IdentityHashMap<BioSource, String>();
+
+        if ( bioSources.isEmpty() ) {
+            return acs;
+        }
+
+        Set<String> taxIds = new HashSet<String>();
+        for ( BioSource bioSource : bioSources ) {
+            taxIds.add( bioSource.getTaxId() );
+        }
+
+        Map<String, List<Object[]>> rowsByTaxId = new HashMap<String, List<Object[]>>();
+
+        for ( List<String> taxIdChunk : chunk( taxIds ) ) {
+            Query query = getEntityManager().createQuery( "select bio.ac, cellType, tissue, bio.taxId " +
+                    "from BioSource bio " +
+                    "left join bio.cvCellType as cellType " +
+                    "left join bio.cvTissue as tissue " +
+                    "where bio.taxId in (:taxIds)" );
+            query.setParameter( "taxIds", taxIdChunk );
+
+            for ( Object[] row : ( List<Object[]> ) query.getResultList() ) {
+                String taxId = ( String ) row[3];
+
+                if ( !rowsByTaxId.containsKey( taxId ) ) {
+                    rowsByTaxId.put( taxId, new ArrayList<Object[]>() );
+                }
+                rowsByTaxId.get( taxId ).add( row );
+            }
+        }
+
+        for ( BioSource bioSource : bioSources ) {
+            acs.put( bioSource, null );
+
+            List<Object[]> rows = rowsByTaxId.get( bioSource.getTaxId() );
+
+            if ( rows != null ) {
+                for ( Object[] bs : rows ) {
+                    if ( same( ( CvTissue ) bs[2], bioSource.getCvTissue() ) &&
+                            same( ( CvCellType ) bs[1], bioSource.getCvCellType() ) ) {
+                        acs.put( bioSource, ( String ) bs[0] );
+                        break;
+                    }
+                }
+            }
+        }
+
+        return acs;
+    }
+
+    /**
+     * Splits a collection of values into lists that can be used as parameters of an "in (...)" clause.
+     *
+     * @param values the values to split
+     * @return the chunks
+     */
+    protected List<List<String>> chunk( Collection<String> values ) {
+        List<List<String>> chunks = new ArrayList<List<String>>();
+        List<String> current = new ArrayList<String>( Math.min( values.size(), MAX_IN_PARAMETERS ) );
+
+        for ( String value : values ) {
+            if ( value == null ) {
+                continue;
+            }
+
+            current.add( value );
+
+            if ( current.size() == MAX_IN_PARAMETERS ) {
+                chunks.add( current );
+                current = new ArrayList<String>( MAX_IN_PARAMETERS );
+            }
+        }
+
+        if ( !current.isEmpty() ) {
+            chunks.add( current );
+        }
+
+        return chunks;
+    }
+
     /**
      * Finds an institution based on its properties.
      *
@@ -240,6 +480,18 @@ public class DefaultFinder implements Finder {
 
         Set<String> experimentAcs = new HashSet<String>(query.getResultList());
 
+        // load all the candidates at once
+        Map<String, Experiment> candidates = new HashMap<String, Experiment>();
+
+        for ( List<String> acChunk : chunk( experimentAcs ) ) {
+            Query candidatesQuery = getEntityManager().createQuery("select exp from Experiment exp where exp.ac in (:acs)");
+            candidatesQuery.setParameter("acs", acChunk);
+
+            for ( Experiment candidate : ( List<Experiment> ) candidatesQuery.getResultList() ) {
+                candidates.put( candidate.getAc(), candidate );
+            }
+        }
+
         String experimentAc = null;
 
         BioSource biosource = experiment.getBioSource();
@@ -249,7 +501,7 @@ public class DefaultFinder implements Finder {
 
             List<String> acs = new ArrayList<String>(experimentAcs);
             for (String candidateExperimentAc : acs) {
-                Experiment match = getDaoFactory().getExperimentDao().getByAc(candidateExperimentAc);
+                Experiment match = candidates.get(candidateExperimentAc);
 
                 if ( !same( cvTissue, match.getBioSource().getCvTissue() ) ||
                         !same( cellType, match.getBioSource().getCvCellType() ) ) {
@@ -262,7 +514,7 @@ public class DefaultFinder implements Finder {
 
             experimentAc = experimentAcs.iterator().next();
 
-            Experiment match = getDaoFactory().getExperimentDao().getByAc(experimentAc);
+            Experiment match = candidates.get(experimentAc);
 
             if (!match.getAnnotations().isEmpty()){
                 experimentAc = null;
@@ -272,7 +524,7 @@ public class DefaultFinder implements Finder {
             Set<String> experimentsWithoutAnnotations = new HashSet<String>();
 
             for (String candidateExperimentAc : experimentAcs) {
-                Experiment match = getDaoFactory().getExperimentDao().getByAc(candidateExperimentAc);
+                Experiment match = candidates.get(candidateExperimentAc);
 
                 if (match.getAnnotations().isEmpty()){
                     experimentsWithoutAnnotations.add(candidateExperimentAc);
@@ -366,7 +618,6 @@ public class DefaultFinder implements Finder {
      */
     protected <T extends InteractorImpl> String findAcForInteractor( T interactor ) {
         String ac = null;
-        Interactor possibleMatch = null;
 
         // first check if the identities refer to the database itself
         for (InteractorXref idXref : ProteinUtils.getIdentityXrefs(interactor, false)) {
@@ -382,40 +633,10 @@ public class DefaultFinder implements Finder {
             }
         }
 
-        // Strategy to find is a protein is already in the database:
-        // 1. same set of parents
-        // 2. Same set of identities (uniprotkb, chebi) and no no-uniprot-update annotation
-        // 3. Same set of identities (uniprotkb, chebi) and no-uniprot-update annotation and same sequence
-        //    note sequence would be checked on if the interactors are polymers.
-
-        CvObjectFilterGroup databaseGroup1 = new CvObjectFilterGroup();
-        databaseGroup1.addIncludedIdentifier(CvDatabase.INTACT_MI_REF);
-
-        CvObjectFilterGroup qualifierGroup1 = new CvObjectFilterGroup();
-        qualifierGroup1.addIncludedIdentifier(CvXrefQualifier.CHAIN_PARENT_MI_REF);
-        qualifierGroup1.addIncludedIdentifier(CvXrefQualifier.ISOFORM_PARENT_MI_REF);
-
-        XrefCvFilter xrefFilter1 = new XrefCvFilter(databaseGroup1, qualifierGroup1);
-
-        List<InteractorXref> parents = AnnotatedObjectUtils.searchXrefs(interactor, xrefFilter1);
-
-        CvObjectFilterGroup databaseGroup = new CvObjectFilterGroup();
-        databaseGroup.addIncludedIdentifier(CvDatabase.UNIPROT_MI_REF);
-        databaseGroup.addIncludedIdentifier(CvDatabase.CHEBI_MI_REF);
-        databaseGroup.addIncludedIdentifier(CvDatabase.ENSEMBL_MI_REF);
-
-
-        CvObjectFilterGroup qualifierGroup = new CvObjectFilterGroup();
-        qualifierGroup.addIncludedIdentifier(CvXrefQualifier.IDENTITY_MI_REF);
-
-        XrefCvFilter xrefFilter = new XrefCvFilter(databaseGroup, qualifierGroup);
-
-        List<InteractorXref> identities = AnnotatedObjectUtils.searchXrefs(interactor, xrefFilter);
+        List<InteractorXref> identities = AnnotatedObjectUtils.searchXrefs(interactor, createIdentityXrefFilter());
 
         if (!identities.isEmpty()) {
 
-            final boolean hasNoUniprotUpdate = hasNoUniprotUpdateAnnotation( interactor );
-
             // get the first xref and retrieve all the interactors with that xref. We will filter later
             Query query = getEntityManager().createQuery("select i from " + CgLibUtil.removeCglibEnhanced(interactor.getClass()).getName() + " i " +
                     "join i.xrefs as xref " +
@@ -424,44 +645,7 @@ public class DefaultFinder implements Finder {
 
             List<Interactor> interactors = query.getResultList();
 
-            for (Interactor interactorCandidate : interactors) {
-                if (AnnotatedObjectUtils.containTheSameXrefs(xrefFilter, interactor, interactorCandidate)) {
-
-                    if( log.isWarnEnabled() ) {
-                        if( interactor.getBioSource() != null && interactorCandidate.getBioSource() != null ) {
-                            final String t = interactor.getBioSource().getTaxId();
-                            final String tc = interactorCandidate.getBioSource().getTaxId();
-                            if( t != null && !t.equals(tc) ) {
-                                log.warn( "Interactors with the same identity xref(s) but with different BioSource: " +
-                                        "["+ interactor.getShortLabel() +" / "+ interactor.getAc() +" / taxid:"+ t +"] and " +
-                                        "["+ interactorCandidate.getShortLabel() +" / "+ interactorCandidate.getAc() +" / taxid:"+ tc +"]" );
-                            }
-                        }
-                    }
-
-                    if( hasNoUniprotUpdate ) {
-                        if( hasNoUniprotUpdateAnnotation( interactorCandidate )) {
-                            // both have Annotation( no-uniprot-update ), check on the sequence
-                            if( interactor instanceof Polymer ) {
-                                final String sequence = ((Polymer) interactor).getSequence();
-                                final String sequenceCandidate = ((Polymer) interactorCandidate).getSequence();
-                                if( StringUtils.equals( sequence, sequenceCandidate) ) {
-                                    ac = interactorCandidate.getAc();
-                                    possibleMatch = interactorCandidate;
-                                    break;
-                                }
-                            }
-
-                        } else {
-                            // mismatch, keep trying ...
-                        }
-                    } else {
-                        ac = interactorCandidate.getAc();
-                        possibleMatch = interactorCandidate;
-                        break;
-                    }
-                }
-            }
+            ac = findAcInInteractorCandidates(interactor, interactors);
         } else {
             log.warn("Interactor without identity xref/s - will try to find the AC using the shortLabel: " + interactor);
 
@@ -469,40 +653,153 @@ public class DefaultFinder implements Finder {
             final InteractorDao<T> interactorDao = getDaoFactory().getInteractorDao((Class<T>) interactor.getClass());
             Interactor existingObject = interactorDao.getByShortLabel(interactor.getShortLabel());
             if (existingObject != null) {
-                ac = existingObject.getAc();
-                possibleMatch = existingObject;
+                ac = checkSameParents(interactor, existingObject) ? existingObject.getAc() : null;
             }
         }
 
-        if (possibleMatch != null && !parents.isEmpty()){
+        return ac;
+    }
+
+    /**
+     * Selects, among interactors sharing an identity xref with the interactor, the one that can be considered
+     * the same interactor.
+     * <p/>
+     * Strategy to find is a protein is already in the database:
+     * 1. same set of parents
+     * 2. Same set of identities (uniprotkb, chebi) and no no-uniprot-update annotation
+     * 3. Same set of identities (uniprotkb, chebi) and no-uniprot-update annotation and same sequence
+     *    note sequence would be checked on if the interactors are polymers.
+     *
+     * @param interactor the interactor we are searching an AC for
+     * @param interactorCandidates the interactors from the database sharing its first identity xref
+     * @return an AC or null if none of the candidates matched
+     */
+    protected String findAcInInteractorCandidates( InteractorImpl interactor, Collection<Interactor> interactorCandidates ) {
+        String ac = null;
+        Interactor possibleMatch = null;
+
+        XrefCvFilter xrefFilter = createIdentityXrefFilter();
 
-            List<InteractorXref> parentsToCompare = AnnotatedObjectUtils.searchXrefs(possibleMatch, xrefFilter1);
+        final boolean hasNoUniprotUpdate = hasNoUniprotUpdateAnnotation( interactor );
 
-            if (parentsToCompare.size() != parents.size()){
-                ac = null;
-            }
-            else {
-                for (InteractorXref refParent : parents){
-                    boolean hasFoundParent = false;
+        for (Interactor interactorCandidate : interactorCandidates) {
+            if (AnnotatedObjectUtils.containTheSameXrefs(xrefFilter, interactor, interactorCandidate)) {
 
-                    for (InteractorXref ref : parentsToCompare){
-                        if (ref.getPrimaryId().equals(refParent.getPrimaryId())){
-                            hasFoundParent = true;
-                            break;
+                if( log.isWarnEnabled() ) {
+                    if( interactor.getBioSource() != null && interactorCandidate.getBioSource() != null ) {
+                        final String t = interactor.getBioSource().getTaxId();
+                        final String tc = interactorCandidate.getBioSource().getTaxId();
+                        if( t != null && !t.equals(tc) ) {
+                            log.warn( "Interactors with the same identity xref(s) but with different BioSource: " +
+                                    "["+ interactor.getShortLabel() +" / "+ interactor.getAc() +" / taxid:"+ t +"] and " +
+                                    "["+ interactorCandidate.getShortLabel() +" / "+ interactorCandidate.getAc() +" / taxid:"+ tc +"]" );
                         }
                     }
+                }
 
-                    if (!hasFoundParent){
-                        ac = null;
-                        break;
+                if( hasNoUniprotUpdate ) {
+                    if( hasNoUniprotUpdateAnnotation( interactorCandidate )) {
+                        // both have Annotation( no-uniprot-update ), check on the sequence
+                        if( interactor instanceof Polymer ) {
+                            final String sequence = ((Polymer) interactor).getSequence();
+                            final String sequenceCandidate = ((Polymer) interactorCandidate).getSequence();
+                            if( StringUtils.equals( sequence, sequenceCandidate) ) {
+                                ac = interactorCandidate.getAc();
+                                possibleMatch = interactorCandidate;
+                                break;
+                            }
+                        }
+
+                    } else {
+                        // mismatch, keep trying ...
                     }
+                } else {
+                    ac = interactorCandidate.getAc();
+                    possibleMatch = interactorCandidate;
+                    break;
                 }
             }
         }
 
+        if (possibleMatch != null && !checkSameParents(interactor, possibleMatch)) {
+            ac = null;
+        }
+
         return ac;
     }
 
+    /**
+     * Checks that the possible match has the same parents (chain or isoform parents) as the interactor.
+     *
+     * @param interactor the interactor we are searching an AC for
+     * @param possibleMatch the candidate interactor
+     * @return true if the interactor has no parents, or if both have the same parents
+     */
+    private boolean checkSameParents( Interactor interactor, Interactor possibleMatch ) {
+        XrefCvFilter xrefFilter1 = createParentXrefFilter();
+
+        List<InteractorXref> parents = AnnotatedObjectUtils.searchXrefs(interactor, xrefFilter1);
+
+        if (parents.isEmpty()) {
+            return true;
+        }
+
+        List<InteractorXref> parentsToCompare = AnnotatedObjectUtils.searchXrefs(possibleMatch, xrefFilter1);
+
+        if (parentsToCompare.size() != parents.size()){
+            return false;
+        }
+
+        for (InteractorXref refParent : parents){
+            boolean hasFoundParent = false;
+
+            for (InteractorXref ref : parentsToCompare){
+                if (ref.getPrimaryId().equals(refParent.getPrimaryId())){
+                    hasFoundParent = true;
+                    break;
+                }
+            }
+
+            if (!hasFoundParent){
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private XrefCvFilter createParentXrefFilter() {
+        CvObjectFilterGroup databaseGroup1 = new CvObjectFilterGroup();
+        databaseGroup1.addIncludedIdentifier(CvDatabase.INTACT_MI_REF);
+
+        CvObjectFilterGroup qualifierGroup1 = new CvObjectFilterGroup();
+        qualifierGroup1.addIncludedIdentifier(CvXrefQualifier.CHAIN_PARENT_MI_REF);
+        qualifierGroup1.addIncludedIdentifier(CvXrefQualifier.ISOFORM_PARENT_MI_REF);
+
+        return new XrefCvFilter(databaseGroup1, qualifierGroup1);
+    }
+
+    private XrefCvFilter createIdentityXrefFilter() {
+        CvObjectFilterGroup databaseGroup = new CvObjectFilterGroup();
+        databaseGroup.addIncludedIdentifier(CvDatabase.UNIPROT_MI_REF);
+        databaseGroup.addIncludedIdentifier(CvDatabase.CHEBI_MI_REF);
+        databaseGroup.addIncludedIdentifier(CvDatabase.ENSEMBL_MI_REF);
+
+        CvObjectFilterGroup qualifierGroup = new CvObjectFilterGroup();
+        qualifierGroup.addIncludedIdentifier(CvXrefQualifier.IDENTITY_MI_REF);
+
+        return new XrefCvFilter(databaseGroup, qualifierGroup);
+    }
+
+    private boolean hasIdentityPointingToOwnAc( Interactor interactor ) {
+        for (InteractorXref idXref : ProteinUtils.getIdentityXrefs(interactor, false)) {
+            if (xrefPointsToOwnAc(idXref)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     private boolean hasNoUniprotUpdateAnnotation( AnnotatedObject ao ) {
 
         for ( Annotation annot : ao.getAnnotations() ) {
@@ -704,7 +1001,8 @@ public class DefaultFinder implements Finder {
     }
 
     /**
-     * Finds a cvObject based on its properties.
+     * Finds a cvObject based on its properties. The CvObjectRegistry is checked first, and the database is
+     * only queried for the CVs not found in the registry, or if CVs have been changed in the current transaction.
      *
      * @param cvObject the object we are searching an AC for.
      * @return an AC or null if it couldn't be found.
@@ -750,6 +1048,17 @@ public class DefaultFinder implements Finder {
                 }
             }
 
+            final CvObjectRegistry cvObjectRegistry = getCvObjectRegistry();
+
+            if (!cvObjectRegistry.isStale()) {
+                for (String id : identifiersToTest){
+                    CvObjectRegistry.CvTerm term = cvObjectRegistry.getByIdentifier(cvClass, id);
+                    if (term != null) {
+                        return term.getAc();
+                    }
+                }
+            }
+
             for (String id : identifiersToTest){
                 Query query = getEntityManager().createQuery( "select r.ac from "+ cvClass.getName() +" r left join r.xrefs as xref left join xref.cvXrefQualifier as qualifier where r.identifier = :primaryId or (xref.primaryId = :primaryId and (qualifier.shortLabel = :identity or qualifier.shortLabel = :secondary))" );
                 query.setParameter( "primaryId", id );
@@ -771,7 +1080,15 @@ public class DefaultFinder implements Finder {
             }
         }
         else{
-            value = findAcForCvObjectUsingShortLabel( cvObject, cvClass );
+            final CvObjectRegistry cvObjectRegistry = getCvObjectRegistry();
+            CvObjectRegistry.CvTerm term = cvObjectRegistry.isStale() ? null :
+                                           cvObjectRegistry.getByShortLabel(cvClass, cvObject.getShortLabel());
+
+            if (term != null) {
+                value = term.getAc();
+            } else {
+                value = findAcForCvObjectUsingShortLabel( cvObject, cvClass );
+            }
         }
         // TODO what happens if we have several matching entries (short label for instance)
         return value;
@@ -801,4 +1118,8 @@ public class DefaultFinder implements Finder {
     protected DaoFactory getDaoFactory() {
         return IntactContext.getCurrentInstance().getDataContext().getDaoFactory();
     }
+
+    protected CvObjectRegistry getCvObjectRegistry() {
+        return IntactContext.getCurrentInstance().getCvObjectRegistry();
+    }
 }
@@ -6,7 +6,10 @@ import uk.ac.ebi.intact.model.Interaction;
 import uk.ac.ebi.intact.model.util.CrcCalculator;
 import uk.ac.ebi.intact.model.util.InteractionUtils;
 
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 
 /**
  * This Finder tries to fetch the AC of an interaction ignoring the CRC
@@ -45,4 +48,12 @@ public class NonCrcLegacyFinder extends DefaultFinder {
         return null;
     }
 
+    /**
+     * Interactions are not resolved in bulk, as this finder does not rely on the CRC.
+     */
+    @Override
+    protected Map<Interaction, String> findAcsForInteractions( Collection<Interaction> interactions ) {
+        return Collections.emptyMap();
+    }
+
 }
@@ -15,6 +15,7 @@
  */
 package uk.ac.ebi.intact.core.persister.stats;
 
+import com.google.common.collect.ArrayListMultimap;
 import com.google.common.collect.HashMultimap;
 import com.google.common.collect.Multimap;
 import uk.ac.ebi.intact.model.AnnotatedObject;
@@ -40,12 +41,27 @@ public class PersisterStatistics implements Serializable {
     private Multimap<Class, StatsUnit> duplicatesMap;
     private Multimap<Class, StatsUnit> transientMap;
 
+    /**
+     * Number of JDBC batches sent when flushing each group of objects in bulk commit mode, by the class giving the
+     * persistence priority of the group (e.g. CvObject).
+     */
+    private Multimap<Class, Integer> batchesMap;
+    private int flushCount;
+
+    /**
+     * Objects not reloaded after the commit, as their AC was assigned from the persistence context, and among them
+     * the ones without AC that would have been searched by the finder.
+     */
+    private int skippedReloadCount;
+    private int skippedFinderCount;
+
 
     public PersisterStatistics() {
         this.persistedMap = HashMultimap.create();
         this.mergedMap = HashMultimap.create();
         this.duplicatesMap = HashMultimap.create();
         this.transientMap = HashMultimap.create();
+        this.batchesMap = ArrayListMultimap.create();
     }
 
     public void reset() {
@@ -53,6 +69,10 @@ public class PersisterStatistics implements Serializable {
         this.mergedMap.clear();
         this.duplicatesMap.clear();
         this.transientMap.clear();
+        this.batchesMap.clear();
+        this.flushCount = 0;
+        this.skippedReloadCount = 0;
+        this.skippedFinderCount = 0;
     }
 
     // persisted
@@ -131,15 +151,98 @@ public class PersisterStatistics implements Serializable {
         return getTransient(type, includeSubclasses).size();
     }
 
+    // batches
+
+    public void addBatches(Class type, int count) {
+        batchesMap.put(type, count);
+    }
+
+    public Multimap<Class, Integer> getBatchesMap() {
+        return batchesMap;
+    }
+
+    public int getBatchCount(Class type, boolean includeSubclasses) {
+        return sum(statsOfType(type, getBatchesMap(), includeSubclasses));
+    }
+
+    public int getBatchCount() {
+        return sum(batchesMap.values());
+    }
+
+    private static int sum(Collection<Integer> counts) {
+        int sum = 0;
+        for (Integer count : counts) {
+            sum += count;
+        }
+        return sum;
+    }
+
+    // flushes
+
+    public void addFlush() {
+        flushCount++;
+    }
+
+    public int getFlushCount() {
+        return flushCount;
+    }
+
+    // skipped reloads
+
+    /**
+     * @param finderSkipped true if the object had no AC, so the reload would have searched it with the finder first
+     * @since 3.1.0
+     */
+    public void addSkippedReload(boolean finderSkipped) {
+        skippedReloadCount++;
+
+        if (finderSkipped) {
+            skippedFinderCount++;
+        }
+    }
+
+    public int getSkippedReloadCount() {
+        return skippedReloadCount;
+    }
+
+    public int getSkippedFinderCount() {
+        return skippedFinderCount;
+    }
+
+    /**
+     * @return the number of queries not run by skipping the reloads, at least one per reload and one per finder call
+     * @since 3.1.0
+     */
+    public int getSavedRoundTripCount() {
+        return skippedReloadCount + skippedFinderCount;
+    }
+
+    /**
+     * Adds the statistics gathered by another persister to these ones.
+     *
+     * @param statistics the statistics to add
+     * @since 3.1.0
+     */
+    public void merge(PersisterStatistics statistics) {
+        this.persistedMap.putAll(statistics.getPersistedMap());
+        this.mergedMap.putAll(statistics.getMergedMap());
+        this.duplicatesMap.putAll(statistics.getDuplicatesMap());
+        this.transientMap.putAll(statistics.getTransientMap());
+        this.batchesMap.putAll(statistics.getBatchesMap());
+        this.flushCount += statistics.getFlushCount();
+        this.skippedReloadCount += statistics.getSkippedReloadCount();
+        this.skippedFinderCount += statistics.getSkippedFinderCount();
+    }
+
     // Common methods
     /////////////////
 
-    protected static Collection<StatsUnit> statsOfType(Class type, Multimap<Class,StatsUnit> multimap, boolean includeSubclasses) {
+    protected static <T> Collection<T> statsOfType(Class type, Multimap<Class,T> multimap, boolean includeSubclasses) {
         if (!includeSubclasses) {
             return multimap.get(type);
         }
 
-        Collection<StatsUnit> stats = new ArrayList<StatsUnit>();
+        Collection<T> stats = new ArrayList<T>();
 
         for (Class key : multimap.keySet()) {
             if (type.isAssignableFrom(key)) {
@@ -159,11 +262,40 @@ public class PersisterStatistics implements Serializable {
         sb.append("Merged: ").append(multimapToString(getMergedMap())).append(NEW_LINE);
         sb.append("Duplicates: ").append(multimapToString(getDuplicatesMap())).append(NEW_LINE);
         sb.append("Transient: ").append(multimapToString(getTransientMap())).append(NEW_LINE);
+        sb.append("Batches: ").append(batchesToString()).append(NEW_LINE);
+        sb.append("Flushes: ").append(getFlushCount()).append(NEW_LINE);
+        sb.append("Skipped reloads: ").append(getSkippedReloadCount())
+                .append(" (round-trips saved: ").append(getSavedRoundTripCount()).append(')').append(NEW_LINE);
+
+        return sb.toString();
+    }
+
+    private String batchesToString() {
+        StringBuilder sb = new StringBuilder();
+
+        sb.append(getBatchCount());
+
+        if (!batchesMap.isEmpty()) {
+
+            sb.append(" { ");
+
+            for (Iterator<Class> iterator = batchesMap.keySet().iterator(); iterator.hasNext();) {
+                Class key = iterator.next();
+
+                sb.append(key.getSimpleName() + " (" + sum(batchesMap.get(key)) + ")");
+
+                if (iterator.hasNext()) {
+                    sb.append(", ");
+                }
+            }
+
+            sb.append(" }");
+        }
 
         return sb.toString();
     }
 
-    private String multimapToString(Multimap<Class,StatsUnit> multimap) {
+    private String multimapToString(Multimap<Class,?> multimap) {
         StringBuilder sb = new StringBuilder();
 
         sb.append(multimap.size());
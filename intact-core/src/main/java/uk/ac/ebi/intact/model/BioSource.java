@@ -5,6 +5,8 @@
  */
 package uk.ac.ebi.intact.model;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.Cascade;
 import uk.ac.ebi.intact.annotation.EditorTopic;
 
@@ -21,6 +23,8 @@ import java.util.Collection;
 @Table(name = "ia_biosource")
 @AssociationOverride(name = "annotations", joinColumns = { @JoinColumn(name = "annotation_ac") })
 @EditorTopic
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.NONSTRICT_READ_WRITE)
 public class BioSource extends AnnotatedObjectImpl<BioSourceXref, BioSourceAlias> implements Editable, Searchable {
 
     ///////////////////////////////////////
@@ -115,6 +119,7 @@ public class BioSource extends AnnotatedObjectImpl<BioSourceXref, BioSourceAlias
                 org.hibernate.annotations.CascadeType.REFRESH,
                 org.hibernate.annotations.CascadeType.DETACH} )
     @Override
+    @Cache(usage = CacheConcurrencyStrategy.NONSTRICT_READ_WRITE)
     public Collection<BioSourceXref> getXrefs() {
         return super.getXrefs();
     }
@@ -127,6 +132,7 @@ public class BioSource extends AnnotatedObjectImpl<BioSourceXref, BioSourceAlias
                 org.hibernate.annotations.CascadeType.REFRESH,
                 org.hibernate.annotations.CascadeType.DETACH} )
     @Override
+    @Cache(usage = CacheConcurrencyStrategy.NONSTRICT_READ_WRITE)
     public Collection<BioSourceAlias> getAliases() {
         return super.getAliases();
     }
@@ -0,0 +1,121 @@
+package uk.ac.ebi.intact.model;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Read-only view over the chunks of a polymer sequence, which gives access to the length and the residues of
+ * the sequence without concatenating the chunks. Only subSequence() and toString() copy characters.
+ *
+ * @version $Id$
+ * @since 3.1.0
+ */
+public final class ChunkedSequence implements CharSequence {
+
+    private final String[] chunks;
+
+    /**
+     * Start offset of each chunk in the sequence, with the length of the sequence at the end.
+     */
+    private final int[] offsets;
+
+    public ChunkedSequence( List<String> chunks ) {
+        if ( chunks == null ) {
+            throw new IllegalArgumentException( "The chunks must not be null" );
+        }
+
+        this.chunks = new String[chunks.size()];
+        this.offsets = new int[chunks.size() + 1];
+
+        for ( int i = 0; i < this.chunks.length; i++ ) {
+            final String chunk = chunks.get( i );
+            this.chunks[i] = chunk == null ? "" : chunk;
+            this.offsets[i + 1] = offsets[i] + this.chunks[i].length();
+        }
+    }
+
+    public int length() {
+        return offsets[chunks.length];
+    }
+
+    public char charAt( int index ) {
+        if ( index < 0 || index >= length() ) {
+            throw new IndexOutOfBoundsException( "Index " + index + " out of sequence of length " + length() );
+        }
+
+        final int chunk = chunkOf( index );
+        return chunks[chunk].charAt( index - offsets[chunk] );
+    }
+
+    public CharSequence subSequence( int start, int end ) {
+        if ( start < 0 || end > length() || start > end ) {
+            throw new IndexOutOfBoundsException( "Sub sequence " + start + "-" + end + " out of sequence of length " + length() );
+        }
+
+        if ( start == end ) {
+            return "";
+        }
+
+        final StringBuilder sb = new StringBuilder( end - start );
+
+        for ( int chunk = chunkOf( start ); chunk < chunks.length && offsets[chunk] < end; chunk++ ) {
+            sb.append( chunks[chunk],
+                       Math.max( start - offsets[chunk], 0 ),
+                       Math.min( end - offsets[chunk], chunks[chunk].length() ) );
+        }
+
+        return sb.toString();
+    }
+
+    /**
+     * Compares the residues with the ones of a string, chunk by chunk.
+     *
+     * @param sequence the sequence to compare with
+     * @return true if the string has the same residues
+     */
+    public boolean contentEquals( String sequence ) {
+        if ( sequence == null || sequence.length() != length() ) {
+            return false;
+        }
+
+        for ( int i = 0; i < chunks.length; i++ ) {
+            if ( !sequence.regionMatches( offsets[i], chunks[i], 0, chunks[i].length() ) ) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        if ( chunks.length == 1 ) {
+            return chunks[0];
+        }
+
+        final StringBuilder sb = new StringBuilder( length() );
+
+        for ( String chunk : chunks ) {
+            sb.append( chunk );
+        }
+
+        return sb.toString();
+    }
+
+    /**
+     * Finds the chunk containing the index, the last one of the chunks starting at that index if some are empty.
+     */
+    private int chunkOf( int index ) {
+        int chunk = Arrays.binarySearch( offsets, 0, chunks.length, index );
+
+        if ( chunk < 0 ) {
+            return -chunk - 2;
+        }
+
+        while ( chunk + 1 < chunks.length && offsets[chunk + 1] == index ) {
+            chunk++;
+        }
+
+        return chunk;
+    }
+}
@@ -5,6 +5,8 @@ in the root directory of this distribution.
 */
 package uk.ac.ebi.intact.model;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.Cascade;
 import uk.ac.ebi.intact.core.persistence.util.CgLibUtil;
 import uk.ac.ebi.intact.model.util.CvObjectIdentifierGenerator;
@@ -26,6 +28,8 @@ import java.util.Collection;
         uniqueConstraints = { @UniqueConstraint(columnNames = { "objclass", "shortlabel" }) },
         indexes = { @Index(name = "cvobject_id_idx", columnList = "identifier") })
 @DiscriminatorColumn(name = "objclass", discriminatorType = DiscriminatorType.STRING, length = 255)
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.NONSTRICT_READ_WRITE)
 public abstract class CvObject extends AnnotatedObjectImpl<CvObjectXref, CvObjectAlias> implements Searchable {
 
     private String objClass;
@@ -111,6 +115,7 @@ public abstract class CvObject extends AnnotatedObjectImpl<CvObjectXref, CvObjec
             org.hibernate.annotations.CascadeType.REFRESH,
             org.hibernate.annotations.CascadeType.DETACH})
     @Override
+    @Cache(usage = CacheConcurrencyStrategy.NONSTRICT_READ_WRITE)
     public Collection<CvObjectXref> getXrefs() {
         return super.getXrefs();
     }
@@ -123,6 +128,7 @@ public abstract class CvObject extends AnnotatedObjectImpl<CvObjectXref, CvObjec
             org.hibernate.annotations.CascadeType.REFRESH,
             org.hibernate.annotations.CascadeType.DETACH})
     @Override
+    @Cache(usage = CacheConcurrencyStrategy.NONSTRICT_READ_WRITE)
     public Collection<CvObjectAlias> getAliases() {
         return super.getAliases();
     }
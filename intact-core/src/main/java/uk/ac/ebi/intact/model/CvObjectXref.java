@@ -7,6 +7,8 @@ package uk.ac.ebi.intact.model;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import javax.persistence.*;
 
@@ -20,6 +22,8 @@ import javax.persistence.*;
 @Entity
 @Table( name = "ia_controlledvocab_xref",
         uniqueConstraints = {@UniqueConstraint(columnNames={"parent_ac", "qualifier_ac", "database_ac", "primaryid"})}) 
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.NONSTRICT_READ_WRITE)
 public class CvObjectXref extends Xref {
 
     private static final Log log = LogFactory.getLog( CvObjectXref.class );
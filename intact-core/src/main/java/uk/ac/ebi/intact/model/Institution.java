@@ -5,6 +5,8 @@
  */
 package uk.ac.ebi.intact.model;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import uk.ac.ebi.intact.model.util.AnnotatedObjectUtils;
 
 import javax.persistence.*;
@@ -21,6 +23,8 @@ import java.util.Collection;
 
 @Entity
 @Table(name = "ia_institution")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.NONSTRICT_READ_WRITE)
 public class Institution extends AnnotatedObjectImpl<InstitutionXref,InstitutionAlias> implements Serializable, AnnotatedObject<InstitutionXref,InstitutionAlias> {
 
     //////////////////////
@@ -90,6 +94,7 @@ public class Institution extends AnnotatedObjectImpl<InstitutionXref,Institution
     }
 
     @OneToMany( mappedBy = "parent", cascade = {CascadeType.ALL}, orphanRemoval = true)
+    @Cache(usage = CacheConcurrencyStrategy.NONSTRICT_READ_WRITE)
     public Collection<InstitutionAlias> getAliases() {
         return super.getAliases();
     }
@@ -106,6 +111,7 @@ public class Institution extends AnnotatedObjectImpl<InstitutionXref,Institution
     }
 
     @OneToMany( mappedBy = "parent", cascade = {CascadeType.ALL}, orphanRemoval = true )
+    @Cache(usage = CacheConcurrencyStrategy.NONSTRICT_READ_WRITE)
     public Collection<InstitutionXref> getXrefs() {
         return super.getXrefs();
     }
@@ -17,6 +17,8 @@ package uk.ac.ebi.intact.model;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import javax.persistence.*;
 
@@ -29,6 +31,8 @@ import javax.persistence.*;
  */
 @Entity
 @Table( name = "ia_institution_alias" )
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.NONSTRICT_READ_WRITE)
 public class InstitutionAlias extends Alias {
 
     private static final Log log = LogFactory.getLog( InstitutionAlias.class );
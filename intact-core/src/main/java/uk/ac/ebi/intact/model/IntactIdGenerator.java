@@ -26,7 +26,16 @@ import java.sql.SQLException;
 import java.util.Properties;
 
 /**
- * Generates identifiers for IntAct objects
+ * Generates identifiers for IntAct objects.
+ * <p/>
+ * By default, every generated identifier costs one call to the database sequence. When the
+ * <code>acAllocationSize</code> of the {@link uk.ac.ebi.intact.core.config.IntactConfiguration} is
+ * greater than one, the numbers are pooled instead: the sequence must be incremented by
+ * <code>acAllocationSize</code>, and each value <code>v</code> it returns reserves the block
+ * <code>v</code> to <code>v + size - 1</code>, which is handed out from memory. As the blocks are never
+ * returned by the sequence itself, they do not overlap the values used by writers reading the sequence
+ * directly. The increment of the sequence is checked before the first block is reserved, and the
+ * generation fails if it does not match the allocation size.
  *
  * @author Bruno Aranda (baranda@ebi.ac.uk)
  * @version $Id$
@@ -39,6 +48,14 @@ public class IntactIdGenerator extends SequenceStyleGenerator {
     public static final String INTACT_AC_SEQUENCE_NAME = "intact.intact_ac";
     private String sequenceCallSyntax;
 
+    /**
+     * Block of numbers reserved with the hi/lo strategy. Guarded by "this".
+     */
+    private long nextValue;
+    private long maxValue = -1;
+    private int currentAllocationSize;
+    private int checkedAllocationSize;
+
 
     @Override
     public void configure(Type type, Properties properties, ServiceRegistry serviceRegistry) throws MappingException {
@@ -80,23 +97,145 @@ public class IntactIdGenerator extends SequenceStyleGenerator {
         } else {
             prefix = "UNK";
         }
-        String stringId = null;
 
+        final int allocationSize = getAllocationSize();
+
+        long id;
+        if (allocationSize > 1) {
+            id = nextPooledValue(sessionImplementor, allocationSize);
+        } else {
+            id = nextSequenceValue(sessionImplementor);
+        }
+
+        String stringId = prefix + "-" + id;
+
+        if (log.isTraceEnabled()) log.trace("Assigning Id: " + stringId);
+
+        return stringId;
+    }
+
+    /**
+     * Returns the next value of the block of numbers reserved in memory, reserving a new block
+     * from the database sequence if the current one is exhausted.
+     *
+     * @param sessionImplementor a hibernate session implementor
+     * @param allocationSize the number of values to reserve per call to the sequence
+     * @return the next value
+     */
+    protected synchronized long nextPooledValue(SharedSessionContractImplementor sessionImplementor, int allocationSize) {
+        if (nextValue > maxValue || allocationSize != currentAllocationSize) {
+            if (allocationSize != checkedAllocationSize) {
+                checkSequenceIncrement(sessionImplementor.connection(), allocationSize);
+                checkedAllocationSize = allocationSize;
+            }
+
+            nextValue = nextSequenceValue(sessionImplementor);
+            maxValue = nextValue + allocationSize - 1;
+            currentAllocationSize = allocationSize;
+
+            if (log.isDebugEnabled()) log.debug("Reserved AC block ["+nextValue+" - "+maxValue+"]");
+        }
+
+        return nextValue++;
+    }
+
+    /**
+     * Invokes the database sequence once.
+     *
+     * @param sessionImplementor a hibernate session implementor
+     * @return the next value of the sequence
+     */
+    protected long nextSequenceValue(SharedSessionContractImplementor sessionImplementor) {
         Connection connection = sessionImplementor.connection();
         try {
             try (PreparedStatement ps = connection.prepareStatement(sequenceCallSyntax)) {
                 try (ResultSet rs = ps.executeQuery()) {
                     if (rs.next()) {
-                        long id = rs.getLong(1);
-                        stringId = prefix + "-" + id;
+                        return rs.getLong(1);
                     }
-                    log.trace("Assigning Id: " + stringId);
                 }
             }
         } catch (SQLException e) {
             throw new RuntimeException(e);
         }
-        return stringId;
+
+        throw new HibernateException("The sequence did not return any value: " + sequenceCallSyntax);
+    }
+
+    /**
+     * Checks that the AC sequence is incremented by the allocation size, so the blocks reserved do not overlap.
+     *
+     * @param connection     the connection to the database
+     * @param allocationSize the number of values reserved per call to the sequence
+     * @throws HibernateException if the increment cannot be read or does not match the allocation size
+     */
+    public static void checkSequenceIncrement(Connection connection, int allocationSize) throws HibernateException {
+        final Long increment;
+        try {
+            increment = readSequenceIncrement(connection, INTACT_AC_SEQUENCE_NAME);
+        } catch (SQLException e) {
+            throw new HibernateException("Could not read the increment of the sequence " + INTACT_AC_SEQUENCE_NAME, e);
+        }
+
+        if (increment == null) {
+            throw new HibernateException("Could not find the sequence " + INTACT_AC_SEQUENCE_NAME + " to check its increment");
+        }
+
+        if (increment != allocationSize) {
+            throw new HibernateException("The sequence " + INTACT_AC_SEQUENCE_NAME + " is incremented by " + increment +
+                    " but the AC allocation size is " + allocationSize + ", alter the sequence with 'increment by " +
+                    allocationSize + "' to use this allocation size");
+        }
+    }
+
+    /**
+     * Reads the increment of a sequence from the dictionary of the database: USER_SEQUENCES/ALL_SEQUENCES
+     * in Oracle, INFORMATION_SCHEMA.SEQUENCES otherwise.
+     *
+     * @param connection   the connection to the database
+     * @param sequenceName the name of the sequence, optionally qualified by its schema
+     * @return the increment, or null if the sequence does not exist
+     * @throws SQLException if the dictionary cannot be read
+     */
+    protected static Long readSequenceIncrement(Connection connection, String sequenceName) throws SQLException {
+        final int dotIndex = sequenceName.indexOf('.');
+        final String schema = dotIndex > 0 ? sequenceName.substring(0, dotIndex) : null;
+        final String name = sequenceName.substring(dotIndex + 1);
+
+        final boolean oracle = connection.getMetaData().getDatabaseProductName().toLowerCase().contains("oracle");
+
+        final String sql;
+        if (oracle) {
+            sql = schema == null ?
+                  "select increment_by from user_sequences where upper(sequence_name) = upper(?)" :
+                  "select increment_by from all_sequences where upper(sequence_name) = upper(?) and upper(sequence_owner) = upper(?)";
+        } else {
+            sql = schema == null ?
+                  "select increment from information_schema.sequences where upper(sequence_name) = upper(?)" :
+                  "select increment from information_schema.sequences where upper(sequence_name) = upper(?) and upper(sequence_schema) = upper(?)";
+        }
+
+        try (PreparedStatement ps = connection.prepareStatement(sql)) {
+            ps.setString(1, name);
+            if (schema != null) {
+                ps.setString(2, schema);
+            }
+
+            try (ResultSet rs = ps.executeQuery()) {
+                if (rs.next()) {
+                    return Long.valueOf(rs.getString(1).trim());
+                }
+            }
+        }
+
+        return null;
+    }
+
+    private int getAllocationSize() {
+        if (IntactContext.currentInstanceExists()) {
+            return IntactContext.getCurrentInstance().getConfig().getAcAllocationSize();
+        }
+        return 1;
     }
 
     public String getSequenceName() {
@@ -21,6 +21,17 @@ public interface Polymer extends Interactor {
 
     String getSequence(Collection<SequenceChunk> seqChunks);
 
+    /**
+     * Gives access to the sequence without assembling it, when it is only needed to read its length or some of
+     * its residues (e.g. to validate ranges). By default, the assembled sequence is returned.
+     *
+     * @return a read-only view over the sequence chunks, or null if there is no sequence
+     * @since 3.1.0
+     */
+    default CharSequence getSequenceView() {
+        return getSequence();
+    }
+
     /**
      * Sets the current sequence.
      *
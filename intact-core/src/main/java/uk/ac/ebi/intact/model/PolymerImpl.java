@@ -51,6 +51,12 @@ public class PolymerImpl extends InteractorImpl implements Polymer {
      */
     private List<SequenceChunk> sequenceChunks = new ArrayList<SequenceChunk>();
 
+    /**
+     * The sequence assembled from the chunks. It is only used while the chunk list and the strings of its chunks
+     * are the same, so changing the chunks directly also invalidates it.
+     */
+    private transient SequenceCache sequenceCache;
+
     // Constructors
 
     /**
@@ -79,7 +85,12 @@ public class PolymerImpl extends InteractorImpl implements Polymer {
     // access methods for attributes
     @Transient
     public String getSequence() {
-        return getSequence(sequenceChunks);
+        SequenceCache cache = sequenceCache;
+
+        if ( cache == null || !cache.isValid( sequenceChunks ) ) {
+            cache = cacheSequence( getSequence( sequenceChunks ) );
+        }
+        return cache.sequence;
     }
 
     @Transient
@@ -89,6 +100,10 @@ public class PolymerImpl extends InteractorImpl implements Polymer {
             return null;
         }
 
+        if ( seqChunks.size() == 1 && seqChunks.iterator().next().getSequenceChunk() != null ) {
+            return seqChunks.iterator().next().getSequenceChunk();
+        }
+
         StringBuilder sequence = new StringBuilder();
         for ( SequenceChunk sequenceChunk : seqChunks ) {
             sequence.append( sequenceChunk.getSequenceChunk() );
@@ -96,6 +111,39 @@ public class PolymerImpl extends InteractorImpl implements Polymer {
         return sequence.toString();
     }
 
+    @Transient
+    public CharSequence getSequenceView() {
+        final SequenceCache cache = sequenceCache;
+
+        if ( cache != null && cache.isValid( sequenceChunks ) ) {
+            return cache.sequence;
+        }
+
+        return newSequenceView();
+    }
+
+    private ChunkedSequence newSequenceView() {
+        if ( ( null == sequenceChunks ) || sequenceChunks.isEmpty() ) {
+            return null;
+        }
+
+        List<String> chunks = new ArrayList<String>( sequenceChunks.size() );
+        for ( SequenceChunk sequenceChunk : sequenceChunks ) {
+            chunks.add( sequenceChunk.getSequenceChunk() );
+        }
+        return new ChunkedSequence( chunks );
+    }
+
+    private SequenceCache cacheSequence( String sequence ) {
+        final SequenceCache cache = new SequenceCache( sequence, sequenceChunks );
+        sequenceCache = cache;
+        return cache;
+    }
+
+    private void invalidateSequence() {
+        sequenceCache = null;
+    }
+
     public List<SequenceChunk> setSequence( String aSequence ) {
         // Save work if the new sequence is identical to the old one.
 
@@ -107,10 +155,15 @@ public class PolymerImpl extends InteractorImpl implements Polymer {
             } else {
                 seqChunks = new ArrayList<SequenceChunk>();
             }
+            invalidateSequence();
             return sequenceChunks;
         }
 
-        if ( aSequence.equals( getSequence() ) ) {
+        // compare chunk by chunk rather than assembling the current sequence
+        final SequenceCache cache = sequenceCache;
+
+        if ( cache != null && cache.isValid( sequenceChunks ) ? aSequence.equals( cache.sequence ) :
+             ( sequenceChunks != null && !sequenceChunks.isEmpty() && newSequenceView().contentEquals( aSequence ) ) ) {
             return Collections.EMPTY_LIST;
         }
 
@@ -155,6 +208,7 @@ public class PolymerImpl extends InteractorImpl implements Polymer {
                 addSequenceChunk( new SequenceChunk( i, chunk ) );
             }
         }
+        cacheSequence( aSequence );
         // Check for null chunkPool
         return chunkPool == null ? Collections.EMPTY_LIST : chunkPool;
     }
@@ -176,12 +230,14 @@ public class PolymerImpl extends InteractorImpl implements Polymer {
 
     public void setSequenceChunks( List<SequenceChunk> sequenceChunks ) {
         this.sequenceChunks = sequenceChunks;
+        invalidateSequence();
     }
 
     protected void addSequenceChunk( SequenceChunk sequenceChunk ) {
         if ( !this.sequenceChunks.contains( sequenceChunk ) ) {
             this.sequenceChunks.add( sequenceChunk );
             sequenceChunk.setParent( this );
+            invalidateSequence();
         }
     }
 
@@ -189,6 +245,7 @@ public class PolymerImpl extends InteractorImpl implements Polymer {
         boolean removed = this.sequenceChunks.remove( sequenceChunk );
         if ( removed ) {
             sequenceChunk.setParent( this );
+            invalidateSequence();
         }
     }
 
@@ -263,6 +320,50 @@ public class PolymerImpl extends InteractorImpl implements Polymer {
     public String toString() {
         return super.toString() + " [ CRC64: " + getCrc64() + " Sequence: " + getSequence() + "]";
     }
+
+    /**
+     * Assembled sequence, with the chunk list and the chunk strings it was assembled from.
+     */
+    private static final class SequenceCache {
+
+        private final String sequence;
+        private final List<SequenceChunk> chunks;
+        private final String[] chunkStrings;
+
+        private SequenceCache( String sequence, List<SequenceChunk> chunks ) {
+            this.sequence = sequence;
+            this.chunks = chunks;
+            this.chunkStrings = new String[chunks == null ? 0 : chunks.size()];
+
+            int i = 0;
+            if ( chunks != null ) {
+                for ( SequenceChunk sequenceChunk : chunks ) {
+                    chunkStrings[i++] = sequenceChunk.getSequenceChunk();
+                }
+            }
+        }
+
+        private boolean isValid( List<SequenceChunk> currentChunks ) {
+            if ( currentChunks != chunks ) {
+                return false;
+            }
+            if ( chunks == null ) {
+                return true;
+            }
+            if ( chunks.size() != chunkStrings.length ) {
+                return false;
+            }
+
+            int i = 0;
+            for ( SequenceChunk sequenceChunk : chunks ) {
+                // the strings are compared by reference, any new chunk string invalidates the cache
+                if ( sequenceChunk.getSequenceChunk() != chunkStrings[i++] ) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
 }
 
 
@@ -1,5 +1,7 @@
 package uk.ac.ebi.intact.model.meta;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.Cascade;
 import org.hibernate.annotations.Type;
 import uk.ac.ebi.intact.model.IntactObjectImpl;
@@ -17,6 +19,8 @@ import java.util.Collection;
  */
 @Entity
 @Table(name = "ia_application")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.NONSTRICT_READ_WRITE)
 public class Application extends IntactObjectImpl {
 
     private String key;
@@ -66,6 +70,7 @@ public class Application extends IntactObjectImpl {
             cascade = {CascadeType.PERSIST, CascadeType.MERGE, CascadeType.REMOVE},
             fetch = FetchType.EAGER)
     @Cascade(value = org.hibernate.annotations.CascadeType.SAVE_UPDATE)
+    @Cache(usage = CacheConcurrencyStrategy.NONSTRICT_READ_WRITE)
     public Collection<ApplicationProperty> getProperties() {
         return properties;
     }
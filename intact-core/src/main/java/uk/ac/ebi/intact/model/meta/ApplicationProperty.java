@@ -1,5 +1,7 @@
 package uk.ac.ebi.intact.model.meta;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.Type;
 import uk.ac.ebi.intact.model.IntactObjectImpl;
 
@@ -14,6 +16,8 @@ import javax.persistence.*;
  */
 @Entity
 @Table(name = "ia_application_prop", indexes = @Index(name = "idx_app_prop_key", columnList = "key"))
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.NONSTRICT_READ_WRITE)
 public class ApplicationProperty extends IntactObjectImpl {
 
     private String key;
@@ -0,0 +1,111 @@
+package uk.ac.ebi.intact.model.meta;
+
+import javax.persistence.*;
+import javax.validation.constraints.Size;
+import java.io.Serializable;
+
+/**
+ * Identity of an interactor taking part in an interaction, with the number of components of the interaction. The
+ * rows of an interaction form its participant signature: the interactions containing a set of interactors, or made
+ * of exactly that set, are found with one query on the identity index, whatever the size of the set.
+ *
+ * @version $Id$
+ * @since 3.1.0
+ */
+@Entity
+@Table( name = "ia_interaction_signature",
+        indexes = @Index( name = "idx_int_signature_identity", columnList = "identity_id, component_count" ) )
+@IdClass( InteractionSignature.Key.class )
+public class InteractionSignature {
+
+    @Id
+    @Column( name = "interaction_ac", length = 30 )
+    private String interactionAc;
+
+    /**
+     * Primary id of an identity xref of the interactor of one of the components.
+     */
+    @Id
+    @Column( name = "identity_id", length = 256 )
+    @Size( max = 256 )
+    private String identityId;
+
+    @Column( name = "component_count", nullable = false )
+    private int componentCount;
+
+    public InteractionSignature() {
+    }
+
+    public InteractionSignature( String interactionAc, String identityId, int componentCount ) {
+        this.interactionAc = interactionAc;
+        this.identityId = identityId;
+        this.componentCount = componentCount;
+    }
+
+    public String getInteractionAc() {
+        return interactionAc;
+    }
+
+    public void setInteractionAc( String interactionAc ) {
+        this.interactionAc = interactionAc;
+    }
+
+    public String getIdentityId() {
+        return identityId;
+    }
+
+    public void setIdentityId( String identityId ) {
+        this.identityId = identityId;
+    }
+
+    public int getComponentCount() {
+        return componentCount;
+    }
+
+    public void setComponentCount( int componentCount ) {
+        this.componentCount = componentCount;
+    }
+
+    @Override
+    public String toString() {
+        return "InteractionSignature{interactionAc=" + interactionAc + ", identityId=" + identityId +
+               ", componentCount=" + componentCount + "}";
+    }
+
+    public static class Key implements Serializable {
+
+        private String interactionAc;
+        private String identityId;
+
+        public Key() {
+        }
+
+        public Key( String interactionAc, String identityId ) {
+            this.interactionAc = interactionAc;
+            this.identityId = identityId;
+        }
+
+        public String getInteractionAc() {
+            return interactionAc;
+        }
+
+        public String getIdentityId() {
+            return identityId;
+        }
+
+        @Override
+        public boolean equals( Object o ) {
+            if ( this == o ) return true;
+            if ( o == null || getClass() != o.getClass() ) return false;
+
+            Key key = ( Key ) o;
+
+            return interactionAc.equals( key.interactionAc ) && identityId.equals( key.identityId );
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * interactionAc.hashCode() + identityId.hashCode();
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package uk.ac.ebi.intact.model.meta;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Table;
+import javax.validation.constraints.Size;
+
+/**
+ * Highest short label suffix reserved for a label prefix, e.g. the bait-prey part of an interaction label. The
+ * row is locked while a block of suffixes is reserved, so concurrent writers never get the same suffix.
+ *
+ * @version $Id$
+ * @since 3.1.0
+ */
+@Entity
+@Table( name = "ia_shortlabel_suffix" )
+public class ShortLabelSuffix {
+
+    /**
+     * The type of object and the label prefix, as type:prefix.
+     */
+    @Id
+    @Column( name = "suffix_key", length = 300 )
+    @Size(max = 300)
+    private String key;
+
+    @Column( name = "max_suffix", nullable = false )
+    private int maxSuffix;
+
+    public ShortLabelSuffix() {
+    }
+
+    public ShortLabelSuffix( String key, int maxSuffix ) {
+        this.key = key;
+        this.maxSuffix = maxSuffix;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public void setKey( String key ) {
+        this.key = key;
+    }
+
+    public int getMaxSuffix() {
+        return maxSuffix;
+    }
+
+    public void setMaxSuffix( int maxSuffix ) {
+        this.maxSuffix = maxSuffix;
+    }
+
+    @Override
+    public String toString() {
+        return "ShortLabelSuffix{key=" + key + ", maxSuffix=" + maxSuffix + "}";
+    }
+}
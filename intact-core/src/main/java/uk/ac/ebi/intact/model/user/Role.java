@@ -1,7 +1,10 @@
 package uk.ac.ebi.intact.model.user;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import uk.ac.ebi.intact.model.IntactObjectImpl;
 
+import javax.persistence.Cacheable;
 import javax.persistence.Column;
 import javax.persistence.Entity;
 import javax.persistence.Index;
@@ -18,6 +21,8 @@ import javax.persistence.Table;
 @Table(
         name = "ia_role",
         indexes = { @Index(name = "idx_role_name", columnList = "name") })
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.NONSTRICT_READ_WRITE)
 public class Role extends IntactObjectImpl {
 
     public static final String ROLE_ADMIN = "ADMIN";
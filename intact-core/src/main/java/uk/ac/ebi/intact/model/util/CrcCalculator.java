@@ -15,6 +15,7 @@
  */
 package uk.ac.ebi.intact.model.util;
 
+import com.google.common.collect.MapMaker;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import uk.ac.ebi.intact.commons.util.Crc64;
@@ -22,9 +23,15 @@ import uk.ac.ebi.intact.core.persister.IntactCore;
 import uk.ac.ebi.intact.model.*;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  * Calculates a unique CRC for an object, based on IMEx standards
+ * <p/>
+ * The uniqueness strings of the interactors and CVs are kept for the life of the calculator, so the same instance
+ * can be reused to calculate the CRCs of many interactions that share them. The strings of the other objects are
+ * only kept while the CRC of an interaction is calculated. The CRC itself is calculated on the fly from these
+ * strings, without building and lower-casing the whole uniqueness string of the interaction.
  *
  * @author Bruno Aranda (baranda@ebi.ac.uk)
  * @version $Id$
@@ -36,414 +43,504 @@ public class CrcCalculator {
      */
     private static final Log log = LogFactory.getLog(CrcCalculator.class);
 
-    private Map<Integer, UniquenessStringBuilder> identityToCrc;
+    private static final char SEPARATOR = '|';
+
+    /**
+     * Uniqueness strings of the interactors and CVs, reused between interactions.
+     */
+    private final ConcurrentMap<IntactObject, String> sharedStrings;
+
+    /**
+     * Uniqueness strings of the other objects, only kept during one calculation.
+     */
+    private final Map<IntactObject, String> uniquenessStrings;
 
     public CrcCalculator() {
-        identityToCrc = new WeakHashMap<Integer, UniquenessStringBuilder>();
+        sharedStrings = new MapMaker().weakKeys().makeMap();
+        uniquenessStrings = new IdentityHashMap<IntactObject, String>();
     }
 
     public String crc64(Interaction interaction) {
-        UniquenessStringBuilder sb = createUniquenessString(interaction);
-        final String uniquenessString = sb.toString().toLowerCase();
+        final List<String> parts;
+
+        try {
+            parts = uniquenessStringParts(interaction);
+        } finally {
+            uniquenessStrings.clear();
+        }
+
+        String crc64 = null;
+
+        if (isAsciiLowerCaseLocale()) {
+            final StreamingCrc64 crc = new StreamingCrc64();
+            boolean ascii = true;
 
-        String crc64 = Crc64.getCrc64(uniquenessString);
+            for (int i = 0; ascii && i < parts.size(); i++) {
+                ascii = crc.updateLowerCaseAscii(parts.get(i));
+            }
+
+            if (ascii) {
+                crc64 = crc.toString();
+            }
+        }
+
+        if (crc64 == null) {
+            // non ASCII characters, lower-case the whole string as it has always been done
+            crc64 = Crc64.getCrc64(concat(parts).toLowerCase());
+        }
 
         if (log.isDebugEnabled())
-            log.debug("Created CRC for interaction '" + interaction.getShortLabel() + "': " + crc64 + " (" + uniquenessString + ")");
+            log.debug("Created CRC for interaction '" + (interaction == null ? null : interaction.getShortLabel()) + "': " + crc64 + " (" + concat(parts).toLowerCase() + ")");
 
         return crc64;
     }
 
+    /**
+     * Removes the uniqueness strings of the interactors and CVs kept by this calculator. Needed if the same
+     * instance is used after those objects have been modified.
+     *
+     * @since 3.1.0
+     */
+    public void clearCache() {
+        sharedStrings.clear();
+        uniquenessStrings.clear();
+    }
+
     //////////////////////////////////
     // Methods to create Strings to determine the uniqueness
 
     protected UniquenessStringBuilder createUniquenessString(Interaction interaction) {
-        if (keyExists(interaction)) {
-            UniquenessStringBuilder builder = getKey(interaction);
-            if (builder != null){
-                return builder;
-            }
-            else{
-                identityToCrc.remove(System.identityHashCode(interaction));
-            }
+        try {
+            return toUniquenessStringBuilder(concat(uniquenessStringParts(interaction)));
+        } finally {
+            uniquenessStrings.clear();
         }
+    }
 
-        UniquenessStringBuilder sb = new UniquenessStringBuilder();
+    protected UniquenessStringBuilder createUniquenessString(Experiment experiment) {
+        try {
+            return toUniquenessStringBuilder(uniquenessString(experiment));
+        } finally {
+            uniquenessStrings.clear();
+        }
+    }
 
-        putKey(interaction, sb);
+    protected UniquenessStringBuilder createUniquenessString(BioSource bioSource) {
+        try {
+            return toUniquenessStringBuilder(uniquenessString(bioSource));
+        } finally {
+            uniquenessStrings.clear();
+        }
+    }
 
-        if (interaction == null) return sb;
+    protected UniquenessStringBuilder createUniquenessString(Component component) {
+        try {
+            return toUniquenessStringBuilder(uniquenessString(component));
+        } finally {
+            uniquenessStrings.clear();
+        }
+    }
+
+    protected UniquenessStringBuilder createUniquenessString(Interactor interactor) {
+        return toUniquenessStringBuilder(uniquenessString(interactor));
+    }
+
+    protected UniquenessStringBuilder createUniquenessString(Feature feature) {
+        try {
+            return toUniquenessStringBuilder(uniquenessString(feature));
+        } finally {
+            uniquenessStrings.clear();
+        }
+    }
+
+    protected UniquenessStringBuilder createUniquenessString(Range range) {
+        try {
+            return toUniquenessStringBuilder(uniquenessString(range));
+        } finally {
+            uniquenessStrings.clear();
+        }
+    }
+
+    protected UniquenessStringBuilder createUniquenessString(CvObject cvObject) {
+        return toUniquenessStringBuilder(uniquenessString(cvObject));
+    }
+
+    protected UniquenessStringBuilder createUniquenessString(Annotation annotation) {
+        try {
+            return toUniquenessStringBuilder(uniquenessString(annotation));
+        } finally {
+            uniquenessStrings.clear();
+        }
+    }
+
+    /**
+     * The uniqueness string of an interaction, split in the strings of its parts. The strings of the
+     * parts are the ones kept by the calculator, so nothing is copied.
+     */
+    private List<String> uniquenessStringParts(Interaction interaction) {
+        if (interaction == null) return Collections.emptyList();
+
+        final List<String> parts = new ArrayList<String>();
 
         // components
-        List<Component> components = new ArrayList<Component>(interaction.getComponents());
-        Collections.sort(components, new ComponentComparator());
+        final List<String> components = new ArrayList<String>(interaction.getComponents().size());
 
-        for (Component component : components) {
-            sb.append(createUniquenessString(component));
+        for (Component component : interaction.getComponents()) {
+            components.add(uniquenessString(component));
         }
+        Collections.sort(components);
+        parts.addAll(components);
 
         // experiments
-        Set<Experiment> experiments = new TreeSet<Experiment>(new ExperimentComparator());
-        experiments.addAll(interaction.getExperiments());
+        Set<String> experiments = new TreeSet<String>();
 
-        for (Experiment experiment : experiments) {
-            sb.append(createUniquenessString(experiment));
+        for (Experiment experiment : interaction.getExperiments()) {
+            experiments.add(uniquenessString(experiment));
         }
+        parts.addAll(experiments);
 
         // interaction type
-        sb.append(createUniquenessString(interaction.getCvInteractionType()));
+        parts.add(uniquenessString(interaction.getCvInteractionType()));
 
         // annotations
-        Set<Annotation> annotations = new TreeSet<Annotation>(new AnnotationComparator());
-        annotations.addAll(interaction.getAnnotations());
-
-        for (Annotation annotation : annotations) {
-            sb.append(createUniquenessString(annotation));
-        }
+        parts.addAll(sortedUniquenessStrings(interaction.getAnnotations()));
 
         // special identity xrefs that make the interaction unique
         InteractorXref idPdbXref = XrefUtils.getIdentityXref(interaction, CvDatabase.RCSB_PDB_MI_REF);
         InteractorXref idMsdXref = XrefUtils.getIdentityXref(interaction, CvDatabase.MSD_PDB_MI_REF);
         InteractorXref idWwXref = XrefUtils.getIdentityXref(interaction, CvDatabase.WWPDB_MI_REF);
-        if (idPdbXref != null) sb.append(idPdbXref.getPrimaryId());
-        if (idMsdXref != null) sb.append(idMsdXref.getPrimaryId());
-        if (idWwXref != null) sb.append(idWwXref.getPrimaryId());
+        if (idPdbXref != null) parts.add(idPdbXref.getPrimaryId() + SEPARATOR);
+        if (idMsdXref != null) parts.add(idMsdXref.getPrimaryId() + SEPARATOR);
+        if (idWwXref != null) parts.add(idWwXref.getPrimaryId() + SEPARATOR);
 
-        return sb;
+        return parts;
     }
 
-    protected UniquenessStringBuilder createUniquenessString(Experiment experiment) {
-        if (keyExists(experiment)) {
-            UniquenessStringBuilder builder = getKey(experiment);
-            if (builder != null){
-                return builder;
-            }
-            else{
-                identityToCrc.remove(System.identityHashCode(experiment));
-            }
-        }
+    private String uniquenessString(Experiment experiment) {
+        if (experiment == null) return "";
 
-        UniquenessStringBuilder sb = new UniquenessStringBuilder();
+        String str = uniquenessStrings.get(experiment);
 
-        putKey(experiment, sb);
+        if (str == null) {
+            StringBuilder sb = new StringBuilder();
 
-        if (experiment == null) return sb;
+            // short label
+            append(sb, experiment.getShortLabel());
 
-        // short label
-        sb.append(experiment.getShortLabel());
+            // participant detection method
+            sb.append(uniquenessString(experiment.getCvIdentification()));
 
-        // participant detection method
-        sb.append(createUniquenessString(experiment.getCvIdentification()));
+            // interaction type
+            sb.append(uniquenessString(experiment.getCvInteraction()));
 
-        // interaction type
-        sb.append(createUniquenessString(experiment.getCvInteraction()));
+            // organism
+            sb.append(uniquenessString(experiment.getBioSource()));
 
-        // organism
-        sb.append(createUniquenessString(experiment.getBioSource()));
+            // annotations
+            Set<Annotation> annotations = new TreeSet<Annotation>(new AnnotationComparator());
 
-        // annotations
-        Set<Annotation> annotations = new TreeSet<Annotation>(new AnnotationComparator());
+            annotations.addAll(IntactCore.ensureInitializedAnnotations(experiment));
+            experiment.getAnnotations().clear();
+            experiment.getAnnotations().addAll(annotations);
 
-        annotations.addAll(IntactCore.ensureInitializedAnnotations(experiment));
-        experiment.getAnnotations().clear();
-        experiment.getAnnotations().addAll(annotations);
+            for (Annotation annotation : annotations) {
+                sb.append(uniquenessString(annotation));
+            }
 
-        for (Annotation annotation : annotations) {
-            sb.append(createUniquenessString(annotation));
+            str = sb.toString();
+            uniquenessStrings.put(experiment, str);
         }
 
-        return sb;
+        return str;
     }
 
-    protected UniquenessStringBuilder createUniquenessString(BioSource bioSource) {
-        if (keyExists(bioSource)) {
-            UniquenessStringBuilder builder = getKey(bioSource);
-            if (builder != null){
-                return builder;
-            }
-            else{
-                identityToCrc.remove(System.identityHashCode(bioSource));
-            }
-        }
+    private String uniquenessString(BioSource bioSource) {
+        if (bioSource == null) return "";
 
-        UniquenessStringBuilder sb = new UniquenessStringBuilder();
+        String str = uniquenessStrings.get(bioSource);
 
-        putKey(bioSource, sb);
+        if (str == null) {
+            StringBuilder sb = new StringBuilder();
 
-        if (bioSource == null) return sb;
+            // tax id
+            append(sb, bioSource.getTaxId());
+            // tissue
+            sb.append(uniquenessString(bioSource.getCvTissue()));
+            // cell type
+            sb.append(uniquenessString(bioSource.getCvCellType()));
 
-        // tax id
-        sb.append(bioSource.getTaxId());
-        // tissue
-        sb.append(createUniquenessString(bioSource.getCvTissue()));
-        // cell type
-        sb.append(createUniquenessString(bioSource.getCvCellType()));
+            str = sb.toString();
+            uniquenessStrings.put(bioSource, str);
+        }
 
-        return sb;
+        return str;
     }
 
-    protected UniquenessStringBuilder createUniquenessString(Component component) {
+    private String uniquenessString(Component component) {
         // WARNING : corss references of participants are not taken into account because for now we don't want duplicated interactions having exactly same participants excepted the xrefs
-        if (keyExists(component)) {
-            UniquenessStringBuilder builder = getKey(component);
-            if (builder != null){
-                return builder;
-            }
-            else{
-                identityToCrc.remove(System.identityHashCode(component));
-            }
-        }
+        if (component == null) return "";
 
-        UniquenessStringBuilder sb = new UniquenessStringBuilder();
+        String str = uniquenessStrings.get(component);
 
-        putKey(component, sb);
+        if (str == null) {
+            StringBuilder sb = new StringBuilder();
 
-        if (component == null) return sb;
+            // interactor
+            sb.append(uniquenessString(component.getInteractor()));
 
-        // interactor
-        sb.append(createUniquenessString(component.getInteractor()));
+            // stoichiometry
+            sb.append(component.getStoichiometry());
 
-        // stoichiometry
-        sb.append(component.getStoichiometry());
+            // biological role
+            sb.append(uniquenessString(component.getCvBiologicalRole()));
 
-        // biological role
-        sb.append(createUniquenessString(component.getCvBiologicalRole()));
+            // experimental roles
+            appendSorted(sb, component.getExperimentalRoles());
 
-        // experimental roles
-        List<CvExperimentalRole> expRoles = new ArrayList<CvExperimentalRole>(component.getExperimentalRoles());
-        Collections.sort(expRoles, new CvObjectComparator());
+            // features
+            List<String> features = new ArrayList<String>(component.getBindingDomains().size());
 
-        for (CvExperimentalRole expRole : expRoles) {
-            sb.append(createUniquenessString(expRole));
-        }
+            for (Feature feature : component.getBindingDomains()) {
+                features.add(uniquenessString(feature));
+            }
+            Collections.sort(features);
 
-        // features
-        List<Feature> features = new ArrayList<Feature>(component.getBindingDomains());
-        Collections.sort(features, new FeatureComparator());
+            for (String feature : features) {
+                sb.append(feature);
+            }
 
-        for (Feature feature : features) {
-            sb.append(createUniquenessString(feature));
-        }
+            // participant detection methods
+            appendSorted(sb, component.getParticipantDetectionMethods());
 
-        // participant detection methods
-        List<CvIdentification> participantDetMethods = new ArrayList<CvIdentification>(component.getParticipantDetectionMethods());
-        Collections.sort(participantDetMethods, new CvObjectComparator());
+            // experimental preparations
+            appendSorted(sb, component.getExperimentalPreparations());
 
-        for (CvIdentification partDetMethod : participantDetMethods) {
-            sb.append(createUniquenessString(partDetMethod));
-        }
+            // annotations
+            for (String annotation : sortedUniquenessStrings(component.getAnnotations())) {
+                sb.append(annotation);
+            }
 
-        // experimental preparations
-        List<CvExperimentalPreparation> experimentalPreparations = new ArrayList<CvExperimentalPreparation>(component.getExperimentalPreparations());
-        Collections.sort(experimentalPreparations, new CvObjectComparator());
+            // host organism
+            sb.append(uniquenessString(component.getExpressedIn()));
 
-        for (CvExperimentalPreparation experimentalPreparation : experimentalPreparations) {
-            sb.append(createUniquenessString(experimentalPreparation));
+            str = sb.toString();
+            uniquenessStrings.put(component, str);
         }
 
-        // annotations
-        Set<Annotation> annotations = new TreeSet<Annotation>(new AnnotationComparator());
-        annotations.addAll(component.getAnnotations());
+        return str;
+    }
 
-        for (Annotation annotation : annotations) {
-            sb.append(createUniquenessString(annotation));
-        }
+    private String uniquenessString(Interactor interactor) {
+        if (interactor == null) return "";
 
-        // host organism
-        sb.append(createUniquenessString(component.getExpressedIn()));
+        String str = sharedStrings.get(interactor);
 
-        return sb;
-    }
+        if (str == null) {
+            StringBuilder sb = new StringBuilder();
 
-    protected UniquenessStringBuilder createUniquenessString(Interactor interactor) {
-        if (keyExists(interactor)) {
-            UniquenessStringBuilder builder = getKey(interactor);
-            if (builder != null){
-                return builder;
+            // IDs
+            Collection<InteractorXref> idXrefs = XrefUtils.getIdentityXrefs(interactor);
+            List<String> ids = new ArrayList<String>(idXrefs.size());
+
+            for (InteractorXref idXref : idXrefs) {
+                ids.add(idXref.getPrimaryId().toLowerCase());
             }
-            else{
-                identityToCrc.remove(System.identityHashCode(interactor));
+            // sort identities in case there are more than one
+            Collections.sort(ids);
+
+            for (String id : ids) {
+                append(sb, id);
             }
-        }
 
-        UniquenessStringBuilder sb = new UniquenessStringBuilder();
+            // special case: if there are no xrefs, check on the sequence or the short label
+
+            if (ids.isEmpty()) {
+                // sequence
+                boolean usedSequence = false;
 
-        putKey(interactor, sb);
+                if (interactor instanceof Polymer) {
+                    Polymer polymer = (Polymer) interactor;
 
-        if (interactor == null) return sb;
+                    final String sequence = polymer.getSequence();
+                    if (sequence != null) {
+                        append(sb, sequence);
+                        usedSequence = true;
+                    }
+                }
 
-        // IDs
-        List<InteractorXref> idXrefs = new ArrayList<InteractorXref>(XrefUtils.getIdentityXrefs(interactor));
-        // sort identities in case there are more than one
-        Collections.sort(idXrefs, new Comparator<InteractorXref>() {
-            public int compare(InteractorXref o1, InteractorXref o2) {
-                return o1.getPrimaryId().toLowerCase().compareTo(o2.getPrimaryId().toLowerCase());
+                // shortlabel
+                if (!usedSequence) {
+                    append(sb, interactor.getShortLabel());
+                }
             }
-        });
 
-        for (InteractorXref idXref : idXrefs) {
-            sb.append(idXref.getPrimaryId().toLowerCase());
+            str = sb.toString();
+            sharedStrings.put(interactor, str);
         }
 
-        // special case: if there are no xrefs, check on the sequence or the short label
+        return str;
+    }
 
-        if (idXrefs.isEmpty()) {
-            // sequence
-            boolean usedSequence = false;
+    private String uniquenessString(Feature feature) {
+        if (feature == null) return "";
 
-            if (interactor instanceof Polymer) {
-                Polymer polymer = (Polymer) interactor;
+        String str = uniquenessStrings.get(feature);
 
-                final String sequence = polymer.getSequence();
-                if (sequence != null) {
-                    sb.append(polymer.getSequence());
-                    usedSequence = true;
-                }
-            }
+        if (str == null) {
+            StringBuilder sb = new StringBuilder();
 
-            // shortlabel
-            if (!usedSequence) {
-                sb.append(interactor.getShortLabel());
-            }
-        }
+            // short label
+            // We need to add the short label for the feature because in mutations in the same amino acid is the only way to
+            // distinguish between two features when the AC is not assigned yet.
+            append(sb, feature.getShortLabel());
 
-        return sb;
-    }
+            // feature type
+            sb.append(uniquenessString(feature.getCvFeatureType()));
 
-    protected UniquenessStringBuilder createUniquenessString(Feature feature) {
-        if (keyExists(feature)) {
-            UniquenessStringBuilder builder = getKey(feature);
-            if (builder != null){
-                return builder;
+            // feature identification
+            sb.append(uniquenessString(feature.getCvFeatureIdentification()));
+
+            // ranges
+            List<String> ranges = new ArrayList<String>(feature.getRanges().size());
+
+            for (Range range : feature.getRanges()) {
+                ranges.add(uniquenessString(range));
             }
-            else{
-                identityToCrc.remove(System.identityHashCode(feature));
+            Collections.sort(ranges);
+
+            for (String range : ranges) {
+                sb.append(range);
             }
+
+            str = sb.toString();
+            uniquenessStrings.put(feature, str);
         }
 
-        UniquenessStringBuilder sb = new UniquenessStringBuilder();
+        return str;
+    }
+
+    private String uniquenessString(Range range) {
+        if (range == null) return "";
 
-        putKey(feature, sb);
+        String str = uniquenessStrings.get(range);
 
-        if (feature == null) return sb;
+        if (str == null) {
+            StringBuilder sb = new StringBuilder();
 
-		// short label
-		// We need to add the short label for the feature because in mutations in the same amino acid is the only way to
-		// distinguish between two features when the AC is not assigned yet.
-		sb.append(feature.getShortLabel());
+            // type from
+            sb.append(uniquenessString(range.getFromCvFuzzyType()));
 
-        // feature type
-        sb.append(createUniquenessString(feature.getCvFeatureType()));
+            // interval from
+            sb.append(range.getFromIntervalStart()).append('-').append(range.getFromIntervalEnd()).append(SEPARATOR);
 
-        // feature identification
-        sb.append(createUniquenessString(feature.getCvFeatureIdentification()));
+            // type to
+            sb.append(uniquenessString(range.getToCvFuzzyType()));
 
-        // ranges
-        List<Range> ranges = new ArrayList<Range>(feature.getRanges());
-        Collections.sort(ranges, new RangeComparator());
+            // interval end
+            sb.append(range.getToIntervalStart()).append('-').append(range.getToIntervalEnd()).append(SEPARATOR);
 
-        for (Range range : ranges) {
-            sb.append(createUniquenessString(range));
+            str = sb.toString();
+            uniquenessStrings.put(range, str);
         }
 
-        return sb;
+        return str;
     }
 
-    protected UniquenessStringBuilder createUniquenessString(Range range) {
-        if (keyExists(range)) {
-            UniquenessStringBuilder builder = getKey(range);
-            if (builder != null){
-                return builder;
-            }
-            else{
-                identityToCrc.remove(System.identityHashCode(range));
-            }
-        }
+    private String uniquenessString(CvObject cvObject) {
+        if (cvObject == null) return "";
 
-        UniquenessStringBuilder sb = new UniquenessStringBuilder();
+        String str = sharedStrings.get(cvObject);
 
-        putKey(range, sb);
+        if (str == null) {
+            // psi-mi
+            String miIdentifier = cvObject.getIdentifier();
 
-        if (range == null) return sb;
+            if (miIdentifier != null) {
+                str = miIdentifier + SEPARATOR;
+            } else {
+                str = cvObject.getShortLabel() + SEPARATOR;
+            }
 
-        // type from
-        sb.append(createUniquenessString(range.getFromCvFuzzyType()));
+            sharedStrings.put(cvObject, str);
+        }
 
-        // interval from
-        sb.append(range.getFromIntervalStart() + "-" + range.getFromIntervalEnd());
+        return str;
+    }
 
-        // type to
-        sb.append(createUniquenessString(range.getToCvFuzzyType()));
+    private String uniquenessString(Annotation annotation) {
+        if (annotation == null) return "";
 
-        // interval end
-        sb.append(range.getToIntervalStart() + "-" + range.getToIntervalEnd());
+        String str = uniquenessStrings.get(annotation);
 
+        if (str == null) {
+            str = uniquenessString(annotation.getCvTopic()) + annotation.getAnnotationText() + SEPARATOR;
+            uniquenessStrings.put(annotation, str);
+        }
 
-        return sb;
+        return str;
     }
 
-    protected UniquenessStringBuilder createUniquenessString(CvObject cvObject) {
-        if (keyExists(cvObject)) {
-            UniquenessStringBuilder builder = getKey(cvObject);
-            if (builder != null){
-                return builder;
-            }
-            else{
-                identityToCrc.remove(System.identityHashCode(cvObject));
-            }
-        }
+    /**
+     * Sorted uniqueness strings of the annotations, without duplicates.
+     */
+    private Set<String> sortedUniquenessStrings(Collection<Annotation> annotations) {
+        Set<String> strings = new TreeSet<String>();
 
-        UniquenessStringBuilder sb = new UniquenessStringBuilder();
+        for (Annotation annotation : annotations) {
+            strings.add(uniquenessString(annotation));
+        }
 
-        putKey(cvObject, sb);
+        return strings;
+    }
 
-        if (cvObject == null) return sb;
+    private void appendSorted(StringBuilder sb, Collection<? extends CvObject> cvObjects) {
+        if (cvObjects.isEmpty()) return;
 
-        // psi-mi
-        String miIdentifier = cvObject.getIdentifier();
+        List<String> strings = new ArrayList<String>(cvObjects.size());
 
-        if (miIdentifier != null) {
-            sb.append(miIdentifier);
-        } else {
-            sb.append(cvObject.getShortLabel());
+        for (CvObject cvObject : cvObjects) {
+            strings.add(uniquenessString(cvObject));
         }
+        Collections.sort(strings);
 
-        return sb;
-    }
-
-    protected UniquenessStringBuilder createUniquenessString(Annotation annotation) {
-        if (keyExists(annotation)) {
-            UniquenessStringBuilder builder = getKey(annotation);
-            if (builder != null){
-                return builder;
-            }
-            else{
-                identityToCrc.remove(System.identityHashCode(annotation));
-            }
+        for (String str : strings) {
+            sb.append(str);
         }
+    }
 
-        UniquenessStringBuilder sb = new UniquenessStringBuilder();
+    private static void append(StringBuilder sb, String str) {
+        sb.append(str).append(SEPARATOR);
+    }
 
-        putKey(annotation, sb);
+    private static String concat(List<String> parts) {
+        int length = 0;
 
-        if (annotation == null) return sb;
+        for (String part : parts) {
+            length += part.length();
+        }
 
-        sb.append(createUniquenessString(annotation.getCvTopic()));
-        sb.append(annotation.getAnnotationText());
+        StringBuilder sb = new StringBuilder(length);
 
-        return sb;
-    }
+        for (String part : parts) {
+            sb.append(part);
+        }
 
-    protected boolean keyExists(IntactObject io) {
-        return identityToCrc.containsKey(System.identityHashCode(io));
+        return sb.toString();
     }
 
-    protected UniquenessStringBuilder putKey(IntactObject io, UniquenessStringBuilder unique) {
-        return identityToCrc.put(System.identityHashCode(io), unique);
+    /**
+     * String.toLowerCase() uses the default locale, in which lower-casing ASCII characters might give
+     * non ASCII ones (e.g. the dotless i in Turkish).
+     */
+    private static boolean isAsciiLowerCaseLocale() {
+        final String language = Locale.getDefault().getLanguage();
+        return !"tr".equals(language) && !"az".equals(language);
     }
 
-    protected UniquenessStringBuilder getKey(IntactObject io) {
-        return identityToCrc.get(System.identityHashCode(io));
+    private UniquenessStringBuilder toUniquenessStringBuilder(String str) {
+        UniquenessStringBuilder sb = new UniquenessStringBuilder();
+        sb.getSringBuilder().append(str);
+        return sb;
     }
 
     /////////////////////////////////
@@ -491,48 +588,42 @@ public class CrcCalculator {
     protected class ComponentComparator implements Comparator<Component> {
 
         public int compare(Component o1, Component o2) {
-            return createUniquenessString(o1).toString()
-                    .compareTo(createUniquenessString(o2).toString());
+            return uniquenessString(o1).compareTo(uniquenessString(o2));
         }
     }
 
     protected class ExperimentComparator implements Comparator<Experiment> {
 
         public int compare(Experiment o1, Experiment o2) {
-            return createUniquenessString(o1).toString()
-                    .compareTo(createUniquenessString(o2).toString());
+            return uniquenessString(o1).compareTo(uniquenessString(o2));
         }
     }
 
     protected class FeatureComparator implements Comparator<Feature> {
 
         public int compare(Feature o1, Feature o2) {
-            return createUniquenessString(o1).toString()
-                    .compareTo(createUniquenessString(o2).toString());
+            return uniquenessString(o1).compareTo(uniquenessString(o2));
         }
     }
 
     protected class RangeComparator implements Comparator<Range> {
 
         public int compare(Range o1, Range o2) {
-            return createUniquenessString(o1).toString()
-                    .compareTo(createUniquenessString(o2).toString());
+            return uniquenessString(o1).compareTo(uniquenessString(o2));
         }
     }
 
     protected class AnnotationComparator implements Comparator<Annotation> {
 
         public int compare(Annotation o1, Annotation o2) {
-            return createUniquenessString(o1).toString()
-                    .compareTo(createUniquenessString(o2).toString());
+            return uniquenessString(o1).compareTo(uniquenessString(o2));
         }
     }
 
     protected class CvObjectComparator implements Comparator<CvObject> {
 
         public int compare(CvObject o1, CvObject o2) {
-            return createUniquenessString(o1).toString()
-                    .compareTo(createUniquenessString(o2).toString());
+            return uniquenessString(o1).compareTo(uniquenessString(o2));
         }
     }
 }
@@ -1,5 +1,6 @@
 package uk.ac.ebi.intact.model.util;
 
+import uk.ac.ebi.intact.core.context.CvObjectRegistry;
 import uk.ac.ebi.intact.core.context.IntactContext;
 import uk.ac.ebi.intact.core.persister.IntactCore;
 import uk.ac.ebi.intact.core.util.ClassUtils;
@@ -195,6 +196,12 @@ public final class CvObjectUtils {
             CvDagObject cv = cvDagObject;
 
             if (!IntactCore.isInitialized(cvDagObject.getParents())) {
+                final CvObjectRegistry registry = getCvObjectRegistry(cv);
+
+                if (registry != null) {
+                    return registry.isChildOf(cv.getAc(), identifier);
+                }
+
                 cv = (CvDagObject) IntactContext.getCurrentInstance().getDaoFactory()
                         .getCvObjectDao().getByAc(cv.getAc());
             }
@@ -233,12 +240,41 @@ public final class CvObjectUtils {
             collectedMIs.add(xref.getPrimaryId());
         }
 
-        // 2. Add children recursively
+        // 2. Add children recursively, using the registry if the children have not been loaded yet
+        if (!IntactCore.isInitialized(root.getChildren())) {
+            final CvObjectRegistry registry = getCvObjectRegistry(root);
+
+            if (registry != null) {
+                for (String childAc : registry.getChildAcs(root.getAc())) {
+                    registry.collectChildrenMIs(childAc, collectedMIs);
+                }
+                return;
+            }
+        }
+
         for (CvDagObject child : root.getChildren()) {
             getChildrenMIs(child, collectedMIs);
         }
     }
 
+    /**
+     * Gets the CvObjectRegistry if the given term is stored in it, or null otherwise. The registry is not used
+     * either if CVs have been changed in the current transaction, as it only knows about them once committed.
+     */
+    private static CvObjectRegistry getCvObjectRegistry(CvObject cvObject) {
+        if (cvObject.getAc() == null || !IntactContext.currentInstanceExists()) {
+            return null;
+        }
+
+        final CvObjectRegistry registry = IntactContext.getCurrentInstance().getCvObjectRegistry();
+
+        if (registry.isStale()) {
+            return null;
+        }
+
+        return registry.getByAc(cvObject.getAc()) != null ? registry : null;
+    }
+
     /**
      * Collect a non redundant list of all children psi-mi identity identifier including the given root term's.
      *
@@ -20,6 +20,7 @@ import org.apache.commons.logging.LogFactory;
 import uk.ac.ebi.intact.core.IntactException;
 import uk.ac.ebi.intact.core.context.IntactContext;
 import uk.ac.ebi.intact.core.persistence.dao.ExperimentDao;
+import uk.ac.ebi.intact.core.persistence.svc.ShortLabelAllocator;
 import uk.ac.ebi.intact.model.*;
 
 import java.util.*;
@@ -151,8 +152,8 @@ public final class ExperimentUtils {
 	 * <p/>
 	 * Concurrency note: just after getting the new short label, it is recommended to persist/update the interaction immediately
 	 * in the database - so this method should ONLY be used before saving the interaction to the database. In some
-	 * race conditions, two interactions could be created with the same id; currently there is no way to
-	 * reserve a short label
+	 * race conditions, two experiments with a pubmed id could be created with the same label. Without pubmed id, the
+	 * suffix is reserved with the ShortLabelAllocator.
 	 *
 	 * @param shortLabel the short label to sync
 	 * @param pubmedId   the pubmed corresponding to the experiment
@@ -289,19 +290,8 @@ public final class ExperimentUtils {
 
 		} else {
 
-			List<String> expLabels = experimentDao.getShortLabelsLike(shortLabel + "%");
-
-			int maxSuffix = 0;
-
-			for (String expLabel : expLabels) {
-				String strSuffix = expLabel.substring(expLabel.lastIndexOf("-") + 1, expLabel.length());
-
-				int suffix = Integer.valueOf(strSuffix);
-
-				maxSuffix = Math.max(maxSuffix, suffix);
-			}
-
-			syncedLabel = shortLabel + "-" + (maxSuffix + 1);
+			syncedLabel = IntactContext.getCurrentInstance().getShortLabelAllocator()
+					.nextShortLabel(ShortLabelAllocator.LabelType.EXPERIMENT, shortLabel);
 		}
 
 		//} else {
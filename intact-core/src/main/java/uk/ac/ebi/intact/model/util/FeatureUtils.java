@@ -211,6 +211,7 @@ public final class FeatureUtils {
     public static Set<Feature> getFeaturesWithBadRanges(Protein protein) {
         Collection<Component> components = protein.getActiveInstances();
         Set<Feature> badFeatures = new HashSet<Feature>();
+        CharSequence sequence = protein.getSequenceView();
 
         for (Component component : components) {
             Collection<Feature> features = component.getBindingDomains();
@@ -219,7 +220,7 @@ public final class FeatureUtils {
                 Collection<Range> ranges = feature.getRanges();
 
                 for (Range range : ranges) {
-                    if (isABadRange(range, protein.getSequence())) {
+                    if (isABadRange(range, sequence)) {
                         badFeatures.add(feature);
                         break;
                     }
@@ -238,6 +239,7 @@ public final class FeatureUtils {
 
         Collection<Component> components = protein.getActiveInstances();
         Set<Range> badRanges = new HashSet<Range>();
+        CharSequence sequence = protein.getSequenceView();
 
         for (Component component : components) {
             Collection<Feature> features = component.getFeatures();
@@ -246,7 +248,7 @@ public final class FeatureUtils {
                 Collection<Range> ranges = feature.getRanges();
 
                 for (Range range : ranges) {
-                    if (isABadRange(range, protein.getSequence())) {
+                    if (isABadRange(range, sequence)) {
                         badRanges.add(range);
                     }
                 }
@@ -261,10 +263,17 @@ public final class FeatureUtils {
      * @param sequence : the sequence of the protein
      * @return true if the range is within the sequence, coherent with its fuzzy type and not overlapping
      */
-    public static boolean isABadRange(Range range, String sequence) {
+    public static boolean isABadRange(Range range, CharSequence sequence) {
         return (getBadRangeInfo(range, sequence) != null);
     }
 
+    /**
+     * @see #isABadRange(Range, CharSequence)
+     */
+    public static boolean isABadRange(Range range, String sequence) {
+        return isABadRange(range, (CharSequence) sequence);
+    }
+
     public static boolean isABadRange(String range, String sequence) {
 
         try{
@@ -286,21 +295,42 @@ public final class FeatureUtils {
         return getBadRangeInfo(createRangeFromString(rangeAsString, sequence, false), sequence);
     }
 
+    /**
+     * @see #getBadRangeInfo(Range, CharSequence)
+     */
+    public static String getBadRangeInfo(Range range, String sequence) {
+        return getBadRangeInfo(range, (CharSequence) sequence);
+    }
+
     /**
      * @param range    : the range to check
      * @param sequence : the sequence of the protein
      * @return true if the range is within the sequence, coherent with its fuzzy type and not overlapping
      */
-    public static String getBadRangeInfo(Range range, String sequence) {
+    public static String getBadRangeInfo(Range range, CharSequence sequence) {
 
         // a range null is not a valid range for a feature
         if (range == null) {
             return "Range is null";
         }
 
-        // get the start and end status of the range
-        final CvFuzzyType startStatus = range.getFromCvFuzzyType();
-        final CvFuzzyType endStatus = range.getToCvFuzzyType();
+        return getBadRangeInfo(range.getFromCvFuzzyType(), range.getToCvFuzzyType(),
+                               range.getFromIntervalStart(), range.getFromIntervalEnd(),
+                               range.getToIntervalStart(), range.getToIntervalEnd(), sequence);
+    }
+
+    /**
+     * Checks the positions and status of a range without needing a Range instance, e.g. when they are read with
+     * a projection query.
+     *
+     * @param startStatus : the status of the start position
+     * @param endStatus   : the status of the end position
+     * @param sequence    : the sequence of the protein
+     * @return message with the error. Null if the range is valid
+     */
+    public static String getBadRangeInfo(CvFuzzyType startStatus, CvFuzzyType endStatus,
+                                         int fromIntervalStart, int fromIntervalEnd,
+                                         int toIntervalStart, int toIntervalEnd, CharSequence sequence) {
 
         if (startStatus == null) {
             return "The start status of the range is null and it is mandatory for PSI-MI.";
@@ -311,11 +341,6 @@ public final class FeatureUtils {
 
         // If the range is the start status and the begin position (s) are not consistent, or the end status and the end position (s) are not consistent
         // or the start status is not consistent with the end status, the range is not valid
-        final int fromIntervalStart = range.getFromIntervalStart();
-        final int fromIntervalEnd = range.getFromIntervalEnd();
-        final int toIntervalStart = range.getToIntervalStart();
-        final int toIntervalEnd = range.getToIntervalEnd();
-
         String areRangePositionsAccordingToTypeOkStart = getRangePositionsAccordingToRangeTypeErrorMessage(startStatus, fromIntervalStart, fromIntervalEnd, sequence);
 
         String areRangePositionsAccordingToTypeOkEnd = getRangePositionsAccordingToRangeTypeErrorMessage(endStatus, toIntervalStart, toIntervalEnd, sequence);
@@ -331,7 +356,7 @@ public final class FeatureUtils {
         }
 
         // if the range has not a position undetermined, C terminal region or N-terminal region, we check if the range positions are not overlapping
-        if (!(startStatus.isCTerminalRegion() || startStatus.isUndetermined() || startStatus.isNTerminalRegion()) && !(endStatus.isCTerminalRegion() || endStatus.isUndetermined() || endStatus.isNTerminalRegion()) && areRangePositionsOverlapping(range)) {
+        if (!(startStatus.isCTerminalRegion() || startStatus.isUndetermined() || startStatus.isNTerminalRegion()) && !(endStatus.isCTerminalRegion() || endStatus.isUndetermined() || endStatus.isNTerminalRegion()) && areRangePositionsOverlapping(startStatus, endStatus, fromIntervalStart, fromIntervalEnd, toIntervalStart, toIntervalEnd)) {
             return "The range positions overlap : " + startStatus.getShortLabel() + ":" + fromIntervalStart + "-" + fromIntervalEnd + "," + endStatus.getShortLabel() + ":" + toIntervalStart + "-" + toIntervalEnd;
         }
 
@@ -372,10 +397,24 @@ public final class FeatureUtils {
      * @param sequence  : the sequence of the protein
      * @return true if the range positions and the position status are consistent
      */
-    public static boolean areRangePositionsAccordingToRangeTypeOk(CvFuzzyType rangeType, int start, int end, String sequence) {
+    public static boolean areRangePositionsAccordingToRangeTypeOk(CvFuzzyType rangeType, int start, int end, CharSequence sequence) {
         return (getRangePositionsAccordingToRangeTypeErrorMessage(rangeType, start, end, sequence) == null);
     }
 
+    /**
+     * @see #areRangePositionsAccordingToRangeTypeOk(CvFuzzyType, int, int, CharSequence)
+     */
+    public static boolean areRangePositionsAccordingToRangeTypeOk(CvFuzzyType rangeType, int start, int end, String sequence) {
+        return areRangePositionsAccordingToRangeTypeOk(rangeType, start, end, (CharSequence) sequence);
+    }
+
+    /**
+     * @see #getRangePositionsAccordingToRangeTypeErrorMessage(CvFuzzyType, int, int, CharSequence)
+     */
+    public static String getRangePositionsAccordingToRangeTypeErrorMessage(CvFuzzyType rangeType, int start, int end, String sequence) {
+        return getRangePositionsAccordingToRangeTypeErrorMessage(rangeType, start, end, (CharSequence) sequence);
+    }
+
     /**
      * @param rangeType : the status of the position
      * @param start     : the start of the position
@@ -383,7 +422,7 @@ public final class FeatureUtils {
      * @param sequence  : the sequence of the protein
      * @return message with the error. Null otherwise
      */
-    public static String getRangePositionsAccordingToRangeTypeErrorMessage(CvFuzzyType rangeType, int start, int end, String sequence) {
+    public static String getRangePositionsAccordingToRangeTypeErrorMessage(CvFuzzyType rangeType, int start, int end, CharSequence sequence) {
 
         if (rangeType == null) {
             throw new IllegalArgumentException("It is not possible to check if the range status is compliant with the range positions because it is null and mandatory.");
@@ -514,9 +553,21 @@ public final class FeatureUtils {
      * @return true if the range intervals are overlapping
      */
     public static boolean areRangePositionsOverlapping(Range range) {
-        // get the range status
-        CvFuzzyType startStatus = range.getFromCvFuzzyType();
-        CvFuzzyType endStatus = range.getToCvFuzzyType();
+        return areRangePositionsOverlapping(range.getFromCvFuzzyType(), range.getToCvFuzzyType(),
+                                            range.getFromIntervalStart(), range.getFromIntervalEnd(),
+                                            range.getToIntervalStart(), range.getToIntervalEnd());
+    }
+
+    /**
+     * Checks if the interval positions of a range are overlapping
+     *
+     * @param startStatus : the status of the start position
+     * @param endStatus   : the status of the end position
+     * @return true if the range intervals are overlapping
+     */
+    public static boolean areRangePositionsOverlapping(CvFuzzyType startStatus, CvFuzzyType endStatus,
+                                                       int fromIntervalStart, int fromIntervalEnd,
+                                                       int toIntervalStart, int toIntervalEnd) {
 
         if (startStatus == null) {
             throw new IllegalArgumentException("It is not possible to check if the start range status is compliant with the range positions because it is null and mandatory.");
@@ -529,20 +580,20 @@ public final class FeatureUtils {
         // both the end and the start have a specific status
         // in the specific case where the start is superior to a position and the end is inferior to another position, we need to check that the
         // range is not invalid because 'greater than' and 'less than' are both exclusive
-        if (startStatus.isGreaterThan() && endStatus.isLessThan() && range.getToIntervalEnd() - range.getFromIntervalStart() < 2) {
+        if (startStatus.isGreaterThan() && endStatus.isLessThan() && toIntervalEnd - fromIntervalStart < 2) {
             return true;
         }
         // we have a greater than start position and the end position is equal to the start position
-        else if (startStatus.isGreaterThan() && !endStatus.isGreaterThan() && range.getFromIntervalStart() == range.getToIntervalStart()) {
+        else if (startStatus.isGreaterThan() && !endStatus.isGreaterThan() && fromIntervalStart == toIntervalStart) {
             return true;
         }
         // we have a less than end position and the start position is equal to the start position
-        else if (!startStatus.isLessThan() && endStatus.isLessThan() && range.getFromIntervalEnd() == range.getToIntervalEnd()) {
+        else if (!startStatus.isLessThan() && endStatus.isLessThan() && fromIntervalEnd == toIntervalEnd) {
             return true;
         }
         // As the range positions are 0 when the status is undetermined, we can only check if the ranges are not overlapping when both start and end are not undetermined
         else if (!(startStatus.isUndetermined() || startStatus.isNTerminalRegion() || startStatus.isCTerminalRegion()) && !(endStatus.isUndetermined() || endStatus.isCTerminalRegion() || endStatus.isNTerminalRegion())) {
-            return arePositionsOverlapping(range.getFromIntervalStart(), range.getFromIntervalEnd(), range.getToIntervalStart(), range.getToIntervalEnd());
+            return arePositionsOverlapping(fromIntervalStart, fromIntervalEnd, toIntervalStart, toIntervalEnd);
         }
 
         return false;
@@ -19,6 +19,7 @@ import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import uk.ac.ebi.intact.core.IntactException;
 import uk.ac.ebi.intact.core.context.IntactContext;
+import uk.ac.ebi.intact.core.persistence.svc.ShortLabelAllocator;
 import uk.ac.ebi.intact.model.AnnotatedObject;
 import uk.ac.ebi.intact.model.Component;
 import uk.ac.ebi.intact.model.CvExperimentalRole;
@@ -174,11 +175,34 @@ public class InteractionShortLabelGenerator {
      * @param shortLabel a shortLabel with or without suffix
      * @return the shortlabel without suffix
      */
-    protected static String removeSuffix( String shortLabel ) {
+    public static String removeSuffix( String shortLabel ) {
         InteractionShortLabel label = new InteractionShortLabel( shortLabel );
         return label.getCompleteLabel( false );
     }
 
+    /**
+     * Gets the suffix of a shortLabel
+     *
+     * @param shortLabel a shortLabel with or without suffix
+     * @return the suffix, or null if there is none
+     */
+    public static Integer getSuffix( String shortLabel ) {
+        return new InteractionShortLabel( shortLabel ).getSuffix();
+    }
+
+    /**
+     * Replaces the suffix of a shortLabel, truncating the bait and prey labels if the label becomes too long
+     *
+     * @param shortLabel a shortLabel with or without suffix
+     * @param suffix     the new suffix, or null to remove it
+     * @return the shortLabel with the new suffix
+     */
+    public static String setSuffix( String shortLabel, Integer suffix ) {
+        InteractionShortLabel label = new InteractionShortLabel( shortLabel );
+        label.setSuffix( suffix );
+        return label.getCompleteLabel();
+    }
+
     /**
      * Gets the next available suffix for a provided shortLabel
      *
@@ -186,15 +210,8 @@ public class InteractionShortLabelGenerator {
      * @return The next available shortLabel
      */
     public static String nextAvailableShortlabel( String shortLabel ) {
-        Integer nextSuffix = calculateNextSuffix( shortLabel );
-
-        InteractionShortLabel label = new InteractionShortLabel( shortLabel );
-
-        if ( nextSuffix != null ) {
-            label.setSuffix( nextSuffix );
-        }
-
-        return label.getCompleteLabel();
+        return IntactContext.getCurrentInstance().getShortLabelAllocator()
+                .nextShortLabel( ShortLabelAllocator.LabelType.INTERACTION, removeSuffix( shortLabel ) );
     }
 
     /**
@@ -192,10 +192,8 @@ public final class InteractionUtils {
     /**
      * Syncs a short label with the database, checking that there are no duplicates and that the correct suffix is added.
      * <p/>
-     * Concurrency note: just after getting the new short label, it is recommended to persist/update the interaction immediately
-     * in the database - so this method should ONLY be used before saving the interaction to the database. In some
-     * race conditions, two interactions could be created with the same id; currently there is no way to
-     * reserve a short label
+     * Concurrency note: this method should ONLY be used before saving the interaction to the database, as each call
+     * reserves a new suffix with the ShortLabelAllocator. The suffixes reserved but not used leave gaps.
      *
      * @param shortLabel the short label to sync
      * @return the synced short label
@@ -0,0 +1,94 @@
+package uk.ac.ebi.intact.model.util;
+
+/**
+ * Running CRC64 checksum, giving the same values as <code>Crc64.getCrc64(String)</code> without the need
+ * to build the whole string first.
+ * <p/>
+ * Characters can be added as they are, or lower-cased on the fly. The lower-casing is only done for ASCII text,
+ * where it is the same as <code>String.toLowerCase()</code>; when a non ASCII character is found the update is
+ * rejected, so the caller can fall back to lower-casing the complete string.
+ *
+ * @version $Id$
+ * @since 3.1.0
+ */
+public final class StreamingCrc64 {
+
+    private static final long POLY64 = 0xD800000000000000L;
+
+    private static final long[] CRC_TABLE = new long[256];
+
+    static {
+        for ( int i = 0; i < 256; i++ ) {
+            long part = i;
+            for ( int j = 0; j < 8; j++ ) {
+                if ( ( part & 1 ) != 0 ) {
+                    part = ( part >>> 1 ) ^ POLY64;
+                } else {
+                    part >>>= 1;
+                }
+            }
+            CRC_TABLE[i] = part;
+        }
+    }
+
+    private long crc;
+
+    public StreamingCrc64() {
+    }
+
+    public StreamingCrc64 update( char c ) {
+        crc = CRC_TABLE[( int ) ( ( crc ^ c ) & 0xff )] ^ ( crc >>> 8 );
+        return this;
+    }
+
+    public StreamingCrc64 update( CharSequence chars ) {
+        for ( int i = 0, length = chars.length(); i < length; i++ ) {
+            crc = CRC_TABLE[( int ) ( ( crc ^ chars.charAt( i ) ) & 0xff )] ^ ( crc >>> 8 );
+        }
+        return this;
+    }
+
+    /**
+     * Adds the lower-cased characters of an ASCII string.
+     *
+     * @param str the string to add
+     * @return false if the string contains non ASCII characters, in which case the checksum is no longer valid
+     */
+    public boolean updateLowerCaseAscii( String str ) {
+        for ( int i = 0, length = str.length(); i < length; i++ ) {
+            char c = str.charAt( i );
+
+            if ( c >= 0x80 ) {
+                return false;
+            }
+            if ( c >= 'A' && c <= 'Z' ) {
+                c += 'a' - 'A';
+            }
+
+            crc = CRC_TABLE[( int ) ( ( crc ^ c ) & 0xff )] ^ ( crc >>> 8 );
+        }
+        return true;
+    }
+
+    public long getValue() {
+        return crc;
+    }
+
+    public void reset() {
+        crc = 0;
+    }
+
+    /**
+     * @return the checksum as 16 upper-case hexadecimal digits
+     */
+    @Override
+    public String toString() {
+        final String hex = Long.toHexString( crc ).toUpperCase();
+
+        final StringBuilder sb = new StringBuilder( 16 );
+        for ( int i = hex.length(); i < 16; i++ ) {
+            sb.append( '0' );
+        }
+        return sb.append( hex ).toString();
+    }
+}
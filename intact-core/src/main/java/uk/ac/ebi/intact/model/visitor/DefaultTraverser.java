@@ -17,11 +17,17 @@ package uk.ac.ebi.intact.model.visitor;
 
 import uk.ac.ebi.intact.model.*;
 
-import java.util.ArrayList;
-import java.util.Collection;
-import java.util.List;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
 
 /**
+ * Traverses the graph of an IntactObject, calling the visitors for each object found.
+ * <p/>
+ * The objects already traversed are remembered by identity, so each object instance is traversed once, even when
+ * it is equal to another one. They are remembered between calls to traverse() until reset() is called.
+ *
  * @author Bruno Aranda (baranda@ebi.ac.uk)
  * @version $Id$
  */
@@ -31,8 +37,18 @@ public class DefaultTraverser implements IntactObjectTraverser {
 
     private RecursionChecker recursionChecker;
 
+    /**
+     * False for the traversers used by traverseInParallel(), which do not maintain the hierarchy level of the visitors.
+     */
+    private boolean hierarchyAware = true;
+
+    /**
+     * Interactions found when fanning out in traverseInParallel(), to be traversed by other threads.
+     */
+    private Set<Interaction> deferredInteractions;
+
     public DefaultTraverser() {
-        this.recursionChecker = new RecursionChecker();
+        this.recursionChecker = new RecursionChecker(false);
     }
 
     public void traverse(IntactObject intactObject, IntactVisitor... visitors) {
@@ -42,12 +58,17 @@ public class DefaultTraverser implements IntactObjectTraverser {
             throw new IllegalArgumentException("No visitors passed");
         }
 
+        if (deferredInteractions != null && intactObject instanceof Interaction) {
+            deferredInteractions.add((Interaction) intactObject);
+            return;
+        }
+
         nextHierarchyLevel();
 
         for (IntactVisitor visitor : visitors) {
             visitor.visitIntactObject(intactObject);
 
-            if (visitor instanceof HierarchyAware) {
+            if (hierarchyAware && visitor instanceof HierarchyAware) {
                 final HierarchyAware hierarchyAwareVisitor = (HierarchyAware) visitor;
                 hierarchyAwareVisitor.setHierarchyLevel(getCurrentHierarchyLevel());
 
@@ -78,13 +99,97 @@ public class DefaultTraverser implements IntactObjectTraverser {
         previousHierarchyLevel();
 
         for (IntactVisitor visitor : visitors) {
-            if (visitor instanceof HierarchyAware) {
+            if (hierarchyAware && visitor instanceof HierarchyAware) {
                 final HierarchyAware hierarchyAwareVisitor = (HierarchyAware) visitor;
                 hierarchyAwareVisitor.previousHierarchyLevel();
             }
         }
     }
 
+    /**
+     * Traverses the graph of an IntactObject, traversing its interactions in parallel. The object is first traversed
+     * without descending into the interactions, then each interaction found is traversed by a task of the executor.
+     * The method returns when all the tasks are done, and rethrows the first exception thrown by a task.
+     * <p/>
+     * The graph must be fully initialized or detached: an entity manager cannot be used by several threads, so the
+     * lazy collections of entities still attached to it must not be loaded by the tasks. The visitors are called
+     * concurrently, so they must be thread-safe (see SynchronizedVisitor). The hierarchy levels of HierarchyAware
+     * visitors are not maintained. The objects traversed are not remembered afterwards.
+     *
+     * @param intactObject the object to traverse, e.g. a publication or an experiment
+     * @param executor the executor running the traversal of the interactions
+     * @param visitors the thread-safe visitors
+     * @since 3.1.0
+     */
+    public void traverseInParallel(IntactObject intactObject, Executor executor, final IntactVisitor... visitors) {
+        if (intactObject == null) return;
+
+        if (executor == null) {
+            throw new IllegalArgumentException("No executor passed");
+        }
+
+        if (visitors.length == 0) {
+            throw new IllegalArgumentException("No visitors passed");
+        }
+
+        final RecursionChecker sharedRecursionChecker = new RecursionChecker(true);
+
+        final DefaultTraverser fanOutTraverser = createParallelTraverser(sharedRecursionChecker);
+        fanOutTraverser.deferredInteractions = Collections.newSetFromMap(new IdentityHashMap<Interaction, Boolean>());
+        fanOutTraverser.traverse(intactObject, visitors);
+
+        final List<CompletableFuture<Void>> tasks = new ArrayList<CompletableFuture<Void>>(fanOutTraverser.deferredInteractions.size());
+
+        for (final Interaction interaction : fanOutTraverser.deferredInteractions) {
+            tasks.add(CompletableFuture.runAsync(
+                    () -> createParallelTraverser(sharedRecursionChecker).traverse(interaction, visitors), executor));
+        }
+
+        try {
+            CompletableFuture.allOf(tasks.toArray(new CompletableFuture[tasks.size()])).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Forgets the objects already traversed, so the traverser can be reused to traverse another graph.
+     *
+     * @since 3.1.0
+     */
+    public void reset() {
+        recursionChecker.reset();
+        currentHierarchyLevel = -1;
+    }
+
+    /**
+     * Creates a traverser of the same type, to be used by traverseInParallel(). Subclasses with constructor
+     * arguments should override it.
+     *
+     * @since 3.1.0
+     */
+    protected DefaultTraverser newTraverser() {
+        try {
+            return getClass().getDeclaredConstructor().newInstance();
+        } catch (Exception e) {
+            throw new IllegalStateException("Cannot create a traverser of type: " + getClass().getName(), e);
+        }
+    }
+
+    private DefaultTraverser createParallelTraverser(RecursionChecker sharedRecursionChecker) {
+        final DefaultTraverser traverser = newTraverser();
+        traverser.recursionChecker = sharedRecursionChecker;
+        traverser.hierarchyAware = false;
+
+        return traverser;
+    }
+
     protected void traverseAnnotatedObject(AnnotatedObject annotatedObject, IntactVisitor... visitors) {
         if (annotatedObject == null) return;
 
@@ -396,22 +501,24 @@ public class DefaultTraverser implements IntactObjectTraverser {
         return currentHierarchyLevel;
     }
 
+    /**
+     * Remembers the objects traversed by identity.
+     */
     protected class RecursionChecker {
 
-        private List<IntactObject> intactObjects;
+        private final Set<IntactObject> intactObjects;
 
-        private RecursionChecker() {
-            this.intactObjects = new ArrayList<IntactObject>();
+        private RecursionChecker(boolean threadSafe) {
+            final Set<IntactObject> identitySet = Collections.newSetFromMap(new IdentityHashMap<IntactObject, Boolean>());
+            this.intactObjects = threadSafe ? Collections.synchronizedSet(identitySet) : identitySet;
         }
 
         public boolean isAlreadyTraversed(IntactObject intactObject) {
-             if (intactObjects.contains(intactObject)) {
-                 return true;
-             } else {
-                 intactObjects.add(intactObject);
-             }
+            return !intactObjects.add(intactObject);
+        }
 
-            return false;
+        public void reset() {
+            intactObjects.clear();
         }
     }
 }
@@ -0,0 +1,91 @@
+package uk.ac.ebi.intact.model.visitor;
+
+import uk.ac.ebi.intact.model.*;
+
+/**
+ * Makes a visitor thread-safe by synchronizing all its visit methods, so it can be used with
+ * DefaultTraverser.traverseInParallel(). The graph is still navigated in parallel, but the visitor is called by one
+ * thread at a time.
+ *
+ * @version $Id$
+ * @since 3.1.0
+ */
+public class SynchronizedVisitor implements IntactVisitor {
+
+    private final IntactVisitor visitor;
+
+    public SynchronizedVisitor(IntactVisitor visitor) {
+        if (visitor == null) {
+            throw new IllegalArgumentException("The visitor must not be null");
+        }
+        this.visitor = visitor;
+    }
+
+    public synchronized void visitIntactObject(IntactObject intactObject) {
+        visitor.visitIntactObject(intactObject);
+    }
+
+    public synchronized void visitAnnotatedObject(AnnotatedObject annotatedObject) {
+        visitor.visitAnnotatedObject(annotatedObject);
+    }
+
+    public synchronized void visitAnnotation(Annotation annotation) {
+        visitor.visitAnnotation(annotation);
+    }
+
+    public synchronized void visitAlias(Alias alias) {
+        visitor.visitAlias(alias);
+    }
+
+    public synchronized void visitXref(Xref xref) {
+        visitor.visitXref(xref);
+    }
+
+    public synchronized void visitRange(Range range) {
+        visitor.visitRange(range);
+    }
+
+    public synchronized void visitConfidence(Confidence confidence) {
+        visitor.visitConfidence(confidence);
+    }
+
+    public synchronized void visitParameter(Parameter parameter) {
+        visitor.visitParameter(parameter);
+    }
+
+    public synchronized void visitInstitution(Institution institution) {
+        visitor.visitInstitution(institution);
+    }
+
+    public synchronized void visitCvObject(CvObject cvObject) {
+        visitor.visitCvObject(cvObject);
+    }
+
+    public synchronized void visitExperiment(Experiment experiment) {
+        visitor.visitExperiment(experiment);
+    }
+
+    public synchronized void visitFeature(Feature feature) {
+        visitor.visitFeature(feature);
+    }
+
+    public synchronized void visitComponent(Component component) {
+        visitor.visitComponent(component);
+    }
+
+    public synchronized void visitInteraction(Interaction interaction) {
+        visitor.visitInteraction(interaction);
+    }
+
+    public synchronized void visitInteractor(Interactor interactor) {
+        visitor.visitInteractor(interactor);
+    }
+
+    public synchronized void visitBioSource(BioSource bioSource) {
+        visitor.visitBioSource(bioSource);
+    }
+
+    public synchronized void visitPublication(Publication publication) {
+        visitor.visitPublication(publication);
+    }
+}
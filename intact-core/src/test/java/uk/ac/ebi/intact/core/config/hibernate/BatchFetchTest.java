@@ -0,0 +1,83 @@
+package uk.ac.ebi.intact.core.config.hibernate;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.Assert;
+import org.junit.Test;
+import uk.ac.ebi.intact.core.unit.IntactBasicTestCase;
+import uk.ac.ebi.intact.model.InteractorXref;
+import uk.ac.ebi.intact.model.ProteinImpl;
+import uk.ac.ebi.intact.model.util.XrefUtils;
+
+import java.util.List;
+
+/**
+ * Batch fetching tester.
+ *
+ * @version $Id$
+ */
+public class BatchFetchTest extends IntactBasicTestCase {
+
+    @Test
+    public void getIdentityXrefs() throws Exception {
+        persistProteins( 20 );
+
+        assertStatementCount( countIdentityXrefStatements( 20 ), 20 );
+    }
+
+    @Test
+    public void getIdentityXrefs_severalBatches() throws Exception {
+        persistProteins( 64 );
+
+        // the xrefs and biosources of the proteins are loaded by batches of 16
+        final long statements = countIdentityXrefStatements( 64 );
+
+        assertStatementCount( statements, 64 );
+        Assert.assertTrue( "Statements: " + statements, statements < 64 / 2 );
+    }
+
+    protected void assertStatementCount( long statements, int proteinCount ) {
+        Assert.assertEquals( 16, getIntactContext().getConfig().getBatchFetchSize() );
+        Assert.assertTrue( "Statements: " + statements, statements < proteinCount );
+    }
+
+    protected void persistProteins( int count ) {
+        for ( int i = 0; i < count; i++ ) {
+            getCorePersister().saveOrUpdate( getMockBuilder().createProteinRandom() );
+
+            if ( ( i + 1 ) % 500 == 0 ) {
+                getEntityManager().flush();
+                getEntityManager().clear();
+            }
+        }
+
+        getEntityManager().flush();
+        getEntityManager().clear();
+    }
+
+    /**
+     * Counts the SQL statements needed to load the first proteins and to read their identity xrefs.
+     */
+    protected long countIdentityXrefStatements( int proteinCount ) {
+        final Statistics statistics = getEntityManager().getEntityManagerFactory().unwrap( SessionFactory.class ).getStatistics();
+        final boolean statisticsEnabled = statistics.isStatisticsEnabled();
+
+        try {
+            statistics.setStatisticsEnabled( true );
+            statistics.clear();
+
+            final List<ProteinImpl> proteins = getDaoFactory().getProteinDao().getAll( 0, proteinCount );
+            Assert.assertEquals( proteinCount, proteins.size() );
+
+            for ( ProteinImpl protein : proteins ) {
+                for ( InteractorXref xref : XrefUtils.getIdentityXrefs( protein ) ) {
+                    Assert.assertNotNull( xref.getPrimaryId() );
+                }
+            }
+
+            return statistics.getPrepareStatementCount();
+        } finally {
+            statistics.setStatisticsEnabled( statisticsEnabled );
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package uk.ac.ebi.intact.core.config.hibernate;
+
+import org.junit.Assert;
+import org.springframework.test.context.ContextConfiguration;
+
+/**
+ * Tester with the batch fetching disabled, also used to run the benchmark of BatchFetchTest without it.
+ *
+ * @version $Id$
+ */
+@ContextConfiguration(locations = {
+        "classpath*:/META-INF/intact.spring.xml",
+        "classpath*:/META-INF/standalone/*-standalone.spring.xml",
+        "classpath*:/META-INF/no-batch-fetch-test.spring.xml"
+})
+public class NoBatchFetchTest extends BatchFetchTest {
+
+    @Override
+    protected void assertStatementCount( long statements, int proteinCount ) {
+        Assert.assertEquals( 1, getIntactContext().getConfig().getBatchFetchSize() );
+        Assert.assertTrue( "Statements: " + statements, statements > proteinCount );
+    }
+}
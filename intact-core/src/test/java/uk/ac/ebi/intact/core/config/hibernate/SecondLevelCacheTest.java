@@ -0,0 +1,81 @@
+package uk.ac.ebi.intact.core.config.hibernate;
+
+import net.sf.ehcache.config.ConfigurationFactory;
+import org.hibernate.SessionFactory;
+import org.junit.Assert;
+import org.junit.Test;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import uk.ac.ebi.intact.core.unit.IntactBasicTestCase;
+import uk.ac.ebi.intact.model.Annotation;
+import uk.ac.ebi.intact.model.CvObject;
+import uk.ac.ebi.intact.model.CvTopic;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.Set;
+
+/**
+ * Second-level cache tester.
+ *
+ * @version $Id$
+ */
+@ContextConfiguration(locations = {
+        "classpath*:/META-INF/intact.spring.xml",
+        "classpath*:/META-INF/standalone/*-standalone.spring.xml",
+        "classpath*:/META-INF/second-level-cache-test.spring.xml"
+})
+public class SecondLevelCacheTest extends IntactBasicTestCase {
+
+    @Test
+    @Transactional(propagation = Propagation.NEVER)
+    public void getByAc_cvObjectFromCache() throws Exception {
+        Assert.assertTrue(getIntactContext().getConfig().isSecondLevelCacheEnabled());
+
+        final EntityManagerFactory entityManagerFactory = getEntityManager().getEntityManagerFactory();
+
+        CvTopic topic = getMockBuilder().createCvObject(CvTopic.class, "IA:9999", "cached topic");
+        Annotation annotation = getMockBuilder().createAnnotation("not cached", "IA:9998", "annotation topic");
+        topic.addAnnotation(annotation);
+
+        TransactionStatus transactionStatus = getDataContext().beginTransaction();
+        getCorePersister().saveOrUpdate(topic);
+        getDataContext().commitTransaction(transactionStatus);
+
+        transactionStatus = getDataContext().beginTransaction();
+        Assert.assertNotNull(getDaoFactory().getCvObjectDao(CvTopic.class).getByAc(topic.getAc()));
+        getDataContext().commitTransaction(transactionStatus);
+
+        final long hitsBefore = CacheRegionStatistics.get(entityManagerFactory, CvObject.class.getName()).getHitCount();
+
+        transactionStatus = getDataContext().beginTransaction();
+        Assert.assertNotNull(getDaoFactory().getCvObjectDao(CvTopic.class).getByAc(topic.getAc()));
+        getDataContext().commitTransaction(transactionStatus);
+
+        final CacheRegionStatistics statistics = CacheRegionStatistics.get(entityManagerFactory, CvObject.class.getName());
+
+        Assert.assertTrue(statistics.getHitCount() > hitsBefore);
+        Assert.assertTrue(statistics.getElementCount() > 0);
+        Assert.assertFalse(CacheRegionStatistics.collect(entityManagerFactory).isEmpty());
+
+        Assert.assertNotNull(annotation.getAc());
+        Assert.assertFalse(entityManagerFactory.getCache().contains(Annotation.class, annotation.getAc()));
+    }
+
+    @Test
+    public void regions_allDeclared() throws Exception {
+        final Set<String> declaredRegions = ConfigurationFactory.parseConfiguration(
+                getClass().getResource(SecondLevelCacheConfigurer.EHCACHE_CONFIGURATION)).getCacheConfigurations().keySet();
+
+        final String[] regionNames = getEntityManager().getEntityManagerFactory().unwrap(SessionFactory.class)
+                .getStatistics().getSecondLevelCacheRegionNames();
+
+        Assert.assertTrue(regionNames.length > 0);
+
+        // the regions not declared would silently use the default cache
+        for (String regionName : regionNames) {
+            Assert.assertTrue(regionName + " is not declared", declaredRegions.contains(regionName));
+        }
+    }
+}
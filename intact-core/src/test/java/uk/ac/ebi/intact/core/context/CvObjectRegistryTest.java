@@ -0,0 +1,244 @@
+package uk.ac.ebi.intact.core.context;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.transaction.TransactionStatus;
+import uk.ac.ebi.intact.core.persistence.svc.impl.DbInfoServiceImpl;
+import uk.ac.ebi.intact.core.unit.IntactBasicTestCase;
+import uk.ac.ebi.intact.model.*;
+import uk.ac.ebi.intact.model.meta.DbInfo;
+import uk.ac.ebi.intact.model.util.CvObjectUtils;
+
+import java.util.*;
+
+/**
+ * CvObjectRegistry tester.
+ *
+ * @version $Id$
+ */
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+public class CvObjectRegistryTest extends IntactBasicTestCase {
+
+    @Test
+    public void lookup_initialCvs() throws Exception {
+        final CvObjectRegistry registry = getIntactContext().getCvObjectRegistry();
+
+        Assert.assertTrue(registry.isLoaded());
+
+        CvObjectRegistry.CvTerm identity = registry.getByIdentifier(CvXrefQualifier.class, CvXrefQualifier.IDENTITY_MI_REF);
+        Assert.assertNotNull(identity);
+        Assert.assertEquals(CvXrefQualifier.class, identity.getCvClass());
+        Assert.assertEquals(CvXrefQualifier.IDENTITY, identity.getShortLabel());
+
+        Assert.assertSame(identity, registry.getByIdentifier(CvXrefQualifier.IDENTITY_MI_REF));
+        Assert.assertSame(identity, registry.getByShortLabel(CvXrefQualifier.class, "IDENTITY"));
+        Assert.assertSame(identity, registry.getByAc(identity.getAc()));
+
+        Assert.assertNull(registry.getByIdentifier(CvDatabase.class, CvXrefQualifier.IDENTITY_MI_REF));
+        Assert.assertNull(registry.getByShortLabel(CvDatabase.class, CvXrefQualifier.IDENTITY));
+    }
+
+    @Test
+    public void invalidate_saveLastCvUpdate() throws Exception {
+        final CvObjectRegistry registry = getIntactContext().getCvObjectRegistry();
+
+        CvInteractionType parent = getMockBuilder().createCvObject(CvInteractionType.class, "MI:0407", "direct interaction");
+        CvInteractionType child = getMockBuilder().createCvObject(CvInteractionType.class, "MI:0408", "disulfide bond");
+        parent.addChild(child);
+
+        TransactionStatus transactionStatus = getDataContext().beginTransaction();
+        getCorePersister().saveOrUpdate(parent, child);
+        getDataContext().commitTransaction(transactionStatus);
+
+        // refreshed after the commit of the persister
+        Assert.assertNotNull(registry.getByAc(child.getAc()));
+
+        new DbInfoServiceImpl().saveLastCvUpdate(new Date(), DbInfo.NAMESPACE_PSIMI);
+
+        Assert.assertFalse(registry.isLoaded());
+
+        CvObjectRegistry.CvTerm childTerm = registry.getByIdentifier(CvInteractionType.class, "MI:0408");
+        Assert.assertNotNull(childTerm);
+        Assert.assertEquals(child.getAc(), childTerm.getAc());
+        Assert.assertEquals("MI:0408", childTerm.getPsiMiIdentity());
+        Assert.assertTrue(childTerm.getParentAcs().contains(parent.getAc()));
+        Assert.assertTrue(registry.getChildAcs(parent.getAc()).contains(child.getAc()));
+
+        Assert.assertTrue(registry.isChildOf(child.getAc(), "MI:0407"));
+        Assert.assertFalse(registry.isChildOf(parent.getAc(), "MI:0408"));
+
+        CvInteractionType reloadedParent = getDaoFactory().getCvObjectDao(CvInteractionType.class).getByAc(parent.getAc());
+        Set<String> childrenMIs = CvObjectUtils.getChildrenMIs(reloadedParent);
+        Assert.assertEquals(2, childrenMIs.size());
+        Assert.assertTrue(childrenMIs.contains("MI:0408"));
+    }
+
+    @Test
+    public void lookup_missingTerm_changedByOtherProcess() throws Exception {
+        final CvObjectRegistry registry = getIntactContext().getCvObjectRegistry();
+
+        Assert.assertTrue(registry.isLoaded());
+
+        // saved without the CorePersister, as another process would
+        CvTopic topic = getMockBuilder().createCvObject(CvTopic.class, null, "other process");
+
+        TransactionStatus transactionStatus = getDataContext().beginTransaction();
+        getDaoFactory().getCvObjectDao(CvTopic.class).persist(topic);
+        getDataContext().commitTransaction(transactionStatus);
+
+        // the term is not in the snapshot, and the number of terms has changed, so the registry is loaded again
+        CvObjectRegistry.CvTerm term = registry.getByShortLabel(CvTopic.class, "other process");
+        Assert.assertNotNull(term);
+        Assert.assertEquals(topic.getAc(), term.getAc());
+    }
+
+    @Test
+    public void lookup_checkInterval_changedByOtherProcess() throws Exception {
+        final CvObjectRegistry registry = getIntactContext().getCvObjectRegistry();
+
+        CvTopic topic = getMockBuilder().createCvObject(CvTopic.class, null, "before");
+
+        TransactionStatus transactionStatus = getDataContext().beginTransaction();
+        getCorePersister().saveOrUpdate(topic);
+        getDataContext().commitTransaction(transactionStatus);
+
+        Assert.assertEquals("before", registry.getByAc(topic.getAc()).getShortLabel());
+
+        // renamed without the CorePersister, as another process would
+        transactionStatus = getDataContext().beginTransaction();
+        getDaoFactory().getCvObjectDao(CvTopic.class).getByAc(topic.getAc()).setShortLabel("after");
+        getDataContext().commitTransaction(transactionStatus);
+
+        // the term is found, but the registry is checked before each lookup
+        getIntactContext().getConfig().setCvRegistryCheckInterval(0);
+
+        Assert.assertEquals("after", registry.getByAc(topic.getAc()).getShortLabel());
+    }
+
+    @Test
+    public void closure() throws Exception {
+        final CvObjectRegistry registry = getIntactContext().getCvObjectRegistry();
+
+        CvInteractorType root = getMockBuilder().createCvObject(CvInteractorType.class, CvInteractorType.NUCLEIC_ACID_MI_REF, CvInteractorType.NUCLEIC_ACID);
+        CvInteractorType dna = getMockBuilder().createCvObject(CvInteractorType.class, CvInteractorType.DNA_MI_REF, CvInteractorType.DNA);
+        CvInteractorType rna = getMockBuilder().createCvObject(CvInteractorType.class, CvInteractorType.RNA_MI_REF, CvInteractorType.RNA);
+        CvInteractorType leaf = getMockBuilder().createCvObject(CvInteractorType.class, "MI:9999", "leaf");
+        root.addChild(dna);
+        root.addChild(rna);
+        dna.addChild(leaf);
+        rna.addChild(leaf);
+
+        TransactionStatus transactionStatus = getDataContext().beginTransaction();
+        getCorePersister().saveOrUpdate(root, dna, rna, leaf);
+        getCorePersister().saveOrUpdate(new InteractorImpl("interactor", getIntactContext().getInstitution(), leaf));
+        getDataContext().commitTransaction(transactionStatus);
+
+        // the terms saved by the persister are refreshed once committed
+        Assert.assertFalse(registry.isStale());
+
+        Assert.assertEquals(3, registry.getDescendantAcs(root.getAc()).size());
+        Assert.assertEquals(Collections.singleton(leaf.getAc()), registry.getDescendantAcs(dna.getAc()));
+        Assert.assertTrue(registry.getDescendantAcs(leaf.getAc()).isEmpty());
+
+        Assert.assertEquals(new HashSet<String>(Arrays.asList(root.getAc(), dna.getAc(), rna.getAc())),
+                            registry.getAncestorAcs(leaf.getAc()));
+        Assert.assertTrue(registry.getAncestorAcs(root.getAc()).isEmpty());
+
+        Assert.assertTrue(registry.isDescendantOf(leaf.getAc(), root.getAc()));
+        Assert.assertTrue(registry.isDescendantOf(leaf.getAc(), rna.getAc()));
+        Assert.assertFalse(registry.isDescendantOf(root.getAc(), leaf.getAc()));
+        Assert.assertFalse(registry.isDescendantOf(dna.getAc(), rna.getAc()));
+        Assert.assertFalse(registry.isDescendantOf(root.getAc(), root.getAc()));
+
+        Assert.assertTrue(registry.isChildOf(leaf.getAc(), CvInteractorType.NUCLEIC_ACID_MI_REF));
+        Assert.assertFalse(registry.isChildOf(dna.getAc(), CvInteractorType.RNA_MI_REF));
+
+        Assert.assertEquals(1, getDaoFactory().getInteractorDao().countByInteractorType(CvInteractorType.NUCLEIC_ACID_MI_REF, true));
+        Assert.assertEquals(1, getDaoFactory().getInteractorDao().getByInteractorType(CvInteractorType.DNA_MI_REF, true).size());
+        Assert.assertEquals(0, getDaoFactory().getInteractorDao().countByInteractorType(CvInteractorType.NUCLEIC_ACID_MI_REF, false));
+    }
+
+    @Test
+    public void refreshAfterCommit_childType() throws Exception {
+        final CvObjectRegistry registry = getIntactContext().getCvObjectRegistry();
+
+        CvInteractorType root = getMockBuilder().createCvObject(CvInteractorType.class, CvInteractorType.NUCLEIC_ACID_MI_REF, CvInteractorType.NUCLEIC_ACID);
+
+        TransactionStatus transactionStatus = getDataContext().beginTransaction();
+        getCorePersister().saveOrUpdate(root);
+        getDataContext().commitTransaction(transactionStatus);
+
+        Assert.assertNotNull(registry.getByAc(root.getAc()));
+        Assert.assertTrue(registry.getDescendantAcs(root.getAc()).isEmpty());
+
+        // a child type created later, without saving the date of the last CV update
+        CvInteractorType child = getMockBuilder().createCvObject(CvInteractorType.class, CvInteractorType.DNA_MI_REF, CvInteractorType.DNA);
+
+        transactionStatus = getDataContext().beginTransaction();
+        CvInteractorType reloadedRoot = getDaoFactory().getCvObjectDao(CvInteractorType.class).getByAc(root.getAc());
+        reloadedRoot.addChild(child);
+        getCorePersister().saveOrUpdate(child);
+        getCorePersister().saveOrUpdate(new InteractorImpl("interactor", getIntactContext().getInstitution(), child));
+        getDataContext().commitTransaction(transactionStatus);
+
+        Assert.assertTrue(registry.isLoaded());
+        Assert.assertEquals(Collections.singleton(child.getAc()), registry.getDescendantAcs(root.getAc()));
+        Assert.assertTrue(registry.isChildOf(child.getAc(), CvInteractorType.NUCLEIC_ACID_MI_REF));
+
+        Assert.assertEquals(1, getDaoFactory().getInteractorDao().countByInteractorType(CvInteractorType.NUCLEIC_ACID_MI_REF, true));
+    }
+
+    @Test
+    public void stale_inTransaction() throws Exception {
+        final CvObjectRegistry registry = getIntactContext().getCvObjectRegistry();
+
+        CvInteractorType root = getMockBuilder().createCvObject(CvInteractorType.class, CvInteractorType.NUCLEIC_ACID_MI_REF, CvInteractorType.NUCLEIC_ACID);
+
+        TransactionStatus transactionStatus = getDataContext().beginTransaction();
+        getCorePersister().saveOrUpdate(root);
+        getDataContext().commitTransaction(transactionStatus);
+
+        CvInteractorType child = getMockBuilder().createCvObject(CvInteractorType.class, CvInteractorType.DNA_MI_REF, CvInteractorType.DNA);
+
+        transactionStatus = getDataContext().beginTransaction();
+        CvInteractorType reloadedRoot = getDaoFactory().getCvObjectDao(CvInteractorType.class).getByAc(root.getAc());
+        reloadedRoot.addChild(child);
+        getCorePersister().saveOrUpdate(child);
+        getCorePersister().saveOrUpdate(new InteractorImpl("interactor", getIntactContext().getInstitution(), child));
+
+        // not committed yet: the registry does not know the child, so the database is queried
+        Assert.assertTrue(registry.isStale());
+        Assert.assertNull(registry.getByAc(child.getAc()));
+        Assert.assertEquals(1, getDaoFactory().getInteractorDao().countByInteractorType(CvInteractorType.NUCLEIC_ACID_MI_REF, true));
+
+        getDataContext().rollbackTransaction(transactionStatus);
+
+        Assert.assertFalse(registry.isStale());
+        Assert.assertTrue(registry.getDescendantAcs(root.getAc()).isEmpty());
+    }
+
+    @Test
+    public void refreshAfterCommit_delete() throws Exception {
+        final CvObjectRegistry registry = getIntactContext().getCvObjectRegistry();
+
+        CvInteractionType parent = getMockBuilder().createCvObject(CvInteractionType.class, "MI:0407", "direct interaction");
+        CvInteractionType child = getMockBuilder().createCvObject(CvInteractionType.class, "MI:0408", "disulfide bond");
+        parent.addChild(child);
+
+        TransactionStatus transactionStatus = getDataContext().beginTransaction();
+        getCorePersister().saveOrUpdate(parent, child);
+        getDataContext().commitTransaction(transactionStatus);
+
+        Assert.assertTrue(registry.getChildAcs(parent.getAc()).contains(child.getAc()));
+
+        transactionStatus = getDataContext().beginTransaction();
+        getCoreDeleter().deleteAll(CvInteractionType.class, Collections.singleton(child.getAc()), false);
+        getDataContext().commitTransaction(transactionStatus);
+
+        Assert.assertTrue(registry.isLoaded());
+        Assert.assertNull(registry.getByAc(child.getAc()));
+        Assert.assertNull(registry.getByIdentifier(CvInteractionType.class, "MI:0408"));
+        Assert.assertTrue(registry.getChildAcs(parent.getAc()).isEmpty());
+    }
+}
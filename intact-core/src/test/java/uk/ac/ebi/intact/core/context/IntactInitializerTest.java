@@ -20,6 +20,8 @@ import org.hibernate.stat.Statistics;
 import org.junit.Assert;
 import org.junit.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.transaction.TransactionStatus;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import uk.ac.ebi.intact.core.persistence.dao.CvObjectDao;
@@ -28,6 +30,7 @@ import uk.ac.ebi.intact.core.unit.IntactBasicTestCase;
 import uk.ac.ebi.intact.model.CvDatabase;
 import uk.ac.ebi.intact.model.CvPublicationStatus;
 import uk.ac.ebi.intact.model.CvTopic;
+import uk.ac.ebi.intact.model.IntactIdGenerator;
 import uk.ac.ebi.intact.model.util.CvObjectUtils;
 
 import javax.persistence.EntityManagerFactory;
@@ -47,6 +50,9 @@ public class IntactInitializerTest extends IntactBasicTestCase {
     @Autowired
     private EntityManagerFactory entityManagerFactory;
 
+    @Autowired
+    private IntactInitializer intactInitializer;
+
     @Test
     public void idtestInit() {
         Assert.assertEquals(4, institutionDao.countAll());
@@ -67,4 +73,42 @@ public class IntactInitializerTest extends IntactBasicTestCase {
 
         Assert.assertEquals(statistics.getSessionCloseCount(), statistics.getSessionOpenCount());
     }
+
+    @Test
+    @DirtiesContext
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void init_pooledAcs() {
+        try {
+            alterSequenceIncrement(50);
+            getIntactContext().getConfig().setAcAllocationSize(50);
+
+            intactInitializer.init();
+        } finally {
+            getIntactContext().getConfig().setAcAllocationSize(1);
+            alterSequenceIncrement(1);
+        }
+    }
+
+    @Test
+    @DirtiesContext
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void init_pooledAcs_incrementMismatch() {
+        getIntactContext().getConfig().setAcAllocationSize(50);
+
+        try {
+            intactInitializer.init();
+            Assert.fail("The sequence is incremented by 1, the ACs cannot be pooled by 50");
+        } catch (IntactInitializationError e) {
+            // expected
+        } finally {
+            getIntactContext().getConfig().setAcAllocationSize(1);
+        }
+    }
+
+    private void alterSequenceIncrement(int increment) {
+        TransactionStatus transactionStatus = getDataContext().beginTransaction();
+        getEntityManager().createNativeQuery("alter sequence " + IntactIdGenerator.INTACT_AC_SEQUENCE_NAME +
+                                             " increment by " + increment).executeUpdate();
+        getDataContext().commitTransaction(transactionStatus);
+    }
 }
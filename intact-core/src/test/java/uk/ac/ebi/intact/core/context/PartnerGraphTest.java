@@ -0,0 +1,184 @@
+package uk.ac.ebi.intact.core.context;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.transaction.TransactionStatus;
+import uk.ac.ebi.intact.core.unit.IntactBasicTestCase;
+import uk.ac.ebi.intact.model.*;
+
+import java.util.*;
+
+/**
+ * PartnerGraph tester.
+ *
+ * @version $Id$
+ */
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+public class PartnerGraphTest extends IntactBasicTestCase {
+
+    @Test
+    public void partners() throws Exception {
+        Protein a = getMockBuilder().createProteinRandom();
+        Protein b = getMockBuilder().createProteinRandom();
+        Protein c = getMockBuilder().createProteinRandom();
+
+        Interaction abc = getMockBuilder().createInteraction(a, b, c);
+        Interaction ab = getMockBuilder().createInteraction(a, b);
+        Interaction aa = getMockBuilder().createInteraction(a);
+        aa.getComponents().iterator().next().setStoichiometry(2f);
+
+        saveInNewTransaction(a, b, c, abc, ab, aa);
+
+        final PartnerGraph partnerGraph = getIntactContext().getPartnerGraph();
+
+        Map<String, Integer> counts = partnerGraph.countInteractionsByPartner(a.getAc());
+        Assert.assertEquals(3, counts.size());
+        Assert.assertEquals(Integer.valueOf(2), counts.get(b.getAc()));
+        Assert.assertEquals(Integer.valueOf(1), counts.get(c.getAc()));
+        Assert.assertEquals(Integer.valueOf(1), counts.get(a.getAc()));
+        Assert.assertEquals(getDaoFactory().getProteinDao().getPartnersCountingInteractionsByProteinAc(a.getAc()), counts);
+
+        for (Protein protein : Arrays.asList(a, b, c)) {
+            Assert.assertEquals(sorted(getDaoFactory().getInteractorDao().getPartnersWithInteractionAcsByInteractorAc(protein.getAc())),
+                                sorted(partnerGraph.getPartnersWithInteractionAcs(protein.getAc())));
+        }
+
+        Assert.assertEquals(sort(Arrays.asList(a.getAc(), c.getAc())), partnerGraph.getPartnerAcs(b.getAc()));
+        Assert.assertEquals(3, partnerGraph.countPartners(a.getAc()));
+        Assert.assertEquals(sort(Arrays.asList(abc.getAc(), ab.getAc())), sort(partnerGraph.getSharedInteractionAcs(a.getAc(), b.getAc())));
+        Assert.assertEquals(Arrays.asList(aa.getAc()), partnerGraph.getSharedInteractionAcs(a.getAc(), a.getAc()));
+        Assert.assertEquals(0, partnerGraph.getSharedInteractionAcs(b.getAc(), b.getAc()).size());
+
+        Assert.assertEquals(0, partnerGraph.countPartners("UNK-0"));
+        Assert.assertTrue(partnerGraph.getPartnersWithInteractionAcs("UNK-0").isEmpty());
+    }
+
+    @Test
+    public void refreshAfterCommit() throws Exception {
+        Protein a = getMockBuilder().createProteinRandom();
+        Protein b = getMockBuilder().createProteinRandom();
+        Protein d = getMockBuilder().createProteinRandom();
+
+        saveInNewTransaction(getMockBuilder().createInteraction(a, b));
+
+        final PartnerGraph partnerGraph = getIntactContext().getPartnerGraph();
+        Assert.assertEquals(Arrays.asList(b.getAc()), partnerGraph.getPartnerAcs(a.getAc()));
+
+        Interaction ad = getMockBuilder().createInteraction(a, d);
+        saveInNewTransaction(ad);
+
+        Assert.assertTrue(partnerGraph.isLoaded());
+        Assert.assertEquals(sort(Arrays.asList(b.getAc(), d.getAc())), partnerGraph.getPartnerAcs(a.getAc()));
+        Assert.assertEquals(Arrays.asList(ad.getAc()), partnerGraph.getSharedInteractionAcs(d.getAc(), a.getAc()));
+
+        // not visible until committed
+        getCorePersister().saveOrUpdate(getMockBuilder().createInteraction(b, d));
+
+        Assert.assertEquals(Arrays.asList(a.getAc()), partnerGraph.getPartnerAcs(d.getAc()));
+    }
+
+    @Test
+    public void refreshAfterCommit_delete() throws Exception {
+        Protein a = getMockBuilder().createProteinRandom();
+        Protein b = getMockBuilder().createProteinRandom();
+        Protein c = getMockBuilder().createProteinRandom();
+
+        Interaction ab = getMockBuilder().createInteraction(a, b);
+        Interaction abc = getMockBuilder().createInteraction(a, b, c);
+        saveInNewTransaction(ab, abc);
+
+        final PartnerGraph partnerGraph = getIntactContext().getPartnerGraph();
+        Assert.assertEquals(2, partnerGraph.countPartners(a.getAc()));
+
+        Component componentC = null;
+
+        for (Component component : abc.getComponents()) {
+            if (c.getAc().equals(component.getInteractor().getAc())) {
+                componentC = component;
+            }
+        }
+
+        TransactionStatus transactionStatus = getDataContext().beginTransaction();
+        getCoreDeleter().delete(componentC);
+        getDataContext().commitTransaction(transactionStatus);
+
+        Assert.assertTrue(partnerGraph.isLoaded());
+        Assert.assertEquals(Arrays.asList(b.getAc()), partnerGraph.getPartnerAcs(a.getAc()));
+        Assert.assertEquals(0, partnerGraph.countPartners(c.getAc()));
+
+        transactionStatus = getDataContext().beginTransaction();
+        getCoreDeleter().delete(ab);
+        getDataContext().commitTransaction(transactionStatus);
+
+        Assert.assertTrue(partnerGraph.isLoaded());
+        Assert.assertEquals(Arrays.asList(abc.getAc()), partnerGraph.getSharedInteractionAcs(a.getAc(), b.getAc()));
+    }
+
+    @Test
+    public void partnerGraphLookup() throws Exception {
+        Protein a = getMockBuilder().createProteinRandom();
+        Protein b = getMockBuilder().createProteinRandom();
+        Protein c = getMockBuilder().createProteinRandom();
+
+        Interaction aa = getMockBuilder().createInteraction(a);
+        aa.getComponents().iterator().next().setStoichiometry(2f);
+
+        saveInNewTransaction(getMockBuilder().createInteraction(a, b, c), getMockBuilder().createInteraction(a, b), aa,
+                             getMockBuilder().createInteraction(b, c));
+
+        final List<Protein> proteins = Arrays.asList(a, b, c);
+        final List<Object> criteriaResults = partnerResults(proteins);
+
+        final PartnerGraph partnerGraph = getIntactContext().getPartnerGraph();
+        Assert.assertFalse(partnerGraph.isLoaded());
+
+        getIntactContext().getConfig().setPartnerGraphLookup(true);
+
+        try {
+            Assert.assertEquals(criteriaResults, partnerResults(proteins));
+            Assert.assertTrue(partnerGraph.isLoaded());
+        } finally {
+            getIntactContext().getConfig().setPartnerGraphLookup(false);
+        }
+    }
+
+    /**
+     * @return the results of the partner methods of the DAOs for each protein
+     */
+    private List<Object> partnerResults(List<Protein> proteins) {
+        List<Object> results = new ArrayList<Object>();
+
+        for (Protein protein : proteins) {
+            results.add(getDaoFactory().getProteinDao().getPartnersCountingInteractionsByProteinAc(protein.getAc()));
+            results.add(sorted(getDaoFactory().getProteinDao().getPartnersWithInteractionAcsByProteinAc(protein.getAc())));
+            results.add(getDaoFactory().getProteinDao().countPartnersByProteinAc(protein.getAc()));
+            results.add(sorted(getDaoFactory().getInteractorDao().getPartnersWithInteractionAcsByInteractorAc(protein.getAc())));
+            results.add(getDaoFactory().getInteractorDao().countPartnersByAc(protein.getAc()));
+        }
+
+        return results;
+    }
+
+    private void saveInNewTransaction(AnnotatedObject... annotatedObjects) {
+        TransactionStatus transactionStatus = getDataContext().beginTransaction();
+        getCorePersister().saveOrUpdate(annotatedObjects);
+        getDataContext().commitTransaction(transactionStatus);
+    }
+
+    private static Map<String, List<String>> sorted(Map<String, List<String>> partnersWithInteractionAcs) {
+        Map<String, List<String>> sorted = new TreeMap<String, List<String>>();
+
+        for (Map.Entry<String, List<String>> entry : partnersWithInteractionAcs.entrySet()) {
+            sorted.put(entry.getKey(), sort(entry.getValue()));
+        }
+
+        return sorted;
+    }
+
+    private static List<String> sort(List<String> acs) {
+        List<String> sorted = new ArrayList<String>(acs);
+        Collections.sort(sorted);
+        return sorted;
+    }
+}
@@ -148,6 +148,87 @@ public class InteractionDaoTest extends IntactBasicTestCase {
         }
     }
 
+    @Test
+    public void getByInteractorsIdentity() throws Exception {
+        String[] all = new String[]{"NP_013618", "NP_010928", "NP_015428", "NP_009512",
+                "NP_012533", "NP_011651", "NP_014604", "NP_011769", "NP_014045", "NP_015007"};
+
+        for (int i = 4; i <= all.length; i++) {
+            getCorePersister().saveOrUpdate(getMockBuilder().createInteraction(Arrays.copyOf(all, i)));
+        }
+
+        final InteractionDao interactionDao = getDaoFactory().getInteractionDao();
+
+        for (int i = 4; i <= all.length; i++) {
+            Assert.assertEquals(1, interactionDao.getByInteractorsIdentity(true, Arrays.copyOf(all, i)).size());
+            Assert.assertEquals(all.length - i + 1, interactionDao.getByInteractorsIdentity(false, Arrays.copyOf(all, i)).size());
+        }
+
+        Assert.assertEquals(7, interactionDao.getByInteractorsIdentity(false, "NP_015428", "NP_009512").size());
+        Assert.assertEquals(0, interactionDao.getByInteractorsIdentity(true, "NP_015428", "NP_009512").size());
+        Assert.assertEquals(0, interactionDao.getByInteractorsIdentity(false, "NP_013618", "B9").size());
+        Assert.assertEquals(0, interactionDao.getByInteractorsIdentity(false).size());
+    }
+
+    @Test
+    public void getByInteractorsPrimaryId_signatureLookup() throws Exception {
+        getIntactContext().getConfig().setInteractionSignatureLookup(true);
+
+        try {
+            final IntactMockBuilder mockBuilder = getMockBuilder();
+            Interaction mockInteraction = mockBuilder.createInteractionRandomBinary();
+            mockInteraction.getComponents().clear();
+
+            mockInteraction.getComponents().add( mockBuilder
+                    .createComponentNeutral( mockInteraction, mockBuilder.createProtein( "A1", "prot1" ) ) );
+            mockInteraction.getComponents().add( mockBuilder
+                    .createComponentNeutral( mockInteraction, mockBuilder.createProtein( "A1", "prot1" ) ) );
+
+            getCorePersister().saveOrUpdate( mockInteraction );
+
+            Assert.assertEquals( 1, getDaoFactory().getInteractionDao().getByInteractorsPrimaryId( true, "A1", "A1" ).size() );
+            Assert.assertEquals( 0, getDaoFactory().getInteractionDao().getByInteractorsPrimaryId( true, "A1" ).size() );
+            Assert.assertEquals( 1, getDaoFactory().getInteractionDao().getByInteractorsPrimaryId( false, "A1" ).size() );
+        } finally {
+            getIntactContext().getConfig().setInteractionSignatureLookup(false);
+        }
+    }
+
+    @Test
+    public void getByInteractorsPrimaryId_signatureLookup_identityChanged() throws Exception {
+        getIntactContext().getConfig().setInteractionSignatureLookup(true);
+
+        try {
+            Interaction interaction = getMockBuilder().createInteraction("A1", "A2");
+            getCorePersister().saveOrUpdate( interaction );
+
+            getEntityManager().flush();
+            getEntityManager().clear();
+
+            // the identity is replaced in a detached protein, as the UniProt update does
+            Protein protein = getDaoFactory().getProteinDao().getByUniprotId( "A2" ).iterator().next();
+            InteractorXref identity = null;
+
+            for ( InteractorXref xref : protein.getXrefs() ) {
+                if ( "A2".equals( xref.getPrimaryId() ) ) {
+                    identity = xref;
+                }
+            }
+
+            getEntityManager().clear();
+
+            protein.removeXref( identity );
+            protein.addXref( getMockBuilder().createIdentityXrefUniprot( protein, "A3" ) );
+
+            getCorePersister().saveOrUpdate( protein );
+
+            Assert.assertEquals( 0, getDaoFactory().getInteractionDao().getByInteractorsPrimaryId( true, "A1", "A2" ).size() );
+            Assert.assertEquals( 1, getDaoFactory().getInteractionDao().getByInteractorsPrimaryId( true, "A1", "A3" ).size() );
+        } finally {
+            getIntactContext().getConfig().setInteractionSignatureLookup(false);
+        }
+    }
+
     @Test
     public void getInteractionsForProtPairAc() throws Exception {
         Protein p1 = getMockBuilder().createProteinRandom();
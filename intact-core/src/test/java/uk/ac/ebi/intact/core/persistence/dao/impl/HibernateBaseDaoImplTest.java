@@ -3,12 +3,17 @@ package uk.ac.ebi.intact.core.persistence.dao.impl;
 import org.junit.Assert;
 import org.junit.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import uk.ac.ebi.intact.core.persistence.dao.CloseableIterator;
 import uk.ac.ebi.intact.core.persister.PersisterHelper;
 import uk.ac.ebi.intact.core.unit.IntactBasicTestCase;
 import uk.ac.ebi.intact.model.Protein;
+import uk.ac.ebi.intact.model.ProteinImpl;
 
 import java.util.Date;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
 
 /**
  * HibernateBaseDaoImpl Tester.
@@ -62,6 +67,49 @@ public class HibernateBaseDaoImplTest extends IntactBasicTestCase {
         Assert.assertEquals("middle", protListDesc.get(1).getShortLabel());
         Assert.assertEquals("oldest", protListDesc.get(2).getShortLabel());
     }
-    
+
+    @Test
+    public void scroll_evictsPreviousObject() throws Exception {
+        getCorePersister().saveOrUpdate(getMockBuilder().createProteinRandom(),
+                                        getMockBuilder().createProteinRandom(),
+                                        getMockBuilder().createProteinRandom());
+
+        getEntityManager().flush();
+        getEntityManager().clear();
+
+        Set<String> acs = new HashSet<String>();
+        ProteinImpl previous = null;
+
+        CloseableIterator<ProteinImpl> iterator = getDaoFactory().getProteinDao().scroll(2);
+        try {
+            while (iterator.hasNext()) {
+                ProteinImpl protein = iterator.next();
+
+                Assert.assertTrue(getEntityManager().contains(protein));
+                if (previous != null) {
+                    Assert.assertFalse(getEntityManager().contains(previous));
+                }
+
+                acs.add(protein.getAc());
+                previous = protein;
+            }
+        } finally {
+            iterator.close();
+        }
+
+        Assert.assertEquals(3, acs.size());
+        Assert.assertFalse(getEntityManager().contains(previous));
+    }
+
+    @Test
+    public void stream() throws Exception {
+        getCorePersister().saveOrUpdate(getMockBuilder().createProteinRandom(),
+                                        getMockBuilder().createProteinRandom());
+
+        try (Stream<ProteinImpl> proteins = getDaoFactory().getProteinDao().stream()) {
+            Assert.assertEquals(2, proteins.map(ProteinImpl::getAc).distinct().count());
+        }
+    }
+
 
 }
\ No newline at end of file
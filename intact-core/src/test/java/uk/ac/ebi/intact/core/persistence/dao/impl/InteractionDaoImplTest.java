@@ -1,11 +1,16 @@
 package uk.ac.ebi.intact.core.persistence.dao.impl;
 
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.Assert;
 import org.junit.Test;
+import uk.ac.ebi.intact.core.persistence.dao.FetchProfiles;
 import uk.ac.ebi.intact.core.persistence.dao.InteractionDao;
 import uk.ac.ebi.intact.core.unit.IntactBasicTestCase;
-import uk.ac.ebi.intact.model.CvTopic;
-import uk.ac.ebi.intact.model.Interaction;
+import uk.ac.ebi.intact.model.*;
+
+import java.util.Collection;
+import java.util.List;
 
 /**
  * InteractionDaoImpl Tester.
@@ -31,4 +36,177 @@ public class InteractionDaoImplTest extends IntactBasicTestCase {
         Assert.assertEquals( 1, iDao.countAll( false ) );
 
     }
+
+    @Test
+    public void getAllWithFetchProfile_crc() throws Exception {
+        persistExperiment( 6 );
+
+        final long smallPage = countStatements( FetchProfiles.INTERACTION_CRC, 2, false );
+        final long largePage = countStatements( FetchProfiles.INTERACTION_CRC, 6, false );
+
+        Assert.assertEquals( smallPage, largePage );
+    }
+
+    @Test
+    public void getAllWithFetchProfile_full() throws Exception {
+        persistExperiment( 6 );
+
+        final long smallPage = countStatements( FetchProfiles.INTERACTION_FULL, 2, false );
+        final long largePage = countStatements( FetchProfiles.INTERACTION_FULL, 6, false );
+
+        Assert.assertEquals( smallPage, largePage );
+    }
+
+    @Test
+    public void getAllWithFetchProfile_publicationSummary() throws Exception {
+        persistExperiment( 6 );
+
+        final long smallPage = countStatements( FetchProfiles.PUBLICATION_SUMMARY, 2, true );
+        final long largePage = countStatements( FetchProfiles.PUBLICATION_SUMMARY, 6, true );
+
+        Assert.assertEquals( smallPage, largePage );
+    }
+
+    @Test
+    public void getAllWithFetchProfile_fewerStatementsThanLazyLoading() throws Exception {
+        // enough interactions to need several batches when the collections are loaded lazily
+        final Experiment experiment = persistExperiment( 40 );
+
+        final Statistics statistics = getStatistics();
+        final boolean statisticsEnabled = statistics.isStatisticsEnabled();
+
+        try {
+            statistics.setStatisticsEnabled( true );
+
+            getEntityManager().clear();
+            statistics.clear();
+            final List<Interaction> interactions = getDaoFactory().getInteractionDao().getByExperimentAc( experiment.getAc(), 0, 40 );
+            walkInteractions( interactions );
+            final long lazyLoading = statistics.getPrepareStatementCount();
+
+            getEntityManager().clear();
+            statistics.clear();
+            walkInteractions( getDaoFactory().getInteractionDao()
+                    .getByExperimentAcWithFetchProfile( experiment.getAc(), FetchProfiles.INTERACTION_CRC, 0, 40 ) );
+            final long fetchProfile = statistics.getPrepareStatementCount();
+
+            Assert.assertEquals( 40, interactions.size() );
+            Assert.assertTrue( "Lazy loading: " + lazyLoading + ", fetch profile: " + fetchProfile,
+                               fetchProfile < lazyLoading );
+        } finally {
+            statistics.setStatisticsEnabled( statisticsEnabled );
+        }
+    }
+
+    @Test( expected = IllegalArgumentException.class )
+    public void getAllWithFetchProfile_unknownProfile() throws Exception {
+        getDaoFactory().getInteractionDao().getAllWithFetchProfile( "interaction-everything", 0, 10 );
+    }
+
+    private Experiment persistExperiment( int interactionCount ) {
+        final Experiment experiment = getMockBuilder().createExperimentRandom( interactionCount );
+
+        for ( Interaction interaction : experiment.getInteractions() ) {
+            final Component bait = interaction.getComponents().iterator().next();
+            final Feature feature = getMockBuilder().createFeatureRandom();
+            feature.addRange( getMockBuilder().createRange( 1, 1, 4, 4 ) );
+            bait.addFeature( feature );
+        }
+
+        getCorePersister().saveOrUpdate( experiment );
+
+        getEntityManager().flush();
+        getEntityManager().clear();
+
+        return experiment;
+    }
+
+    /**
+     * Counts the SQL statements needed to load a page of interactions with a fetch profile and to walk it.
+     */
+    private long countStatements( String fetchProfile, int pageSize, boolean publicationSummary ) {
+        final Statistics statistics = getStatistics();
+        final boolean statisticsEnabled = statistics.isStatisticsEnabled();
+
+        try {
+            statistics.setStatisticsEnabled( true );
+
+            getEntityManager().clear();
+            statistics.clear();
+
+            final List<InteractionImpl> interactions =
+                    getDaoFactory().getInteractionDao().getAllWithFetchProfile( fetchProfile, 0, pageSize );
+
+            Assert.assertEquals( pageSize, interactions.size() );
+
+            if ( publicationSummary ) {
+                walkPublicationSummary( interactions );
+            } else {
+                walkInteractions( interactions );
+            }
+
+            return statistics.getPrepareStatementCount();
+        } finally {
+            statistics.setStatisticsEnabled( statisticsEnabled );
+        }
+    }
+
+    private Statistics getStatistics() {
+        return getEntityManager().getEntityManagerFactory().unwrap( SessionFactory.class ).getStatistics();
+    }
+
+    private void walkInteractions( Collection<? extends Interaction> interactions ) {
+        for ( Interaction interaction : interactions ) {
+            walkXrefs( interaction.getXrefs() );
+            walkAnnotations( interaction.getAnnotations() );
+
+            for ( Experiment experiment : interaction.getExperiments() ) {
+                walkAnnotations( experiment.getAnnotations() );
+            }
+
+            for ( Component component : interaction.getComponents() ) {
+                walkXrefs( component.getInteractor().getXrefs() );
+                walkAnnotations( component.getAnnotations() );
+
+                Assert.assertFalse( component.getExperimentalRoles().isEmpty() );
+                component.getParticipantDetectionMethods().size();
+                component.getExperimentalPreparations().size();
+
+                for ( Feature feature : component.getFeatures() ) {
+                    Assert.assertNotNull( feature.getCvFeatureType().getShortLabel() );
+
+                    for ( Range range : feature.getRanges() ) {
+                        Assert.assertTrue( range.getFromIntervalStart() > 0 );
+                    }
+                }
+            }
+        }
+    }
+
+    private void walkPublicationSummary( Collection<? extends Interaction> interactions ) {
+        for ( Interaction interaction : interactions ) {
+            Assert.assertFalse( interaction.getComponents().isEmpty() );
+
+            for ( Component component : interaction.getComponents() ) {
+                Assert.assertNotNull( component.getInteractor().getShortLabel() );
+            }
+
+            for ( Experiment experiment : interaction.getExperiments() ) {
+                walkXrefs( experiment.getXrefs() );
+                walkXrefs( experiment.getPublication().getXrefs() );
+            }
+        }
+    }
+
+    private void walkXrefs( Collection<? extends Xref> xrefs ) {
+        for ( Xref xref : xrefs ) {
+            Assert.assertNotNull( xref.getCvDatabase().getShortLabel() );
+        }
+    }
+
+    private void walkAnnotations( Collection<Annotation> annotations ) {
+        for ( Annotation annotation : annotations ) {
+            Assert.assertNotNull( annotation.getCvTopic().getShortLabel() );
+        }
+    }
 }
@@ -0,0 +1,97 @@
+package uk.ac.ebi.intact.core.persistence.svc.impl;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import uk.ac.ebi.intact.core.persistence.svc.InteractionSignatureService;
+import uk.ac.ebi.intact.core.unit.IntactBasicTestCase;
+import uk.ac.ebi.intact.model.Interaction;
+import uk.ac.ebi.intact.model.meta.InteractionSignature;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * InteractionSignatureServiceImpl tester.
+ *
+ * @version $Id$
+ */
+public class InteractionSignatureServiceImplTest extends IntactBasicTestCase {
+
+    @Autowired
+    private InteractionSignatureService interactionSignatureService;
+
+    @Test
+    public void updateSignatures() throws Exception {
+        Interaction interaction = getMockBuilder().createInteraction("P1", "P2", "P3");
+        getCorePersister().saveOrUpdate(interaction);
+
+        List<InteractionSignature> signatures = getSignatures(interaction.getAc());
+        Assert.assertEquals(3, signatures.size());
+        Assert.assertEquals(3, signatures.get(0).getComponentCount());
+
+        getEntityManager().createQuery("delete from InteractionSignature").executeUpdate();
+        getEntityManager().clear();
+
+        Assert.assertEquals(0, getDaoFactory().getInteractionDao().getByInteractorsIdentity(true, "P1", "P2", "P3").size());
+
+        interactionSignatureService.updateSignatures(Collections.singleton(interaction.getAc()));
+
+        Assert.assertEquals(3, getSignatures(interaction.getAc()).size());
+        Assert.assertEquals(1, getDaoFactory().getInteractionDao().getByInteractorsIdentity(true, "P1", "P2", "P3").size());
+    }
+
+    @Test
+    public void updateSignatures_identityRemoved() throws Exception {
+        Interaction interaction = getMockBuilder().createInteraction("P1", "P2", "P3");
+        getCorePersister().saveOrUpdate(interaction);
+
+        getEntityManager().createQuery("delete from InteractorXref x where x.primaryId = 'P3'").executeUpdate();
+
+        interactionSignatureService.updateSignatures(Collections.singleton(interaction.getAc()));
+
+        List<InteractionSignature> signatures = getSignatures(interaction.getAc());
+        Assert.assertEquals(2, signatures.size());
+        Assert.assertEquals("P1", signatures.get(0).getIdentityId());
+        Assert.assertEquals("P2", signatures.get(1).getIdentityId());
+        Assert.assertEquals(3, signatures.get(1).getComponentCount());
+
+        Assert.assertEquals(1, getDaoFactory().getInteractionDao().getByInteractorsIdentity(false, "P1", "P2").size());
+        Assert.assertEquals(0, getDaoFactory().getInteractionDao().getByInteractorsIdentity(true, "P1", "P2").size());
+    }
+
+    @Test
+    public void updateInteractorSignatures() throws Exception {
+        Interaction interaction = getMockBuilder().createInteraction("P1", "P2");
+        getCorePersister().saveOrUpdate(interaction);
+
+        getEntityManager().createQuery("update InteractorXref x set x.primaryId = 'P3' where x.primaryId = 'P2'").executeUpdate();
+
+        final String interactorAc = getDaoFactory().getProteinDao().getByUniprotId("P3").iterator().next().getAc();
+        interactionSignatureService.updateInteractorSignatures(Collections.singleton(interactorAc));
+
+        List<InteractionSignature> signatures = getSignatures(interaction.getAc());
+        Assert.assertEquals(2, signatures.size());
+        Assert.assertEquals("P1", signatures.get(0).getIdentityId());
+        Assert.assertEquals("P3", signatures.get(1).getIdentityId());
+    }
+
+    @Test
+    public void removeOrphanSignatures() throws Exception {
+        Interaction interaction = getMockBuilder().createInteraction("P1", "P2");
+        getCorePersister().saveOrUpdate(interaction);
+
+        getEntityManager().persist(new InteractionSignature("UNK-0", "P1", 2));
+        getEntityManager().flush();
+
+        Assert.assertEquals(1, interactionSignatureService.removeOrphanSignatures());
+        Assert.assertEquals(2, getSignatures(interaction.getAc()).size());
+    }
+
+    private List<InteractionSignature> getSignatures(String interactionAc) {
+        return getEntityManager().createQuery("select s from InteractionSignature s where s.interactionAc = :ac " +
+                                              "order by s.identityId", InteractionSignature.class)
+                .setParameter("ac", interactionAc)
+                .getResultList();
+    }
+}
@@ -0,0 +1,81 @@
+package uk.ac.ebi.intact.core.persistence.svc.impl;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import uk.ac.ebi.intact.core.persistence.svc.RangeValidationReport;
+import uk.ac.ebi.intact.core.persistence.svc.RangeValidationService;
+import uk.ac.ebi.intact.core.unit.IntactBasicTestCase;
+import uk.ac.ebi.intact.model.*;
+import uk.ac.ebi.intact.model.util.FeatureUtils;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * RangeValidationServiceImpl tester.
+ *
+ * @version $Id$
+ */
+public class RangeValidationServiceImplTest extends IntactBasicTestCase {
+
+    @Autowired
+    private RangeValidationService rangeValidationService;
+
+    @Test
+    public void validateRanges() throws Exception {
+        Range valid = getMockBuilder().createRange(1, 1, 3, 3);
+        Range outOfBounds = getMockBuilder().createRange(5, 5, 20, 20);
+        Protein protein = createProteinWithRanges("AAGCTTPPMK", valid, outOfBounds);
+
+        Range otherRange = getMockBuilder().createRange(2, 2, 4, 4);
+        Protein other = createProteinWithRanges("MKAAGCT", otherRange);
+
+        RangeValidationReport report = rangeValidationService.validateRanges(Arrays.asList(protein.getAc(), other.getAc()));
+
+        Assert.assertEquals(2, report.getInteractorCount());
+        Assert.assertEquals(3, report.getRangeCount());
+        Assert.assertEquals(1, report.getBadRanges().size());
+
+        RangeValidationReport.BadRange badRange = report.getBadRanges().get(0);
+        Assert.assertEquals(outOfBounds.getAc(), badRange.getRangeAc());
+        Assert.assertEquals(protein.getAc(), badRange.getInteractorAc());
+        Assert.assertEquals(FeatureUtils.getBadRangeInfo(outOfBounds, protein.getSequence()), badRange.getMessage());
+
+        Assert.assertEquals(0, rangeValidationService.validateRanges(Collections.singleton(other.getAc())).getBadRanges().size());
+        Assert.assertEquals(0, rangeValidationService.validateRanges(Collections.<String>emptyList()).getRangeCount());
+    }
+
+    @Test
+    public void validateAllRanges() throws Exception {
+        Range outOfBounds = getMockBuilder().createRange(5, 5, 20, 20);
+        Protein protein = createProteinWithRanges("AAGCTTPPMK", outOfBounds);
+
+        RangeValidationReport report = rangeValidationService.validateAllRanges();
+
+        Assert.assertEquals(getDaoFactory().getRangeDao().countAll(), report.getRangeCount());
+
+        List<RangeValidationReport.BadRange> badRanges = report.getBadRanges();
+        Assert.assertEquals(1, badRanges.size());
+        Assert.assertEquals(outOfBounds.getAc(), badRanges.get(0).getRangeAc());
+        Assert.assertEquals(protein.getAc(), badRanges.get(0).getInteractorAc());
+    }
+
+    private Protein createProteinWithRanges(String sequence, Range... ranges) {
+        Protein protein = getMockBuilder().createProteinRandom();
+        protein.setSequence(sequence);
+
+        Component component = getMockBuilder().createComponentNeutral(protein);
+        Feature feature = getMockBuilder().createFeatureRandom();
+        component.addFeature(feature);
+
+        for (Range range : ranges) {
+            feature.addRange(range);
+        }
+
+        getCorePersister().saveOrUpdate(component.getInteraction());
+
+        return protein;
+    }
+}
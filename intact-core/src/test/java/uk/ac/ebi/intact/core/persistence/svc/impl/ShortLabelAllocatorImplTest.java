@@ -0,0 +1,108 @@
+package uk.ac.ebi.intact.core.persistence.svc.impl;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.transaction.TransactionStatus;
+import uk.ac.ebi.intact.core.persistence.svc.ShortLabelAllocator;
+import uk.ac.ebi.intact.core.unit.IntactBasicTestCase;
+import uk.ac.ebi.intact.model.Experiment;
+import uk.ac.ebi.intact.model.Interaction;
+import uk.ac.ebi.intact.model.util.ExperimentUtils;
+import uk.ac.ebi.intact.model.util.InteractionShortLabelGenerator;
+
+/**
+ * ShortLabelAllocatorImpl tester.
+ *
+ * @version $Id$
+ */
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+public class ShortLabelAllocatorImplTest extends IntactBasicTestCase {
+
+    @Autowired
+    private ShortLabelAllocator shortLabelAllocator;
+
+    @After
+    public void endLoad() throws Exception {
+        shortLabelAllocator.endLoad();
+    }
+
+    @Test
+    public void reserveSuffixes() throws Exception {
+        Assert.assertEquals(0, shortLabelAllocator.reserveSuffixes(ShortLabelAllocator.LabelType.INTERACTION, "a-b", 10));
+        Assert.assertEquals(10, shortLabelAllocator.reserveSuffixes(ShortLabelAllocator.LabelType.INTERACTION, "a-b", 5));
+        Assert.assertEquals(0, shortLabelAllocator.reserveSuffixes(ShortLabelAllocator.LabelType.INTERACTION, "a-c", 1));
+
+        Assert.assertEquals(1, shortLabelAllocator.reserveSuffixes(ShortLabelAllocator.LabelType.EXPERIMENT, "a-b", 3));
+        Assert.assertEquals(4, shortLabelAllocator.reserveSuffixes(ShortLabelAllocator.LabelType.EXPERIMENT, "a-b", 3));
+    }
+
+    @Test
+    public void nextShortLabel_interaction() throws Exception {
+        shortLabelAllocator.beginLoad(2);
+
+        Assert.assertEquals("a-b", shortLabelAllocator.nextShortLabel(ShortLabelAllocator.LabelType.INTERACTION, "a-b"));
+        Assert.assertEquals("a-b-1", shortLabelAllocator.nextShortLabel(ShortLabelAllocator.LabelType.INTERACTION, "a-b"));
+        Assert.assertEquals("a-b-2", shortLabelAllocator.nextShortLabel(ShortLabelAllocator.LabelType.INTERACTION, "a-b"));
+        Assert.assertEquals("a-c", shortLabelAllocator.nextShortLabel(ShortLabelAllocator.LabelType.INTERACTION, "a-c"));
+
+        Assert.assertEquals("a-b-3", InteractionShortLabelGenerator.nextAvailableShortlabel("a-b-1"));
+    }
+
+    @Test
+    public void nextShortLabel_existingLabels() throws Exception {
+        getIntactContext().getConfig().setAutoUpdateInteractionLabel(false);
+
+        Interaction interaction = getMockBuilder().createInteractionRandomBinary();
+        interaction.setShortLabel("a-b-4");
+
+        TransactionStatus transactionStatus = getDataContext().beginTransaction();
+        getCorePersister().saveOrUpdate(interaction);
+        getDataContext().commitTransaction(transactionStatus);
+
+        shortLabelAllocator.beginLoad(10);
+
+        Assert.assertEquals("a-b-5", shortLabelAllocator.nextShortLabel(ShortLabelAllocator.LabelType.INTERACTION, "a-b"));
+
+        // a label created without the allocator, inside the next block
+        Interaction other = getMockBuilder().createInteractionRandomBinary();
+        other.setShortLabel("a-b-20");
+
+        transactionStatus = getDataContext().beginTransaction();
+        getCorePersister().saveOrUpdate(other);
+        getDataContext().commitTransaction(transactionStatus);
+
+        Assert.assertEquals(21, shortLabelAllocator.reserveSuffixes(ShortLabelAllocator.LabelType.INTERACTION, "a-b", 10));
+    }
+
+    @Test
+    public void nextShortLabel_experiment() throws Exception {
+        getIntactContext().getConfig().setAutoUpdateExperimentLabel(false);
+
+        Experiment experiment = getMockBuilder().createExperimentEmpty("smith-2007-2");
+
+        TransactionStatus transactionStatus = getDataContext().beginTransaction();
+        getCorePersister().saveOrUpdate(experiment);
+        getDataContext().commitTransaction(transactionStatus);
+
+        shortLabelAllocator.beginLoad(5);
+
+        Assert.assertEquals("smith-2007-3", shortLabelAllocator.nextShortLabel(ShortLabelAllocator.LabelType.EXPERIMENT, "smith-2007"));
+        Assert.assertEquals("smith-2007-4", shortLabelAllocator.nextShortLabel(ShortLabelAllocator.LabelType.EXPERIMENT, "smith-2007"));
+        Assert.assertEquals("jones-2007-1", shortLabelAllocator.nextShortLabel(ShortLabelAllocator.LabelType.EXPERIMENT, "jones-2007"));
+    }
+
+    @Test
+    public void nextShortLabel_noLoad() throws Exception {
+        Assert.assertEquals("a-b", shortLabelAllocator.nextShortLabel(ShortLabelAllocator.LabelType.INTERACTION, "a-b"));
+        Assert.assertEquals("a-b-1", InteractionShortLabelGenerator.nextAvailableShortlabel("a-b"));
+        Assert.assertEquals("a-b-2", InteractionShortLabelGenerator.nextAvailableShortlabel("a-b-1"));
+
+        Assert.assertEquals("smith-2007-1", ExperimentUtils.syncShortLabelWithDb("smith-2007", null));
+        Assert.assertEquals("smith-2007-2", ExperimentUtils.syncShortLabelWithDb("smith-2007", null));
+
+        Assert.assertEquals(3, shortLabelAllocator.reserveSuffixes(ShortLabelAllocator.LabelType.INTERACTION, "a-b", 1));
+    }
+}
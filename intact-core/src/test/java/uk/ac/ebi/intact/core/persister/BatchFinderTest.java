@@ -0,0 +1,65 @@
+package uk.ac.ebi.intact.core.persister;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.Assert;
+import org.junit.Test;
+import uk.ac.ebi.intact.core.unit.IntactBasicTestCase;
+import uk.ac.ebi.intact.model.AnnotatedObject;
+import uk.ac.ebi.intact.model.IntactEntry;
+import uk.ac.ebi.intact.model.user.Role;
+import uk.ac.ebi.intact.model.user.User;
+
+/**
+ * Compares the statements issued to persist an entry, with and without resolving the ACs in bulk.
+ *
+ * @version $Id$
+ * @since 3.1.0
+ */
+public class BatchFinderTest extends IntactBasicTestCase {
+
+    @Test
+    public void persistEntry_fewerStatements() throws Exception {
+        final Finder batchFinder = (Finder) getSpringContext().getBean("finder");
+
+        // hides the batch capabilities of the finder
+        final Finder singleFinder = new Finder() {
+            public String findAc(AnnotatedObject annotatedObject) {
+                return batchFinder.findAc(annotatedObject);
+            }
+
+            public String findAc(Role role) {
+                return batchFinder.findAc(role);
+            }
+
+            public String findAc(User user) {
+                return batchFinder.findAc(user);
+            }
+        };
+
+        // the batch finder goes first, so the CVs it creates are already there for the other one
+        final long batch = countStatements(new CorePersisterImpl(getIntactContext(), batchFinder));
+        final long single = countStatements(new CorePersisterImpl(getIntactContext(), singleFinder));
+
+        Assert.assertTrue("Batch: " + batch + ", one query per object: " + single, batch < single);
+    }
+
+    private long countStatements(CorePersister persister) {
+        IntactEntry entry = getMockBuilder().createIntactEntryRandom(2, 20, 20);
+
+        final Statistics statistics = getEntityManager().getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        final boolean statisticsEnabled = statistics.isStatisticsEnabled();
+
+        try {
+            statistics.setStatisticsEnabled(true);
+            statistics.clear();
+
+            persister.saveOrUpdate(entry);
+
+            return statistics.getPrepareStatementCount();
+        } finally {
+            statistics.setStatisticsEnabled(statisticsEnabled);
+            getEntityManager().clear();
+        }
+    }
+}
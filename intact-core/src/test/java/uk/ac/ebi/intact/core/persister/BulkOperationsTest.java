@@ -19,10 +19,8 @@ import org.junit.Assert;
 import org.junit.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import uk.ac.ebi.intact.core.unit.IntactBasicTestCase;
-import uk.ac.ebi.intact.model.Annotation;
-import uk.ac.ebi.intact.model.CvTopic;
-import uk.ac.ebi.intact.model.Protein;
-import uk.ac.ebi.intact.model.ProteinImpl;
+import uk.ac.ebi.intact.model.*;
+import uk.ac.ebi.intact.model.util.XrefUtils;
 
 /**
  * TODO comment this class header.
@@ -128,4 +126,200 @@ public class BulkOperationsTest extends IntactBasicTestCase{
         Assert.assertEquals(0, refreshedProt3.getAnnotations().size());
         Assert.assertEquals(2, refreshedProt4.getAnnotations().size());
     }
+
+    @Test
+    public void testAddAnnotation_unknownAc() throws Exception {
+        Protein prot1 = getMockBuilder().createProteinRandom();
+        prot1.getAnnotations().clear();
+
+        CvTopic topic = getMockBuilder().createCvObject(CvTopic.class, null, CvTopic.NON_UNIPROT);
+
+        getCorePersister().saveOrUpdate(prot1, topic);
+
+        Annotation annot = new Annotation(getMockBuilder().createCvObject(CvTopic.class, null, CvTopic.NON_UNIPROT), "Don't update");
+
+        String[] updatedAcs = bulkOperations.addAnnotation(annot, new String[] {prot1.getAc(), "UNKNOWN-1", prot1.getAc()}, ProteinImpl.class, false);
+
+        Assert.assertArrayEquals(new String[] {prot1.getAc()}, updatedAcs);
+        Assert.assertEquals(1, getDaoFactory().getProteinDao().getByAc(prot1.getAc()).getAnnotations().size());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testAddAnnotation_unknownTopic() throws Exception {
+        Protein prot1 = getMockBuilder().createProteinRandom();
+
+        getCorePersister().saveOrUpdate(prot1);
+
+        Annotation annot = new Annotation(getMockBuilder().createCvObject(CvTopic.class, null, "unknown topic"), "Text");
+
+        bulkOperations.addAnnotation(annot, new String[] {prot1.getAc()}, ProteinImpl.class, false);
+    }
+
+    @Test
+    public void testReplaceAnnotationText() throws Exception {
+        Protein prot1 = getMockBuilder().createProteinRandom();
+        prot1.getAnnotations().clear();
+        prot1.addAnnotation(new Annotation(getMockBuilder().createCvObject(CvTopic.class, null, CvTopic.NON_UNIPROT), "Old text"));
+
+        Protein prot2 = getMockBuilder().createProteinRandom();
+        prot2.getAnnotations().clear();
+        prot2.addAnnotation(getMockBuilder().createAnnotation("Comment", CvTopic.COMMENT_MI_REF, CvTopic.COMMENT));
+
+        getCorePersister().saveOrUpdate(prot1, prot2);
+
+        CvTopic topic = getMockBuilder().createCvObject(CvTopic.class, null, CvTopic.NON_UNIPROT);
+
+        String[] updatedAcs = bulkOperations.replaceAnnotationText(topic, "New text", new String[] {prot1.getAc(), prot2.getAc()}, ProteinImpl.class);
+
+        Assert.assertArrayEquals(new String[] {prot1.getAc()}, updatedAcs);
+
+        Protein refreshedProt1 = getDaoFactory().getProteinDao().getByAc(prot1.getAc());
+        Assert.assertEquals(1, refreshedProt1.getAnnotations().size());
+        Assert.assertEquals("New text", refreshedProt1.getAnnotations().iterator().next().getAnnotationText());
+
+        Protein refreshedProt2 = getDaoFactory().getProteinDao().getByAc(prot2.getAc());
+        Assert.assertEquals("Comment", refreshedProt2.getAnnotations().iterator().next().getAnnotationText());
+    }
+
+    @Test
+    public void testRemoveAnnotations() throws Exception {
+        Protein prot1 = getMockBuilder().createProteinRandom();
+        prot1.getAnnotations().clear();
+        prot1.addAnnotation(new Annotation(getMockBuilder().createCvObject(CvTopic.class, null, CvTopic.NON_UNIPROT), "To remove"));
+        prot1.addAnnotation(getMockBuilder().createAnnotation("Comment", CvTopic.COMMENT_MI_REF, CvTopic.COMMENT));
+
+        Protein prot2 = getMockBuilder().createProteinRandom();
+        prot2.getAnnotations().clear();
+        prot2.addAnnotation(new Annotation(getMockBuilder().createCvObject(CvTopic.class, null, CvTopic.NON_UNIPROT), "To keep"));
+
+        getCorePersister().saveOrUpdate(prot1, prot2);
+
+        final int annotationCount = getDaoFactory().getAnnotationDao().countAll();
+
+        CvTopic topic = getMockBuilder().createCvObject(CvTopic.class, null, CvTopic.NON_UNIPROT);
+
+        String[] updatedAcs = bulkOperations.removeAnnotations(topic, new String[] {prot1.getAc()}, ProteinImpl.class);
+
+        Assert.assertArrayEquals(new String[] {prot1.getAc()}, updatedAcs);
+        Assert.assertEquals(annotationCount - 1, getDaoFactory().getAnnotationDao().countAll());
+
+        Protein refreshedProt1 = getDaoFactory().getProteinDao().getByAc(prot1.getAc());
+        Assert.assertEquals(1, refreshedProt1.getAnnotations().size());
+        Assert.assertEquals(CvTopic.COMMENT, refreshedProt1.getAnnotations().iterator().next().getCvTopic().getShortLabel());
+
+        Assert.assertEquals(1, getDaoFactory().getProteinDao().getByAc(prot2.getAc()).getAnnotations().size());
+    }
+
+    @Test
+    public void testReplaceAnnotationText_sharedAnnotation() throws Exception {
+        Protein prot1 = getMockBuilder().createProteinRandom();
+        prot1.getAnnotations().clear();
+        prot1.addAnnotation(new Annotation(getMockBuilder().createCvObject(CvTopic.class, null, CvTopic.NON_UNIPROT), "Old text"));
+
+        Protein prot2 = getMockBuilder().createProteinRandom();
+        prot2.getAnnotations().clear();
+
+        getCorePersister().saveOrUpdate(prot1, prot2);
+
+        shareAnnotations(prot1, prot2);
+
+        final int annotationCount = getDaoFactory().getAnnotationDao().countAll();
+
+        CvTopic topic = getMockBuilder().createCvObject(CvTopic.class, null, CvTopic.NON_UNIPROT);
+
+        String[] updatedAcs = bulkOperations.replaceAnnotationText(topic, "New text", new String[] {prot1.getAc()}, ProteinImpl.class);
+
+        Assert.assertArrayEquals(new String[] {prot1.getAc()}, updatedAcs);
+        Assert.assertEquals(annotationCount + 1, getDaoFactory().getAnnotationDao().countAll());
+
+        Protein refreshedProt1 = getDaoFactory().getProteinDao().getByAc(prot1.getAc());
+        Assert.assertEquals(1, refreshedProt1.getAnnotations().size());
+        Assert.assertEquals("New text", refreshedProt1.getAnnotations().iterator().next().getAnnotationText());
+
+        Protein refreshedProt2 = getDaoFactory().getProteinDao().getByAc(prot2.getAc());
+        Assert.assertEquals(1, refreshedProt2.getAnnotations().size());
+        Assert.assertEquals("Old text", refreshedProt2.getAnnotations().iterator().next().getAnnotationText());
+    }
+
+    @Test
+    public void testRemoveAnnotations_sharedAnnotation() throws Exception {
+        Protein prot1 = getMockBuilder().createProteinRandom();
+        prot1.getAnnotations().clear();
+        prot1.addAnnotation(new Annotation(getMockBuilder().createCvObject(CvTopic.class, null, CvTopic.NON_UNIPROT), "Shared"));
+
+        Protein prot2 = getMockBuilder().createProteinRandom();
+        prot2.getAnnotations().clear();
+
+        getCorePersister().saveOrUpdate(prot1, prot2);
+
+        shareAnnotations(prot1, prot2);
+
+        final int annotationCount = getDaoFactory().getAnnotationDao().countAll();
+
+        CvTopic topic = getMockBuilder().createCvObject(CvTopic.class, null, CvTopic.NON_UNIPROT);
+
+        String[] updatedAcs = bulkOperations.removeAnnotations(topic, new String[] {prot1.getAc()}, ProteinImpl.class);
+
+        Assert.assertArrayEquals(new String[] {prot1.getAc()}, updatedAcs);
+        Assert.assertEquals(annotationCount, getDaoFactory().getAnnotationDao().countAll());
+
+        Assert.assertEquals(0, getDaoFactory().getProteinDao().getByAc(prot1.getAc()).getAnnotations().size());
+        Assert.assertEquals(1, getDaoFactory().getProteinDao().getByAc(prot2.getAc()).getAnnotations().size());
+    }
+
+    @Test
+    public void testRemove_unknownCvObjects() throws Exception {
+        Protein prot1 = getMockBuilder().createProteinRandom();
+
+        getCorePersister().saveOrUpdate(prot1);
+
+        final int cvObjectCount = getDaoFactory().getCvObjectDao().countAll();
+
+        CvTopic topic = getMockBuilder().createCvObject(CvTopic.class, null, "unknown topic");
+        CvDatabase database = getMockBuilder().createCvObject(CvDatabase.class, null, "unknown database");
+
+        Assert.assertEquals(0, bulkOperations.replaceAnnotationText(topic, "Text", new String[] {prot1.getAc()}, ProteinImpl.class).length);
+        Assert.assertEquals(0, bulkOperations.removeAnnotations(topic, new String[] {prot1.getAc()}, ProteinImpl.class).length);
+        Assert.assertEquals(0, bulkOperations.removeXrefs(database, null, new String[] {prot1.getAc()}, ProteinImpl.class).length);
+
+        // the CVs are not created
+        Assert.assertEquals(cvObjectCount, getDaoFactory().getCvObjectDao().countAll());
+    }
+
+    @Test
+    public void testAddAndRemoveXrefs() throws Exception {
+        Protein prot1 = getMockBuilder().createProteinRandom();
+        Protein prot2 = getMockBuilder().createProteinRandom();
+
+        CvDatabase go = getMockBuilder().createCvObject(CvDatabase.class, CvDatabase.GO_MI_REF, CvDatabase.GO);
+
+        getCorePersister().saveOrUpdate(prot1, prot2, go);
+
+        final int xrefCount = getDaoFactory().getProteinDao().getByAc(prot1.getAc()).getXrefs().size();
+        InteractorXref xref = new InteractorXref(getMockBuilder().getInstitution(), go, "GO:0005634", null);
+
+        String[] addedAcs = bulkOperations.addXref(xref, new String[] {prot1.getAc(), prot2.getAc()}, ProteinImpl.class);
+
+        Assert.assertArrayEquals(new String[] {prot1.getAc(), prot2.getAc()}, addedAcs);
+
+        Protein refreshedProt1 = getDaoFactory().getProteinDao().getByAc(prot1.getAc());
+        Assert.assertEquals(xrefCount + 1, refreshedProt1.getXrefs().size());
+        Assert.assertEquals(1, XrefUtils.getXrefsFilteredByDatabase(refreshedProt1, CvDatabase.GO_MI_REF).size());
+
+        String[] removedAcs = bulkOperations.removeXrefs(go, "GO:0005634", new String[] {prot1.getAc()}, ProteinImpl.class);
+
+        Assert.assertArrayEquals(new String[] {prot1.getAc()}, removedAcs);
+        Assert.assertEquals(xrefCount, getDaoFactory().getProteinDao().getByAc(prot1.getAc()).getXrefs().size());
+        Assert.assertEquals(xrefCount + 1, getDaoFactory().getProteinDao().getByAc(prot2.getAc()).getXrefs().size());
+    }
+
+    /**
+     * Adds the annotations of the first protein to the second one.
+     */
+    private void shareAnnotations(Protein prot1, Protein prot2) {
+        Protein persistentProt2 = getDaoFactory().getProteinDao().getByAc(prot2.getAc());
+        persistentProt2.getAnnotations().addAll(getDaoFactory().getProteinDao().getByAc(prot1.getAc()).getAnnotations());
+
+        getEntityManager().flush();
+    }
 }
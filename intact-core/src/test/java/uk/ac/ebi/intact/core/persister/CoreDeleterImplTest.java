@@ -6,8 +6,10 @@ import org.springframework.transaction.TransactionStatus;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import uk.ac.ebi.intact.core.unit.IntactBasicTestCase;
-import uk.ac.ebi.intact.model.Experiment;
-import uk.ac.ebi.intact.model.Interaction;
+import uk.ac.ebi.intact.model.*;
+
+import java.util.Arrays;
+import java.util.Collections;
 
 /**
  * @author Bruno Aranda (baranda@ebi.ac.uk)
@@ -43,4 +45,137 @@ public class CoreDeleterImplTest extends IntactBasicTestCase {
 
         getDataContext().commitTransaction(transactionStatus2);
     }
+
+    @Test
+    @Transactional(propagation = Propagation.NEVER)
+    public void delete_updatesSignatures() throws Exception {
+        TransactionStatus transactionStatus = getDataContext().beginTransaction();
+
+        Interaction interaction = getMockBuilder().createInteraction("P1", "P2", "P3");
+        getCorePersister().saveOrUpdate(interaction);
+
+        getDataContext().commitTransaction(transactionStatus);
+
+        Component componentP3 = null;
+
+        for (Component component : interaction.getComponents()) {
+            if ("P3".equalsIgnoreCase(component.getInteractor().getShortLabel())) {
+                componentP3 = component;
+            }
+        }
+
+        getCoreDeleter().delete(componentP3);
+
+        TransactionStatus transactionStatus2 = getDataContext().beginTransaction();
+        Assert.assertEquals(0, getDaoFactory().getInteractionDao().getByInteractorsIdentity(false, "P3").size());
+        Assert.assertEquals(1, getDaoFactory().getInteractionDao().getByInteractorsIdentity(true, "P1", "P2").size());
+        getDataContext().commitTransaction(transactionStatus2);
+
+        getCoreDeleter().delete(interaction);
+
+        TransactionStatus transactionStatus3 = getDataContext().beginTransaction();
+        Assert.assertEquals(0, getDaoFactory().getInteractionDao().getByInteractorsIdentity(false, "P1").size());
+        getDataContext().commitTransaction(transactionStatus3);
+    }
+
+    @Test
+    public void deletePublicationCascade_dryRun() throws Exception {
+        Experiment exp = getMockBuilder().createExperimentRandom(2);
+        getCorePersister().saveOrUpdate(exp);
+
+        DeletionReport report = getCoreDeleter().deletePublicationCascade(exp.getPublication().getAc(), true);
+
+        Assert.assertTrue(report.isDryRun());
+        Assert.assertEquals(1, report.getRowCount("ia_publication"));
+        Assert.assertEquals(1, report.getRowCount("ia_experiment"));
+        Assert.assertEquals(4, report.getRowCount("ia_component"));
+
+        Assert.assertEquals(1, getDaoFactory().getPublicationDao().countAll());
+        Assert.assertEquals(1, getDaoFactory().getExperimentDao().countAll());
+        Assert.assertEquals(2, getDaoFactory().getInteractionDao().countAll());
+        Assert.assertEquals(4, getDaoFactory().getComponentDao().countAll());
+    }
+
+    @Test
+    public void deletePublicationCascade() throws Exception {
+        Experiment exp = getMockBuilder().createExperimentRandom(2);
+        getCorePersister().saveOrUpdate(exp);
+
+        final int proteinCount = getDaoFactory().getProteinDao().countAll();
+
+        DeletionReport report = getCoreDeleter().deletePublicationCascade(exp.getPublication().getAc(), false);
+
+        Assert.assertFalse(report.isDryRun());
+        Assert.assertEquals(4, report.getRowCount("ia_component"));
+
+        Assert.assertEquals(0, getDaoFactory().getPublicationDao().countAll());
+        Assert.assertEquals(0, getDaoFactory().getExperimentDao().countAll());
+        Assert.assertEquals(0, getDaoFactory().getInteractionDao().countAll());
+        Assert.assertEquals(0, getDaoFactory().getComponentDao().countAll());
+        Assert.assertEquals(0, getDaoFactory().getFeatureDao().countAll());
+        Assert.assertEquals(0, getDaoFactory().getRangeDao().countAll());
+        Assert.assertEquals(proteinCount, getDaoFactory().getProteinDao().countAll());
+    }
+
+    @Test
+    public void deleteAll_interactionInOtherExperiment() throws Exception {
+        Experiment exp = getMockBuilder().createExperimentRandom(2);
+        Experiment otherExp = getMockBuilder().createExperimentRandom(0);
+
+        Interaction sharedInteraction = exp.getInteractions().iterator().next();
+        otherExp.addInteraction(sharedInteraction);
+
+        getCorePersister().saveOrUpdate(exp, otherExp);
+
+        getCoreDeleter().deleteAll(Collections.singletonList(exp), false);
+
+        Assert.assertEquals(1, getDaoFactory().getExperimentDao().countAll());
+        Assert.assertEquals(1, getDaoFactory().getInteractionDao().countAll());
+        Assert.assertEquals(2, getDaoFactory().getComponentDao().countAll());
+
+        Interaction refreshedInteraction = getDaoFactory().getInteractionDao().getByAc(sharedInteraction.getAc());
+        Assert.assertEquals(1, refreshedInteraction.getExperiments().size());
+        Assert.assertEquals(otherExp.getAc(), refreshedInteraction.getExperiments().iterator().next().getAc());
+    }
+
+    @Test
+    public void deleteAll_sharedAnnotation() throws Exception {
+        Protein prot1 = getMockBuilder().createProteinRandom();
+        prot1.getAnnotations().clear();
+        prot1.addAnnotation(new Annotation(getMockBuilder().createCvObject(CvTopic.class, null, CvTopic.COMMENT), "Shared"));
+
+        Protein prot2 = getMockBuilder().createProteinRandom();
+        prot2.getAnnotations().clear();
+
+        getCorePersister().saveOrUpdate(prot1, prot2);
+
+        Protein persistentProt2 = getDaoFactory().getProteinDao().getByAc(prot2.getAc());
+        persistentProt2.getAnnotations().addAll(getDaoFactory().getProteinDao().getByAc(prot1.getAc()).getAnnotations());
+        getEntityManager().flush();
+
+        final int annotationCount = getDaoFactory().getAnnotationDao().countAll();
+
+        DeletionReport dryRunReport = getCoreDeleter().deleteAll(Arrays.asList(prot1), true);
+        Assert.assertEquals(0, dryRunReport.getRowCount("ia_annotation"));
+
+        DeletionReport report = getCoreDeleter().deleteAll(Arrays.asList(prot1), false);
+        Assert.assertEquals(0, report.getRowCount("ia_annotation"));
+        Assert.assertEquals(1, report.getRowCount("ia_interactor"));
+
+        getEntityManager().clear();
+
+        Assert.assertEquals(annotationCount, getDaoFactory().getAnnotationDao().countAll());
+        Assert.assertNull(getDaoFactory().getProteinDao().getByAc(prot1.getAc()));
+        Assert.assertEquals(1, getDaoFactory().getProteinDao().getByAc(prot2.getAc()).getAnnotations().size());
+    }
+
+    @Test(expected = IntactObjectDeleteException.class)
+    public void deleteAll_interactorStillUsed() throws Exception {
+        Experiment exp = getMockBuilder().createExperimentRandom(1);
+        getCorePersister().saveOrUpdate(exp);
+
+        Interactor interactor = exp.getInteractions().iterator().next().getComponents().iterator().next().getInteractor();
+
+        getCoreDeleter().deleteAll(Arrays.asList(interactor), false);
+    }
 }
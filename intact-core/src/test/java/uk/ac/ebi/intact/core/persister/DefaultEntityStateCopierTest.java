@@ -48,7 +48,7 @@ public class DefaultEntityStateCopierTest extends IntactBasicTestCase {
 
         target.add( 3 );
 
-        DefaultEntityStateCopier desc = new DefaultEntityStateCopier();
+        DefaultEntityStateCopier desc = newCopier();
 
         desc.copyCollection( source,target );
 
@@ -71,7 +71,7 @@ public class DefaultEntityStateCopierTest extends IntactBasicTestCase {
         target.add( 2 );
         target.add( 3 );
 
-        DefaultEntityStateCopier desc = new DefaultEntityStateCopier();
+        DefaultEntityStateCopier desc = newCopier();
 
         desc.copyCollection( source,target );
 
@@ -94,7 +94,7 @@ public class DefaultEntityStateCopierTest extends IntactBasicTestCase {
         target.add( 2 );
         target.add( 3 );
 
-        DefaultEntityStateCopier desc = new DefaultEntityStateCopier();
+        DefaultEntityStateCopier desc = newCopier();
 
         desc.copyCollection( source,target );
 
@@ -139,7 +139,7 @@ public class DefaultEntityStateCopierTest extends IntactBasicTestCase {
         Assert.assertEquals( "mouse", source.getBioSource().getShortLabel() );
         Assert.assertEquals( "mouseUpdated", target.getBioSource().getShortLabel() );
 
-        DefaultEntityStateCopier copier = new DefaultEntityStateCopier();
+        DefaultEntityStateCopier copier = newCopier();
         copier.copyInteractorCommons( source, target );
 
         //after copying
@@ -175,9 +175,13 @@ public class DefaultEntityStateCopierTest extends IntactBasicTestCase {
 
         CvTopic topicDest = new CvTopic("url2");
 
-        EntityStateCopier copier = new DefaultEntityStateCopier();
+        EntityStateCopier copier = newCopier();
         boolean copied = copier.copy(topicSource, topicDest);
 
         Assert.assertTrue(copied);
     }
+
+    protected DefaultEntityStateCopier newCopier() {
+        return new DefaultEntityStateCopier();
+    }
 }
@@ -10,6 +10,8 @@ import uk.ac.ebi.intact.model.*;
 import uk.ac.ebi.intact.model.clone.IntactCloner;
 
 import javax.persistence.FlushModeType;
+import java.util.Arrays;
+import java.util.Map;
 
 /**
  * DefaultFinder Tester.
@@ -219,6 +221,42 @@ public class DefaultFinderTest extends IntactBasicTestCase {
         Assert.assertNull( finder.findAc( getMockBuilder().createInteraction( "P12345", "Q98765", "P78634" ) ) );
     }
 
+    @Test
+    public void findAcs_interactions() throws Exception {
+        final Interaction i = getMockBuilder().createDeterministicInteraction();
+        getCorePersister().saveOrUpdate( i );
+
+        final Interaction same = getMockBuilder().createDeterministicInteraction();
+        final Interaction other = getMockBuilder().createInteraction( "P12345", "Q98765", "P78634" );
+
+        final Map<AnnotatedObject, String> acs = ( ( BatchFinder ) finder ).findAcs( Arrays.asList( same, other ) );
+
+        Assert.assertEquals( 2, acs.size() );
+        Assert.assertEquals( i.getAc(), acs.get( same ) );
+        Assert.assertTrue( acs.containsKey( other ) );
+        Assert.assertNull( acs.get( other ) );
+    }
+
+    @Test
+    public void findAcs_interactorsAndBioSources() throws Exception {
+        final Protein p = getMockBuilder().createProtein( "P12345", "foo" );
+        getCorePersister().saveOrUpdate( p );
+
+        final Protein same = getMockBuilder().createProtein( "P12345", "foo" );
+        final Protein other = getMockBuilder().createProtein( "Q00001", "bar" );
+        final BioSource bioSource = getMockBuilder().createBioSource( Integer.parseInt( p.getBioSource().getTaxId() ), "lala" );
+
+        final Map<AnnotatedObject, String> acs = ( ( BatchFinder ) finder ).findAcs( Arrays.asList( same, other, bioSource ) );
+
+        Assert.assertEquals( p.getAc(), acs.get( same ) );
+        Assert.assertTrue( acs.containsKey( other ) );
+        Assert.assertNull( acs.get( other ) );
+        Assert.assertEquals( p.getBioSource().getAc(), acs.get( bioSource ) );
+
+        // the single object API must agree with the batch one
+        Assert.assertEquals( finder.findAc( getMockBuilder().createProtein( "P12345", "foo" ) ), acs.get( same ) );
+    }
+
     @Test
     public void findAcForInteractor_byAc() {
         final Protein p = getMockBuilder().createProtein( "P12345", "foo" );
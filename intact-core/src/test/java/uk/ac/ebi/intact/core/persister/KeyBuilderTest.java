@@ -0,0 +1,134 @@
+package uk.ac.ebi.intact.core.persister;
+
+import org.junit.Assert;
+import org.junit.Test;
+import uk.ac.ebi.intact.core.unit.IntactBasicTestCase;
+import uk.ac.ebi.intact.model.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * KeyBuilder tester.
+ *
+ * @version $Id$
+ */
+public class KeyBuilderTest extends IntactBasicTestCase {
+
+    @Test
+    public void keyFor_memoized() throws Exception {
+        KeyBuilder keyBuilder = new KeyBuilder();
+
+        Interaction interaction = getMockBuilder().createInteractionRandomBinary();
+        Component component = interaction.getComponents().iterator().next();
+
+        Key interactionKey = keyBuilder.keyFor(interaction);
+        Key componentKey = keyBuilder.keyFor(component);
+
+        Assert.assertSame(interactionKey, keyBuilder.keyFor(interaction));
+        Assert.assertSame(componentKey, keyBuilder.keyFor(component));
+        Assert.assertTrue(componentKey.getUniqueString().startsWith(interactionKey.getUniqueString()));
+
+        keyBuilder.clear();
+
+        Key recalculatedKey = keyBuilder.keyFor(interaction);
+        Assert.assertNotSame(interactionKey, recalculatedKey);
+        Assert.assertEquals(interactionKey, recalculatedKey);
+    }
+
+    @Test
+    public void keyFor_equalObjects() throws Exception {
+        KeyBuilder keyBuilder = new KeyBuilder();
+
+        CvTopic topic1 = getMockBuilder().createCvObject(CvTopic.class, "IA:0001", "topic");
+        CvTopic topic2 = getMockBuilder().createCvObject(CvTopic.class, "IA:0001", "topic");
+
+        Assert.assertNotSame(keyBuilder.keyFor(topic1), keyBuilder.keyFor(topic2));
+        Assert.assertEquals(keyBuilder.keyFor(topic1), keyBuilder.keyFor(topic2));
+    }
+
+    @Test
+    public void keyFor_withAc() throws Exception {
+        KeyBuilder keyBuilder = new KeyBuilder();
+
+        Protein protein = getMockBuilder().createProteinRandom();
+        Key keyWithoutAc = keyBuilder.keyFor(protein);
+
+        protein.setAc("EBI-1");
+
+        Assert.assertEquals("EBI-1", keyBuilder.keyFor(protein).getUniqueString());
+        Assert.assertFalse(keyWithoutAc.equals(keyBuilder.keyFor(protein)));
+    }
+
+    @Test
+    public void keyForComponent_interactionWithAc() throws Exception {
+        KeyBuilder keyBuilder = new KeyBuilder();
+
+        Interaction interaction = getMockBuilder().createInteractionRandomBinary();
+        interaction.setAc("EBI-1");
+
+        Component component = interaction.getComponents().iterator().next();
+
+        Key componentKey = keyBuilder.keyFor(component);
+        Assert.assertSame(componentKey, keyBuilder.keyFor(component));
+        Assert.assertFalse(componentKey.getUniqueString().startsWith("EBI-1"));
+    }
+
+    @Test
+    public void keyFor_calculatedOnce() throws Exception {
+        List<AnnotatedObject> objects = new ArrayList<AnnotatedObject>();
+
+        for (int i = 0; i < 20; i++) {
+            Interaction interaction = getMockBuilder().createInteraction(
+                    getMockBuilder().createComponentBait(getMockBuilder().createDeterministicProtein("P" + i, "bait" + i)),
+                    getMockBuilder().createComponentPrey(getMockBuilder().createProteinRandom()),
+                    getMockBuilder().createComponentPrey(getMockBuilder().createProteinRandom()));
+
+            objects.add(interaction);
+
+            for (Component component : interaction.getComponents()) {
+                objects.add(component);
+                objects.add(component.getInteractor());
+            }
+        }
+
+        final AtomicInteger calculations = new AtomicInteger();
+
+        KeyBuilder keyBuilder = new KeyBuilder() {
+            @Override
+            protected Key keyForInteraction(Interaction interaction) {
+                calculations.incrementAndGet();
+                return super.keyForInteraction(interaction);
+            }
+
+            @Override
+            protected Key keyForInteractor(Interactor interactor) {
+                calculations.incrementAndGet();
+                return super.keyForInteractor(interactor);
+            }
+
+            @Override
+            protected Key keyForComponent(Component component) {
+                calculations.incrementAndGet();
+                return super.keyForComponent(component);
+            }
+        };
+
+        // the first pass calculates the keys, the following ones get them from the cache
+        for (int pass = 0; pass < 5; pass++) {
+            for (AnnotatedObject ao : objects) {
+                keyBuilder.keyFor(ao);
+            }
+        }
+
+        // the keys of the components are calculated with the key of their interaction
+        Assert.assertEquals(20 + 60, calculations.get());
+
+        KeyBuilder freshKeyBuilder = new KeyBuilder();
+
+        for (AnnotatedObject ao : objects) {
+            Assert.assertEquals(freshKeyBuilder.keyFor(ao), keyBuilder.keyFor(ao));
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package uk.ac.ebi.intact.core.persister;
+
+import org.junit.Assert;
+import org.junit.Test;
+import uk.ac.ebi.intact.model.Interaction;
+import uk.ac.ebi.intact.model.clone.IntactCloner;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * MethodHandleEntityStateCopier tester, also running the tests of DefaultEntityStateCopierTest.
+ *
+ * @version $Id$
+ */
+public class MethodHandleEntityStateCopierTest extends DefaultEntityStateCopierTest {
+
+    @Override
+    protected DefaultEntityStateCopier newCopier() {
+        return new MethodHandleEntityStateCopier();
+    }
+
+    @Test
+    public void copy_sameChangesAsDefault() throws Exception {
+        Interaction source = getMockBuilder().createInteractionRandomBinary();
+        source.setAc( "EBI-1" );
+
+        Interaction defaultTarget = new IntactCloner().cloneInteraction( getMockBuilder().createInteractionRandomBinary() );
+        defaultTarget.setAc( "EBI-1" );
+        Interaction target = new IntactCloner().cloneInteraction( defaultTarget );
+        target.setAc( "EBI-1" );
+
+        Assert.assertEquals( new DefaultEntityStateCopier().copy( source, defaultTarget ), newCopier().copy( source, target ) );
+
+        Assert.assertEquals( defaultTarget.getShortLabel(), target.getShortLabel() );
+        Assert.assertEquals( defaultTarget.getCvInteractionType(), target.getCvInteractionType() );
+        Assert.assertEquals( defaultTarget.getBioSource(), target.getBioSource() );
+        Assert.assertEquals( defaultTarget.getComponents().size(), target.getComponents().size() );
+    }
+
+    @Test
+    public void copyProperties() throws Throwable {
+        Interaction source = getMockBuilder().createInteractionRandomBinary();
+        source.setAc( "EBI-1" );
+
+        Interaction target = getMockBuilder().createInteractionRandomBinary();
+
+        PropertyAccessors.copyProperties( source, target );
+
+        Assert.assertEquals( "EBI-1", target.getAc() );
+        Assert.assertEquals( source.getShortLabel(), target.getShortLabel() );
+        Assert.assertSame( source.getComponents(), target.getComponents() );
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void getProperty_unknown() throws Throwable {
+        PropertyAccessors.getProperty( getMockBuilder().createInteractionRandomBinary(), "unknownProperty" );
+    }
+
+    @Test
+    public void copyProperties_differentTypes() throws Throwable {
+        LabelBean source = new LabelBean();
+        source.setLabel( "label" );
+        source.setCount( 3 );
+
+        CountBean target = new CountBean();
+        target.setLabel( 5 );
+
+        PropertyAccessors.copyProperties( source, target );
+
+        Assert.assertEquals( Integer.valueOf( 5 ), target.getLabel() );
+        Assert.assertEquals( 3, target.getCount() );
+    }
+
+    @Test
+    public void copy_sameAccessesAsDefault() throws Exception {
+        final List<String> defaultAccesses = new ArrayList<String>();
+        final List<String> accesses = new ArrayList<String>();
+
+        DefaultEntityStateCopier defaultCopier = new DefaultEntityStateCopier() {
+            @Override
+            protected Object getProperty( Object bean, String propertyName ) throws Throwable {
+                defaultAccesses.add( "get " + propertyName );
+                return super.getProperty( bean, propertyName );
+            }
+
+            @Override
+            protected void setProperty( Object bean, String propertyName, Object value ) throws Throwable {
+                defaultAccesses.add( "set " + propertyName );
+                super.setProperty( bean, propertyName, value );
+            }
+        };
+
+        DefaultEntityStateCopier copier = new MethodHandleEntityStateCopier() {
+            @Override
+            protected Object getProperty( Object bean, String propertyName ) throws Throwable {
+                accesses.add( "get " + propertyName );
+                return super.getProperty( bean, propertyName );
+            }
+
+            @Override
+            protected void setProperty( Object bean, String propertyName, Object value ) throws Throwable {
+                accesses.add( "set " + propertyName );
+                super.setProperty( bean, propertyName, value );
+            }
+        };
+
+        Interaction source = getMockBuilder().createInteractionRandomBinary();
+        source.setAc( "EBI-1" );
+
+        Interaction defaultTarget = new IntactCloner().cloneInteraction( getMockBuilder().createInteractionRandomBinary() );
+        defaultTarget.setAc( "EBI-1" );
+        Interaction target = new IntactCloner().cloneInteraction( defaultTarget );
+        target.setAc( "EBI-1" );
+
+        Assert.assertEquals( defaultCopier.copy( source, defaultTarget ), copier.copy( source, target ) );
+
+        Assert.assertFalse( accesses.isEmpty() );
+        Assert.assertEquals( defaultAccesses, accesses );
+    }
+
+    public static class LabelBean {
+
+        private String label;
+        private int count;
+
+        public String getLabel() {
+            return label;
+        }
+
+        public void setLabel( String label ) {
+            this.label = label;
+        }
+
+        public int getCount() {
+            return count;
+        }
+
+        public void setCount( int count ) {
+            this.count = count;
+        }
+    }
+
+    public static class CountBean {
+
+        private Integer label;
+        private int count;
+
+        public Integer getLabel() {
+            return label;
+        }
+
+        public void setLabel( Integer label ) {
+            this.label = label;
+        }
+
+        public int getCount() {
+            return count;
+        }
+
+        public void setCount( int count ) {
+            this.count = count;
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package uk.ac.ebi.intact.core.persister;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.springframework.test.annotation.DirtiesContext;
+import uk.ac.ebi.intact.core.unit.IntactBasicTestCase;
+import uk.ac.ebi.intact.model.*;
+
+import java.util.ArrayList;
+
+/**
+ * ParallelEntryPersister tester.
+ *
+ * @version $Id$
+ */
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+public class ParallelEntryPersisterTest extends IntactBasicTestCase {
+
+    @Test
+    public void saveOrUpdate_sharedObjects() throws Exception {
+        Experiment experiment = getMockBuilder().createExperimentRandom(20);
+        Protein sharedProtein = getMockBuilder().createProteinRandom();
+
+        for (Interaction interaction : experiment.getInteractions()) {
+            interaction.getComponents().iterator().next().setInteractor(sharedProtein);
+        }
+
+        IntactEntry entry = new IntactEntry(new ArrayList<Interaction>(experiment.getInteractions()));
+
+        new ParallelEntryPersister(getIntactContext(), 4, 3).saveOrUpdate(entry);
+
+        Assert.assertNotNull(experiment.getAc());
+        Assert.assertNotNull(sharedProtein.getAc());
+        Assert.assertEquals(20, experiment.getInteractions().size());
+
+        Assert.assertEquals(1, getDaoFactory().getExperimentDao().countAll());
+        Assert.assertEquals(1, getDaoFactory().getPublicationDao().countAll());
+        Assert.assertEquals(20, getDaoFactory().getInteractionDao().countAll());
+        Assert.assertEquals(21, getDaoFactory().getProteinDao().countAll());
+        Assert.assertEquals(40, getDaoFactory().getComponentDao().countAll());
+    }
+
+    @Test
+    public void saveOrUpdate_equivalentInstances() throws Exception {
+        Experiment experiment = getMockBuilder().createExperimentRandom(20);
+
+        for (Interaction interaction : experiment.getInteractions()) {
+            // the same protein and biosource, parsed again for each interaction
+            Protein protein = getMockBuilder().createProtein("P12345", "prot", getMockBuilder().createBioSource(9606, "human"));
+            interaction.getComponents().iterator().next().setInteractor(protein);
+        }
+
+        IntactEntry entry = new IntactEntry(new ArrayList<Interaction>(experiment.getInteractions()));
+
+        new ParallelEntryPersister(getIntactContext(), 4, 3).saveOrUpdate(entry);
+
+        Assert.assertEquals(20, getDaoFactory().getInteractionDao().countAll());
+        Assert.assertEquals(21, getDaoFactory().getProteinDao().countAll());
+        Assert.assertEquals(1, getDaoFactory().getProteinDao().getByUniprotId("P12345").size());
+        Assert.assertEquals(1, getDaoFactory().getBioSourceDao().getByTaxonId("9606").size());
+    }
+}
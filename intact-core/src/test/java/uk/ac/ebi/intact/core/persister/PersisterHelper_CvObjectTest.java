@@ -444,5 +444,36 @@ public class PersisterHelper_CvObjectTest extends IntactBasicTestCase {
         Assert.assertEquals("nana", reloadedTopic.getShortLabel());
     }
 
+    @Test
+    public void persist_bulkCommit_newCvsReferencingEachOther() throws Exception {
+        CvDatabase database = getMockBuilder().createCvObject(CvDatabase.class, "LALA:008", "lala-db");
+        CvTopic topic = getMockBuilder().createCvObject(CvTopic.class, "LALA:009", "lala-topic");
+
+        // each CV is referenced by the other one, so neither can be flushed before the other is persisted
+        database.addAnnotation(getMockBuilder().createAnnotation("lala", topic));
+        topic.addXref(getMockBuilder().createXref(topic, "lala-id", null, database));
+
+        CorePersister persister = getCorePersister();
+        persister.setBulkCommitEnabled(true);
+
+        try {
+            persister.saveOrUpdate(topic, database);
+        } finally {
+            persister.setBulkCommitEnabled(false);
+        }
+
+        CvTopic reloadedTopic = getDaoFactory().getCvObjectDao(CvTopic.class).getByPsiMiRef("LALA:009");
+        Assert.assertNotNull(reloadedTopic);
+
+        boolean databaseXrefFound = false;
+        for (CvObjectXref xref : reloadedTopic.getXrefs()) {
+            databaseXrefFound |= "lala-db".equals(xref.getCvDatabase().getShortLabel());
+        }
+        Assert.assertTrue(databaseXrefFound);
+
+        CvDatabase reloadedDatabase = getDaoFactory().getCvObjectDao(CvDatabase.class).getByPsiMiRef("LALA:008");
+        Assert.assertEquals("lala-topic", reloadedDatabase.getAnnotations().iterator().next().getCvTopic().getShortLabel());
+    }
+
 
 }
\ No newline at end of file
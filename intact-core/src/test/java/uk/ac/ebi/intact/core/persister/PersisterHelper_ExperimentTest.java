@@ -1,9 +1,12 @@
 package uk.ac.ebi.intact.core.persister;
 
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.Assert;
 import org.junit.Test;
 import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.transaction.TransactionStatus;
+import uk.ac.ebi.intact.core.persister.stats.PersisterStatistics;
 import uk.ac.ebi.intact.core.unit.IntactBasicTestCase;
 import uk.ac.ebi.intact.core.unit.IntactMockBuilder;
 import uk.ac.ebi.intact.model.*;
@@ -532,6 +535,83 @@ public class PersisterHelper_ExperimentTest extends IntactBasicTestCase {
         Assert.assertEquals(4, getDaoFactory().getProteinDao().countAll());
     }
 
+    @Test
+    public void persistExperiment_bulkCommit() throws Exception {
+        getIntactContext().getConfig().setPersisterBatchSize(5);
+        getIntactContext().getConfig().setPersisterClearInterval(1);
+
+        Experiment exp = getMockBuilder().createExperimentRandom(10);
+
+        CorePersister corePersister = getCorePersister();
+        corePersister.setBulkCommitEnabled(true);
+
+        final Statistics hibernateStatistics = getEntityManager().getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        final boolean statisticsEnabled = hibernateStatistics.isStatisticsEnabled();
+
+        PersisterStatistics stats;
+        long insertCount;
+
+        try {
+            hibernateStatistics.setStatisticsEnabled(true);
+            hibernateStatistics.clear();
+
+            stats = corePersister.saveOrUpdate(exp);
+
+            insertCount = hibernateStatistics.getEntityInsertCount();
+        } finally {
+            hibernateStatistics.setStatisticsEnabled(statisticsEnabled);
+            corePersister.setBulkCommitEnabled(false);
+            getIntactContext().getConfig().setPersisterClearInterval(0);
+        }
+
+        Assert.assertNotNull(exp.getAc());
+
+        // the session is only cleared once the commit is complete
+        Assert.assertFalse(getEntityManager().contains(exp));
+
+        Assert.assertEquals(1, getDaoFactory().getExperimentDao().countAll());
+        Assert.assertEquals(10, getDaoFactory().getInteractionDao().countAll());
+        Assert.assertEquals(20, getDaoFactory().getComponentDao().countAll());
+
+        // 10 interactions and 20 components at least, inserted 5 at a time
+        Assert.assertTrue(stats.getBatchCount() >= 6);
+        Assert.assertTrue("Batches: " + stats.getBatchCount() + ", inserts: " + insertCount, stats.getBatchCount() < insertCount);
+        Assert.assertTrue(stats.getFlushCount() > 0);
+    }
+
+    @Test
+    public void persist_withoutReload() throws Exception {
+        Experiment exp = getMockBuilder().createDeterministicExperiment();
+        Experiment duplicate = getMockBuilder().createDeterministicExperiment();
+
+        PersisterStatistics stats = getCorePersister().saveOrUpdateWithoutReload(exp, duplicate);
+
+        Assert.assertEquals(1, getDaoFactory().getExperimentDao().countAll());
+        Assert.assertNotNull(exp.getAc());
+        Assert.assertEquals(exp.getAc(), duplicate.getAc());
+
+        Assert.assertEquals(2, stats.getSkippedReloadCount());
+        Assert.assertEquals(1, stats.getSkippedFinderCount());
+        Assert.assertEquals(3, stats.getSavedRoundTripCount());
+    }
+
+    @Test
+    public void persist_skipReloadInConfiguration() throws Exception {
+        getIntactContext().getConfig().setSkipPersisterReload(true);
+
+        CorePersister corePersister = getCorePersister();
+        Assert.assertFalse(corePersister.isReloadEnabled());
+
+        Experiment exp = getMockBuilder().createExperimentRandom(2);
+
+        PersisterStatistics stats = corePersister.saveOrUpdate(exp);
+
+        Assert.assertNotNull(exp.getAc());
+        Assert.assertEquals(1, stats.getSkippedReloadCount());
+        Assert.assertEquals(0, stats.getSkippedFinderCount());
+        Assert.assertEquals(2, getDaoFactory().getInteractionDao().countAll());
+    }
+
     private Experiment reloadByAc(Experiment experiment) {
         return getDaoFactory().getExperimentDao().getByAc(experiment.getAc());
     }
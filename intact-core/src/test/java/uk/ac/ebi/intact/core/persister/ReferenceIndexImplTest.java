@@ -0,0 +1,108 @@
+package uk.ac.ebi.intact.core.persister;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import uk.ac.ebi.intact.core.unit.IntactBasicTestCase;
+import uk.ac.ebi.intact.model.BioSource;
+import uk.ac.ebi.intact.model.Interaction;
+import uk.ac.ebi.intact.model.InteractorImpl;
+import uk.ac.ebi.intact.model.Protein;
+import uk.ac.ebi.intact.model.ProteinImpl;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * ReferenceIndexImpl tester.
+ *
+ * @version $Id$
+ */
+public class ReferenceIndexImplTest extends IntactBasicTestCase {
+
+    @Autowired
+    private ReferenceIndex referenceIndex;
+
+    @Test
+    public void countReferences() throws Exception {
+        Interaction interaction = getMockBuilder().createInteractionRandomBinary();
+        Protein orphan = getMockBuilder().createProteinRandom();
+        getCorePersister().saveOrUpdate(interaction, orphan);
+
+        Map<String, Long> referenceCounts = referenceIndex.countReferences(ProteinImpl.class);
+
+        Assert.assertEquals(2, referenceCounts.size());
+        Assert.assertFalse(referenceCounts.containsKey(orphan.getAc()));
+        Assert.assertFalse(referenceCounts.containsKey(interaction.getAc()));
+
+        for (Long count : referenceCounts.values()) {
+            Assert.assertEquals(1L, count.longValue());
+        }
+    }
+
+    @Test
+    public void streamOrphanAcs() throws Exception {
+        Interaction interaction = getMockBuilder().createInteractionRandomBinary();
+        Protein orphan = getMockBuilder().createProteinRandom();
+        BioSource orphanBioSource = getMockBuilder().createBioSource(12345, "orphan");
+        getCorePersister().saveOrUpdate(interaction, orphan, orphanBioSource);
+
+        try (Stream<String> orphanAcs = referenceIndex.streamOrphanAcs(ProteinImpl.class)) {
+            Assert.assertEquals(orphan.getAc(), orphanAcs.collect(Collectors.joining()));
+        }
+
+        try (Stream<String> orphanAcs = referenceIndex.streamOrphanAcs(BioSource.class)) {
+            List<String> acs = orphanAcs.collect(Collectors.toList());
+
+            Assert.assertTrue(acs.contains(orphanBioSource.getAc()));
+            Assert.assertFalse(acs.contains(orphan.getBioSource().getAc()));
+        }
+    }
+
+    @Test
+    public void streamOrphanAcs_interactors() throws Exception {
+        Interaction interaction = getMockBuilder().createInteractionRandomBinary();
+        Protein orphan = getMockBuilder().createProteinRandom();
+        getCorePersister().saveOrUpdate(interaction, orphan);
+
+        try (Stream<String> orphanAcs = referenceIndex.streamOrphanAcs(InteractorImpl.class)) {
+            Assert.assertEquals(orphan.getAc(), orphanAcs.collect(Collectors.joining()));
+        }
+
+        referenceIndex.deleteOrphans(InteractorImpl.class, 10, false);
+
+        Assert.assertEquals(1, getDaoFactory().getInteractionDao().countAll());
+        Assert.assertEquals(2, getDaoFactory().getProteinDao().countAll());
+        Assert.assertEquals(2, getDaoFactory().getComponentDao().countAll());
+    }
+
+    @Test
+    public void deleteOrphans() throws Exception {
+        Interaction interaction = getMockBuilder().createInteractionRandomBinary();
+        getCorePersister().saveOrUpdate(interaction);
+
+        for (int i = 0; i < 5; i++) {
+            getCorePersister().saveOrUpdate(getMockBuilder().createProteinRandom());
+        }
+
+        Assert.assertEquals(7, getDaoFactory().getProteinDao().countAll());
+
+        DeletionReport dryRunReport = referenceIndex.deleteOrphans(ProteinImpl.class, 2, true);
+
+        Assert.assertEquals(5, dryRunReport.getRowCount("ia_interactor"));
+        Assert.assertEquals(7, getDaoFactory().getProteinDao().countAll());
+
+        DeletionReport report = referenceIndex.deleteOrphans(ProteinImpl.class, 2, false);
+
+        Assert.assertEquals(dryRunReport.getRowCounts(), report.getRowCounts());
+        Assert.assertEquals(2, getDaoFactory().getProteinDao().countAll());
+        Assert.assertEquals(2, getDaoFactory().getComponentDao().countAll());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void deleteOrphans_invalidChunkSize() throws Exception {
+        referenceIndex.deleteOrphans(ProteinImpl.class, 0, true);
+    }
+}
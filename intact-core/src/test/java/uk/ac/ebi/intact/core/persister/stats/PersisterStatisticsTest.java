@@ -82,5 +82,21 @@ public class PersisterStatisticsTest extends IntactBasicTestCase {
         Assert.assertEquals(0, stats.getTransientCount(Interactor.class, false));
     }
 
+    @Test
+    public void addBatches() throws Exception {
+        stats.addBatches(InteractionImpl.class, 2);
+        stats.addBatches(InteractionImpl.class, 1);
+
+        Assert.assertEquals(3, stats.getBatchCount());
+        Assert.assertEquals(3, stats.getBatchCount(InteractionImpl.class, false));
+        Assert.assertEquals(3, stats.getBatchCount(Interaction.class, true));
+        Assert.assertEquals(0, stats.getBatchCount(Interactor.class, false));
+        Assert.assertTrue(stats.toString().contains("Batches: 3 { InteractionImpl (3) }"));
+
+        stats.reset();
+
+        Assert.assertEquals(0, stats.getBatchCount());
+    }
+
 
 }
\ No newline at end of file
@@ -0,0 +1,107 @@
+package uk.ac.ebi.intact.model;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+import org.springframework.test.annotation.DirtiesContext;
+import uk.ac.ebi.intact.core.unit.IntactBasicTestCase;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * IntactIdGenerator tester.
+ *
+ * @version $Id$
+ */
+public class IntactIdGeneratorTest extends IntactBasicTestCase {
+
+    @After
+    public void resetAllocationSize() {
+        getIntactContext().getConfig().setAcAllocationSize(1);
+    }
+
+    @Test
+    public void generate_perRow() throws Exception {
+        Set<String> acs = persistBioSources(10);
+
+        Assert.assertEquals(10, acs.size());
+
+        for (String ac : acs) {
+            Assert.assertTrue(ac.startsWith(getIntactContext().getConfig().getAcPrefix() + "-"));
+        }
+    }
+
+    @Test
+    @DirtiesContext
+    public void generate_pooled() throws Exception {
+        Set<String> acsBefore = persistBioSources(5);
+
+        alterSequenceIncrement(50);
+        getIntactContext().getConfig().setAcAllocationSize(50);
+
+        final long firstRawValue = nextRawSequenceValue();
+
+        Set<String> acsPooled = persistBioSources(120);
+
+        // 120 ACs are taken from 3 blocks, so the sequence has been called 3 times
+        final long lastRawValue = nextRawSequenceValue();
+        Assert.assertEquals(firstRawValue + 4 * 50, lastRawValue);
+
+        Assert.assertEquals(120, acsPooled.size());
+
+        final String prefix = getIntactContext().getConfig().getAcPrefix() + "-";
+
+        for (String ac : acsPooled) {
+            Assert.assertTrue(ac.startsWith(prefix));
+            Assert.assertFalse(acsBefore.contains(ac));
+
+            // the values read directly from the sequence are never part of a block
+            final long value = Long.parseLong(ac.substring(prefix.length()));
+            Assert.assertFalse(value == firstRawValue || value == lastRawValue);
+        }
+    }
+
+    @Test
+    public void generate_pooled_incrementMismatch() throws Exception {
+        getIntactContext().getConfig().setAcAllocationSize(50);
+
+        try {
+            persistBioSources(1);
+            Assert.fail("The sequence is incremented by 1, the ACs cannot be pooled by 50");
+        } catch (RuntimeException e) {
+            // expected
+        }
+    }
+
+    private void alterSequenceIncrement(int increment) {
+        getEntityManager().createNativeQuery("alter sequence " + IntactIdGenerator.INTACT_AC_SEQUENCE_NAME +
+                                             " increment by " + increment).executeUpdate();
+    }
+
+    private long nextRawSequenceValue() {
+        final Number value = (Number) getEntityManager().createNativeQuery("select next value for " +
+                                                                           IntactIdGenerator.INTACT_AC_SEQUENCE_NAME).getSingleResult();
+        return value.longValue();
+    }
+
+    private Set<String> persistBioSources(int count) {
+        Set<String> acs = new HashSet<String>(count);
+
+        for (int i = 0; i < count; i++) {
+            BioSource bioSource = new BioSource(getIntactContext().getInstitution(), "bs" + i, String.valueOf(i));
+            getDaoFactory().getBioSourceDao().persist(bioSource);
+            acs.add(bioSource.getAc());
+
+            if (i % 500 == 0) {
+                getEntityManager().flush();
+                getEntityManager().clear();
+            }
+        }
+
+        getEntityManager().flush();
+        getEntityManager().clear();
+
+        return acs;
+    }
+}
@@ -40,4 +40,71 @@ public class PolymerTest extends IntactBasicTestCase {
         Assert.assertEquals( sequence, polymer.getSequenceChunks().get(0).getSequenceChunk());
         Assert.assertEquals(polymer, polymer.getSequenceChunks().get(0).getParent());
     }
+
+    @Test
+    public void getSequence_cached() throws Exception {
+        Polymer polymer = getMockBuilder().createProteinRandom();
+        String sequence = createSequence(2500);
+
+        polymer.setSequence(sequence);
+
+        Assert.assertEquals(3, polymer.getSequenceChunks().size());
+        Assert.assertSame(polymer.getSequence(), polymer.getSequence());
+        Assert.assertEquals(sequence, polymer.getSequence());
+
+        // same sequence, nothing to do
+        Assert.assertTrue(polymer.setSequence(new String(sequence)).isEmpty());
+        Assert.assertEquals(3, polymer.getSequenceChunks().size());
+    }
+
+    @Test
+    public void getSequence_chunkChanged() throws Exception {
+        Polymer polymer = getMockBuilder().createProteinRandom();
+        polymer.setSequence(createSequence(1500));
+
+        String sequence = polymer.getSequence();
+        polymer.getSequenceChunks().get(1).setSequenceChunk("MMM");
+
+        Assert.assertEquals(sequence.substring(0, 1000) + "MMM", polymer.getSequence());
+        Assert.assertEquals(1003, polymer.getSequenceView().length());
+
+        polymer.getSequenceChunks().remove(1);
+
+        Assert.assertEquals(sequence.substring(0, 1000), polymer.getSequence());
+
+        polymer.getSequenceChunks().clear();
+
+        Assert.assertNull(polymer.getSequence());
+        Assert.assertNull(polymer.getSequenceView());
+    }
+
+    @Test
+    public void getSequenceView() throws Exception {
+        Polymer polymer = getMockBuilder().createProteinRandom();
+        String sequence = createSequence(2500);
+
+        polymer.setSequence(sequence);
+        polymer.getSequenceChunks().get(0).setSequenceChunk(sequence.substring(0, 1000));
+
+        CharSequence view = polymer.getSequenceView();
+
+        Assert.assertTrue(view instanceof ChunkedSequence);
+        Assert.assertEquals(sequence.length(), view.length());
+        Assert.assertEquals(sequence.charAt(999), view.charAt(999));
+        Assert.assertEquals(sequence.charAt(1000), view.charAt(1000));
+        Assert.assertEquals(sequence.substring(995, 2005), view.subSequence(995, 2005));
+        Assert.assertEquals(sequence, view.toString());
+        Assert.assertTrue(((ChunkedSequence) view).contentEquals(sequence));
+
+        // once assembled, the sequence itself is the view
+        Assert.assertSame(polymer.getSequence(), polymer.getSequenceView());
+    }
+
+    private static String createSequence(int length) {
+        StringBuilder sb = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            sb.append("ACDEFGHIKLMNPQRSTVWY".charAt(i % 20));
+        }
+        return sb.toString();
+    }
 }
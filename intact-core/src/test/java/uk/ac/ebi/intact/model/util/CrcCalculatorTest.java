@@ -19,12 +19,14 @@ import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.junit.Assert;
 import org.junit.Test;
+import uk.ac.ebi.intact.commons.util.Crc64;
 import uk.ac.ebi.intact.core.unit.IntactBasicTestCase;
-import uk.ac.ebi.intact.model.Component;
-import uk.ac.ebi.intact.model.CvDatabase;
-import uk.ac.ebi.intact.model.Interaction;
+import uk.ac.ebi.intact.model.*;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * @author Bruno Aranda (baranda@ebi.ac.uk)
@@ -127,4 +129,113 @@ public class CrcCalculatorTest extends IntactBasicTestCase {
         Assert.assertFalse( crcCalculator.crc64( interaction1 ).equals( crcCalculator.crc64( interaction2 ) ) );
     }
 
+    /**
+     * The expected values were calculated with the CrcCalculator of the previous release, which concatenated
+     * the whole uniqueness string before calculating its CRC64.
+     */
+    @Test
+    public void crc_previousReleaseValues() throws Exception {
+        CrcCalculator crcCalculator = new CrcCalculator();
+
+        Interaction withPdbXref = getMockBuilder().createDeterministicInteraction();
+        CvDatabase pdb = getMockBuilder().createCvObject( CvDatabase.class, CvDatabase.RCSB_PDB_MI_REF, CvDatabase.RCSB_PDB );
+        withPdbXref.getXrefs().add( getMockBuilder().createIdentityXref( withPdbXref, "pdb1", pdb ) );
+
+        Interaction withOtherExperiment = getMockBuilder().createDeterministicInteraction();
+        withOtherExperiment.getExperiments().iterator().next().setShortLabel( "nana-1320-2" );
+
+        Interaction withSortedAnnotations = getMockBuilder().createDeterministicInteraction();
+        withSortedAnnotations.getAnnotations().add( getMockBuilder().createAnnotation( "Another annotation", CvTopic.COMMENT_MI_REF, CvTopic.COMMENT ) );
+
+        Assert.assertEquals( "C622778714B4C649", crcCalculator.crc64( getMockBuilder().createDeterministicInteraction() ) );
+        Assert.assertEquals( "9661DA4D41F62277", crcCalculator.crc64( withPdbXref ) );
+        Assert.assertEquals( "12656AD0A3EA651B", crcCalculator.crc64( withOtherExperiment ) );
+        Assert.assertEquals( "1885EC8C1701BE4C", crcCalculator.crc64( withSortedAnnotations ) );
+    }
+
+    @Test
+    public void crc_nonAscii() throws Exception {
+        Interaction interaction = getMockBuilder().createDeterministicInteraction();
+        interaction.getAnnotations().add( getMockBuilder().createAnnotation( "\u00c5ngstr\u00f6m \u00cfNTERACTION", "MI:0612", "comment" ) );
+
+        CrcCalculator crcCalculator = new CrcCalculator();
+
+        Assert.assertEquals( legacyCrc64( crcCalculator, interaction ), crcCalculator.crc64( interaction ) );
+    }
+
+    @Test
+    public void crc_calculatorReused() throws Exception {
+        Protein protein = getMockBuilder().createProteinRandom();
+
+        Interaction interaction1 = getMockBuilder().createInteraction( protein, getMockBuilder().createProteinRandom() );
+        Interaction interaction2 = getMockBuilder().createInteraction( protein, getMockBuilder().createProteinRandom() );
+
+        CrcCalculator crcCalculator = new CrcCalculator();
+        final String crc1 = crcCalculator.crc64( interaction1 );
+        final String crc2 = crcCalculator.crc64( interaction2 );
+
+        Assert.assertEquals( new CrcCalculator().crc64( interaction1 ), crc1 );
+        Assert.assertEquals( new CrcCalculator().crc64( interaction2 ), crc2 );
+        Assert.assertFalse( crc1.equals( crc2 ) );
+
+        // the interactions are not kept, only their interactors and CVs
+        interaction1.getAnnotations().add( getMockBuilder().createAnnotationRandom() );
+        Assert.assertFalse( crc1.equals( crcCalculator.crc64( interaction1 ) ) );
+    }
+
+    @Test
+    public void streamingCrc64() throws Exception {
+        final String str = "a1|0.0MI:0499|MI:0498|feature1|1-1|This is an Annotation|";
+
+        StreamingCrc64 crc = new StreamingCrc64();
+        crc.update( str );
+        Assert.assertEquals( Crc64.getCrc64( str ), crc.toString() );
+
+        crc.reset();
+        Assert.assertTrue( crc.updateLowerCaseAscii( str ) );
+        Assert.assertEquals( Crc64.getCrc64( str.toLowerCase() ), crc.toString() );
+
+        Assert.assertFalse( new StreamingCrc64().updateLowerCaseAscii( "\u00c5ngstr\u00f6m" ) );
+        Assert.assertEquals( "0000000000000000", new StreamingCrc64().toString() );
+    }
+
+    @Test
+    public void crc_interactorStringReused() throws Exception {
+        final AtomicInteger sequenceReads = new AtomicInteger();
+
+        // without identity xref, the uniqueness string of the protein is its sequence
+        Protein protein = new ProteinImpl( getMockBuilder().getInstitution(), getMockBuilder().createBioSourceRandom(), "seqprot",
+                                           getMockBuilder().createCvObject( CvInteractorType.class, CvInteractorType.PROTEIN_MI_REF, CvInteractorType.PROTEIN ) ) {
+            @Override
+            public String getSequence() {
+                sequenceReads.incrementAndGet();
+                return "MSTNPKPQRKTKRNTNRRPQDVKFPGG";
+            }
+        };
+
+        List<Interaction> interactions = new ArrayList<Interaction>();
+
+        for ( int i = 0; i < 10; i++ ) {
+            interactions.add( getMockBuilder().createInteraction( protein, getMockBuilder().createProteinRandom() ) );
+        }
+
+        sequenceReads.set( 0 );
+
+        CrcCalculator crcCalculator = new CrcCalculator();
+        List<String> crcs = new ArrayList<String>();
+
+        for ( Interaction interaction : interactions ) {
+            crcs.add( crcCalculator.crc64( interaction ) );
+        }
+
+        Assert.assertEquals( 1, sequenceReads.get() );
+
+        for ( int i = 0; i < interactions.size(); i++ ) {
+            Assert.assertEquals( crcs.get( i ), new CrcCalculator().crc64( interactions.get( i ) ) );
+        }
+    }
+
+    private String legacyCrc64( CrcCalculator crcCalculator, Interaction interaction ) {
+        return Crc64.getCrc64( crcCalculator.createUniquenessString( interaction ).toString().toLowerCase() );
+    }
 }
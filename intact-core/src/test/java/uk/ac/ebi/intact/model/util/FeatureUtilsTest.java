@@ -3,8 +3,11 @@ package uk.ac.ebi.intact.model.util;
 import org.junit.Assert;
 import org.junit.Test;
 import uk.ac.ebi.intact.core.unit.IntactBasicTestCase;
-import uk.ac.ebi.intact.model.CvFuzzyType;
-import uk.ac.ebi.intact.model.Range;
+import uk.ac.ebi.intact.model.*;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * TODO comment this
@@ -515,4 +518,68 @@ public class FeatureUtilsTest  extends IntactBasicTestCase {
     public void isABadRangeFromStr_0_0() {
         Assert.assertTrue(FeatureUtils.isABadRange("0-0", null));
     }
+
+    @Test
+    public void getBadRanges() {
+        Protein protein = createProteinWithRanges(2500, 10);
+
+        Range outOfBounds = getMockBuilder().createRange(2400, 2400, 2600, 2600);
+        protein.getActiveInstances().iterator().next().getFeatures().iterator().next().addRange(outOfBounds);
+
+        Assert.assertEquals(Collections.singleton(outOfBounds), FeatureUtils.getBadRanges(protein));
+        Assert.assertEquals(1, FeatureUtils.getFeaturesWithBadRanges(protein).size());
+    }
+
+    @Test
+    public void getBadRanges_sequenceNotAssembled() {
+        final AtomicInteger sequenceAssemblies = new AtomicInteger();
+
+        Protein protein = new ProteinImpl(getMockBuilder().getInstitution(), getMockBuilder().createBioSourceRandom(), "chunkprot",
+                                          getMockBuilder().createCvObject(CvInteractorType.class, CvInteractorType.PROTEIN_MI_REF, CvInteractorType.PROTEIN)) {
+            @Override
+            public String getSequence() {
+                sequenceAssemblies.incrementAndGet();
+                return super.getSequence();
+            }
+
+            @Override
+            public String getSequence(Collection<SequenceChunk> seqChunks) {
+                sequenceAssemblies.incrementAndGet();
+                return super.getSequence(seqChunks);
+            }
+        };
+        addRanges(protein, 5000, 500);
+
+        Range outOfBounds = getMockBuilder().createRange(4900, 4900, 5100, 5100);
+        protein.getActiveInstances().iterator().next().getFeatures().iterator().next().addRange(outOfBounds);
+
+        sequenceAssemblies.set(0);
+
+        Assert.assertEquals(Collections.singleton(outOfBounds), FeatureUtils.getBadRanges(protein));
+        Assert.assertEquals(1, FeatureUtils.getFeaturesWithBadRanges(protein).size());
+        Assert.assertEquals(0, sequenceAssemblies.get());
+    }
+
+    private Protein createProteinWithRanges(int sequenceLength, int rangeCount) {
+        Protein protein = getMockBuilder().createProteinRandom();
+        addRanges(protein, sequenceLength, rangeCount);
+        return protein;
+    }
+
+    private void addRanges(Protein protein, int sequenceLength, int rangeCount) {
+        StringBuilder sequence = new StringBuilder(sequenceLength);
+        for (int i = 0; i < sequenceLength; i++) {
+            sequence.append('A');
+        }
+        protein.setSequence(sequence.toString());
+
+        Component component = getMockBuilder().createComponentNeutral(protein);
+        Feature feature = getMockBuilder().createFeatureRandom();
+        component.addFeature(feature);
+
+        for (int i = 0; i < rangeCount; i++) {
+            int position = 1 + i % sequenceLength;
+            feature.addRange(getMockBuilder().createRange(position, position, position, position));
+        }
+    }
 }
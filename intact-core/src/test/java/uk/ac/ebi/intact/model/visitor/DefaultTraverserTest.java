@@ -0,0 +1,151 @@
+package uk.ac.ebi.intact.model.visitor;
+
+import org.junit.Assert;
+import org.junit.Test;
+import uk.ac.ebi.intact.core.unit.IntactBasicTestCase;
+import uk.ac.ebi.intact.model.*;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * DefaultTraverser tester.
+ *
+ * @version $Id$
+ */
+public class DefaultTraverserTest extends IntactBasicTestCase {
+
+    @Test
+    public void traverse_equalObjects() throws Exception {
+        Interaction interaction = getMockBuilder().createInteraction("same", "same");
+
+        Iterator<Component> components = interaction.getComponents().iterator();
+        Interactor interactor1 = components.next().getInteractor();
+        Interactor interactor2 = components.next().getInteractor();
+
+        Assert.assertNotSame(interactor1, interactor2);
+        Assert.assertEquals(interactor1, interactor2);
+
+        CollectingVisitor visitor = new CollectingVisitor();
+        new DefaultTraverser().traverse(interaction, visitor);
+
+        Assert.assertTrue(visitor.bioSources.contains(interactor1.getBioSource()));
+        Assert.assertTrue(visitor.bioSources.contains(interactor2.getBioSource()));
+    }
+
+    @Test
+    public void reset() throws Exception {
+        Interaction interaction = getMockBuilder().createInteractionRandomBinary();
+
+        DefaultTraverser traverser = new DefaultTraverser();
+
+        CollectingVisitor visitor = new CollectingVisitor();
+        traverser.traverse(interaction, visitor);
+        Assert.assertEquals(2, visitor.components.size());
+
+        // already traversed
+        CollectingVisitor visitor2 = new CollectingVisitor();
+        traverser.traverse(interaction, visitor2);
+        Assert.assertEquals(0, visitor2.components.size());
+
+        traverser.reset();
+
+        CollectingVisitor visitor3 = new CollectingVisitor();
+        traverser.traverse(interaction, visitor3);
+        Assert.assertEquals(2, visitor3.components.size());
+    }
+
+    @Test
+    public void traverseInParallel() throws Exception {
+        Publication publication = createPublication(3, 50);
+
+        CollectingVisitor visitor = new CollectingVisitor();
+        new DefaultTraverser().traverse(publication, visitor);
+
+        CollectingVisitor parallelVisitor = new CollectingVisitor();
+        final Set<String> threadNames = Collections.synchronizedSet(new HashSet<String>());
+
+        ExecutorService executor = Executors.newFixedThreadPool(4, runnable -> new Thread(runnable, "traverser"));
+
+        try {
+            new DefaultTraverser().traverseInParallel(publication, executor, new SynchronizedVisitor(parallelVisitor), new BaseIntactVisitor() {
+                @Override
+                public void visitInteraction(Interaction interaction) {
+                    threadNames.add(Thread.currentThread().getName());
+                }
+            });
+        } finally {
+            executor.shutdown();
+        }
+
+        Assert.assertEquals(150, visitor.interactions.size());
+        Assert.assertEquals(300, visitor.components.size());
+        Assert.assertEquals(visitor.interactions.size(), parallelVisitor.interactions.size());
+        Assert.assertEquals(visitor.components.size(), parallelVisitor.components.size());
+        Assert.assertEquals(visitor.bioSources.size(), parallelVisitor.bioSources.size());
+
+        // the interactions are only traversed by the threads of the executor
+        Assert.assertEquals(Collections.singleton("traverser"), threadNames);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void traverseInParallel_visitorException() throws Exception {
+        Publication publication = createPublication(1, 10);
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+
+        try {
+            new DefaultTraverser().traverseInParallel(publication, executor, new BaseIntactVisitor() {
+                @Override
+                public void visitComponent(Component component) {
+                    throw new IllegalStateException("Failing visitor");
+                }
+            });
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private Publication createPublication(int experimentCount, int interactionsPerExperiment) {
+        Publication publication = getMockBuilder().createPublicationRandom();
+
+        for (int i = 0; i < experimentCount; i++) {
+            Experiment experiment = getMockBuilder().createExperimentRandom(interactionsPerExperiment);
+            experiment.setPublication(publication);
+            publication.addExperiment(experiment);
+        }
+
+        return publication;
+    }
+
+    private static class CollectingVisitor extends BaseIntactVisitor {
+
+        private Set<Interaction> interactions = newIdentitySet();
+        private Set<Component> components = newIdentitySet();
+        private Set<BioSource> bioSources = newIdentitySet();
+
+        @Override
+        public void visitInteraction(Interaction interaction) {
+            interactions.add(interaction);
+        }
+
+        @Override
+        public void visitComponent(Component component) {
+            components.add(component);
+        }
+
+        @Override
+        public void visitBioSource(BioSource bioSource) {
+            bioSources.add(bioSource);
+        }
+
+        private static <T> Set<T> newIdentitySet() {
+            return Collections.newSetFromMap(new IdentityHashMap<T, Boolean>());
+        }
+    }
+}